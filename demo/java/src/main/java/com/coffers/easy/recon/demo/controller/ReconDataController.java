@@ -8,6 +8,7 @@ import com.coffers.easy.recon.demo.service.DemoService;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -99,15 +100,15 @@ public class ReconDataController {
     public Map<String, Object> getOrderDetail(@PathVariable String orderNo) {
         Map<String, Object> detail = new HashMap<>();
 
-        ReconOrderMainResult main = easyReconApi.getOrderMain(orderNo);
-        List<ReconOrderSubResult> subs = easyReconApi.getOrderSubs(orderNo);
-        List<ReconOrderSplitDetailResult> splitFacts = easyReconApi.getSplitDetails(orderNo);
-        List<ReconExceptionResult> exceptions = easyReconApi.getReconExceptions(orderNo);
+        // 一次连接加载主订单及全部子表
+        ReconOrderDetailResult result = easyReconApi.getOrderDetail(orderNo);
 
-        detail.put("main", main);
-        detail.put("subs", subs);
-        detail.put("splitFacts", splitFacts);
-        detail.put("exceptions", exceptions);
+        detail.put("main", result != null ? result.getMain() : null);
+        detail.put("subs", result != null ? result.getSubs() : Collections.emptyList());
+        detail.put("splitFacts", result != null ? result.getSplitDetails() : Collections.emptyList());
+        detail.put("refundDetails", result != null ? result.getRefundDetails() : Collections.emptyList());
+        detail.put("notifyLogs", result != null ? result.getNotifyLogs() : Collections.emptyList());
+        detail.put("exceptions", result != null ? result.getExceptions() : Collections.emptyList());
 
         return detail;
     }
@@ -0,0 +1,350 @@
+package tech.coffers.recon.benchmark;
+
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.entity.*;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 不访问数据库的对账存储库
+ * <p>
+ * 写操作一律返回成功，查询返回预置的主订单与分账明细，使基准测试只度量对账计算与结果映射本身的开销。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class NoopReconRepository implements ReconRepository {
+
+    private volatile ReconOrderMainDO orderMain;
+    private volatile List<ReconOrderSplitDetailDO> splitDetails = Collections.emptyList();
+
+    public void setOrderMain(ReconOrderMainDO orderMain) {
+        this.orderMain = orderMain;
+    }
+
+    public void setSplitDetails(List<ReconOrderSplitDetailDO> splitDetails) {
+        this.splitDetails = splitDetails;
+    }
+
+    @Override
+    public boolean saveOrderMain(ReconOrderMainDO orderMainDO) {
+        return true;
+    }
+
+    @Override
+    public boolean batchSaveOrderSub(List<ReconOrderSubDO> orderSubDOs) {
+        return true;
+    }
+
+    @Override
+    public boolean saveOrderSplitDetail(ReconOrderSplitDetailDO splitDetailDO) {
+        return true;
+    }
+
+    @Override
+    public boolean batchSaveOrderSplitDetail(List<ReconOrderSplitDetailDO> splitDetailDOs) {
+        return true;
+    }
+
+    @Override
+    public boolean saveException(ReconExceptionDO exceptionDO) {
+        return true;
+    }
+
+    @Override
+    public boolean batchSaveException(List<ReconExceptionDO> exceptions) {
+        return true;
+    }
+
+    @Override
+    public boolean saveNotifyLog(ReconNotifyLogDO notifyLogDO) {
+        return true;
+    }
+
+    @Override
+    public boolean batchSaveNotifyLog(List<ReconNotifyLogDO> notifyLogDOs) {
+        return true;
+    }
+
+    @Override
+    public ReconOrderMainDO getOrderMainByOrderNo(String orderNo) {
+        return orderMain;
+    }
+
+    @Override
+    public List<ReconOrderSplitDetailDO> getOrderSplitDetailByOrderNo(String orderNo) {
+        return splitDetails;
+    }
+
+    @Override
+    public List<ReconOrderSubDO> getOrderSubByOrderNo(String orderNo) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ReconOrderMainDO> getPendingReconOrders(String dateStr, int offset, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ReconOrderMainDO> getPendingReconOrdersAfter(String dateStr, LocalDateTime lastCreateTime,
+            Long lastId, int partitionIndex, int partitionCount, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean updateReconStatus(String orderNo, ReconStatusEnum reconStatus) {
+        return true;
+    }
+
+    @Override
+    public String findOrderNoBySub(String merchantId, String subOrderNo) {
+        return null;
+    }
+
+    @Override
+    public String findOrderNoByMerchantOrder(String merchantId, String merchantOrderNo) {
+        return null;
+    }
+
+    @Override
+    public Integer getReconStatus(String orderNo) {
+        return null;
+    }
+
+    @Override
+    public boolean updateNotifyStatus(String orderNo, int notifyStatus, String notifyResult) {
+        return true;
+    }
+
+    @Override
+    public boolean compareAndUpdateReconStatus(String orderNo, ReconStatusEnum reconStatus, long expectedVersion) {
+        return true;
+    }
+
+    @Override
+    public boolean compareAndUpdateNotifyStatus(String orderNo, int notifyStatus, String notifyResult,
+            long expectedVersion) {
+        return true;
+    }
+
+    @Override
+    public boolean updateSplitDetailNotifyStatus(String orderNo, String merchantId, int notifyStatus,
+            String notifyResult) {
+        return true;
+    }
+
+    @Override
+    public int applySplitNotify(String orderNo, String merchantId, int notifyStatus, String notifyResult) {
+        return 0;
+    }
+
+    @Override
+    public int batchApplySplitNotify(String orderNo, List<ReconNotifyLogDO> notifies) {
+        return 0;
+    }
+
+    @Override
+    public boolean isAllSplitSubNotified(String orderNo) {
+        return true;
+    }
+
+    @Override
+    public List<ReconOrderMainDO> getOrderMainByDate(String dateStr, ReconStatusEnum reconStatus, int offset,
+            int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ReconOrderDetailDO getOrderDetail(String orderNo) {
+        return null;
+    }
+
+    @Override
+    public List<ReconOrderMainDO> getOrderMainByDateBefore(String dateStr, ReconStatusEnum reconStatus,
+            LocalDateTime lastCreateTime, Long lastId, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ReconExceptionDO> getExceptionRecords(String merchantId, String startDate, String endDate,
+            Integer exceptionStep, int offset, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ReconExceptionDO> getExceptionRecordsBefore(String merchantId, String startDate, String endDate,
+            Integer exceptionStep, LocalDateTime lastCreateTime, Long lastId, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean batchSaveOrderRefundDetail(List<ReconOrderRefundDetailDO> refundDetailDOs) {
+        return true;
+    }
+
+    @Override
+    public boolean batchSaveOrderMerchantSettlement(List<ReconOrderMerchantSettlementDO> settlementDOs) {
+        return true;
+    }
+
+    @Override
+    public List<ReconOrderMerchantSettlementDO> getOrderMerchantSettlementByOrderNo(String orderNo) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean updateReconRefundStatus(String orderNo, int refundStatus, BigDecimal refundAmount,
+            LocalDateTime refundTime) {
+        return true;
+    }
+
+    @Override
+    public boolean updateReconRefundStatus(ReconOrderMainDO orderMainDO) {
+        return true;
+    }
+
+    @Override
+    public boolean compareAndUpdateReconRefundStatus(ReconOrderMainDO orderMainDO) {
+        return true;
+    }
+
+    @Override
+    public List<ReconOrderRefundDetailDO> getOrderRefundDetailByOrderNo(String orderNo) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean saveReconRule(ReconRuleDO reconRuleDO) {
+        return true;
+    }
+
+    @Override
+    public ReconRuleDO getReconRuleById(Long id) {
+        return null;
+    }
+
+    @Override
+    public ReconRuleDO getReconRuleByName(String ruleName) {
+        return null;
+    }
+
+    @Override
+    public List<ReconRuleDO> getEnabledReconRules() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ReconRuleDO> getReconRules(int offset, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean updateReconRule(ReconRuleDO reconRuleDO) {
+        return true;
+    }
+
+    @Override
+    public boolean deleteReconRule(Long id) {
+        return true;
+    }
+
+    @Override
+    public List<ReconExceptionDO> getExceptionsByOrderNo(String orderNo) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ReconSummaryDO getReconSummary(String dateStr) {
+        return null;
+    }
+
+    @Override
+    public boolean rebuildReconSummary(String dateStr) {
+        return true;
+    }
+
+    @Override
+    public long countOrderMainByDate(String dateStr, ReconStatusEnum reconStatus) {
+        return 0;
+    }
+
+    @Override
+    public long countExceptionRecords(String merchantId, String startDate, String endDate, Integer exceptionStep) {
+        return 0;
+    }
+
+    @Override
+    public List<ReconNotifyLogDO> getNotifyLogsByOrderNo(String orderNo) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean tryAcquireShardLease(String jobName, LocalDate bizDate, int shardIndex, int shardCount,
+            String owner, long leaseSeconds) {
+        return true;
+    }
+
+    @Override
+    public boolean renewShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner, long leaseSeconds) {
+        return true;
+    }
+
+    @Override
+    public boolean releaseShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner,
+            boolean completed, long holdSeconds) {
+        return true;
+    }
+
+    @Override
+    public List<ReconOrderMainDO> getPendingReconOrdersUpdatedAfter(LocalDateTime lastUpdateTime, Long lastId,
+            LocalDateTime upperBound, int limit) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ReconJobWatermarkDO getJobWatermark(String jobName) {
+        return null;
+    }
+
+    @Override
+    public boolean saveJobWatermark(String jobName, LocalDateTime watermarkTime, Long watermarkId) {
+        return true;
+    }
+
+    @Override
+    public ReconJobRunDO findResumableJobRun(String jobName, LocalDate bizDate, int partitionIndex,
+            int partitionCount) {
+        return null;
+    }
+
+    @Override
+    public boolean saveJobRun(ReconJobRunDO jobRunDO) {
+        return true;
+    }
+
+    @Override
+    public boolean claimJobRun(String runId, String expectedOwner, String owner, LocalDateTime staleBefore) {
+        return true;
+    }
+
+    @Override
+    public boolean updateJobRunCheckpoint(ReconJobRunDO jobRunDO) {
+        return true;
+    }
+
+    @Override
+    public boolean finishJobRun(ReconJobRunDO jobRunDO) {
+        return true;
+    }
+
+    @Override
+    public List<ReconJobRunDO> listJobRuns(String jobName, String startDate, String endDate, int limit) {
+        return Collections.emptyList();
+    }
+}
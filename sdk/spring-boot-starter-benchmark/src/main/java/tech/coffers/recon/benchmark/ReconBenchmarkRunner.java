@@ -0,0 +1,30 @@
+package tech.coffers.recon.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 接受标准 JMH 命令行参数，并始终挂载 GC 分析器，输出 {@code gc.alloc.rate.norm} 等分配指标，
+ * 便于对比改动前后每次对账的内存分配量。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public final class ReconBenchmarkRunner {
+
+    private ReconBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
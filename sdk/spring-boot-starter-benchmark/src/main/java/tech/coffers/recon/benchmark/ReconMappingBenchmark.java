@@ -0,0 +1,107 @@
+package tech.coffers.recon.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.coffers.recon.api.EasyReconApi;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.api.enums.SettlementTypeEnum;
+import tech.coffers.recon.api.result.ReconOrderMainResult;
+import tech.coffers.recon.api.result.ReconOrderSplitDetailResult;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.entity.ReconOrderSplitDetailDO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DO 赋值与 {@link EasyReconApi} 结果映射基准
+ * <p>
+ * DO 的分/元 setter 会同步换算另一种单位，查询接口再逐字段拷贝为结果对象，两者都在每笔订单的读写路径上。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReconMappingBenchmark {
+
+    private static final String ORDER_NO = "ORD-BENCH-MAPPING";
+    private static final int SPLIT_DETAIL_COUNT = 100;
+
+    private EasyReconApi easyReconApi;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        now = LocalDateTime.now();
+        NoopReconRepository reconRepository = new NoopReconRepository();
+        reconRepository.setOrderMain(orderMainSetters());
+        List<ReconOrderSplitDetailDO> details = new ArrayList<>(SPLIT_DETAIL_COUNT);
+        for (int i = 0; i < SPLIT_DETAIL_COUNT; i++) {
+            details.add(splitDetail("MCH-" + i));
+        }
+        reconRepository.setSplitDetails(details);
+        easyReconApi = new EasyReconApi(null, null, reconRepository);
+    }
+
+    @Benchmark
+    public ReconOrderMainDO orderMainSetters() {
+        ReconOrderMainDO orderMainDO = new ReconOrderMainDO();
+        orderMainDO.setOrderNo(ORDER_NO);
+        orderMainDO.setPayAmountFen(10_000_000L);
+        orderMainDO.setPlatformIncomeFen(3_000_000L);
+        orderMainDO.setPayFeeFen(60_000L);
+        orderMainDO.setSplitTotalAmountFen(7_000_000L);
+        orderMainDO.setReconStatus(ReconStatusEnum.SUCCESS.getCode());
+        orderMainDO.setPayStatus(1);
+        orderMainDO.setSplitStatus(1);
+        orderMainDO.setNotifyStatus(1);
+        orderMainDO.setCreateTime(now);
+        orderMainDO.setUpdateTime(now);
+        return orderMainDO;
+    }
+
+    @Benchmark
+    public ReconOrderSplitDetailDO splitDetailSetters() {
+        return splitDetail("MCH-0");
+    }
+
+    @Benchmark
+    public ReconOrderMainResult getOrderMain() {
+        return easyReconApi.getOrderMain(ORDER_NO);
+    }
+
+    @Benchmark
+    public List<ReconOrderSplitDetailResult> getSplitDetails() {
+        return easyReconApi.getSplitDetails(ORDER_NO);
+    }
+
+    private ReconOrderSplitDetailDO splitDetail(String merchantId) {
+        ReconOrderSplitDetailDO splitDetailDO = new ReconOrderSplitDetailDO();
+        splitDetailDO.setOrderNo(ORDER_NO);
+        splitDetailDO.setMerchantId(merchantId);
+        splitDetailDO.setSplitAmountFen(70_000L);
+        splitDetailDO.setArrivalAmountFen(69_580L);
+        splitDetailDO.setSplitFeeFen(420L);
+        splitDetailDO.setSettlementType(SettlementTypeEnum.REALTIME_SPLIT.getCode());
+        splitDetailDO.setNotifyStatus(1);
+        splitDetailDO.setCreateTime(now);
+        splitDetailDO.setUpdateTime(now);
+        return splitDetailDO;
+    }
+}
@@ -0,0 +1,82 @@
+package tech.coffers.recon.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.coffers.recon.api.enums.SettlementTypeEnum;
+import tech.coffers.recon.api.model.ReconOrderFenRequest;
+import tech.coffers.recon.api.result.ReconResult;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.core.service.AlarmService;
+import tech.coffers.recon.core.service.ExceptionRecordService;
+import tech.coffers.recon.core.service.RealtimeReconService;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实时对账计算热路径基准
+ * <p>
+ * 存储库不访问数据库，度量的是金额归一化、台账构建与场景推断、DTO 转换与核账判定的纯计算开销。
+ * 启动时会先执行一次对账，确认请求能够核账成功，避免误测失败分支。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReconOrderBenchmark {
+
+    @Param({ "1", "10", "100", "1000" })
+    private int subOrderCount;
+
+    @Param({ "PLATFORM_COLLECTION", "DIRECT_TO_MERCHANT", "REALTIME_SPLIT" })
+    private SettlementTypeEnum settlementType;
+
+    private ExecutorService executorService;
+    private RealtimeReconService realtimeReconService;
+    private ReconOrderFenRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NoopReconRepository reconRepository = new NoopReconRepository();
+        executorService = Executors.newSingleThreadExecutor();
+        realtimeReconService = new RealtimeReconService(reconRepository,
+                new ExceptionRecordService(reconRepository), new AlarmService(Collections.emptyList()),
+                executorService, new ReconSdkProperties());
+        request = ReconPayloads.order("ORD-BENCH-" + settlementType + "-" + subOrderCount, subOrderCount,
+                settlementType);
+
+        ReconResult result = realtimeReconService.reconOrder(request);
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("基准请求核账失败: " + result.getMessage());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        realtimeReconService.shutdown();
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public ReconResult reconOrder() {
+        return realtimeReconService.reconOrder(request);
+    }
+}
@@ -0,0 +1,180 @@
+package tech.coffers.recon.benchmark;
+
+import tech.coffers.recon.api.enums.PayStatusEnum;
+import tech.coffers.recon.api.enums.SettlementTypeEnum;
+import tech.coffers.recon.api.model.ReconOrderFenRequest;
+import tech.coffers.recon.api.model.ReconOrderSplitRequest;
+import tech.coffers.recon.api.model.ReconSplitRuleRequest;
+import tech.coffers.recon.api.model.ReconSubOrderRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试用对账请求构造器
+ * <p>
+ * 与演示工程 DemoService 的场景保持一致：子订单按商户连续分组，支付手续费按 0.6% 计提，尾差落在最后一笔子订单上。
+ * <ul>
+ * <li>平台代收：子订单只有意图金额，资金事实全部归集到平台收款账号</li>
+ * <li>全额到商户：意图分账金额等于订单金额，事实按商户汇总</li>
+ * <li>空中分账：按 70% 比例分账给商户，扣除手续费后的剩余部分作为平台留存</li>
+ * </ul>
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public final class ReconPayloads {
+
+    /**
+     * 单笔订单支付金额 (分)，足够大以保证 1000 笔子订单时每笔仍有非零金额与手续费
+     */
+    static final long PAY_AMOUNT_FEN = 10_000_000L;
+
+    /**
+     * 单笔订单最多涉及的商户数
+     */
+    static final int MAX_MERCHANTS = 10;
+
+    private static final int REALTIME_SPLIT_RATIO = 7000;
+
+    private ReconPayloads() {
+    }
+
+    /**
+     * 构造对账请求
+     *
+     * @param orderNo        订单号
+     * @param subOrderCount  子订单数
+     * @param settlementType 到账方式
+     * @return 对账请求
+     */
+    public static ReconOrderFenRequest order(String orderNo, int subOrderCount, SettlementTypeEnum settlementType) {
+        switch (settlementType) {
+            case PLATFORM_COLLECTION:
+                return platformCollection(orderNo, subOrderCount);
+            case DIRECT_TO_MERCHANT:
+                return merchantSplit(orderNo, subOrderCount, 10000);
+            case REALTIME_SPLIT:
+                return merchantSplit(orderNo, subOrderCount, REALTIME_SPLIT_RATIO);
+            default:
+                throw new IllegalArgumentException("不支持的到账方式: " + settlementType);
+        }
+    }
+
+    private static ReconOrderFenRequest platformCollection(String orderNo, int subOrderCount) {
+        List<ReconSubOrderRequest> subOrders = new ArrayList<>(subOrderCount);
+        List<ReconSplitRuleRequest> splitRules = new ArrayList<>();
+        long perSubAmt = PAY_AMOUNT_FEN / subOrderCount;
+        int merchants = merchantCount(subOrderCount);
+        String currentMerchant = null;
+        for (int index = 0; index < subOrderCount; index++) {
+            String merchantId = merchantId(index, subOrderCount, merchants);
+            if (!merchantId.equals(currentMerchant)) {
+                currentMerchant = merchantId;
+                splitRules.add(ReconSplitRuleRequest.builder().merchantId(merchantId).ratio(7500).build());
+            }
+            long amt = index == subOrderCount - 1 ? PAY_AMOUNT_FEN - perSubAmt * index : perSubAmt;
+            subOrders.add(ReconSubOrderRequest.builder()
+                    .merchantId(merchantId)
+                    .subOrderNo(orderNo + "-S" + (index + 1))
+                    .merchantOrderNo("M-ORD-" + orderNo + "-" + (index + 1))
+                    .orderAmountFen(amt)
+                    .build());
+        }
+
+        long totalFeeFen = PAY_AMOUNT_FEN * 6 / 1000;
+        List<ReconOrderSplitRequest> facts = new ArrayList<>(1);
+        facts.add(ReconOrderSplitRequest.builder()
+                .merchantId("MCH-PLATFORM-RECEIVER")
+                .splitAmountFen(PAY_AMOUNT_FEN)
+                .arrivalAmountFen(PAY_AMOUNT_FEN - totalFeeFen)
+                .splitFeeFen(totalFeeFen)
+                .build());
+
+        return ReconOrderFenRequest.builder()
+                .orderNo(orderNo)
+                .payAmountFen(PAY_AMOUNT_FEN)
+                .subOrders(subOrders)
+                .splitDetails(facts)
+                .splitRules(splitRules)
+                .payStatus(PayStatusEnum.SUCCESS)
+                .build();
+    }
+
+    private static ReconOrderFenRequest merchantSplit(String orderNo, int subOrderCount, int ratio) {
+        long totalFeeFen = PAY_AMOUNT_FEN * 6 / 1000;
+        long perSubAmt = PAY_AMOUNT_FEN / subOrderCount;
+        long perFee = totalFeeFen / subOrderCount;
+        int merchants = merchantCount(subOrderCount);
+
+        List<ReconSubOrderRequest> subOrders = new ArrayList<>(subOrderCount);
+        List<ReconSplitRuleRequest> splitRules = new ArrayList<>(merchants);
+        List<ReconOrderSplitRequest> facts = new ArrayList<>(merchants);
+
+        String currentMerchant = null;
+        long merchantSplitAmt = 0;
+        long merchantFee = 0;
+        long totalSplitAmt = 0;
+        long totalSplitFee = 0;
+        for (int index = 0; index < subOrderCount; index++) {
+            String merchantId = merchantId(index, subOrderCount, merchants);
+            if (!merchantId.equals(currentMerchant)) {
+                if (currentMerchant != null) {
+                    facts.add(fact(currentMerchant, merchantSplitAmt, merchantFee));
+                }
+                currentMerchant = merchantId;
+                merchantSplitAmt = 0;
+                merchantFee = 0;
+                splitRules.add(ReconSplitRuleRequest.builder().merchantId(merchantId).ratio(ratio).build());
+            }
+            long amt = index == subOrderCount - 1 ? PAY_AMOUNT_FEN - perSubAmt * index : perSubAmt;
+            long fee = index == subOrderCount - 1 ? totalFeeFen - perFee * index : perFee;
+            long splitAmt = amt * ratio / 10000;
+            long splitFee = fee * ratio / 10000;
+            subOrders.add(ReconSubOrderRequest.builder()
+                    .merchantId(merchantId)
+                    .subOrderNo(orderNo + "-S" + (index + 1))
+                    .merchantOrderNo("M-SPLIT-" + orderNo + "-" + (index + 1))
+                    .orderAmountFen(amt)
+                    .splitAmountFen(splitAmt)
+                    .feeFen(splitFee)
+                    .build());
+            merchantSplitAmt += splitAmt;
+            merchantFee += splitFee;
+            totalSplitAmt += splitAmt;
+            totalSplitFee += splitFee;
+        }
+        facts.add(fact(currentMerchant, merchantSplitAmt, merchantFee));
+
+        // 空中分账时平台留存 = 支付金额 - 商户分账 - 通道手续费；全额到商户没有平台留存
+        Long platformIncomeFen = ratio < 10000 ? PAY_AMOUNT_FEN - totalSplitAmt - totalSplitFee : null;
+        return ReconOrderFenRequest.builder()
+                .orderNo(orderNo)
+                .payAmountFen(PAY_AMOUNT_FEN)
+                .platformIncomeFen(platformIncomeFen)
+                .payFeeFen(totalSplitFee)
+                .subOrders(subOrders)
+                .splitDetails(facts)
+                .splitRules(splitRules)
+                .payStatus(PayStatusEnum.SUCCESS)
+                .build();
+    }
+
+    private static ReconOrderSplitRequest fact(String merchantId, long splitAmt, long fee) {
+        return ReconOrderSplitRequest.builder()
+                .merchantId(merchantId)
+                .splitAmountFen(splitAmt)
+                .arrivalAmountFen(splitAmt - fee)
+                .splitFeeFen(fee)
+                .build();
+    }
+
+    private static int merchantCount(int subOrderCount) {
+        return Math.min(subOrderCount, MAX_MERCHANTS);
+    }
+
+    private static String merchantId(int index, int subOrderCount, int merchants) {
+        int perMerchant = subOrderCount / merchants;
+        return "MCH-" + Math.min(index / perMerchant, merchants - 1);
+    }
+}
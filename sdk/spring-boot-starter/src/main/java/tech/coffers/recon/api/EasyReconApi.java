@@ -10,9 +10,13 @@ import tech.coffers.recon.core.service.TimingReconService;
 import tech.coffers.recon.entity.*;
 import tech.coffers.recon.repository.ReconRepository;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +54,18 @@ public class EasyReconApi {
         return realtimeReconService.reconOrder(request);
     }
 
+    /**
+     * 批量对账订单 (DTO)
+     * <p>
+     * 逐笔在内存中完成核账后按批次合并写库，适用于补单、批量导入等高吞吐场景。
+     *
+     * @param requests 对账请求列表
+     * @return 与请求顺序一一对应的对账结果
+     */
+    public List<ReconResult> reconOrderBatch(List<? extends AbstractReconOrderRequest> requests) {
+        return realtimeReconService.reconOrderBatch(requests);
+    }
+
     /**
      * 异步对账订单 (DTO)
      *
@@ -107,6 +123,10 @@ public class EasyReconApi {
         return timingReconService.doTimingRefundRecon(dateStr);
     }
 
+    public boolean rebuildReconSummary(String dateStr) {
+        return timingReconService.rebuildReconSummary(dateStr);
+    }
+
     // ==================== 查询能力 ====================
 
     public ReconStatusEnum getReconStatus(String orderNo) {
@@ -119,6 +139,34 @@ public class EasyReconApi {
         return mapToOrderMainResult(orderMainDO);
     }
 
+    /**
+     * 批量查询对账状态
+     * <p>
+     * 按 IN 列表上限分批查询，一批订单只需少量查询，替代逐单调用 {@link #getReconStatus(String)}。
+     *
+     * @param orderNos 订单号集合
+     * @return 订单号 -> 对账状态（不存在的订单不出现在结果中）
+     */
+    public Map<String, ReconStatusEnum> getReconStatuses(Collection<String> orderNos) {
+        Map<String, Integer> codes = reconRepository.getReconStatusesByOrderNos(orderNos);
+        Map<String, ReconStatusEnum> result = new HashMap<>(codes.size() * 2);
+        codes.forEach((orderNo, code) -> result.put(orderNo, ReconStatusEnum.fromCode(code)));
+        return result;
+    }
+
+    /**
+     * 批量查询订单主记录
+     *
+     * @param orderNos 订单号集合
+     * @return 订单号 -> 订单主记录（不存在的订单不出现在结果中）
+     */
+    public Map<String, ReconOrderMainResult> getOrderMains(Collection<String> orderNos) {
+        Map<String, ReconOrderMainDO> orderMains = reconRepository.getOrderMainsByOrderNos(orderNos);
+        Map<String, ReconOrderMainResult> result = new HashMap<>(orderMains.size() * 2);
+        orderMains.forEach((orderNo, orderMainDO) -> result.put(orderNo, mapToOrderMainResult(orderMainDO)));
+        return result;
+    }
+
     public List<ReconExceptionResult> getReconExceptions(String orderNo) {
         List<ReconExceptionDO> exceptions = reconRepository.getExceptionsByOrderNo(orderNo);
         if (exceptions == null) {
@@ -156,6 +204,30 @@ public class EasyReconApi {
         return details.stream().map(this::mapToRefundDetailResult).collect(Collectors.toList());
     }
 
+    /**
+     * 查询订单对账详情
+     * <p>
+     * 主订单及其业务子单、分账明细、退款明细、通知日志与异常记录在同一个数据库连接内依次加载，
+     * 详情页只占用一次连接池借还，替代分别调用六个查询方法。
+     *
+     * @param orderNo 订单号
+     * @return 订单详情，订单不存在时返回 null
+     */
+    public ReconOrderDetailResult getOrderDetail(String orderNo) {
+        ReconOrderDetailDO detailDO = reconRepository.getOrderDetail(orderNo);
+        if (detailDO == null) {
+            return null;
+        }
+        ReconOrderDetailResult result = new ReconOrderDetailResult();
+        result.setMain(mapToOrderMainResult(detailDO.getOrderMain()));
+        result.setSubs(mapList(detailDO.getOrderSubs(), this::mapToOrderSubResult));
+        result.setSplitDetails(mapList(detailDO.getSplitDetails(), this::mapToSplitDetailResult));
+        result.setRefundDetails(mapList(detailDO.getRefundDetails(), this::mapToRefundDetailResult));
+        result.setNotifyLogs(mapList(detailDO.getNotifyLogs(), this::mapToNotifyLogResult));
+        result.setExceptions(mapList(detailDO.getExceptions(), this::mapToExceptionResult));
+        return result;
+    }
+
     public List<ReconNotifyLogResult> getNotifyLogs(String orderNo) {
         List<ReconNotifyLogDO> logs = reconRepository.getNotifyLogsByOrderNo(orderNo);
         if (logs == null) {
@@ -191,8 +263,111 @@ public class EasyReconApi {
         return PageResult.of(resultList, total, page, size);
     }
 
+    /**
+     * 按游标倒序翻页查询指定日期的订单
+     * <p>
+     * 以上一页最后一条记录的 (create_time, id) 作为游标定位下一页，每页代价与翻页深度无关，
+     * 翻页过程中新写入的订单也不会造成重复或遗漏。总数只在首页（cursor 为空）统计一次，后续页返回 -1。
+     *
+     * @param dateStr     业务日期 yyyy-MM-dd
+     * @param reconStatus 对账状态，为空时不过滤
+     * @param cursor      上一页返回的 nextCursor，首页传 null
+     * @param size        每页大小
+     * @return 分页结果，nextCursor 为空表示没有更多数据
+     * @throws IllegalArgumentException 游标格式不正确或每页大小小于 1
+     */
+    public PageResult<ReconOrderMainResult> scrollOrdersByDate(String dateStr, ReconStatusEnum reconStatus,
+            String cursor, int size) {
+        requirePageSize(size);
+        ReconPageCursor position = ReconPageCursor.decode(cursor);
+        List<ReconOrderMainDO> list = reconRepository.getOrderMainByDateBefore(dateStr, reconStatus,
+                position != null ? position.getCreateTime() : null, position != null ? position.getId() : null,
+                size + 1);
+        long total = position == null ? reconRepository.countOrderMainByDate(dateStr, reconStatus) : -1L;
+
+        String nextCursor = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            ReconOrderMainDO last = list.get(size - 1);
+            nextCursor = ReconPageCursor.encode(last.getCreateTime(), last.getId());
+        }
+        List<ReconOrderMainResult> resultList = list.stream()
+                .map(this::mapToOrderMainResult)
+                .collect(Collectors.toList());
+        return PageResult.ofCursor(resultList, total, size, nextCursor);
+    }
+
+    /**
+     * 按游标倒序翻页查询对账异常记录
+     * <p>
+     * 游标与总数的语义同 {@link #scrollOrdersByDate(String, ReconStatusEnum, String, int)}。
+     *
+     * @param merchantId    商户号，为空时不过滤
+     * @param startDate     开始日期（含），为空时不过滤
+     * @param endDate       结束日期（含），为空时不过滤
+     * @param exceptionStep 异常步骤，为空时不过滤
+     * @param cursor        上一页返回的 nextCursor，首页传 null
+     * @param size          每页大小
+     * @return 分页结果，nextCursor 为空表示没有更多数据
+     * @throws IllegalArgumentException 游标格式不正确或每页大小小于 1
+     */
+    public PageResult<ReconExceptionResult> scrollExceptions(String merchantId, String startDate, String endDate,
+            Integer exceptionStep, String cursor, int size) {
+        requirePageSize(size);
+        ReconPageCursor position = ReconPageCursor.decode(cursor);
+        List<ReconExceptionDO> list = reconRepository.getExceptionRecordsBefore(merchantId, startDate, endDate,
+                exceptionStep, position != null ? position.getCreateTime() : null,
+                position != null ? position.getId() : null, size + 1);
+        long total = position == null
+                ? reconRepository.countExceptionRecords(merchantId, startDate, endDate, exceptionStep)
+                : -1L;
+
+        String nextCursor = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            ReconExceptionDO last = list.get(size - 1);
+            nextCursor = ReconPageCursor.encode(last.getCreateTime(), last.getId());
+        }
+        List<ReconExceptionResult> resultList = list.stream()
+                .map(this::mapToExceptionResult)
+                .collect(Collectors.toList());
+        return PageResult.ofCursor(resultList, total, size, nextCursor);
+    }
+
+    /**
+     * 查询定时对账运行记录
+     * <p>
+     * 每个分区每次运行对应一条记录，按开始时间倒序返回，可用于观察核账耗时与吞吐趋势。
+     *
+     * @param startDate 业务日期起（含），为空时不过滤
+     * @param endDate   业务日期止（含），为空时不过滤
+     * @param limit     最大返回条数
+     * @return 运行记录列表
+     */
+    public List<ReconJobRunResult> listTimingJobRuns(String startDate, String endDate, int limit) {
+        List<ReconJobRunDO> runs = reconRepository.listJobRuns(TimingReconService.JOB_NAME, startDate, endDate,
+                limit);
+        if (runs == null) {
+            return Collections.emptyList();
+        }
+        return runs.stream().map(this::mapToJobRunResult).collect(Collectors.toList());
+    }
+
+    private static void requirePageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("每页大小必须大于 0: " + size);
+        }
+    }
+
     // ==================== 私有映射逻辑 ====================
 
+    private static <S, T> List<T> mapList(List<S> source, Function<S, T> mapper) {
+        if (source == null) {
+            return Collections.emptyList();
+        }
+        return source.stream().map(mapper).collect(Collectors.toList());
+    }
+
     private ReconOrderMainResult mapToOrderMainResult(ReconOrderMainDO doObj) {
         if (doObj == null)
             return null;
@@ -247,6 +422,29 @@ public class EasyReconApi {
         return res;
     }
 
+    private ReconJobRunResult mapToJobRunResult(ReconJobRunDO doObj) {
+        if (doObj == null)
+            return null;
+        ReconJobRunResult res = new ReconJobRunResult();
+        res.setRunId(doObj.getRunId());
+        res.setJobName(doObj.getJobName());
+        res.setBizDate(doObj.getBizDate());
+        res.setPartitionIndex(doObj.getPartitionIndex());
+        res.setPartitionCount(doObj.getPartitionCount());
+        res.setOwner(doObj.getOwner());
+        res.setStatus(doObj.getStatus());
+        res.setProcessedCount(doObj.getProcessedCount());
+        res.setSucceededCount(doObj.getSucceededCount());
+        res.setFailedCount(doObj.getFailedCount());
+        res.setStartTime(doObj.getStartTime());
+        res.setEndTime(doObj.getEndTime());
+        res.setDurationMs(doObj.getDurationMs());
+        if (doObj.getDurationMs() != null && doObj.getDurationMs() > 0 && doObj.getProcessedCount() != null) {
+            res.setThroughputPerSecond(doObj.getProcessedCount() * 1000.0 / doObj.getDurationMs());
+        }
+        return res;
+    }
+
     private ReconOrderSplitDetailResult mapToSplitDetailResult(ReconOrderSplitDetailDO doObj) {
         if (doObj == null)
             return null;
@@ -0,0 +1,65 @@
+package tech.coffers.recon.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标翻页位置
+ * <p>
+ * 记录上一页最后一条记录的 (create_time, id)，对外编码为 URL 安全的 Base64 字符串，调用方只需原样回传。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+final class ReconPageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createTime;
+    private final long id;
+
+    private ReconPageCursor(LocalDateTime createTime, long id) {
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * 编码游标，记录缺少创建时间或主键时无法继续翻页，返回 null
+     */
+    static String encode(LocalDateTime createTime, Long id) {
+        if (createTime == null || id == null) {
+            return null;
+        }
+        String raw = createTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，空游标表示首页
+     *
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    static ReconPageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new ReconPageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 
@@ -41,17 +42,17 @@ public class ReconOrderFenRequest extends AbstractReconOrderRequest {
 
     @Override
     public BigDecimal getPayAmount() {
-        return payAmountFen == null ? null : BigDecimal.valueOf(payAmountFen).movePointLeft(2);
+        return MoneyCodec.toYuan(payAmountFen);
     }
 
     @Override
     public BigDecimal getPlatformIncome() {
-        return platformIncomeFen == null ? null : BigDecimal.valueOf(platformIncomeFen).movePointLeft(2);
+        return MoneyCodec.toYuan(platformIncomeFen);
     }
 
     @Override
     public BigDecimal getPayFee() {
-        return payFeeFen == null ? BigDecimal.ZERO : BigDecimal.valueOf(payFeeFen).movePointLeft(2);
+        return payFeeFen == null ? BigDecimal.ZERO : MoneyCodec.toYuan(payFeeFen);
     }
 
     @Override
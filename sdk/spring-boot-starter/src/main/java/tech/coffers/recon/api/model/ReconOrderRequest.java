@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 
@@ -56,17 +57,17 @@ public class ReconOrderRequest extends AbstractReconOrderRequest {
 
     @Override
     public Long getPayAmountFen() {
-        return payAmount == null ? null : payAmount.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFen(payAmount);
     }
 
     @Override
     public Long getPlatformIncomeFen() {
-        return platformIncome == null ? null : platformIncome.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFen(platformIncome);
     }
 
     @Override
     public Long getPayFeeFen() {
-        return payFee == null ? 0L : payFee.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFenOrZero(payFee);
     }
 
     @Override
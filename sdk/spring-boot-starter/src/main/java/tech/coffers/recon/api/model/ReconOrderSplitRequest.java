@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 
@@ -57,21 +58,21 @@ public class ReconOrderSplitRequest {
 
     public BigDecimal getSplitAmount() {
         if (splitAmountFen != null) {
-            return BigDecimal.valueOf(splitAmountFen).movePointLeft(2);
+            return MoneyCodec.toYuan(splitAmountFen);
         }
         return splitAmount;
     }
 
     public BigDecimal getArrivalAmount() {
         if (arrivalAmountFen != null) {
-            return BigDecimal.valueOf(arrivalAmountFen).movePointLeft(2);
+            return MoneyCodec.toYuan(arrivalAmountFen);
         }
         return arrivalAmount;
     }
 
     public BigDecimal getSplitFee() {
         if (splitFeeFen != null) {
-            return BigDecimal.valueOf(splitFeeFen).movePointLeft(2);
+            return MoneyCodec.toYuan(splitFeeFen);
         }
         return splitFee;
     }
@@ -80,21 +81,21 @@ public class ReconOrderSplitRequest {
         if (splitAmountFen != null) {
             return splitAmountFen;
         }
-        return splitAmount == null ? 0L : splitAmount.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFenOrZero(splitAmount);
     }
 
     public Long getArrivalAmountFen() {
         if (arrivalAmountFen != null) {
             return arrivalAmountFen;
         }
-        return arrivalAmount == null ? 0L : arrivalAmount.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFenOrZero(arrivalAmount);
     }
 
     public Long getSplitFeeFen() {
         if (splitFeeFen != null) {
             return splitFeeFen;
         }
-        return splitFee == null ? 0L : splitFee.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFenOrZero(splitFee);
     }
 
 }
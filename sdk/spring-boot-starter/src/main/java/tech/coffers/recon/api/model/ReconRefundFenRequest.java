@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 
@@ -29,7 +30,7 @@ public class ReconRefundFenRequest extends AbstractReconRefundRequest {
 
     @Override
     public BigDecimal getRefundAmount() {
-        return refundAmountFen == null ? null : BigDecimal.valueOf(refundAmountFen).movePointLeft(2);
+        return MoneyCodec.toYuan(refundAmountFen);
     }
 
     @Override
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 
@@ -67,21 +68,21 @@ public class ReconSubOrderRequest {
 
     public BigDecimal getOrderAmount() {
         if (orderAmountFen != null) {
-            return BigDecimal.valueOf(orderAmountFen).movePointLeft(2);
+            return MoneyCodec.toYuan(orderAmountFen);
         }
         return orderAmount;
     }
 
     public BigDecimal getSplitAmount() {
         if (splitAmountFen != null) {
-            return BigDecimal.valueOf(splitAmountFen).movePointLeft(2);
+            return MoneyCodec.toYuan(splitAmountFen);
         }
         return splitAmount;
     }
 
     public BigDecimal getFee() {
         if (feeFen != null) {
-            return BigDecimal.valueOf(feeFen).movePointLeft(2);
+            return MoneyCodec.toYuan(feeFen);
         }
         return fee;
     }
@@ -90,21 +91,21 @@ public class ReconSubOrderRequest {
         if (orderAmountFen != null) {
             return orderAmountFen;
         }
-        return orderAmount == null ? null : orderAmount.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFen(orderAmount);
     }
 
     public Long getSplitAmountFen() {
         if (splitAmountFen != null) {
             return splitAmountFen;
         }
-        return splitAmount == null ? null : splitAmount.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFen(splitAmount);
     }
 
     public Long getFeeFen() {
         if (feeFen != null) {
             return feeFen;
         }
-        return fee == null ? null : fee.multiply(new BigDecimal("100")).longValue();
+        return MoneyCodec.toFen(fee);
     }
 
 }
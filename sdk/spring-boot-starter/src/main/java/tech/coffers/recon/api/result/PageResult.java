@@ -35,6 +35,11 @@ public class PageResult<T> {
      */
     private int size;
 
+    /**
+     * 游标翻页时下一页的游标，没有更多数据时为 null；页码翻页时始终为 null
+     */
+    private String nextCursor;
+
     public PageResult() {
     }
 
@@ -52,4 +57,18 @@ public class PageResult<T> {
     public static <T> PageResult<T> of(List<T> list, long total, int page, int size) {
         return new PageResult<>(list, total, page, size);
     }
+
+    /**
+     * 游标翻页结果，页码固定为 0
+     *
+     * @param list       数据列表
+     * @param total      总记录数，未统计时为 -1
+     * @param size       每页大小
+     * @param nextCursor 下一页游标，没有更多数据时为 null
+     */
+    public static <T> PageResult<T> ofCursor(List<T> list, long total, int size, String nextCursor) {
+        PageResult<T> result = new PageResult<>(list, total, 0, size);
+        result.setNextCursor(nextCursor);
+        return result;
+    }
 }
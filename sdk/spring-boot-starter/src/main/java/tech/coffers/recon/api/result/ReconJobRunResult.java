@@ -0,0 +1,85 @@
+package tech.coffers.recon.api.result;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 定时任务运行记录结果
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Data
+public class ReconJobRunResult {
+    /**
+     * 运行 ID
+     */
+    private String runId;
+
+    /**
+     * 任务名称
+     */
+    private String jobName;
+
+    /**
+     * 业务日期
+     */
+    private LocalDate bizDate;
+
+    /**
+     * 分区序号
+     */
+    private Integer partitionIndex;
+
+    /**
+     * 分区总数
+     */
+    private Integer partitionCount;
+
+    /**
+     * 执行节点
+     */
+    private String owner;
+
+    /**
+     * 状态 (0:运行中, 1:已完成, 2:已中断)
+     */
+    private Integer status;
+
+    /**
+     * 已处理笔数
+     */
+    private Long processedCount;
+
+    /**
+     * 核账成功笔数
+     */
+    private Long succeededCount;
+
+    /**
+     * 核账失败笔数
+     */
+    private Long failedCount;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long durationMs;
+
+    /**
+     * 吞吐量（笔/秒），运行未结束时为 null
+     */
+    private Double throughputPerSecond;
+}
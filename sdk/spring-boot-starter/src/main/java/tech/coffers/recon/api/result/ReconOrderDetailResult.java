@@ -0,0 +1,45 @@
+package tech.coffers.recon.api.result;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 订单对账详情结果
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Data
+public class ReconOrderDetailResult {
+
+    /**
+     * 对账主订单
+     */
+    private ReconOrderMainResult main;
+
+    /**
+     * 业务子订单
+     */
+    private List<ReconOrderSubResult> subs;
+
+    /**
+     * 商户分账事实明细
+     */
+    private List<ReconOrderSplitDetailResult> splitDetails;
+
+    /**
+     * 退款分账明细
+     */
+    private List<ReconOrderRefundDetailResult> refundDetails;
+
+    /**
+     * 通知日志
+     */
+    private List<ReconNotifyLogResult> notifyLogs;
+
+    /**
+     * 对账异常记录
+     */
+    private List<ReconExceptionResult> exceptions;
+}
@@ -18,8 +18,19 @@ import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomiz
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.Location;
+import tech.coffers.recon.metrics.MeteredReconRepository;
+import tech.coffers.recon.metrics.MicrometerReconMetrics;
+import tech.coffers.recon.metrics.ReconMetrics;
+import tech.coffers.recon.repository.cache.CachingReconRepository;
+import tech.coffers.recon.repository.cache.ReconRepositoryCache;
 import tech.coffers.recon.repository.jdbc.JdbcReconRepository;
 import tech.coffers.recon.repository.ReconRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.sql.DataSource;
 import java.util.concurrent.ExecutorService;
@@ -36,6 +47,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * <li>实时对账核心逻辑 (RealtimeReconService)</li>
  * <li>基于 Spring @Scheduled 的定时对账补偿逻辑 (TimingReconService)</li>
  * <li>多渠道告警服务 (AlarmService)</li>
+ * <li>Micrometer 在类路径上时的对账指标 (ReconMetrics)</li>
  * <li>以及基于 Flyway 的 SDK 专用表结构自动初始化</li>
  * </ul>
  *
@@ -53,6 +65,40 @@ public class ReconSdkAutoConfiguration {
         this.properties = properties;
     }
 
+    /**
+     * Micrometer 指标配置，仅在 Micrometer 位于类路径上时加载
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        /**
+         * 创建基于 Micrometer 的对账指标，容器中没有 MeterRegistry 或已关闭指标时不采集
+         *
+         * @param meterRegistry 指标注册表
+         * @param properties    配置属性
+         * @return 对账指标
+         */
+        @Bean
+        @ConditionalOnMissingBean(ReconMetrics.class)
+        public ReconMetrics reconMetrics(ObjectProvider<MeterRegistry> meterRegistry, ReconSdkProperties properties) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null && properties.getMetrics().isEnabled() ? new MicrometerReconMetrics(registry)
+                    : ReconMetrics.NOOP;
+        }
+    }
+
+    /**
+     * Micrometer 不在类路径上时使用空指标实现
+     *
+     * @return 对账指标
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReconMetrics.class)
+    public ReconMetrics reconMetrics() {
+        return ReconMetrics.NOOP;
+    }
+
     /**
      * 创建线程池
      *
@@ -104,29 +150,61 @@ public class ReconSdkAutoConfiguration {
         return dialectFactory.getDialect();
     }
 
+    /**
+     * 创建存储库读缓存
+     *
+     * @param reconMetrics 对账指标
+     * @return 存储库读缓存
+     */
+    @Bean
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(prefix = "easy-recon.cache", name = "enabled", havingValue = "true", matchIfMissing = false)
+    @ConditionalOnMissingBean(ReconRepositoryCache.class)
+    public ReconRepositoryCache reconRepositoryCache(ReconMetrics reconMetrics) {
+        ReconRepositoryCache cache = new ReconRepositoryCache(properties.getCache());
+        reconMetrics.bindCache(cache);
+        return cache;
+    }
+
     /**
      * 创建对账存储库
+     * <p>
+     * 读缓存包装在指标之外，存储库指标只统计实际访问数据库的调用
      *
-     * @param dataSource     数据源
-     * @param dialectFactory 数据库方言工厂
+     * @param dataSource           数据源
+     * @param dialectFactory       数据库方言工厂
+     * @param reconMetrics         对账指标
+     * @param reconRepositoryCache 存储库读缓存（启用时存在）
+     * @param transactionManager   应用的事务管理器（唯一时使用）
      * @return 对账存储库
      */
     @Bean
     @ConditionalOnMissingBean(ReconRepository.class)
-    public ReconRepository reconRepository(DataSource dataSource, ReconDialectFactory dialectFactory) {
-        return new JdbcReconRepository(new JdbcTemplate(dataSource), dialectFactory, properties);
+    public ReconRepository reconRepository(DataSource dataSource, ReconDialectFactory dialectFactory,
+            ReconMetrics reconMetrics, ObjectProvider<ReconRepositoryCache> reconRepositoryCache,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        ReconRepository repository = new JdbcReconRepository(new JdbcTemplate(dataSource), dialectFactory,
+                properties, transactionOperations(dataSource, transactionManager));
+        if (reconMetrics != ReconMetrics.NOOP) {
+            repository = MeteredReconRepository.wrap(repository, reconMetrics);
+        }
+        ReconRepositoryCache cache = reconRepositoryCache.getIfAvailable();
+        return cache != null ? CachingReconRepository.wrap(repository, cache) : repository;
     }
 
     /**
      * 创建告警服务
      *
      * @param alarmStrategies 所有的告警策略实现
+     * @param reconMetrics    对账指标
      * @return 告警服务
      */
     @Bean
     @ConditionalOnMissingBean(AlarmService.class)
-    public AlarmService alarmService(java.util.List<AlarmService.AlarmStrategy> alarmStrategies) {
-        return new AlarmService(alarmStrategies);
+    public AlarmService alarmService(java.util.List<AlarmService.AlarmStrategy> alarmStrategies,
+            ReconMetrics reconMetrics) {
+        AlarmService alarmService = new AlarmService(alarmStrategies, properties);
+        reconMetrics.bindAlarmService(alarmService);
+        return alarmService;
     }
 
     /**
@@ -154,13 +232,16 @@ public class ReconSdkAutoConfiguration {
      * @param exceptionRecordService 异常记录服务
      * @param alarmService           告警服务
      * @param properties             配置属性
+     * @param executorService        线程池
      * @return 定时对账服务
      */
     @Bean
     @ConditionalOnMissingBean(TimingReconService.class)
     public TimingReconService timingReconService(ReconRepository reconRepository,
-            ExceptionRecordService exceptionRecordService, AlarmService alarmService, ReconSdkProperties properties) {
-        return new TimingReconService(reconRepository, exceptionRecordService, alarmService, properties);
+            ExceptionRecordService exceptionRecordService, AlarmService alarmService, ReconSdkProperties properties,
+            @org.springframework.beans.factory.annotation.Qualifier("reconExecutorService") ExecutorService executorService) {
+        return new TimingReconService(reconRepository, exceptionRecordService, alarmService, properties,
+                executorService);
     }
 
     /**
@@ -177,16 +258,50 @@ public class ReconSdkAutoConfiguration {
         return new tech.coffers.recon.core.scheduler.ReconTaskScheduler(timingReconService);
     }
 
+    /**
+     * 创建持续增量核账调度器
+     *
+     * @param timingReconService 定时对账服务
+     * @return 持续增量核账调度器
+     */
+    @Bean
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(prefix = "easy-recon.timing.continuous", name = "enabled", havingValue = "true", matchIfMissing = false)
+    @ConditionalOnMissingBean(tech.coffers.recon.core.scheduler.ReconContinuousScheduler.class)
+    public tech.coffers.recon.core.scheduler.ReconContinuousScheduler reconContinuousScheduler(
+            TimingReconService timingReconService) {
+        return new tech.coffers.recon.core.scheduler.ReconContinuousScheduler(timingReconService);
+    }
+
+    /**
+     * 创建对账日汇总重建调度器
+     *
+     * @param timingReconService 定时对账服务
+     * @return 对账日汇总重建调度器
+     */
+    @Bean
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(prefix = "easy-recon.summary", name = "enabled", havingValue = "true", matchIfMissing = false)
+    @ConditionalOnMissingBean(tech.coffers.recon.core.scheduler.ReconSummaryScheduler.class)
+    public tech.coffers.recon.core.scheduler.ReconSummaryScheduler reconSummaryScheduler(
+            TimingReconService timingReconService) {
+        return new tech.coffers.recon.core.scheduler.ReconSummaryScheduler(timingReconService);
+    }
+
     /**
      * 创建异常记录服务
      *
-     * @param reconRepository 对账存储库
+     * @param reconRepository    对账存储库
+     * @param reconMetrics       对账指标
+     * @param dataSource         数据源
+     * @param transactionManager 应用的事务管理器（唯一时使用）
      * @return 异常记录服务
      */
     @Bean
     @ConditionalOnMissingBean(ExceptionRecordService.class)
-    public ExceptionRecordService exceptionRecordService(ReconRepository reconRepository) {
-        return new ExceptionRecordService(reconRepository);
+    public ExceptionRecordService exceptionRecordService(ReconRepository reconRepository,
+            ReconMetrics reconMetrics, DataSource dataSource,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        return new ExceptionRecordService(reconRepository, properties, reconMetrics,
+                transactionOperations(dataSource, transactionManager));
     }
 
     /**
@@ -197,14 +312,35 @@ public class ReconSdkAutoConfiguration {
      * @param alarmService           告警服务
      * @param properties             配置属性
      * @param executorService        线程池
+     * @param reconMetrics           对账指标
+     * @param dataSource             数据源
+     * @param transactionManager     应用的事务管理器（唯一时使用）
      * @return 实时对账服务
      */
     @Bean
     @ConditionalOnMissingBean(RealtimeReconService.class)
     public RealtimeReconService realtimeReconService(ReconRepository reconRepository,
-            ExceptionRecordService exceptionRecordService, AlarmService alarmService,
-            @org.springframework.beans.factory.annotation.Qualifier("reconExecutorService") ExecutorService executorService) {
-        return new RealtimeReconService(reconRepository, exceptionRecordService, alarmService, executorService);
+            ExceptionRecordService exceptionRecordService, AlarmService alarmService, ReconSdkProperties properties,
+            @org.springframework.beans.factory.annotation.Qualifier("reconExecutorService") ExecutorService executorService,
+            ReconMetrics reconMetrics, DataSource dataSource,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        reconMetrics.bindExecutor("reconExecutorService", executorService);
+        RealtimeReconService realtimeReconService = new RealtimeReconService(reconRepository,
+                exceptionRecordService, alarmService, executorService, properties, reconMetrics,
+                transactionOperations(dataSource, transactionManager));
+        reconMetrics.bindOrderLanes(realtimeReconService);
+        return realtimeReconService;
+    }
+
+    /**
+     * SDK 内部批量写入使用的事务模板
+     * <p>
+     * 优先使用应用中唯一的事务管理器，以便加入调用方已开启的事务；没有时基于数据源创建
+     */
+    private static TransactionOperations transactionOperations(DataSource dataSource,
+            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        PlatformTransactionManager manager = transactionManager.getIfUnique();
+        return new TransactionTemplate(manager != null ? manager : new DataSourceTransactionManager(dataSource));
     }
 
     /**
@@ -59,6 +59,175 @@ public class ReconSdkProperties {
          * 是否启用定时核账调度
          */
         private boolean enabled = false;
+
+        /**
+         * 定时核账并行度（默认 1）
+         * <p>
+         * 大于 1 时当日待核账订单按 id 取模划分为同等数量的互不重叠分区，由对账线程池并发处理，
+         * 同时也是定时核账占用的最大数据库并发数
+         */
+        private int parallelism = 1;
+
+        /**
+         * 运行中记录的失联判定时长，秒（默认 600）
+         * <p>
+         * 运行记录每处理完一页即刷新更新时间，超过该时长未刷新的运行中记录视为持有节点已失联，可由其他节点接管续跑；
+         * 取值需大于单页核账的最长耗时
+         */
+        private long staleRunSeconds = 600L;
+
+        /**
+         * 多节点分片配置
+         */
+        private Sharding sharding = new Sharding();
+
+        /**
+         * 持续增量核账配置
+         */
+        private Continuous continuous = new Continuous();
+
+        /**
+         * 多节点分片配置
+         * <p>
+         * 启用后当日待核账订单被划分为固定数量的分片，各节点通过数据库租约抢占分片，
+         * 处理过程中续期、完成后释放，从而在无外部协调者的情况下由多个节点共同完成一次定时核账
+         */
+        @Data
+        public static class Sharding {
+            /**
+             * 是否启用多节点分片
+             */
+            private boolean enabled = false;
+
+            /**
+             * 分片总数（默认 16），集群内所有节点必须一致
+             */
+            private int shardCount = 16;
+
+            /**
+             * 租约时长，秒（默认 300），处理过程中每过三分之一时长续期一次
+             */
+            private long leaseSeconds = 300L;
+
+            /**
+             * 已完成分片的保留时长，秒（默认 3600），期间其他节点不会重复处理该分片
+             */
+            private long completedHoldSeconds = 3600L;
+
+            /**
+             * 当前节点标识，为空时自动生成
+             */
+            private String nodeId;
+        }
+
+        /**
+         * 持续增量核账配置
+         * <p>
+         * 启用后按固定间隔轮询 update_time 越过持久化水位的待核账订单并小批量重新判定，
+         * 把核账压力分摊到全天，每日定时核账仍作为兜底
+         */
+        @Data
+        public static class Continuous {
+            /**
+             * 是否启用持续增量核账
+             */
+            private boolean enabled = false;
+
+            /**
+             * 轮询间隔，毫秒（默认 30000），上一轮结束后开始计时
+             */
+            private long intervalMs = 30000L;
+
+            /**
+             * 单批拉取订单数（默认 200）
+             */
+            private int batchSize = 200;
+
+            /**
+             * 单轮最多处理批次数（默认 50），剩余订单留待下一轮
+             */
+            private int maxBatchesPerPoll = 50;
+
+            /**
+             * 安全延迟，秒（默认 5），只处理 update_time 早于当前时间减该值的订单，避免跳过尚未提交的变更
+             */
+            private long lagSeconds = 5L;
+        }
+    }
+
+    /**
+     * 实时对账配置
+     */
+    private Realtime realtime = new Realtime();
+
+    @Data
+    public static class Realtime {
+        /**
+         * 批量对账时单个写入批次包含的订单数（默认 500）
+         */
+        private int batchChunkSize = 500;
+
+        /**
+         * 主订单状态比较并更新遇到版本冲突时的最大尝试次数（默认 3）
+         */
+        private int versionConflictRetries = 3;
+
+        /**
+         * 异步对账写后缓冲配置
+         */
+        private WriteBehind writeBehind = new WriteBehind();
+
+        /**
+         * 异步通知合并配置
+         */
+        private NotifyCoalesce notifyCoalesce = new NotifyCoalesce();
+
+        /**
+         * 异步对账写后缓冲配置
+         */
+        @Data
+        public static class WriteBehind {
+            /**
+             * 是否启用写后缓冲（启用后 reconOrderAsync 将合并批量提交）
+             */
+            private boolean enabled = false;
+
+            /**
+             * 缓冲队列容量（默认 10000），队列满时在调用线程上直接写入
+             */
+            private int capacity = 10000;
+
+            /**
+             * 攒够多少笔订单触发一次刷写（默认 200）
+             */
+            private int flushSize = 200;
+
+            /**
+             * 最长攒批等待时间，毫秒（默认 50）
+             */
+            private long flushIntervalMs = 50L;
+        }
+
+        /**
+         * 异步通知合并配置
+         */
+        @Data
+        public static class NotifyCoalesce {
+            /**
+             * 是否启用通知合并（启用后异步通知按订单号在时间窗口内合并处理）
+             */
+            private boolean enabled = false;
+
+            /**
+             * 合并窗口，毫秒（默认 20），窗口内同一订单的通知合并为一次批量更新与一次重新核账
+             */
+            private long windowMs = 20L;
+
+            /**
+             * 单个窗口最多合并的通知数（默认 200），达到后立即处理
+             */
+            private int maxBatchSize = 200;
+        }
     }
 
     /**
@@ -76,6 +245,26 @@ public class ReconSdkProperties {
      */
     private Alarm alarm = new Alarm();
 
+    /**
+     * 异常记录写入配置
+     */
+    private ExceptionWriter exceptionWriter = new ExceptionWriter();
+
+    /**
+     * 指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 对账日汇总配置
+     */
+    private Summary summary = new Summary();
+
+    /**
+     * 存储库读缓存配置
+     */
+    private Cache cache = new Cache();
+
     /**
      * 线程池配置
      */
@@ -95,6 +284,34 @@ public class ReconSdkProperties {
          * 线程池队列容量（默认 1000）
          */
         private int queueCapacity = 1000;
+
+        /**
+         * 订单亲和执行配置
+         */
+        private OrderAffinity orderAffinity = new OrderAffinity();
+
+        /**
+         * 订单亲和执行配置
+         * <p>
+         * 按订单号哈希到固定的单消费者通道，同一订单的异步对账、退款与通知串行执行，不同订单仍并行
+         */
+        @Data
+        public static class OrderAffinity {
+            /**
+             * 是否启用订单亲和执行（默认 false，使用共享线程池）
+             */
+            private boolean enabled = false;
+
+            /**
+             * 通道数，即并行处理的最大订单数（默认 16）
+             */
+            private int lanes = 16;
+
+            /**
+             * 单个通道的队列容量，满时提交线程阻塞等待（默认 1000）
+             */
+            private int laneQueueCapacity = 1000;
+        }
     }
 
     /**
@@ -112,6 +329,11 @@ public class ReconSdkProperties {
          */
         private DingTalk dingtalk = new DingTalk();
 
+        /**
+         * 异步告警分发配置
+         */
+        private Dispatch dispatch = new Dispatch();
+
         /**
          * 钉钉告警配置
          */
@@ -122,6 +344,120 @@ public class ReconSdkProperties {
              */
             private String webhookUrl;
         }
+
+        /**
+         * 异步告警分发配置
+         * <p>
+         * 告警进入有界队列后由独立线程投递，同一 (商户, 步骤) 在去重窗口内的重复告警合并为一条汇总告警，
+         * 每个告警策略按令牌桶限流
+         */
+        @Data
+        public static class Dispatch {
+            /**
+             * 是否启用异步告警分发（默认 false，在调用线程上同步投递）
+             */
+            private boolean enabled = false;
+
+            /**
+             * 告警队列容量，满时丢弃新告警并计数（默认 1000）
+             */
+            private int queueCapacity = 1000;
+
+            /**
+             * 去重窗口（秒），0 表示不去重（默认 60）
+             */
+            private long dedupWindowSeconds = 60L;
+
+            /**
+             * 每个告警策略每分钟允许发送的告警数，0 表示不限流（默认 30）
+             */
+            private int rateLimitPerMinute = 30;
+
+            /**
+             * 每个告警策略允许的突发告警数（默认 10）
+             */
+            private int rateLimitBurst = 10;
+        }
+    }
+
+    /**
+     * 异常记录写入配置
+     */
+    @Data
+    public static class ExceptionWriter {
+        /**
+         * 是否启用异步批量写入（默认 false，在调用线程中逐条同步写入）
+         */
+        private boolean async = false;
+
+        /**
+         * 异步队列容量，满时在调用线程直接写入（默认 10000）
+         */
+        private int capacity = 10000;
+
+        /**
+         * 单批写入的最大异常数（默认 200）
+         */
+        private int flushSize = 200;
+
+        /**
+         * 最长攒批等待时间（毫秒，默认 200）
+         */
+        private long flushIntervalMs = 200L;
+    }
+
+    /**
+     * 指标配置
+     */
+    @Data
+    public static class Metrics {
+        /**
+         * 是否注册 Micrometer 指标（默认 true，仅在 Micrometer 及 MeterRegistry 可用时生效）
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * 对账日汇总配置
+     * <p>
+     * 启用后每次主订单对账状态迁移都会在同一事务内增量维护 easy_recon_summary 中的当日计数，
+     * 汇总查询直接读取单行；并发写入造成的偏差由每日重建任务按主订单表重新统计修复
+     */
+    @Data
+    public static class Summary {
+        /**
+         * 是否启用持久化日汇总（默认 false，关闭时汇总查询实时聚合主订单表）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 日汇总重建 cron 表达式（默认每天凌晨 2 点 30 分重建前一天）
+         */
+        private String rebuildCron = "0 30 2 * * ?";
+    }
+
+    /**
+     * 存储库读缓存配置
+     * <p>
+     * 通知与退款回调按子订单号、商户订单号反查主订单号后再读取主订单。反查映射写入后不再变化，
+     * 缓存后不会过期；主订单快照在经由同一存储库的任何写入后失效，并以较短的存活时间兜底其他节点的写入
+     */
+    @Data
+    public static class Cache {
+        /**
+         * 是否启用进程内读缓存（默认 false）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 订单号映射与主订单快照各自的最大条目数，超出后淘汰最久未访问的条目
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 主订单快照存活时间（秒），0 表示只依赖写入失效
+         */
+        private long orderTtlSeconds = 30L;
     }
 
 }
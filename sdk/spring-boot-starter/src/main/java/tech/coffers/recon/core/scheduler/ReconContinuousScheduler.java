@@ -0,0 +1,27 @@
+package tech.coffers.recon.core.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import tech.coffers.recon.core.service.TimingReconService;
+
+/**
+ * 持续增量核账调度器
+ * <p>
+ * 按 easy-recon.timing.continuous.interval-ms 固定间隔触发一轮增量核账，上一轮结束后才开始计时，
+ * 不会出现轮询重叠。可通过配置 easy-recon.timing.continuous.enabled=true 开启。
+ *
+ * @author coffersTech
+ * @since 1.2.0
+ */
+public class ReconContinuousScheduler {
+
+    private final TimingReconService timingReconService;
+
+    public ReconContinuousScheduler(TimingReconService timingReconService) {
+        this.timingReconService = timingReconService;
+    }
+
+    @Scheduled(fixedDelayString = "${easy-recon.timing.continuous.interval-ms:30000}", initialDelayString = "${easy-recon.timing.continuous.interval-ms:30000}")
+    public void scheduledContinuousRecon() {
+        timingReconService.doContinuousRecon();
+    }
+}
@@ -0,0 +1,28 @@
+package tech.coffers.recon.core.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import tech.coffers.recon.core.service.TimingReconService;
+import java.time.LocalDate;
+
+/**
+ * 对账日汇总重建调度器
+ * <p>
+ * 日汇总由主订单写入增量维护，本调度器定期按主订单表重建前一日的汇总以修复可能的偏差。
+ * 仅在配置 easy-recon.summary.enabled=true 时注册。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class ReconSummaryScheduler {
+
+    private final TimingReconService timingReconService;
+
+    public ReconSummaryScheduler(TimingReconService timingReconService) {
+        this.timingReconService = timingReconService;
+    }
+
+    @Scheduled(cron = "${easy-recon.summary.rebuild-cron:0 30 2 * * ?}")
+    public void scheduledRebuild() {
+        timingReconService.rebuildReconSummary(LocalDate.now().minusDays(1).toString());
+    }
+}
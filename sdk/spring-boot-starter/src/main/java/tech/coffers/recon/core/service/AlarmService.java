@@ -1,13 +1,16 @@
 package tech.coffers.recon.core.service;
 
 import lombok.extern.slf4j.Slf4j;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 告警服务
  * <p>
- * 提供异常告警功能，支持多种告警方式
+ * 提供异常告警功能，支持多种告警方式。启用异步分发后，告警由独立线程投递，
+ * 并按 (商户, 步骤) 去重合并、按告警策略限流
  * </p>
  *
  * @author Ryan
@@ -17,9 +20,20 @@ import java.util.List;
 public class AlarmService {
 
     private final List<AlarmStrategy> alarmStrategies;
+    private final ReconAlarmDispatcher dispatcher;
 
     public AlarmService(List<AlarmStrategy> alarmStrategies) {
+        this(alarmStrategies, new ReconSdkProperties());
+    }
+
+    public AlarmService(List<AlarmStrategy> alarmStrategies, ReconSdkProperties properties) {
         this.alarmStrategies = alarmStrategies != null ? alarmStrategies : new ArrayList<>();
+        ReconSdkProperties.Alarm.Dispatch dispatch = properties.getAlarm().getDispatch();
+        this.dispatcher = dispatch.isEnabled() && !this.alarmStrategies.isEmpty()
+                ? new ReconAlarmDispatcher(this.alarmStrategies, dispatch.getQueueCapacity(),
+                        dispatch.getDedupWindowSeconds(), dispatch.getRateLimitPerMinute(),
+                        dispatch.getRateLimitBurst())
+                : null;
     }
 
     /**
@@ -32,6 +46,10 @@ public class AlarmService {
             log.warn("未配置告警策略，消息将被忽略: {}", message);
             return;
         }
+        if (dispatcher != null) {
+            dispatcher.submit(null, null, message);
+            return;
+        }
         for (AlarmStrategy strategy : alarmStrategies) {
             try {
                 strategy.sendAlarm(message);
@@ -49,8 +67,65 @@ public class AlarmService {
      * @param message    告警消息
      */
     public void sendReconAlarm(String orderNo, String merchantId, String message) {
+        sendReconAlarm(orderNo, merchantId, -1, message);
+    }
+
+    /**
+     * 发送对账告警
+     * <p>
+     * 启用异步分发时，同一商户同一步骤在去重窗口内的告警合并为一条汇总告警
+     *
+     * @param orderNo       订单号
+     * @param merchantId    商户ID
+     * @param exceptionStep 异常步骤，未知时为 -1
+     * @param message       告警消息
+     */
+    public void sendReconAlarm(String orderNo, String merchantId, int exceptionStep, String message) {
         String fullMessage = String.format("【对账告警】订单号：%s，商户ID：%s，信息：%s", orderNo, merchantId, message);
-        sendAlarm(fullMessage);
+        if (dispatcher == null) {
+            sendAlarm(fullMessage);
+            return;
+        }
+        String label = exceptionStep >= 0 ? String.format("商户ID：%s，步骤：%d", merchantId, exceptionStep)
+                : String.format("商户ID：%s", merchantId);
+        dispatcher.submit(merchantId + "|" + exceptionStep, label, fullMessage);
+    }
+
+    /**
+     * 异步分发队列中等待投递的告警数，未启用异步分发时为 0
+     */
+    public int getQueueDepth() {
+        return dispatcher != null ? dispatcher.queueDepth() : 0;
+    }
+
+    /**
+     * 因队列已满而丢弃的告警数
+     */
+    public long getDroppedCount() {
+        return dispatcher != null ? dispatcher.droppedCount() : 0L;
+    }
+
+    /**
+     * 因去重窗口内重复而合并的告警数
+     */
+    public long getSuppressedCount() {
+        return dispatcher != null ? dispatcher.suppressedCount() : 0L;
+    }
+
+    /**
+     * 因告警策略限流而未发送的告警数（按策略累计）
+     */
+    public long getRateLimitedCount() {
+        return dispatcher != null ? dispatcher.rateLimitedCount() : 0L;
+    }
+
+    /**
+     * 关闭服务，投递异步分发队列中剩余的告警及尚未结束窗口的汇总告警
+     */
+    public void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
     }
 
     /**
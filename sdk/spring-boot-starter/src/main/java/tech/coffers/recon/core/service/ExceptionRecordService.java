@@ -1,22 +1,59 @@
 package tech.coffers.recon.core.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
 import tech.coffers.recon.entity.ReconExceptionDO;
+import tech.coffers.recon.metrics.ReconMetrics;
 import tech.coffers.recon.repository.ReconRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 异常记录服务
+ * <p>
+ * 启用异步写入时，异常记录进入缓冲区后由后台线程通过 {@link ReconRepository#batchSaveException(List)} 批量写入，
+ * 不再参与调用方事务；调用方回滚不会撤销已提交的异常记录。
  *
  * @author Ryan
  * @since 1.0.0
  */
+@Slf4j
 public class ExceptionRecordService {
 
     private final ReconRepository reconRepository;
+    private final ReconBatchingBuffer<ReconExceptionDO> exceptionBuffer;
+    private final ReconMetrics metrics;
+    private final TransactionOperations transactionOperations;
 
     public ExceptionRecordService(ReconRepository reconRepository) {
+        this(reconRepository, new ReconSdkProperties());
+    }
+
+    public ExceptionRecordService(ReconRepository reconRepository, ReconSdkProperties properties) {
+        this(reconRepository, properties, ReconMetrics.NOOP);
+    }
+
+    public ExceptionRecordService(ReconRepository reconRepository, ReconSdkProperties properties,
+            ReconMetrics metrics) {
+        this(reconRepository, properties, metrics, null);
+    }
+
+    /**
+     * @param transactionOperations 异步批量写入使用的事务模板，批量失败时整批回滚后再逐条重试
+     */
+    public ExceptionRecordService(ReconRepository reconRepository, ReconSdkProperties properties,
+            ReconMetrics metrics, TransactionOperations transactionOperations) {
         this.reconRepository = reconRepository;
+        this.metrics = metrics != null ? metrics : ReconMetrics.NOOP;
+        this.transactionOperations = transactionOperations != null ? transactionOperations
+                : TransactionOperations.withoutTransaction();
+        ReconSdkProperties.ExceptionWriter writer = properties.getExceptionWriter();
+        this.exceptionBuffer = writer.isAsync()
+                ? new ReconBatchingBuffer<>("easy-recon-exception-writer", writer.getCapacity(),
+                        writer.getFlushSize(), writer.getFlushIntervalMs(), this::saveBatch)
+                : null;
     }
 
     /**
@@ -28,6 +65,7 @@ public class ExceptionRecordService {
      * @param exceptionStep 异常步骤
      */
     public void recordReconException(String orderNo, String merchantId, String exceptionMsg, int exceptionStep) {
+        metrics.recordException(exceptionStep);
         ReconExceptionDO exceptionDO = new ReconExceptionDO();
         exceptionDO.setOrderNo(orderNo);
         exceptionDO.setMerchantId(merchantId);
@@ -35,6 +73,38 @@ public class ExceptionRecordService {
         exceptionDO.setExceptionStep(exceptionStep);
         exceptionDO.setCreateTime(LocalDateTime.now());
         exceptionDO.setUpdateTime(LocalDateTime.now());
+        if (exceptionBuffer != null) {
+            exceptionBuffer.submit(exceptionDO);
+            return;
+        }
         reconRepository.saveException(exceptionDO);
     }
+
+    /**
+     * 关闭服务，将异步缓冲区中尚未写入的异常记录全部落库
+     */
+    public void shutdown() {
+        if (exceptionBuffer != null) {
+            exceptionBuffer.shutdown();
+        }
+    }
+
+    private void saveBatch(List<ReconExceptionDO> exceptions) {
+        // 整批在同一事务中写入，失败时回滚已写入的部分，逐条重试不会产生重复记录
+        Boolean saved = transactionOperations.execute(status -> {
+            if (reconRepository.batchSaveException(exceptions)) {
+                return true;
+            }
+            status.setRollbackOnly();
+            return false;
+        });
+        if (Boolean.TRUE.equals(saved)) {
+            return;
+        }
+        // 批量写入失败时逐条重试，避免单条异常数据拖累整批记录丢失
+        log.warn("异常记录批量写入失败，逐条重试，条数: {}", exceptions.size());
+        for (ReconExceptionDO exceptionDO : exceptions) {
+            reconRepository.saveException(exceptionDO);
+        }
+    }
 }
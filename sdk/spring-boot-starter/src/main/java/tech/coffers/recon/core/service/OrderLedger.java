@@ -0,0 +1,303 @@
+package tech.coffers.recon.core.service;
+
+import tech.coffers.recon.api.enums.SettlementTypeEnum;
+import tech.coffers.recon.api.model.ReconOrderSplitRequest;
+import tech.coffers.recon.api.model.ReconSubOrderRequest;
+import tech.coffers.recon.entity.ReconOrderSubDO;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单笔订单的商户维度金额台账
+ * <p>
+ * 对意图层（子订单）与事实层（分账明细）各遍历一次，按商户下标把金额累加到原始 long 数组中，
+ * 到账方式推断、商户结算统计、手续费率推断以及宏观/微观核账都直接读取该台账，
+ * 不再为每个环节重复构建以商户为键的 Map 与分组集合，也避免装箱求和。
+ * </p>
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+final class OrderLedger {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * 商户出现在意图层
+     */
+    private static final byte INTENT = 1;
+
+    /**
+     * 商户在意图层填写了订单金额，参与到账方式推断
+     */
+    private static final byte INTENT_AMOUNT = 2;
+
+    /**
+     * 商户出现在事实层
+     */
+    private static final byte FACT = 4;
+
+    private final Map<String, Integer> merchantIndex = new HashMap<>();
+    private String[] merchantIds = new String[INITIAL_CAPACITY];
+    private int size;
+
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+
+    // 意图层（请求 DTO）商户汇总
+    private long[] intentOrderFen = new long[INITIAL_CAPACITY];
+    private long[] intentSplitFen = new long[INITIAL_CAPACITY];
+
+    // 意图层（转换后 DO，含逐行兜底与比例推断）商户汇总
+    private long[] intentDoOrderFen = new long[INITIAL_CAPACITY];
+    private long[] intentDoSplitFen = new long[INITIAL_CAPACITY];
+
+    // 事实层商户汇总
+    private long[] factSplitFen = new long[INITIAL_CAPACITY];
+    private long[] factFeeFen = new long[INITIAL_CAPACITY];
+
+    private SettlementTypeEnum[] settlementTypes = new SettlementTypeEnum[INITIAL_CAPACITY];
+
+    // 订单级汇总（包含未填写商户号的明细）
+    private int factCount;
+    private long totalFactSplitFen;
+    private long totalFactFeeFen;
+    private int intentCount;
+    private long totalIntentDoOrderFen;
+    private long totalIntentDoSplitFen;
+    private long totalIntentDoFeeFen;
+
+    private OrderLedger() {
+    }
+
+    /**
+     * 遍历一次事实层与意图层请求，建立商户下标并累加金额，随后推断各商户到账方式
+     *
+     * @param intents 意图层子订单
+     * @param facts   事实层分账明细
+     * @return 订单台账
+     */
+    static OrderLedger build(List<ReconSubOrderRequest> intents, List<ReconOrderSplitRequest> facts) {
+        OrderLedger ledger = new OrderLedger();
+        if (facts != null) {
+            for (ReconOrderSplitRequest fact : facts) {
+                long split = fact.getSplitAmountFen() != null ? fact.getSplitAmountFen() : 0L;
+                long fee = fact.getSplitFeeFen() != null ? fact.getSplitFeeFen() : 0L;
+                ledger.factCount++;
+                ledger.totalFactSplitFen += split;
+                ledger.totalFactFeeFen += fee;
+                if (fact.getMerchantId() != null) {
+                    int i = ledger.indexOf(fact.getMerchantId());
+                    ledger.flags[i] |= FACT;
+                    ledger.factSplitFen[i] += split;
+                    ledger.factFeeFen[i] += fee;
+                }
+            }
+        }
+        if (intents != null) {
+            for (ReconSubOrderRequest intent : intents) {
+                if (intent.getMerchantId() != null) {
+                    int i = ledger.indexOf(intent.getMerchantId());
+                    ledger.flags[i] |= INTENT;
+                    Long order = intent.getOrderAmountFen();
+                    if (order != null) {
+                        ledger.flags[i] |= INTENT_AMOUNT;
+                        ledger.intentOrderFen[i] += order;
+                    }
+                    Long split = intent.getSplitAmountFen();
+                    if (split != null) {
+                        ledger.intentSplitFen[i] += split;
+                    }
+                }
+            }
+        }
+        if (ledger.factCount > 0) {
+            ledger.inferSettlementTypes();
+        }
+        return ledger;
+    }
+
+    /**
+     * 累加转换后的意图层 DO 金额，供平台留存推算与微观核账使用
+     */
+    void addIntent(ReconOrderSubDO subDO) {
+        long order = subDO.getOrderAmountFen() != null ? subDO.getOrderAmountFen() : 0L;
+        long split = subDO.getSplitAmountFen() != null ? subDO.getSplitAmountFen() : 0L;
+        long fee = subDO.getFeeFen() != null ? subDO.getFeeFen() : 0L;
+        intentCount++;
+        totalIntentDoOrderFen += order;
+        totalIntentDoSplitFen += split;
+        totalIntentDoFeeFen += fee;
+        if (subDO.getMerchantId() != null) {
+            int i = indexOf(subDO.getMerchantId());
+            intentDoOrderFen[i] += order;
+            intentDoSplitFen[i] += split;
+        }
+    }
+
+    /**
+     * 按商户意图金额与事实收款金额推断到账方式，未填写订单金额且无事实明细的商户不参与推断
+     * <ul>
+     * <li>有意图无事实、或无意图有事实（如平台手续费账号）：平台代收</li>
+     * <li>订单金额等于收款金额：全额到商户</li>
+     * <li>其余：实时分账</li>
+     * </ul>
+     */
+    private void inferSettlementTypes() {
+        for (int i = 0; i < size; i++) {
+            if ((flags[i] & (INTENT_AMOUNT | FACT)) == 0) {
+                continue;
+            }
+            long order = intentOrderFen[i];
+            long fact = factSplitFen[i];
+            if (fact == 0) {
+                settlementTypes[i] = SettlementTypeEnum.PLATFORM_COLLECTION;
+            } else if (order == 0 && fact > 0) {
+                settlementTypes[i] = SettlementTypeEnum.PLATFORM_COLLECTION;
+            } else if (order == fact) {
+                settlementTypes[i] = SettlementTypeEnum.DIRECT_TO_MERCHANT;
+            } else {
+                settlementTypes[i] = SettlementTypeEnum.REALTIME_SPLIT;
+            }
+        }
+    }
+
+    /**
+     * 商户到账方式；无事实明细或商户不在台账中时返回 null
+     */
+    SettlementTypeEnum settlementTypeOf(String merchantId) {
+        Integer i = merchantId != null ? merchantIndex.get(merchantId) : null;
+        return i != null ? settlementTypes[i] : null;
+    }
+
+    /**
+     * 到账方式为平台代收或全额到商户的事实金额之和（总额类事实）
+     */
+    long grossFactSplitFen() {
+        long sum = 0L;
+        for (int i = 0; i < size; i++) {
+            if (settlementTypes[i] == SettlementTypeEnum.PLATFORM_COLLECTION
+                    || settlementTypes[i] == SettlementTypeEnum.DIRECT_TO_MERCHANT) {
+                sum += factSplitFen[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 非平台代收的事实金额之和（已由外部实际收款的部分）
+     */
+    long externalFactSplitFen() {
+        long platformCollected = 0L;
+        for (int i = 0; i < size; i++) {
+            if (settlementTypes[i] == SettlementTypeEnum.PLATFORM_COLLECTION) {
+                platformCollected += factSplitFen[i];
+            }
+        }
+        return totalFactSplitFen - platformCollected;
+    }
+
+    private int indexOf(String merchantId) {
+        Integer existing = merchantIndex.get(merchantId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == merchantIds.length) {
+            grow();
+        }
+        merchantIds[size] = merchantId;
+        merchantIndex.put(merchantId, size);
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = merchantIds.length << 1;
+        merchantIds = Arrays.copyOf(merchantIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        intentOrderFen = Arrays.copyOf(intentOrderFen, capacity);
+        intentSplitFen = Arrays.copyOf(intentSplitFen, capacity);
+        intentDoOrderFen = Arrays.copyOf(intentDoOrderFen, capacity);
+        intentDoSplitFen = Arrays.copyOf(intentDoSplitFen, capacity);
+        factSplitFen = Arrays.copyOf(factSplitFen, capacity);
+        factFeeFen = Arrays.copyOf(factFeeFen, capacity);
+        settlementTypes = Arrays.copyOf(settlementTypes, capacity);
+    }
+
+    // ==================== 商户下标访问 ====================
+
+    int merchantCount() {
+        return size;
+    }
+
+    String merchantId(int i) {
+        return merchantIds[i];
+    }
+
+    boolean hasIntent(int i) {
+        return (flags[i] & INTENT) != 0;
+    }
+
+    boolean hasFact(int i) {
+        return (flags[i] & FACT) != 0;
+    }
+
+    long intentOrderFen(int i) {
+        return intentOrderFen[i];
+    }
+
+    long intentSplitFen(int i) {
+        return intentSplitFen[i];
+    }
+
+    long intentDoOrderFen(int i) {
+        return intentDoOrderFen[i];
+    }
+
+    long intentDoSplitFen(int i) {
+        return intentDoSplitFen[i];
+    }
+
+    long factSplitFen(int i) {
+        return factSplitFen[i];
+    }
+
+    long factFeeFen(int i) {
+        return factFeeFen[i];
+    }
+
+    SettlementTypeEnum settlementType(int i) {
+        return settlementTypes[i];
+    }
+
+    // ==================== 订单级汇总 ====================
+
+    int factCount() {
+        return factCount;
+    }
+
+    long totalFactSplitFen() {
+        return totalFactSplitFen;
+    }
+
+    long totalFactFeeFen() {
+        return totalFactFeeFen;
+    }
+
+    int intentCount() {
+        return intentCount;
+    }
+
+    long totalIntentDoOrderFen() {
+        return totalIntentDoOrderFen;
+    }
+
+    long totalIntentDoSplitFen() {
+        return totalIntentDoSplitFen;
+    }
+
+    long totalIntentDoFeeFen() {
+        return totalIntentDoFeeFen;
+    }
+}
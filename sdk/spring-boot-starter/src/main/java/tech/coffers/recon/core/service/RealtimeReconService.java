@@ -2,6 +2,7 @@ package tech.coffers.recon.core.service;
 
 import lombok.extern.slf4j.Slf4j;
 import tech.coffers.recon.api.result.ReconResult;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
 import tech.coffers.recon.entity.ReconOrderMainDO;
 import tech.coffers.recon.entity.ReconOrderRefundDetailDO;
 import tech.coffers.recon.entity.ReconOrderSplitDetailDO;
@@ -15,24 +16,31 @@ import tech.coffers.recon.api.model.AbstractReconOrderRequest;
 import tech.coffers.recon.api.model.AbstractReconRefundRequest;
 import tech.coffers.recon.api.model.ReconNotifyRequest;
 import tech.coffers.recon.api.model.ReconOrderSplitRequest;
+import tech.coffers.recon.api.model.ReconSplitRuleRequest;
 import tech.coffers.recon.api.model.ReconSubOrderRequest;
 import java.math.BigDecimal;
 import java.util.stream.Collectors;
 import tech.coffers.recon.entity.ReconNotifyLogDO;
 import tech.coffers.recon.entity.ReconOrderMerchantSettlementDO;
+import tech.coffers.recon.metrics.ReconMetrics;
 import tech.coffers.recon.repository.ReconRepository;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 /**
  * 实时对账服务
@@ -43,17 +51,116 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class RealtimeReconService {
 
+    /**
+     * 关闭时等待订单通道排空的最长时间
+     */
+    private static final long LANE_SHUTDOWN_TIMEOUT_MS = 30_000L;
+
     private final ReconRepository reconRepository;
     private final ExceptionRecordService exceptionRecordService;
     private final AlarmService alarmService;
     private final ExecutorService executorService;
+    private final ReconSdkProperties properties;
+    private final ReconWriteBehindBuffer writeBehindBuffer;
+    private final ReconNotifyCoalescer notifyCoalescer;
+    private final ReconOrderLaneExecutor orderLaneExecutor;
+    private final ReconMetrics metrics;
+    private final TransactionOperations transactionOperations;
 
     public RealtimeReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
             AlarmService alarmService, ExecutorService executorService) {
+        this(reconRepository, exceptionRecordService, alarmService, executorService, new ReconSdkProperties());
+    }
+
+    public RealtimeReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
+            AlarmService alarmService, ExecutorService executorService, ReconSdkProperties properties) {
+        this(reconRepository, exceptionRecordService, alarmService, executorService, properties, ReconMetrics.NOOP);
+    }
+
+    public RealtimeReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
+            AlarmService alarmService, ExecutorService executorService, ReconSdkProperties properties,
+            ReconMetrics metrics) {
+        this(reconRepository, exceptionRecordService, alarmService, executorService, properties, metrics,
+                TransactionOperations.withoutTransaction());
+    }
+
+    /**
+     * @param transactionOperations 批量持久化使用的事务模板，每个 chunk 在独立事务中写入
+     */
+    public RealtimeReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
+            AlarmService alarmService, ExecutorService executorService, ReconSdkProperties properties,
+            ReconMetrics metrics, TransactionOperations transactionOperations) {
         this.reconRepository = reconRepository;
+        this.metrics = metrics != null ? metrics : ReconMetrics.NOOP;
+        this.transactionOperations = transactionOperations != null ? transactionOperations
+                : TransactionOperations.withoutTransaction();
         this.exceptionRecordService = exceptionRecordService;
         this.alarmService = alarmService;
         this.executorService = executorService;
+        this.properties = properties;
+        ReconSdkProperties.ThreadPool.OrderAffinity orderAffinity = properties.getThreadPool().getOrderAffinity();
+        this.orderLaneExecutor = orderAffinity.isEnabled()
+                ? new ReconOrderLaneExecutor(orderAffinity.getLanes(), orderAffinity.getLaneQueueCapacity())
+                : null;
+        ReconSdkProperties.Realtime.WriteBehind writeBehind = properties.getRealtime().getWriteBehind();
+        this.writeBehindBuffer = writeBehind.isEnabled()
+                ? new ReconWriteBehindBuffer(writeBehind.getCapacity(), writeBehind.getFlushSize(),
+                        writeBehind.getFlushIntervalMs(), this::persistChunk)
+                : null;
+        ReconSdkProperties.Realtime.NotifyCoalesce notifyCoalesce = properties.getRealtime().getNotifyCoalesce();
+        this.notifyCoalescer = notifyCoalesce.isEnabled()
+                ? new ReconNotifyCoalescer(notifyCoalesce.getWindowMs(), notifyCoalesce.getMaxBatchSize(),
+                        this::executorFor, this::reconNotifyCoalesced)
+                : null;
+    }
+
+    /**
+     * 关闭服务，处理合并窗口中尚未处理的通知，等待订单通道中已提交的任务执行完成，
+     * 并将写后缓冲区中尚未提交的订单全部落库
+     */
+    public void shutdown() {
+        if (notifyCoalescer != null) {
+            notifyCoalescer.shutdown();
+        }
+        if (orderLaneExecutor != null) {
+            orderLaneExecutor.shutdown(LANE_SHUTDOWN_TIMEOUT_MS);
+        }
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.shutdown();
+        }
+    }
+
+    /**
+     * 各订单通道当前排队中的任务数，未启用订单亲和执行时返回空数组
+     */
+    public int[] getOrderLaneQueueDepths() {
+        return orderLaneExecutor != null ? orderLaneExecutor.queueDepths() : new int[0];
+    }
+
+    /**
+     * 订单通道数，未启用订单亲和执行时返回 0
+     */
+    public int getOrderLaneCount() {
+        return orderLaneExecutor != null ? orderLaneExecutor.laneCount() : 0;
+    }
+
+    /**
+     * 指定订单通道当前排队中的任务数
+     *
+     * @param lane 通道序号，取值 [0, {@link #getOrderLaneCount()})
+     */
+    public int getOrderLaneQueueDepth(int lane) {
+        return orderLaneExecutor != null ? orderLaneExecutor.queueDepth(lane) : 0;
+    }
+
+    /**
+     * 选择订单的异步执行器：启用订单亲和执行时返回订单所属通道，否则返回共享线程池
+     */
+    private Executor executorFor(String orderNo) {
+        if (orderLaneExecutor == null || orderNo == null || orderNo.isEmpty()) {
+            return executorService;
+        }
+        return orderLaneExecutor.forOrder(orderNo);
     }
 
     /**
@@ -64,10 +171,81 @@ public class RealtimeReconService {
         if (request == null) {
             return ReconResult.fail(null, "请求参数不能为空");
         }
+        ReconOrderPlan plan = prepareReconOrder(request);
+        if (!plan.isPersistable()) {
+            return plan.getResult();
+        }
+        String orderNo = plan.getOrderNo();
+        try {
+            if (!saveReconData(plan)) {
+                recordException(orderNo, "SELF", "对账数据持久化失败", 5);
+                plan.fail("对账数据持久化失败");
+            }
+            recordReconResult(plan);
+            return plan.getResult();
+        } catch (Exception e) {
+            log.error("对账处理异常 orderNo={}", orderNo, e);
+            recordException(orderNo, "SELF", "对账处理异常: " + e.getMessage(), 5);
+            metrics.recordReconResult(ReconStatusEnum.FAILURE);
+            return ReconResult.fail(orderNo, "对账处理异常: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 批量对账订单 (DTO)
+     * <p>
+     * 每笔订单先在内存中独立完成金额归一化、场景推断与核账判定，再按 chunk 将多笔订单的主单、子单、
+     * 结算单与分账明细合并为 JDBC 批量写入。单笔订单的校验失败或处理异常只影响自身结果，不会拖累同批其他订单。
+     *
+     * @param requests 对账请求列表
+     * @return 与请求顺序一一对应的对账结果
+     */
+    public List<ReconResult> reconOrderBatch(List<? extends AbstractReconOrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ReconOrderPlan> plans = new ArrayList<>(requests.size());
+        for (AbstractReconOrderRequest request : requests) {
+            plans.add(request == null ? ReconOrderPlan.rejected(null, ReconResult.fail(null, "请求参数不能为空"))
+                    : prepareReconOrder(request));
+        }
+
+        int chunkSize = Math.max(1, properties.getRealtime().getBatchChunkSize());
+        List<ReconOrderPlan> chunk = new ArrayList<>(Math.min(chunkSize, plans.size()));
+        for (ReconOrderPlan plan : plans) {
+            if (!plan.isPersistable()) {
+                continue;
+            }
+            chunk.add(plan);
+            if (chunk.size() >= chunkSize) {
+                persistChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk);
+        }
+
+        List<ReconResult> results = new ArrayList<>(plans.size());
+        for (ReconOrderPlan plan : plans) {
+            results.add(plan.getResult());
+        }
+        return results;
+    }
+
+    /**
+     * 内存核账：完成校验、推断与 DO 转换，生成待持久化的执行计划
+     *
+     * @param request 对账请求
+     * @return 对账执行计划
+     */
+    ReconOrderPlan prepareReconOrder(AbstractReconOrderRequest request) {
         String orderNo = request.getOrderNo();
         try {
             // 1. 金额归一化 (BigDecimal -> Long 分)
+            long stageStart = System.nanoTime();
             Long[] normalizedAmounts = normalizeRequestAmounts(request);
+            metrics.recordStage(ReconMetrics.STAGE_NORMALIZE, System.nanoTime() - stageStart);
             Long payAmountFen = normalizedAmounts[0];
             Long platformIncomeFen = normalizedAmounts[1];
             Long payFeeFen = normalizedAmounts[2];
@@ -102,39 +280,35 @@ public class RealtimeReconService {
             }
 
             if (reconStatus == ReconStatusEnum.FAILURE) {
-                saveReconData(orderNo, request, payEnum, splitEnum, notifyEnum, reconStatus, 0L, 0L, platformIncomeFen,
-                        payFeeFen, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
-                return ReconResult.fail(orderNo, failMsg);
+                ReconOrderMainDO orderMainDO = buildOrderMain(orderNo, request, payEnum, splitEnum, notifyEnum,
+                        reconStatus, 0L, platformIncomeFen, payFeeFen);
+                return new ReconOrderPlan(orderNo, orderMainDO, null, null, null, ReconResult.fail(orderNo, failMsg));
             }
 
-            // 3. 场景推断与比例准备
-            Map<String, SettlementTypeEnum> settlementTypeMap = inferMerchantSettlementType(request);
-            Map<String, Integer> ratioMap = request.getSplitRules() == null ? Collections.emptyMap()
-                    : request.getSplitRules().stream()
-                            .filter(r -> r.getMerchantId() != null && r.getRatio() != null)
-                            .collect(Collectors.toMap(r -> r.getMerchantId(), r -> r.getRatio(), (v1, v2) -> v1));
-
-            Double inferredFeeRate = inferFeeRate(request, request.getSplitDetails());
+            // 3. 构建商户台账 (单次遍历意图层与事实层)，完成场景推断与比例准备
+            stageStart = System.nanoTime();
+            OrderLedger ledger = OrderLedger.build(request.getSubOrders(), request.getSplitDetails());
+            Map<String, Integer> ratioMap = buildRatioMap(request);
+            Double inferredFeeRate = inferFeeRate(request, ledger);
+            metrics.recordStage(ReconMetrics.STAGE_INFER, System.nanoTime() - stageStart);
 
             // 4. 数据转换 DTO -> DO
+            stageStart = System.nanoTime();
             List<ReconOrderSubDO> orderSubDOs = convertToIntentDOs(orderNo, request.getSubOrders(), ratioMap,
-                    inferredFeeRate);
+                    inferredFeeRate, ledger);
             List<ReconOrderSplitDetailDO> splitDetailDOs = convertToFactDOs(orderNo, request.getSplitDetails(),
-                    settlementTypeMap, notifyEnum);
+                    ledger, notifyEnum);
 
             // 5. 聚合商户统计
-            List<ReconOrderMerchantSettlementDO> mchSettlements = calculateMerchantSettlements(orderNo, request,
-                    request.getSplitDetails());
+            List<ReconOrderMerchantSettlementDO> mchSettlements = calculateMerchantSettlements(orderNo, ledger,
+                    ratioMap);
+            metrics.recordStage(ReconMetrics.STAGE_CONVERT, System.nanoTime() - stageStart);
 
             // 6. 确定平台留存与汇总金额
-            long subOrderTotalFen = orderSubDOs.stream()
-                    .mapToLong(s -> s.getOrderAmountFen() != null ? s.getOrderAmountFen() : 0L).sum();
-            long splitTotalFen = splitDetailDOs.stream()
-                    .mapToLong(s -> s.getSplitAmountFen() != null ? s.getSplitAmountFen() : 0L).sum();
+            long splitTotalFen = ledger.totalFactSplitFen();
 
             // 计算事实层总手续费
-            long totalFactFeeFen = splitDetailDOs.stream()
-                    .mapToLong(s -> s.getSplitFeeFen() != null ? s.getSplitFeeFen() : 0L).sum();
+            long totalFactFeeFen = ledger.totalFactFeeFen();
 
             // 如果请求中未传手续费，从事实明细推断
             if (payFeeFen == null || payFeeFen == 0L) {
@@ -143,28 +317,14 @@ public class RealtimeReconService {
 
             if (platformIncomeFen == null || platformIncomeFen == 0L) {
                 // 核算原则：优先从业务意图层计算利润
-                long calculatedProfit = 0L;
-                if (orderSubDOs != null && !orderSubDOs.isEmpty()) {
-                    calculatedProfit = orderSubDOs.stream()
-                            .mapToLong(s -> {
-                                long ordValue = s.getOrderAmountFen() != null ? s.getOrderAmountFen() : 0L;
-                                long splValue = s.getSplitAmountFen() != null ? s.getSplitAmountFen() : 0L;
-                                long feeValue = s.getFeeFen() != null ? s.getFeeFen() : 0L;
-                                return ordValue - splValue - feeValue;
-                            }).sum();
-                }
+                long calculatedProfit = ledger.totalIntentDoOrderFen() - ledger.totalIntentDoSplitFen()
+                        - ledger.totalIntentDoFeeFen();
 
                 // 兜底逻辑：如果意图层计算结果为0，按事实层整体差额补充 (支付额 - 通道费 - 外部实付)
                 if (calculatedProfit <= 0) {
                     long pAmtValue = payAmountFen != null ? payAmountFen : 0L;
                     long pFeeValue = payFeeFen != null ? payFeeFen : 0L;
-                    long externalRealizedValue = 0L;
-                    if (splitDetailDOs != null) {
-                        externalRealizedValue = splitDetailDOs.stream()
-                                .filter(d -> SettlementTypeEnum
-                                        .fromCode(d.getSettlementType()) != SettlementTypeEnum.PLATFORM_COLLECTION)
-                                .mapToLong(s -> s.getSplitAmountFen() != null ? s.getSplitAmountFen() : 0L).sum();
-                    }
+                    long externalRealizedValue = ledger.externalFactSplitFen();
                     calculatedProfit = Math.max(0L, pAmtValue - pFeeValue - externalRealizedValue);
                 }
                 platformIncomeFen = calculatedProfit;
@@ -172,54 +332,48 @@ public class RealtimeReconService {
 
             // 7. 金额多维核账
             if (reconStatus == ReconStatusEnum.SUCCESS) {
-                failMsg = performAmountValidation(orderNo, payAmountFen, platformIncomeFen, payFeeFen, splitDetailDOs,
-                        settlementTypeMap, orderSubDOs, request.getSubOrders(), mchSettlements);
+                stageStart = System.nanoTime();
+                failMsg = performAmountValidation(payAmountFen, platformIncomeFen, payFeeFen, ledger);
+                metrics.recordStage(ReconMetrics.STAGE_VALIDATE, System.nanoTime() - stageStart);
                 if (failMsg != null) {
                     reconStatus = ReconStatusEnum.FAILURE;
                     recordException(orderNo, "SELF", failMsg, 4);
                 }
             }
 
-            // 8. 数据持久化
-            saveReconData(orderNo, request, payEnum, splitEnum, notifyEnum, reconStatus, subOrderTotalFen,
-                    splitTotalFen,
-                    platformIncomeFen, payFeeFen, orderSubDOs, mchSettlements, splitDetailDOs);
-
-            if (reconStatus == ReconStatusEnum.FAILURE) {
-                return ReconResult.fail(orderNo, failMsg != null ? failMsg : "对账失败：业务状态异常");
-            }
-            return ReconResult.success(orderNo);
+            // 8. 生成持久化计划
+            ReconOrderMainDO orderMainDO = buildOrderMain(orderNo, request, payEnum, splitEnum, notifyEnum,
+                    reconStatus, splitTotalFen, platformIncomeFen, payFeeFen);
+            orderMainDO.setPendingNotifyCount(notifyEnum == NotifyStatusEnum.SUCCESS ? 0 : splitDetailDOs.size());
+            ReconResult result = reconStatus == ReconStatusEnum.FAILURE
+                    ? ReconResult.fail(orderNo, failMsg != null ? failMsg : "对账失败：业务状态异常")
+                    : ReconResult.success(orderNo);
+            return new ReconOrderPlan(orderNo, orderMainDO, orderSubDOs, mchSettlements, splitDetailDOs, result);
 
         } catch (Exception e) {
             log.error("对账处理异常 orderNo={}", orderNo, e);
             recordException(orderNo, "SELF", "对账处理异常: " + e.getMessage(), 5);
-            return ReconResult.fail(orderNo, "对账处理异常: " + e.getMessage());
+            return ReconOrderPlan.rejected(orderNo, ReconResult.fail(orderNo, "对账处理异常: " + e.getMessage()));
         }
     }
 
     /**
-     * 保存对账数据
-     * 
+     * 构建订单主记录
+     *
      * @param orderNo           订单号
      * @param request           对账请求
      * @param payEnum           支付状态
      * @param splitEnum         分账状态
      * @param notifyEnum        通知状态
      * @param reconStatus       对账状态
-     * @param subOrderTotalFen  子订单总金额
      * @param splitTotalFen     分账总金额
      * @param platformIncomeFen 平台留存金额
-     * @param orderSubDOs       子订单列表
-     * @param settlementDOs     结算单列表
-     * @param splitDetailDOs    分账明细列表
-     */
-    private void saveReconData(String orderNo, AbstractReconOrderRequest request, PayStatusEnum payEnum,
-            SplitStatusEnum splitEnum, NotifyStatusEnum notifyEnum, ReconStatusEnum reconStatus,
-            long subOrderTotalFen, long splitTotalFen, Long platformIncomeFen, Long payFeeFen,
-            List<ReconOrderSubDO> orderSubDOs, List<ReconOrderMerchantSettlementDO> settlementDOs,
-            List<ReconOrderSplitDetailDO> splitDetailDOs) {
-
-        // 4. 保存订单主记录
+     * @param payFeeFen         支付手续费
+     * @return 订单主记录
+     */
+    private ReconOrderMainDO buildOrderMain(String orderNo, AbstractReconOrderRequest request,
+            PayStatusEnum payEnum, SplitStatusEnum splitEnum, NotifyStatusEnum notifyEnum,
+            ReconStatusEnum reconStatus, long splitTotalFen, Long platformIncomeFen, Long payFeeFen) {
         ReconOrderMainDO orderMainDO = new ReconOrderMainDO();
         orderMainDO.setOrderNo(orderNo);
         request.populateAmounts(orderMainDO);
@@ -227,13 +381,11 @@ public class RealtimeReconService {
         if (request.getPlatformIncomeFen() == null && request.getPlatformIncome() == null) {
             if (platformIncomeFen != null) {
                 orderMainDO.setPlatformIncomeFen(platformIncomeFen);
-                orderMainDO.setPlatformIncome(BigDecimal.valueOf(platformIncomeFen).movePointLeft(2));
             }
         }
 
         if (payFeeFen != null) {
             orderMainDO.setPayFeeFen(payFeeFen);
-            orderMainDO.setPayFee(BigDecimal.valueOf(payFeeFen).movePointLeft(2));
         }
 
         orderMainDO.setSplitTotalAmountFen(splitTotalFen);
@@ -241,31 +393,129 @@ public class RealtimeReconService {
         orderMainDO.setSplitStatus(splitEnum.getCode());
         orderMainDO.setNotifyStatus(notifyEnum.getCode());
         orderMainDO.setReconStatus(reconStatus.getCode());
-        orderMainDO.setCreateTime(LocalDateTime.now());
-        orderMainDO.setUpdateTime(LocalDateTime.now());
-        reconRepository.saveOrderMain(orderMainDO);
+        LocalDateTime now = LocalDateTime.now();
+        orderMainDO.setCreateTime(now);
+        orderMainDO.setUpdateTime(now);
+        return orderMainDO;
+    }
 
-        // 5. 保存业务子单
-        if (orderSubDOs != null && !orderSubDOs.isEmpty()) {
-            reconRepository.batchSaveOrderSub(orderSubDOs);
+    /**
+     * 保存单笔订单的对账数据
+     *
+     * @param plan 对账执行计划
+     * @return 是否全部写入成功
+     */
+    private boolean saveReconData(ReconOrderPlan plan) {
+        long start = System.nanoTime();
+        try {
+            // 依次保存订单主记录、业务子单、分账结算记录与分账事实明细
+            return reconRepository.saveOrderMain(plan.getOrderMainDO())
+                    && (plan.getOrderSubDOs().isEmpty() || reconRepository.batchSaveOrderSub(plan.getOrderSubDOs()))
+                    && (plan.getSettlementDOs().isEmpty()
+                            || reconRepository.batchSaveOrderMerchantSettlement(plan.getSettlementDOs()))
+                    && (plan.getSplitDetailDOs().isEmpty()
+                            || reconRepository.batchSaveOrderSplitDetail(plan.getSplitDetailDOs()));
+        } finally {
+            metrics.recordStage(ReconMetrics.STAGE_PERSIST, System.nanoTime() - start);
         }
+    }
 
-        // 6. 保存分账结算记录
-        if (settlementDOs != null && !settlementDOs.isEmpty()) {
-            reconRepository.batchSaveOrderMerchantSettlement(settlementDOs);
+    /**
+     * 在写入结果确定后记录对账结果指标，持久化失败的订单按失败计入
+     */
+    private void recordReconResult(ReconOrderPlan plan) {
+        metrics.recordReconResult(plan.getResult().isSuccess() ? plan.getReconStatus() : ReconStatusEnum.FAILURE);
+    }
+
+    /**
+     * 将多笔订单的对账数据合并为批量写入
+     * <p>
+     * 每个 chunk 的主单、子单、结算单与分账明细在同一事务中写入，任一批量写入失败时整体回滚，
+     * 再将 chunk 二分后分别重试，直至定位到写入失败的单笔订单；只有这些订单标记为持久化失败并记录异常。
+     *
+     * @param chunk 待持久化的执行计划
+     * @return 是否全部写入成功
+     */
+    boolean persistChunk(List<ReconOrderPlan> chunk) {
+        long start = System.nanoTime();
+        try {
+            return persistOrSplit(chunk);
+        } finally {
+            metrics.recordStage(ReconMetrics.STAGE_PERSIST, System.nanoTime() - start);
         }
+    }
 
-        // 7. 保存分账事实明细
-        if (splitDetailDOs != null && !splitDetailDOs.isEmpty()) {
-            reconRepository.batchSaveOrderSplitDetail(splitDetailDOs);
+    private boolean persistOrSplit(List<ReconOrderPlan> plans) {
+        String failMsg = writeChunk(plans);
+        if (failMsg == null) {
+            plans.forEach(this::recordReconResult);
+            return true;
+        }
+        if (plans.size() > 1) {
+            int mid = plans.size() / 2;
+            boolean left = persistOrSplit(plans.subList(0, mid));
+            boolean right = persistOrSplit(plans.subList(mid, plans.size()));
+            return left && right;
+        }
+        ReconOrderPlan plan = plans.get(0);
+        recordException(plan.getOrderNo(), "SELF", failMsg, 5);
+        plan.fail(failMsg);
+        recordReconResult(plan);
+        return false;
+    }
+
+    /**
+     * 在一个事务中批量写入一组订单，任一批量写入失败时回滚
+     *
+     * @return 写入成功返回 null，否则返回失败原因
+     */
+    private String writeChunk(List<ReconOrderPlan> plans) {
+        List<ReconOrderMainDO> mainDOs = new ArrayList<>(plans.size());
+        List<ReconOrderSubDO> subDOs = new ArrayList<>();
+        List<ReconOrderMerchantSettlementDO> settlementDOs = new ArrayList<>();
+        List<ReconOrderSplitDetailDO> splitDetailDOs = new ArrayList<>();
+        for (ReconOrderPlan plan : plans) {
+            mainDOs.add(plan.getOrderMainDO());
+            subDOs.addAll(plan.getOrderSubDOs());
+            settlementDOs.addAll(plan.getSettlementDOs());
+            splitDetailDOs.addAll(plan.getSplitDetailDOs());
+        }
+        try {
+            Boolean saved = transactionOperations.execute(status -> {
+                boolean ok = reconRepository.batchSaveOrderMain(mainDOs)
+                        && (subDOs.isEmpty() || reconRepository.batchSaveOrderSub(subDOs))
+                        && (settlementDOs.isEmpty()
+                                || reconRepository.batchSaveOrderMerchantSettlement(settlementDOs))
+                        && (splitDetailDOs.isEmpty() || reconRepository.batchSaveOrderSplitDetail(splitDetailDOs));
+                if (!ok) {
+                    status.setRollbackOnly();
+                }
+                return ok;
+            });
+            return Boolean.TRUE.equals(saved) ? null : "对账数据批量持久化失败";
+        } catch (Exception e) {
+            log.error("对账数据批量持久化异常, size={}", plans.size(), e);
+            return "对账数据批量持久化异常: " + e.getMessage();
         }
     }
 
     /**
      * 异步对账订单 (DTO)
+     * <p>
+     * 启用写后缓冲时，请求在线程池中完成内存核账后进入缓冲区，与其他订单合并批量提交，
+     * 返回的 Future 在所属批次提交后完成。
      */
     public CompletableFuture<ReconResult> reconOrderAsync(AbstractReconOrderRequest request) {
-        return CompletableFuture.supplyAsync(() -> reconOrder(request), executorService);
+        if (writeBehindBuffer == null) {
+            return CompletableFuture.supplyAsync(() -> reconOrder(request),
+                    executorFor(request != null ? request.getOrderNo() : null));
+        }
+        if (request == null) {
+            return CompletableFuture.completedFuture(ReconResult.fail(null, "请求参数不能为空"));
+        }
+        return CompletableFuture.supplyAsync(() -> prepareReconOrder(request), executorFor(request.getOrderNo()))
+                .thenCompose(plan -> plan.isPersistable() ? writeBehindBuffer.submit(plan)
+                        : CompletableFuture.completedFuture(plan.getResult()));
     }
 
     /**
@@ -288,8 +538,14 @@ public class RealtimeReconService {
                 if (!detailSaved)
                     return false;
             }
-            reconRepository.updateReconStatus(orderMainDO.getOrderNo(), ReconStatusEnum.SUCCESS);
-            return true;
+            // 按保存后读取的版本号比较更新，读取之后其他流程对订单的修改不会被覆盖
+            ReconOrderMainDO saved = reconRepository.getOrderMainByOrderNo(orderMainDO.getOrderNo());
+            if (saved == null) {
+                return false;
+            }
+            long version = saved.getVersion() != null ? saved.getVersion() : 0L;
+            return reconRepository.compareAndUpdateReconStatus(orderMainDO.getOrderNo(), ReconStatusEnum.SUCCESS,
+                    version);
         } catch (Exception e) {
             alarmService.sendReconAlarm(orderMainDO.getOrderNo(), "SELF",
                     "实时对账失败: " + e.getMessage());
@@ -301,7 +557,7 @@ public class RealtimeReconService {
             List<ReconOrderSubDO> orderSubDOs,
             List<ReconOrderSplitDetailDO> splitDetailDOs) {
         return CompletableFuture.supplyAsync(() -> doRealtimeRecon(orderMainDO, orderSubDOs, splitDetailDOs),
-                executorService);
+                executorFor(orderMainDO != null ? orderMainDO.getOrderNo() : null));
     }
 
     /**
@@ -355,13 +611,19 @@ public class RealtimeReconService {
                 reconRepository.batchSaveOrderRefundDetail(refundDetailDOs);
             }
 
-            // 更新主订单退款状态
-            orderMainDO.setRefundStatus(request.getRefundStatus().getCode());
-            orderMainDO.setRefundAmount(request.getRefundAmount());
-            orderMainDO.setRefundTime(request.getRefundTime());
-            reconRepository.updateReconRefundStatus(orderMainDO);
-
-            return ReconResult.success(orderNo);
+            // 按版本号更新主订单退款状态，版本冲突时加锁重新读取后重试
+            ReconOrderMainDO current = orderMainDO;
+            for (int attempt = 0; attempt < versionAttempts() && current != null; attempt++) {
+                current.setRefundStatus(request.getRefundStatus().getCode());
+                current.setRefundAmount(request.getRefundAmount());
+                current.setRefundTime(request.getRefundTime());
+                if (reconRepository.compareAndUpdateReconRefundStatus(current)) {
+                    return ReconResult.success(orderNo);
+                }
+                current = reconRepository.lockOrderMainByOrderNo(orderNo);
+            }
+            log.warn("退款状态更新版本冲突次数超过上限，订单号: {}", orderNo);
+            return ReconResult.fail(orderNo, "退款对账失败：主订单状态并发更新冲突");
         } catch (Exception e) {
             log.error("退款对账异常", e);
             return ReconResult.fail(orderNo, "退款对账异常: " + e.getMessage());
@@ -372,7 +634,8 @@ public class RealtimeReconService {
      * 异步对账退款 (DTO)
      */
     public CompletableFuture<ReconResult> reconRefundAsync(AbstractReconRefundRequest request) {
-        return CompletableFuture.supplyAsync(() -> reconRefund(request), executorService);
+        return CompletableFuture.supplyAsync(() -> reconRefund(request),
+                executorFor(request != null ? request.getOrderNo() : null));
     }
 
     /**
@@ -390,9 +653,31 @@ public class RealtimeReconService {
 
     /**
      * 异步对账通知回调 (DTO)
+     * <p>
+     * 启用通知合并时，同一订单在合并窗口内的通知合并为一次批量处理；
+     * 启用订单亲和执行时，未携带主订单号的通知先在共享线程池中定位主订单，再进入该订单所属通道
      */
     public CompletableFuture<ReconResult> reconNotifyAsync(ReconNotifyRequest request) {
-        return CompletableFuture.supplyAsync(() -> reconNotify(request), executorService);
+        if (request == null || (notifyCoalescer == null && orderLaneExecutor == null)) {
+            return CompletableFuture.supplyAsync(() -> reconNotify(request), executorService);
+        }
+        if (request.getOrderNo() != null && !request.getOrderNo().isEmpty()) {
+            return dispatchNotify(request.getOrderNo(), request);
+        }
+        return CompletableFuture.supplyAsync(() -> resolveNotifyOrderNo(request.getMerchantId(),
+                request.getSubOrderNo(), request.getMerchantOrderNo()), executorService)
+                .thenCompose(orderNo -> orderNo == null
+                        ? CompletableFuture.completedFuture(locateFailure(request.getMerchantId()))
+                        : dispatchNotify(orderNo, request));
+    }
+
+    private CompletableFuture<ReconResult> dispatchNotify(String orderNo, ReconNotifyRequest request) {
+        if (notifyCoalescer != null) {
+            return notifyCoalescer.submit(orderNo, request);
+        }
+        return CompletableFuture.supplyAsync(() -> reconNotify(orderNo, request.getMerchantId(),
+                request.getSubOrderNo(), request.getMerchantOrderNo(), request.getNotifyUrl(),
+                request.getNotifyStatus(), request.getNotifyResult()), executorFor(orderNo));
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -400,14 +685,9 @@ public class RealtimeReconService {
             String notifyUrl, NotifyStatusEnum notifyStatus, String notifyResult) {
         try {
             if ((orderNo == null || orderNo.isEmpty()) && merchantId != null) {
-                if (subOrderNo != null) {
-                    orderNo = reconRepository.findOrderNoBySub(merchantId, subOrderNo);
-                } else if (merchantOrderNo != null) {
-                    orderNo = reconRepository.findOrderNoByMerchantOrder(merchantId, merchantOrderNo);
-                }
-
+                orderNo = resolveNotifyOrderNo(merchantId, subOrderNo, merchantOrderNo);
                 if (orderNo == null) {
-                    return ReconResult.fail(null, "无法根据商户号和子订单标识定位主订单");
+                    return locateFailure(merchantId);
                 }
             }
 
@@ -417,43 +697,83 @@ public class RealtimeReconService {
 
             NotifyStatusEnum notifyEnum = notifyStatus != null ? notifyStatus : NotifyStatusEnum.PROCESSING;
 
-            if (merchantId != null && !"SELF".equals(merchantId)) {
-                reconRepository.updateSplitDetailNotifyStatus(orderNo, merchantId, notifyEnum.getCode(),
-                        notifyResult);
-            }
+            // 更新分账明细通知状态并同步主订单待通知计数，同一语句内得到剩余待通知数，归零时一并标记全部通知成功
+            String splitMerchantId = merchantId != null && !"SELF".equals(merchantId) ? merchantId : null;
+            int pendingNotifyCount = reconRepository.applySplitNotify(orderNo, splitMerchantId, notifyEnum.getCode(),
+                    notifyResult);
+            reconRepository.saveNotifyLog(buildNotifyLog(orderNo, merchantId, subOrderNo, notifyUrl, notifyEnum,
+                    notifyResult));
+            return completeNotify(orderNo, pendingNotifyCount,
+                    notifyEnum == NotifyStatusEnum.FAILURE && merchantId != null
+                            ? Collections.singletonList(merchantId)
+                            : Collections.emptyList());
+        } catch (Exception e) {
+            log.error("通知回调处理异常", e);
+            return ReconResult.fail(orderNo, "通知处理异常: " + e.getMessage());
+        }
+    }
 
-            boolean allNotified = reconRepository.isAllSplitSubNotified(orderNo);
-            if (allNotified) {
-                reconRepository.updateNotifyStatus(orderNo, NotifyStatusEnum.SUCCESS.getCode(),
-                        "All merchants notified");
-            } else if (notifyEnum == NotifyStatusEnum.FAILURE) {
-                reconRepository.updateNotifyStatus(orderNo, NotifyStatusEnum.FAILURE.getCode(),
-                        "Merchant " + merchantId + " notify failed");
+    /**
+     * 合并处理同一订单在一个窗口内的多条通知
+     * <p>
+     * 同一商户以最后一条通知为准，在同一事务中批量更新分账明细并批量写入通知日志，全部通知判定与重新核账只执行一次；
+     * 服务通过方法引用注册到合并器，不经过 Spring 代理，事务由事务模板显式开启
+     *
+     * @param orderNo  主订单号
+     * @param requests 窗口内的通知，按到达顺序
+     * @return 对账结果，窗口内的所有通知共享
+     */
+    public ReconResult reconNotifyCoalesced(String orderNo, List<ReconNotifyRequest> requests) {
+        try {
+            Map<String, ReconNotifyLogDO> latestByMerchant = new LinkedHashMap<>();
+            List<ReconNotifyLogDO> notifyLogs = new ArrayList<>(requests.size());
+            Set<String> failedMerchantIds = new LinkedHashSet<>();
+            for (ReconNotifyRequest request : requests) {
+                NotifyStatusEnum notifyEnum = request.getNotifyStatus() != null ? request.getNotifyStatus()
+                        : NotifyStatusEnum.PROCESSING;
+                ReconNotifyLogDO notifyLogDO = buildNotifyLog(orderNo, request.getMerchantId(),
+                        request.getSubOrderNo(), request.getNotifyUrl(), notifyEnum, request.getNotifyResult());
+                notifyLogs.add(notifyLogDO);
+                String merchantId = request.getMerchantId();
+                if (merchantId != null && !"SELF".equals(merchantId)) {
+                    latestByMerchant.remove(merchantId);
+                    latestByMerchant.put(merchantId, notifyLogDO);
+                }
+                if (merchantId != null) {
+                    // 同一商户以最后一条通知判定是否失败
+                    if (notifyEnum == NotifyStatusEnum.FAILURE) {
+                        failedMerchantIds.add(merchantId);
+                    } else {
+                        failedMerchantIds.remove(merchantId);
+                    }
+                }
             }
 
-            ReconNotifyLogDO notifyLogDO = new ReconNotifyLogDO();
-            notifyLogDO.setOrderNo(orderNo);
-            notifyLogDO.setSubOrderNo(subOrderNo);
-            notifyLogDO.setMerchantId(merchantId);
-            notifyLogDO.setNotifyUrl(notifyUrl);
-            notifyLogDO.setNotifyStatus(notifyEnum.getCode());
-            notifyLogDO.setNotifyResult(notifyResult);
-            notifyLogDO.setCreateTime(LocalDateTime.now());
-            notifyLogDO.setUpdateTime(LocalDateTime.now());
-            reconRepository.saveNotifyLog(notifyLogDO);
-
-            boolean retrySuccess = retryRecon(orderNo);
-
-            return retrySuccess ? ReconResult.success(orderNo)
-                    : ReconResult.success(orderNo, "通知状态已更新，等待所有业务闭环");
+            Integer pendingNotifyCount = transactionOperations.execute(status -> {
+                int remaining = reconRepository.batchApplySplitNotify(orderNo,
+                        new ArrayList<>(latestByMerchant.values()));
+                if (!reconRepository.batchSaveNotifyLog(notifyLogs)) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return remaining;
+            });
+            if (pendingNotifyCount == null) {
+                return ReconResult.fail(orderNo, "通知日志写入失败");
+            }
+            return completeNotify(orderNo, pendingNotifyCount, failedMerchantIds);
         } catch (Exception e) {
-            log.error("通知回调处理异常", e);
+            log.error("合并通知处理异常 orderNo={}", orderNo, e);
             return ReconResult.fail(orderNo, "通知处理异常: " + e.getMessage());
         }
     }
 
     public CompletableFuture<ReconResult> reconNotifyBySubAsync(String merchantId, String subOrderNo,
             String notifyUrl, NotifyStatusEnum notifyStatus, String notifyResult) {
+        if (notifyCoalescer != null || orderLaneExecutor != null) {
+            return reconNotifyAsync(ReconNotifyRequest.builder().merchantId(merchantId).subOrderNo(subOrderNo)
+                    .notifyUrl(notifyUrl).notifyStatus(notifyStatus).notifyResult(notifyResult).build());
+        }
         return CompletableFuture.supplyAsync(
                 () -> reconNotify(null, merchantId, subOrderNo, null, notifyUrl, notifyStatus, notifyResult),
                 executorService);
@@ -461,43 +781,122 @@ public class RealtimeReconService {
 
     public CompletableFuture<ReconResult> reconNotifyByMerchantOrderAsync(String merchantId, String merchantOrderNo,
             String notifyUrl, NotifyStatusEnum notifyStatus, String notifyResult) {
+        if (notifyCoalescer != null || orderLaneExecutor != null) {
+            return reconNotifyAsync(ReconNotifyRequest.builder().merchantId(merchantId)
+                    .merchantOrderNo(merchantOrderNo).notifyUrl(notifyUrl).notifyStatus(notifyStatus)
+                    .notifyResult(notifyResult).build());
+        }
         return CompletableFuture.supplyAsync(
                 () -> reconNotify(null, merchantId, null, merchantOrderNo, notifyUrl, notifyStatus, notifyResult),
                 executorService);
     }
 
-    @Transactional(rollbackFor = Exception.class)
-    public boolean retryRecon(String orderNo) {
-        try {
-            ReconOrderMainDO orderMainDO = reconRepository.getOrderMainByOrderNo(orderNo);
-            if (orderMainDO == null) {
-                recordException(orderNo, "SELF", "重试对账失败：订单不存在", 0);
-                return false;
-            }
+    /**
+     * 根据商户号与子订单号 / 商户原始订单号反查主订单号
+     */
+    private String resolveNotifyOrderNo(String merchantId, String subOrderNo, String merchantOrderNo) {
+        if (merchantId == null) {
+            return null;
+        }
+        if (subOrderNo != null) {
+            return reconRepository.findOrderNoBySub(merchantId, subOrderNo);
+        }
+        if (merchantOrderNo != null) {
+            return reconRepository.findOrderNoByMerchantOrder(merchantId, merchantOrderNo);
+        }
+        return null;
+    }
 
-            if (orderMainDO.getReconStatus() == ReconStatusEnum.SUCCESS.getCode()) {
-                return true;
-            }
+    private static ReconResult locateFailure(String merchantId) {
+        return merchantId == null ? ReconResult.fail(null, "订单号不能为空")
+                : ReconResult.fail(null, "无法根据商户号和子订单标识定位主订单");
+    }
 
-            if (orderMainDO.getPayStatus() == PayStatusEnum.PROCESSING.getCode() ||
-                    orderMainDO.getSplitStatus() == SplitStatusEnum.PROCESSING.getCode() ||
-                    orderMainDO.getNotifyStatus() == NotifyStatusEnum.PROCESSING.getCode()) {
-                return false;
+    private static ReconNotifyLogDO buildNotifyLog(String orderNo, String merchantId, String subOrderNo,
+            String notifyUrl, NotifyStatusEnum notifyEnum, String notifyResult) {
+        ReconNotifyLogDO notifyLogDO = new ReconNotifyLogDO();
+        notifyLogDO.setOrderNo(orderNo);
+        notifyLogDO.setSubOrderNo(subOrderNo);
+        notifyLogDO.setMerchantId(merchantId);
+        notifyLogDO.setNotifyUrl(notifyUrl);
+        notifyLogDO.setNotifyStatus(notifyEnum.getCode());
+        notifyLogDO.setNotifyResult(notifyResult);
+        LocalDateTime now = LocalDateTime.now();
+        notifyLogDO.setCreateTime(now);
+        notifyLogDO.setUpdateTime(now);
+        return notifyLogDO;
+    }
+
+    /**
+     * 根据剩余待通知数更新主订单通知状态，并在全部通知成功后重新核账
+     *
+     * @param orderNo            主订单号
+     * @param pendingNotifyCount 剩余待通知的分账明细数，负数表示未取得计数
+     * @param failedMerchantIds  本次通知失败的商户号，无失败时为空
+     */
+    private ReconResult completeNotify(String orderNo, int pendingNotifyCount,
+            Collection<String> failedMerchantIds) {
+        boolean retrySuccess;
+        if (pendingNotifyCount == 0) {
+            // 全部通知成功：标记主通知状态后基于同一快照重新核账
+            retrySuccess = reconcile(orderNo, true);
+        } else {
+            if (!failedMerchantIds.isEmpty()) {
+                markNotifyFailure(orderNo, failedMerchantIds);
             }
+            // 仍有商户未通知成功时订单不可能闭环，无需重新核账；计数缺失 (如主订单不存在) 时交由重试对账记录异常
+            retrySuccess = pendingNotifyCount < 0 && retryRecon(orderNo);
+        }
 
-            List<ReconOrderSplitDetailDO> splitDetailDOs = reconRepository.getOrderSplitDetailByOrderNo(orderNo);
+        return retrySuccess ? ReconResult.success(orderNo)
+                : ReconResult.success(orderNo, "通知状态已更新，等待所有业务闭环");
+    }
 
-            // 重新推断当前事实对应的到账方式进行校验
+    @Transactional(rollbackFor = Exception.class)
+    public boolean retryRecon(String orderNo) {
+        return reconcile(orderNo, false);
+    }
 
-            if (!verifyMacroMatch(orderMainDO.getPayAmountFen(), orderMainDO.getPlatformIncomeFen(),
-                    orderMainDO.getPayFeeFen(), splitDetailDOs)) {
-                recordException(orderNo, "SELF", "重试对账失败：金额校验不平", 4);
-                reconRepository.updateReconStatus(orderNo, ReconStatusEnum.FAILURE);
-                return false;
-            }
+    /**
+     * 读取主记录后按版本号比较并更新核账结果，版本冲突时重新读取，最多尝试 versionConflictRetries 次
+     * <p>
+     * 调用方可能处于可重复读事务中，冲突后的重新读取使用加锁读取，避免每次都读到事务快照中的同一个过期版本
+     *
+     * @param orderNo      订单号
+     * @param markNotified 是否先将主通知状态标记为全部成功
+     * @return 核账是否成功
+     */
+    private boolean reconcile(String orderNo, boolean markNotified) {
+        try {
+            for (int attempt = 0; attempt < versionAttempts(); attempt++) {
+                ReconOrderMainDO orderMainDO = readForAttempt(orderNo, attempt);
+                if (orderMainDO == null) {
+                    recordException(orderNo, "SELF", "重试对账失败：订单不存在", 0);
+                    return false;
+                }
+                long version = orderMainDO.getVersion() != null ? orderMainDO.getVersion() : 0L;
 
-            return reconRepository.updateReconStatus(orderNo, ReconStatusEnum.SUCCESS);
+                if (markNotified && !Integer.valueOf(NotifyStatusEnum.SUCCESS.getCode())
+                        .equals(orderMainDO.getNotifyStatus())) {
+                    if (orderMainDO.getPendingNotifyCount() != null && orderMainDO.getPendingNotifyCount() > 0) {
+                        // 读取前已有商户通知回退，不再标记全部成功
+                        return false;
+                    }
+                    if (!reconRepository.compareAndUpdateNotifyStatus(orderNo, NotifyStatusEnum.SUCCESS.getCode(),
+                            ReconRepository.ALL_NOTIFIED_RESULT, version)) {
+                        continue;
+                    }
+                    version++;
+                    orderMainDO.setNotifyStatus(NotifyStatusEnum.SUCCESS.getCode());
+                }
 
+                Boolean reconciled = reconcileSnapshot(orderMainDO, version);
+                if (reconciled != null) {
+                    return reconciled;
+                }
+            }
+            log.warn("重试对账版本冲突次数超过上限，订单号: {}", orderNo);
+            return false;
         } catch (Exception e) {
             log.error("重试对账异常", e);
             recordException(orderNo, "SELF", "重试对账异常: " + e.getMessage(), 5);
@@ -505,39 +904,119 @@ public class RealtimeReconService {
         }
     }
 
+    /**
+     * 基于一次读取的主记录快照判定核账结果
+     *
+     * @param orderMainDO 主记录快照
+     * @param version     快照对应的版本号
+     * @return 核账结果；版本冲突时返回 null，由调用方重新读取
+     */
+    private Boolean reconcileSnapshot(ReconOrderMainDO orderMainDO, long version) {
+        String orderNo = orderMainDO.getOrderNo();
+        if (orderMainDO.getReconStatus() == ReconStatusEnum.SUCCESS.getCode()) {
+            return true;
+        }
+
+        if (orderMainDO.getPayStatus() == PayStatusEnum.PROCESSING.getCode() ||
+                orderMainDO.getSplitStatus() == SplitStatusEnum.PROCESSING.getCode() ||
+                orderMainDO.getNotifyStatus() == NotifyStatusEnum.PROCESSING.getCode()) {
+            return false;
+        }
+
+        List<ReconOrderSplitDetailDO> splitDetailDOs = reconRepository.getOrderSplitDetailByOrderNo(orderNo);
+
+        // 重新推断当前事实对应的到账方式进行校验
+
+        if (!verifyMacroMatch(orderMainDO.getPayAmountFen(), orderMainDO.getPlatformIncomeFen(),
+                orderMainDO.getPayFeeFen(), splitDetailDOs)) {
+            if (!reconRepository.compareAndUpdateReconStatus(orderNo, ReconStatusEnum.FAILURE, version)) {
+                return null;
+            }
+            recordException(orderNo, "SELF", "重试对账失败：金额校验不平", 4);
+            return false;
+        }
+
+        return reconRepository.compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, version) ? true : null;
+    }
+
+    /**
+     * 按版本号将主通知状态标记为失败；读取时计数已归零说明其他回调已完成通知，不再用过期的失败结果覆盖
+     */
+    private void markNotifyFailure(String orderNo, Collection<String> failedMerchantIds) {
+        for (int attempt = 0; attempt < versionAttempts(); attempt++) {
+            ReconOrderMainDO orderMainDO = readForAttempt(orderNo, attempt);
+            if (orderMainDO == null
+                    || (orderMainDO.getPendingNotifyCount() != null && orderMainDO.getPendingNotifyCount() <= 0)) {
+                return;
+            }
+            long version = orderMainDO.getVersion() != null ? orderMainDO.getVersion() : 0L;
+            if (reconRepository.compareAndUpdateNotifyStatus(orderNo, NotifyStatusEnum.FAILURE.getCode(),
+                    "Merchant " + String.join(", ", failedMerchantIds) + " notify failed", version)) {
+                return;
+            }
+        }
+        log.warn("通知失败状态更新版本冲突次数超过上限，订单号: {}", orderNo);
+    }
+
+    /**
+     * 首次尝试普通读取，版本冲突后的重试改用加锁读取以取得最新提交的版本
+     */
+    private ReconOrderMainDO readForAttempt(String orderNo, int attempt) {
+        return attempt == 0 ? reconRepository.getOrderMainByOrderNo(orderNo)
+                : reconRepository.lockOrderMainByOrderNo(orderNo);
+    }
+
+    private int versionAttempts() {
+        return Math.max(1, properties.getRealtime().getVersionConflictRetries());
+    }
+
     private void recordException(String orderNo, String merchantId, String msg, int step) {
         exceptionRecordService.recordReconException(orderNo, merchantId, msg, step);
-        alarmService.sendReconAlarm(orderNo, merchantId, msg);
+        alarmService.sendReconAlarm(orderNo, merchantId, step, msg);
+    }
+
+    /**
+     * 校验宏观金额是否匹配 (支持混合模式)，事实明细取自订单台账
+     */
+    private boolean verifyMacroMatch(long payAmtFen, long platIncFen, long pFeeFen, OrderLedger ledger) {
+        return isMacroBalanced(payAmtFen, platIncFen, pFeeFen, ledger.totalFactSplitFen(),
+                ledger.grossFactSplitFen());
     }
 
     /**
-     * 校验宏观金额是否匹配 (支持混合模式)
+     * 校验宏观金额是否匹配 (支持混合模式)，事实明细取自已落库的分账明细及其到账方式
      */
     private boolean verifyMacroMatch(Long payAmountFen, Long platformIncomeFen, Long payFeeFen,
             List<ReconOrderSplitDetailDO> splitDetailDOs) {
-        long payAmtFen = payAmountFen != null ? payAmountFen : 0L;
-        long platIncFen = platformIncomeFen != null ? platformIncomeFen : 0L;
-        long pFeeFen = payFeeFen != null ? payFeeFen : 0L;
-
-        // 核心修正逻辑：
-        // 1. 如果事实层明细中包含了总额中转账号 (PLATFORM_COLLECTION)，其实收金额(splitAmountFen) 就是总额的体现。
-        // 2. 如果只有业务商户的事实明细，则需要加回平台留存和手续费。
         long sumFactSplitsFen = 0L;
         long sumPlatformCollectedGrossFen = 0L;
-
         if (splitDetailDOs != null) {
             for (ReconOrderSplitDetailDO fact : splitDetailDOs) {
                 long splAmt = fact.getSplitAmountFen() != null ? fact.getSplitAmountFen() : 0L;
                 sumFactSplitsFen += splAmt;
-
                 SettlementTypeEnum type = SettlementTypeEnum.fromCode(fact.getSettlementType());
-                // 平台代收 (1) 和 全额到商户 (2) 均属于总额类事实，其金额本质上是支付总额（Gross）
                 if (type == SettlementTypeEnum.PLATFORM_COLLECTION || type == SettlementTypeEnum.DIRECT_TO_MERCHANT) {
                     sumPlatformCollectedGrossFen += splAmt;
                 }
             }
         }
+        return isMacroBalanced(payAmountFen != null ? payAmountFen : 0L,
+                platformIncomeFen != null ? platformIncomeFen : 0L, payFeeFen != null ? payFeeFen : 0L,
+                sumFactSplitsFen, sumPlatformCollectedGrossFen);
+    }
 
+    /**
+     * 宏观资金守恒判定
+     * <p>
+     * 1. 如果事实层明细中包含了总额中转账号 (PLATFORM_COLLECTION)，其实收金额(splitAmountFen) 就是总额的体现。
+     * 2. 如果只有业务商户的事实明细，则需要加回平台留存和手续费。
+     * 平台代收 (1) 和 全额到商户 (2) 均属于总额类事实，其金额本质上是支付总额（Gross）。
+     *
+     * @param sumFactSplitsFen             所有分账事实金额之和
+     * @param sumPlatformCollectedGrossFen 总额类事实金额之和
+     */
+    private static boolean isMacroBalanced(long payAmtFen, long platIncFen, long pFeeFen, long sumFactSplitsFen,
+            long sumPlatformCollectedGrossFen) {
         // 1. 如果存在总额类事实（平台代收或全额到商户），且金额基本等于总支付额，则认为宏观已平
         if (sumPlatformCollectedGrossFen > 0 && Math.abs(payAmtFen - sumPlatformCollectedGrossFen) <= 1) {
             return true;
@@ -552,79 +1031,42 @@ public class RealtimeReconService {
      * 计算并生成商户维度的结算统计信息
      * <p>
      * 该方法对比“意图层”(Intents) 与“事实层”(Facts)，为订单涉及的每个商户计算结算数据和判定结算方式。
-     * 核心逻辑基于商户 ID 聚合，分别计算订单金额、分账金额、手续费，并据此推断该商户的到账类型。
+     * 商户维度的订单金额、分账金额、手续费均直接取自订单台账，并据此推断该商户的到账类型。
      * </p>
      *
-     * @param orderNo 主订单号
-     * @param request 对账请求对象 (包含意图子单列表)
-     * @param facts   分账事实明细列表 (来自支付平台回调)
+     * @param orderNo  主订单号
+     * @param ledger   订单台账
+     * @param ratioMap 分账比例规则: merchantId -> ratio
      * @return 该订单涉及的所有商户结算统计列表
      */
-    private List<ReconOrderMerchantSettlementDO> calculateMerchantSettlements(String orderNo,
-            AbstractReconOrderRequest request, List<ReconOrderSplitRequest> facts) {
-        List<ReconSubOrderRequest> intents = request.getSubOrders();
-        Map<String, List<ReconSubOrderRequest>> intentMap = intents == null ? Collections.emptyMap()
-                : intents.stream().filter(s -> s.getMerchantId() != null)
-                        .collect(Collectors.groupingBy(ReconSubOrderRequest::getMerchantId));
-
-        Map<String, List<ReconOrderSplitRequest>> factMap = facts == null ? Collections.emptyMap()
-                : facts.stream().filter(s -> s.getMerchantId() != null)
-                        .collect(Collectors.groupingBy(ReconOrderSplitRequest::getMerchantId));
-
-        // 提取分账比例规则: merchantId -> ratio
-        Map<String, Integer> ratioMap = Collections.emptyMap();
-        if (request.getSplitRules() != null) {
-            ratioMap = request.getSplitRules().stream()
-                    .filter(r -> r.getMerchantId() != null && r.getRatio() != null)
-                    .collect(Collectors.toMap(
-                            tech.coffers.recon.api.model.ReconSplitRuleRequest::getMerchantId,
-                            tech.coffers.recon.api.model.ReconSplitRuleRequest::getRatio,
-                            (v1, v2) -> v1 // 冲突时保留前者
-                    ));
-        }
-
-        Set<String> allMerchants = new HashSet<>();
-        allMerchants.addAll(intentMap.keySet());
-        allMerchants.addAll(factMap.keySet());
-        allMerchants.addAll(ratioMap.keySet()); // 也包含只有规则的商户
-
-        List<ReconOrderMerchantSettlementDO> results = new ArrayList<>();
-        for (String mchId : allMerchants) {
-            long orderAmt = intentMap.getOrDefault(mchId, Collections.emptyList()).stream()
-                    .mapToLong(s -> s.getOrderAmountFen() != null ? s.getOrderAmountFen() : 0L).sum();
+    private List<ReconOrderMerchantSettlementDO> calculateMerchantSettlements(String orderNo, OrderLedger ledger,
+            Map<String, Integer> ratioMap) {
+        // 只有规则、没有意图和事实的商户不在台账中，自然被忽略
+        List<ReconOrderMerchantSettlementDO> results = new ArrayList<>(ledger.merchantCount());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ledger.merchantCount(); i++) {
+            String mchId = ledger.merchantId(i);
+            long orderAmt = ledger.intentOrderFen(i);
 
             // 如果 orderAmt 为 0，尝试取 getSplitAmountFen (兼容不同字段命名习惯)
             if (orderAmt == 0) {
-                orderAmt = intentMap.getOrDefault(mchId, Collections.emptyList()).stream()
-                        .mapToLong(s -> s.getSplitAmountFen() != null ? s.getSplitAmountFen() : 0L).sum();
+                orderAmt = ledger.intentSplitFen(i);
             }
 
-            long splitAmt = factMap.getOrDefault(mchId, Collections.emptyList()).stream()
-                    .mapToLong(s -> s.getSplitAmountFen() != null ? s.getSplitAmountFen() : 0L).sum();
+            long splitAmt = ledger.factSplitFen(i);
+            long splitFee = ledger.factFeeFen(i);
 
-            long splitFee = factMap.getOrDefault(mchId, Collections.emptyList()).stream()
-                    .mapToLong(s -> s.getSplitFeeFen() != null ? s.getSplitFeeFen() : 0L).sum();
-
-            Integer ratio = ratioMap.get(mchId);
             SettlementTypeEnum type;
             // 场景判定基于 意图(Intents) 与 事实(Facts) 的关系：
-            if (!intentMap.containsKey(mchId) && !factMap.containsKey(mchId)) {
-                // 只有规则，没有意图和事实 -> 忽略
-                continue;
-            } else if (!intentMap.containsKey(mchId) || !factMap.containsKey(mchId)) {
+            if (!ledger.hasIntent(i) || !ledger.hasFact(i)) {
                 // 1. 平台代收：意图中有商户但事实中没有，或者事实中有商户(如平台收款号)但意图中没有
                 type = SettlementTypeEnum.PLATFORM_COLLECTION;
-            } else {
+            } else if (orderAmt == splitAmt) {
                 // 2. 全额到账商户：subOrders 中商户的订单总额 == splitDetails 中相应商户的收款总额
-                if (orderAmt == splitAmt) {
-                    type = SettlementTypeEnum.DIRECT_TO_MERCHANT;
-                } else if (orderAmt < splitAmt) {
-                    // 3. 空中分账：subOrders 中商户的订单总额 < splitDetails 中相应商户的收款总额
-                    type = SettlementTypeEnum.REALTIME_SPLIT;
-                } else {
-                    // 订单总额 > 事实收款总额 (例如手续费已扣除)，作为异常处理或归类为 REALTIME_SPLIT
-                    type = SettlementTypeEnum.REALTIME_SPLIT;
-                }
+                type = SettlementTypeEnum.DIRECT_TO_MERCHANT;
+            } else {
+                // 3. 空中分账：订单总额与事实收款总额不一致 (含手续费已扣除的情况)
+                type = SettlementTypeEnum.REALTIME_SPLIT;
             }
 
             results.add(ReconOrderMerchantSettlementDO.builder()
@@ -634,96 +1076,30 @@ public class RealtimeReconService {
                     .orderAmountFen(orderAmt)
                     .splitAmountFen(splitAmt)
                     .splitFeeFen(splitFee)
-                    .splitRatio(ratio) // 记录使用的比例
+                    .splitRatio(ratioMap.get(mchId)) // 记录使用的比例
                     .arrivalAmountFen(splitAmt - splitFee)
-                    .createTime(LocalDateTime.now())
-                    .updateTime(LocalDateTime.now())
+                    .createTime(now)
+                    .updateTime(now)
                     .build());
         }
         return results;
     }
 
     /**
-     * 智能推断全量订单的到账方式 (Settlement Type)
-     * <p>
-     * 该方法从宏观层面分析一个对账请求的结算特征。它通过对比“意图层”(Intents, 子订单) 与 “事实层”(Facts, 分账明细)
-     * 的商户分布和金额特征，判定该笔订单整体属于哪种到账模式。
-     * </p>
-     * <ul>
-     * <li>{@link SettlementTypeEnum#REALTIME_SPLIT}: 实时分账 -
-     * 事实层涉及多个收款方，或单收款方但存在平台分润。</li>
-     * <li>{@link SettlementTypeEnum#DIRECT_TO_MERCHANT}: 全额到商户 -
-     * 直连模式，订单总额全量实时进入商户余额。</li>
-     * <li>{@link SettlementTypeEnum#PLATFORM_COLLECTION}: 平台代收 -
-     * 资金进入平台大账户，或意图与事实收款方严重不匹配。</li>
-     * </ul>
-     *
-     * @param request 对账请求
-     * @return 推断出的到账方式
+     * 提取分账比例规则: merchantId -> ratio，同一商户重复配置时保留前者
      */
-    private Map<String, SettlementTypeEnum> inferMerchantSettlementType(AbstractReconOrderRequest request) {
-        // 1. 获取事实层数据 (Facts)
-        List<ReconOrderSplitRequest> facts = request.getSplitDetails();
-        if (facts == null || facts.isEmpty()) {
+    private Map<String, Integer> buildRatioMap(AbstractReconOrderRequest request) {
+        List<ReconSplitRuleRequest> rules = request.getSplitRules();
+        if (rules == null || rules.isEmpty()) {
             return Collections.emptyMap();
         }
-
-        // 聚合事实层商户收款金额 (用于精度校验或扩展)
-        Map<String, Long> factSplitAmountMap = new HashMap<>();
-        for (ReconOrderSplitRequest fact : facts) {
-            if (fact.getMerchantId() != null && fact.getSplitAmountFen() != null) {
-                factSplitAmountMap.put(fact.getMerchantId(),
-                        factSplitAmountMap.getOrDefault(fact.getMerchantId(), 0L) + fact.getSplitAmountFen());
+        Map<String, Integer> ratioMap = new HashMap<>();
+        for (ReconSplitRuleRequest rule : rules) {
+            if (rule.getMerchantId() != null && rule.getRatio() != null) {
+                ratioMap.putIfAbsent(rule.getMerchantId(), rule.getRatio());
             }
         }
-
-        // 2. 获取意图层数据 (Intents)
-        List<ReconSubOrderRequest> subOrders = request.getSubOrders();
-        // 聚合意图层商户订单金额
-        Map<String, Long> merchantOrderAmountMap = new HashMap<>();
-
-        if (subOrders != null && !subOrders.isEmpty()) {
-            for (ReconSubOrderRequest subOrder : subOrders) {
-                String merchantId = subOrder.getMerchantId();
-                Long orderAmountFen = subOrder.getOrderAmountFen();
-                if (merchantId != null && orderAmountFen != null) {
-                    merchantOrderAmountMap.put(merchantId,
-                            merchantOrderAmountMap.getOrDefault(merchantId, 0L) + orderAmountFen);
-                }
-            }
-        }
-
-        // Also include merchants from facts even if they are not in intent
-        for (String factMchId : factSplitAmountMap.keySet()) {
-            if (!merchantOrderAmountMap.containsKey(factMchId)) {
-                merchantOrderAmountMap.put(factMchId, 0L);
-            }
-        }
-
-        Map<String, SettlementTypeEnum> results = new HashMap<>();
-
-        for (String merchantId : merchantOrderAmountMap.keySet()) {
-            if (merchantId == null)
-                continue;
-            Long merchantOrderAmount = merchantOrderAmountMap.get(merchantId);
-            Long merchantFactAmount = factSplitAmountMap.getOrDefault(merchantId, 0L);
-
-            if (merchantFactAmount == 0) {
-                // 有意图无事实 -> 平台代收
-                results.put(merchantId, SettlementTypeEnum.PLATFORM_COLLECTION);
-            } else if (merchantOrderAmount == 0 && merchantFactAmount > 0) {
-                // 无意图有事实 -> 典型为平台手续费账号 -> 平台代收
-                results.put(merchantId, SettlementTypeEnum.PLATFORM_COLLECTION);
-            } else if (merchantOrderAmount.equals(merchantFactAmount)) {
-                // 订单金额等于收款金额，全额到商户
-                results.put(merchantId, SettlementTypeEnum.DIRECT_TO_MERCHANT);
-            } else {
-                // 订单金额不等于收款金额（无论大小），归类为实时分账
-                results.put(merchantId, SettlementTypeEnum.REALTIME_SPLIT);
-            }
-        }
-
-        return results;
+        return ratioMap;
     }
 
     /**
@@ -732,15 +1108,15 @@ public class RealtimeReconService {
     private Long[] normalizeRequestAmounts(AbstractReconOrderRequest request) {
         Long payAmtFen = request.getPayAmountFen();
         if (payAmtFen == null && request.getPayAmount() != null) {
-            payAmtFen = request.getPayAmount().multiply(new BigDecimal("100")).longValue();
+            payAmtFen = MoneyCodec.toFen(request.getPayAmount());
         }
         Long platIncFen = request.getPlatformIncomeFen();
         if (platIncFen == null && request.getPlatformIncome() != null) {
-            platIncFen = request.getPlatformIncome().multiply(new BigDecimal("100")).longValue();
+            platIncFen = MoneyCodec.toFen(request.getPlatformIncome());
         }
         Long pFeeFen = request.getPayFeeFen();
         if (pFeeFen == null && request.getPayFee() != null) {
-            pFeeFen = request.getPayFee().multiply(new BigDecimal("100")).longValue();
+            pFeeFen = MoneyCodec.toFen(request.getPayFee());
         }
         return new Long[] { payAmtFen, platIncFen, pFeeFen };
     }
@@ -749,8 +1125,8 @@ public class RealtimeReconService {
      * 转换意向子订单 DTO 为 DO 列表
      */
     private List<ReconOrderSubDO> convertToIntentDOs(String orderNo, List<ReconSubOrderRequest> subOrders,
-            Map<String, Integer> ratioMap, Double inferredFeeRate) {
-        List<ReconOrderSubDO> orderSubDOs = new ArrayList<>();
+            Map<String, Integer> ratioMap, Double inferredFeeRate, OrderLedger ledger) {
+        List<ReconOrderSubDO> orderSubDOs = new ArrayList<>(subOrders != null ? subOrders.size() : 0);
         if (subOrders == null)
             return orderSubDOs;
 
@@ -767,15 +1143,14 @@ public class RealtimeReconService {
                 currentSubAmtFen = subReq.getOrderAmountFen();
                 subDO.setOrderAmountFen(currentSubAmtFen);
             } else if (subReq.getOrderAmount() != null) {
-                subDO.setOrderAmount(subReq.getOrderAmount());
-                currentSubAmtFen = subReq.getOrderAmount().multiply(new BigDecimal("100")).longValue();
+                currentSubAmtFen = MoneyCodec.toFen(subReq.getOrderAmount());
                 subDO.setOrderAmountFen(currentSubAmtFen);
             } else if (subReq.getSplitAmountFen() != null && subReq.getSplitAmountFen() != 0L) {
                 // 如果订单金额缺失但分账金额存在，至少订单金额等于分账金额
                 currentSubAmtFen = subReq.getSplitAmountFen();
                 subDO.setOrderAmountFen(currentSubAmtFen);
             } else if (subReq.getSplitAmount() != null) {
-                currentSubAmtFen = subReq.getSplitAmount().multiply(new BigDecimal("100")).longValue();
+                currentSubAmtFen = MoneyCodec.toFen(subReq.getSplitAmount());
                 subDO.setOrderAmountFen(currentSubAmtFen);
             }
 
@@ -783,11 +1158,10 @@ public class RealtimeReconService {
             if (subReq.getSplitAmountFen() != null && subReq.getSplitAmountFen() != 0L) {
                 subDO.setSplitAmountFen(subReq.getSplitAmountFen());
             } else if (subReq.getSplitAmount() != null && subReq.getSplitAmount().compareTo(BigDecimal.ZERO) != 0) {
-                subDO.setSplitAmountFen(subReq.getSplitAmount().multiply(new BigDecimal(100)).longValue());
+                subDO.setSplitAmountFen(MoneyCodec.toFen(subReq.getSplitAmount()));
             } else if (ratioMap.containsKey(subReq.getMerchantId()) && currentSubAmtFen > 0) {
                 long inferredSplit = currentSubAmtFen * ratioMap.get(subReq.getMerchantId()) / 10000;
                 subDO.setSplitAmountFen(inferredSplit);
-                subDO.setSplitAmount(BigDecimal.valueOf(inferredSplit).movePointLeft(2));
             } else {
                 subDO.setSplitAmountFen(0L);
             }
@@ -796,11 +1170,10 @@ public class RealtimeReconService {
             if (subReq.getFeeFen() != null && subReq.getFeeFen() != 0L) {
                 subDO.setFeeFen(subReq.getFeeFen());
             } else if (subReq.getFee() != null && subReq.getFee().compareTo(BigDecimal.ZERO) != 0) {
-                subDO.setFeeFen(subReq.getFee().multiply(new BigDecimal(100)).longValue());
+                subDO.setFeeFen(MoneyCodec.toFen(subReq.getFee()));
             } else if (inferredFeeRate != null && subDO.getSplitAmountFen() != null && subDO.getSplitAmountFen() > 0) {
                 long inferredFee = (long) (subDO.getSplitAmountFen() * inferredFeeRate);
                 subDO.setFeeFen(inferredFee);
-                subDO.setFee(BigDecimal.valueOf(inferredFee).movePointLeft(2));
             } else {
                 subDO.setFeeFen(0L);
             }
@@ -811,6 +1184,7 @@ public class RealtimeReconService {
                 subDO.setSplitRatio(ratioMap.get(subReq.getMerchantId()));
             }
 
+            ledger.addIntent(subDO);
             orderSubDOs.add(subDO);
         }
         return orderSubDOs;
@@ -820,8 +1194,8 @@ public class RealtimeReconService {
      * 转换事实明细 DTO 为 DO 列表
      */
     private List<ReconOrderSplitDetailDO> convertToFactDOs(String orderNo, List<ReconOrderSplitRequest> splitDetails,
-            Map<String, SettlementTypeEnum> settlementTypeMap, NotifyStatusEnum notifyEnum) {
-        List<ReconOrderSplitDetailDO> splitDetailDOs = new ArrayList<>();
+            OrderLedger ledger, NotifyStatusEnum notifyEnum) {
+        List<ReconOrderSplitDetailDO> splitDetailDOs = new ArrayList<>(splitDetails != null ? splitDetails.size() : 0);
         if (splitDetails == null)
             return splitDetailDOs;
 
@@ -833,26 +1207,26 @@ public class RealtimeReconService {
             if (subReq.getSplitAmountFen() != null) {
                 subDO.setSplitAmountFen(subReq.getSplitAmountFen());
             } else if (subReq.getSplitAmount() != null) {
-                subDO.setSplitAmountFen(subReq.getSplitAmount().multiply(new BigDecimal(100)).longValue());
+                subDO.setSplitAmountFen(MoneyCodec.toFen(subReq.getSplitAmount()));
             }
 
             if (subReq.getArrivalAmountFen() != null) {
                 subDO.setArrivalAmountFen(subReq.getArrivalAmountFen());
             } else if (subReq.getArrivalAmount() != null) {
-                subDO.setArrivalAmountFen(subReq.getArrivalAmount().multiply(new BigDecimal(100)).longValue());
+                subDO.setArrivalAmountFen(MoneyCodec.toFen(subReq.getArrivalAmount()));
             }
 
             if (subReq.getSplitFeeFen() != null) {
                 subDO.setSplitFeeFen(subReq.getSplitFeeFen());
             } else if (subReq.getSplitFee() != null) {
-                subDO.setSplitFeeFen(subReq.getSplitFee().multiply(new BigDecimal(100)).longValue());
+                subDO.setSplitFeeFen(MoneyCodec.toFen(subReq.getSplitFee()));
             }
 
             subDO.setNotifyStatus(notifyEnum.getCode());
             subDO.setCreateTime(LocalDateTime.now());
             subDO.setUpdateTime(LocalDateTime.now());
 
-            SettlementTypeEnum sType = settlementTypeMap.get(subReq.getMerchantId());
+            SettlementTypeEnum sType = ledger.settlementTypeOf(subReq.getMerchantId());
             subDO.setSettlementType(sType != null ? sType.getCode() : SettlementTypeEnum.UNKNOWN.getCode());
 
             splitDetailDOs.add(subDO);
@@ -863,20 +1237,12 @@ public class RealtimeReconService {
     /**
      * 推算手续费比例
      */
-    private Double inferFeeRate(AbstractReconOrderRequest request, List<ReconOrderSplitRequest> splitDetails) {
+    private Double inferFeeRate(AbstractReconOrderRequest request, OrderLedger ledger) {
         if (request.getPayFeeRate() != null) {
             return request.getPayFeeRate() / 10000.0;
         }
-        if (splitDetails != null && !splitDetails.isEmpty()) {
-            long totalFactAmt = 0L;
-            long totalFactFee = 0L;
-            for (ReconOrderSplitRequest fact : splitDetails) {
-                totalFactAmt += (fact.getSplitAmountFen() != null ? fact.getSplitAmountFen() : 0L);
-                totalFactFee += (fact.getSplitFeeFen() != null ? fact.getSplitFeeFen() : 0L);
-            }
-            if (totalFactAmt > 0) {
-                return (double) totalFactFee / totalFactAmt;
-            }
+        if (ledger.factCount() > 0 && ledger.totalFactSplitFen() > 0) {
+            return (double) ledger.totalFactFeeFen() / ledger.totalFactSplitFen();
         }
         return null;
     }
@@ -884,17 +1250,15 @@ public class RealtimeReconService {
     /**
      * 执行宏观和微观金额校验
      */
-    private String performAmountValidation(String orderNo, Long payAmountFen, Long platformIncomeFen, Long payFeeFen,
-            List<ReconOrderSplitDetailDO> splitDetailDOs, Map<String, SettlementTypeEnum> settlementTypeMap,
-            List<ReconOrderSubDO> orderSubDOs, List<ReconSubOrderRequest> subOrders,
-            List<ReconOrderMerchantSettlementDO> mchSettlements) {
+    private String performAmountValidation(Long payAmountFen, Long platformIncomeFen, Long payFeeFen,
+            OrderLedger ledger) {
 
         long payAmtFen = payAmountFen != null ? payAmountFen : 0L;
         long platIncFen = platformIncomeFen != null ? platformIncomeFen : 0L;
         long pFeeFen = payFeeFen != null ? payFeeFen : 0L;
 
         // 1. 宏观校验
-        if (!verifyMacroMatch(payAmountFen, platformIncomeFen, payFeeFen, splitDetailDOs)) {
+        if (!verifyMacroMatch(payAmtFen, platIncFen, pFeeFen, ledger)) {
             String msg = String.format("宏观金额校验不符。支付(%d) != [商户汇总 + 平台留存(%d) + 手续费(%d)]。请确认分账明细中是否包含总额中转账号。",
                     payAmtFen, platIncFen, pFeeFen);
             return msg;
@@ -902,49 +1266,28 @@ public class RealtimeReconService {
 
         // 2. 微观校验 (商户维度)
         // 核心原则：只对非“平台代收”模式的商户进行 1:1 事实匹配。支持 1:N (一个事实对应多个子单意图)
-        if (!orderSubDOs.isEmpty() && !splitDetailDOs.isEmpty()) {
-            // 聚合事实层：merchantId -> sum(fact.splitAmount)
-            Map<String, Long> factMap = splitDetailDOs.stream()
-                    .filter(s -> s.getMerchantId() != null)
-                    .collect(Collectors.groupingBy(ReconOrderSplitDetailDO::getMerchantId,
-                            Collectors.summingLong(s -> s.getSplitAmountFen() == null ? 0L : s.getSplitAmountFen())));
-
-            // 聚合意图层：merchantId -> { sum(orderAmount), sum(splitAmount) }
-            Map<String, Long> mchOrderAmtMap = orderSubDOs.stream()
-                    .filter(s -> s.getMerchantId() != null)
-                    .collect(Collectors.groupingBy(ReconOrderSubDO::getMerchantId,
-                            Collectors.summingLong(s -> s.getOrderAmountFen() == null ? 0L : s.getOrderAmountFen())));
-
-            Map<String, Long> mchSplitAmtMap = orderSubDOs.stream()
-                    .filter(s -> s.getMerchantId() != null)
-                    .collect(Collectors.groupingBy(ReconOrderSubDO::getMerchantId,
-                            Collectors.summingLong(s -> s.getSplitAmountFen() == null ? 0L : s.getSplitAmountFen())));
-
-            Set<String> allMchs = new HashSet<>();
-            allMchs.addAll(mchOrderAmtMap.keySet());
-            allMchs.addAll(factMap.keySet());
-
-            for (String mchId : allMchs) {
-                SettlementTypeEnum type = settlementTypeMap.get(mchId);
+        if (ledger.intentCount() > 0 && ledger.factCount() > 0) {
+            for (int i = 0; i < ledger.merchantCount(); i++) {
+                SettlementTypeEnum type = ledger.settlementType(i);
                 // 如果是平台代收，商户账上通常没有对应事实明细，跳过微观匹配（由宏观中转包校验确保）
                 if (type == SettlementTypeEnum.PLATFORM_COLLECTION) {
                     continue;
                 }
 
-                Long factAmountFen = factMap.getOrDefault(mchId, 0L);
+                long factAmountFen = ledger.factSplitFen(i);
                 long targetReconAmtFen;
 
                 if (type == SettlementTypeEnum.DIRECT_TO_MERCHANT) {
                     // 如果是全额到账 (Rule 2)，比对的是该商户的所有订单原始金额之和
-                    targetReconAmtFen = mchOrderAmtMap.getOrDefault(mchId, 0L);
+                    targetReconAmtFen = ledger.intentDoOrderFen(i);
                 } else {
                     // 默认/实时分账 (Rule 3)，比对的是该商户的所有预计分账金额之和
-                    targetReconAmtFen = mchSplitAmtMap.getOrDefault(mchId, 0L);
+                    targetReconAmtFen = ledger.intentDoSplitFen(i);
                 }
 
                 if (Math.abs(targetReconAmtFen - factAmountFen) > 1) {
                     return String.format("商户[%s]微观核账不符。意向(%d分)与事实(%d分)不匹配",
-                            mchId, targetReconAmtFen, factAmountFen);
+                            ledger.merchantId(i), targetReconAmtFen, factAmountFen);
                 }
             }
         }
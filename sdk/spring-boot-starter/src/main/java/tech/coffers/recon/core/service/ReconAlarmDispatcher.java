@@ -0,0 +1,247 @@
+package tech.coffers.recon.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步告警分发器
+ * <p>
+ * 告警进入有界队列后由单个分发线程投递给各告警策略，调用线程不再等待 Webhook 等慢速通道。
+ * 同一去重键在窗口内的首条告警立即投递，其余告警只计数，窗口结束时合并为一条汇总告警；
+ * 每个告警策略各自持有一个令牌桶，超出速率的告警被丢弃并计数。队列满时新告警直接丢弃并计数。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Slf4j
+class ReconAlarmDispatcher {
+
+    /**
+     * 关闭时用于唤醒分发线程的哨兵
+     */
+    private static final AlarmEvent WAKE_UP = new AlarmEvent(null, null, null);
+
+    private final List<AlarmService.AlarmStrategy> strategies;
+    private final List<TokenBucket> buckets;
+    private final BlockingQueue<AlarmEvent> queue;
+    private final long dedupWindowNanos;
+    private final Map<String, Digest> digests = new LinkedHashMap<>();
+    private final Thread dispatcher;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * @param strategies         告警策略
+     * @param queueCapacity      队列容量
+     * @param dedupWindowSeconds 去重窗口（秒），0 表示不去重
+     * @param rateLimitPerMinute 每个策略每分钟允许的告警数，0 表示不限流
+     * @param rateLimitBurst     每个策略允许的突发告警数
+     */
+    ReconAlarmDispatcher(List<AlarmService.AlarmStrategy> strategies, int queueCapacity, long dedupWindowSeconds,
+            int rateLimitPerMinute, int rateLimitBurst) {
+        this.strategies = strategies;
+        this.buckets = new ArrayList<>(strategies.size());
+        for (int i = 0; i < strategies.size(); i++) {
+            buckets.add(rateLimitPerMinute > 0 ? new TokenBucket(rateLimitPerMinute, Math.max(1, rateLimitBurst))
+                    : null);
+        }
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dedupWindowNanos = TimeUnit.SECONDS.toNanos(Math.max(0L, dedupWindowSeconds));
+        this.dispatcher = new Thread(this::runLoop, "easy-recon-alarm");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 提交告警
+     *
+     * @param dedupKey 去重键，为 null 时不参与去重
+     * @param label    汇总告警中用于描述去重键的文字
+     * @param message  告警消息
+     */
+    void submit(String dedupKey, String label, String message) {
+        if (!running || !queue.offer(new AlarmEvent(dedupKey, label, message))) {
+            long dropped = droppedCount.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                log.warn("告警队列已满或已关闭，累计丢弃告警数: {}", dropped);
+            }
+        }
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    long droppedCount() {
+        return droppedCount.get();
+    }
+
+    long suppressedCount() {
+        return suppressedCount.get();
+    }
+
+    long rateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    /**
+     * 停止分发线程，投递队列中剩余的告警以及尚未结束窗口的汇总告警
+     */
+    void shutdown() {
+        running = false;
+        queue.offer(WAKE_UP);
+        try {
+            dispatcher.join(5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                AlarmEvent event = queue.poll(nextWaitNanos(), TimeUnit.NANOSECONDS);
+                if (event != null && event != WAKE_UP) {
+                    handle(event);
+                }
+                flushDigests(false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("告警分发异常", e);
+            }
+        }
+        List<AlarmEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (AlarmEvent event : remaining) {
+            if (event != WAKE_UP) {
+                handle(event);
+            }
+        }
+        flushDigests(true);
+    }
+
+    private void handle(AlarmEvent event) {
+        if (event.dedupKey == null || dedupWindowNanos == 0L) {
+            deliver(event.message);
+            return;
+        }
+        Digest digest = digests.get(event.dedupKey);
+        if (digest != null) {
+            digest.suppressed++;
+            digest.lastMessage = event.message;
+            suppressedCount.incrementAndGet();
+            return;
+        }
+        digests.put(event.dedupKey, new Digest(event.label, System.nanoTime() + dedupWindowNanos));
+        deliver(event.message);
+    }
+
+    private void flushDigests(boolean all) {
+        long now = System.nanoTime();
+        Iterator<Digest> iterator = digests.values().iterator();
+        while (iterator.hasNext()) {
+            Digest digest = iterator.next();
+            if (!all && digest.windowEnd - now > 0) {
+                continue;
+            }
+            iterator.remove();
+            if (digest.suppressed > 0) {
+                deliver(String.format("【对账告警汇总】%s，%d 秒内另有 %d 条同类告警已合并，最近一条：%s", digest.label,
+                        TimeUnit.NANOSECONDS.toSeconds(dedupWindowNanos), digest.suppressed, digest.lastMessage));
+            }
+        }
+    }
+
+    private long nextWaitNanos() {
+        long wait = TimeUnit.SECONDS.toNanos(1L);
+        long now = System.nanoTime();
+        for (Digest digest : digests.values()) {
+            wait = Math.min(wait, Math.max(0L, digest.windowEnd - now));
+        }
+        return wait;
+    }
+
+    private void deliver(String message) {
+        for (int i = 0; i < strategies.size(); i++) {
+            AlarmService.AlarmStrategy strategy = strategies.get(i);
+            TokenBucket bucket = buckets.get(i);
+            if (bucket != null && !bucket.tryAcquire()) {
+                rateLimitedCount.incrementAndGet();
+                continue;
+            }
+            try {
+                strategy.sendAlarm(message);
+            } catch (Exception e) {
+                log.error("告警发送失败, strategy: {}", strategy.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private static final class AlarmEvent {
+        private final String dedupKey;
+        private final String label;
+        private final String message;
+
+        private AlarmEvent(String dedupKey, String label, String message) {
+            this.dedupKey = dedupKey;
+            this.label = label;
+            this.message = message;
+        }
+    }
+
+    /**
+     * 单个去重键在当前窗口内的合并状态
+     */
+    private static final class Digest {
+        private final String label;
+        private final long windowEnd;
+        private int suppressed;
+        private String lastMessage;
+
+        private Digest(String label, long windowEnd) {
+            this.label = label;
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    /**
+     * 令牌桶，仅由分发线程访问
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int permitsPerMinute, int burst) {
+            this.capacity = burst;
+            this.tokensPerNano = permitsPerMinute / (double) TimeUnit.MINUTES.toNanos(1L);
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+        }
+
+        private boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1.0d) {
+                tokens -= 1.0d;
+                return true;
+            }
+            return false;
+        }
+    }
+}
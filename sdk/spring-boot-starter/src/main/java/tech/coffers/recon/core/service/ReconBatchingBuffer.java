@@ -0,0 +1,165 @@
+package tech.coffers.recon.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 攒批写入缓冲区
+ * <p>
+ * 元素先进入有界队列，由单个刷写线程按"攒够 N 条或等待 M 毫秒"的节奏合并为批量写入。
+ * 队列满或关闭后退化为在调用线程上直接写入，形成天然背压。关闭时保证所有已入队的元素都会被写入。
+ *
+ * @param <T> 元素类型
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Slf4j
+class ReconBatchingBuffer<T> {
+
+    /**
+     * 关闭时用于唤醒刷写线程的哨兵
+     */
+    private static final Object WAKE_UP = new Object();
+
+    private final String name;
+    private final BlockingQueue<Object> queue;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final Consumer<List<T>> flushAction;
+    private final Thread flusher;
+    /**
+     * 入队持读锁、关闭持写锁，保证关闭后的最终 drain 不会漏掉任何已入队的元素
+     */
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * @param name            刷写线程名
+     * @param capacity        队列容量
+     * @param flushSize       单批最大元素数
+     * @param flushIntervalMs 最长攒批等待时间（毫秒）
+     * @param flushAction     批量写入动作
+     */
+    ReconBatchingBuffer(String name, int capacity, int flushSize, long flushIntervalMs,
+            Consumer<List<T>> flushAction) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, flushIntervalMs));
+        this.flushAction = flushAction;
+        this.flusher = new Thread(this::runLoop, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 提交待写入的元素
+     *
+     * @param item 元素
+     */
+    void submit(T item) {
+        boolean queued;
+        lifecycleLock.readLock().lock();
+        try {
+            queued = running && queue.offer(item);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (!queued) {
+            // 队列已满或正在关闭：在调用线程上直接写入
+            flush(Collections.singletonList(item));
+        }
+    }
+
+    /**
+     * 当前排队中的元素数
+     */
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * 停止刷写线程，并将剩余元素全部写入
+     */
+    void shutdown() {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        queue.offer(WAKE_UP);
+        try {
+            flusher.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void runLoop() {
+        List<Object> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null || first == WAKE_UP) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < flushSize && running) {
+                    if (queue.drainTo(batch, flushSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Object next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == WAKE_UP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flush(List<?> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Object item : batch) {
+            if (item != WAKE_UP) {
+                items.add((T) item);
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            flushAction.accept(items);
+        } catch (Exception e) {
+            log.error("{} 批量写入异常, size={}", name, items.size(), e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package tech.coffers.recon.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import tech.coffers.recon.api.model.ReconNotifyRequest;
+import tech.coffers.recon.api.result.ReconResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 分账通知合并器
+ * <p>
+ * 一笔订单分账给多个商户时，各商户的通知回调往往在毫秒级内集中到达。合并器按订单号开启一个短时间窗口，
+ * 窗口内到达的通知合并为一组，窗口到期（或达到单窗口上限）后交给工作线程池一次性处理：批量更新分账明细，
+ * 并只做一次全部通知判定与重新核账。同组通知的 Future 在该组处理完成后统一完成。
+ * <p>
+ * 到期的窗口由独立的分发线程交给工作线程池：订单通道队列满时提交会阻塞，线程池拒绝时会就地处理，
+ * 二者都不能发生在计时线程上，否则其他订单的窗口无法按时关闭。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Slf4j
+class ReconNotifyCoalescer {
+
+    /**
+     * 关闭时等待分发线程处理完已到期窗口的最长时间（毫秒）
+     */
+    private static final long DISPATCH_SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Function<String, Executor> executorFor;
+    private final BiFunction<String, List<ReconNotifyRequest>, ReconResult> flushAction;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+    private volatile boolean running = true;
+
+    /**
+     * @param windowMs        合并窗口（毫秒）
+     * @param maxBatchSize    单窗口最多合并的通知数
+     * @param executorFor     按订单号选择处理合并组的执行器
+     * @param flushAction     合并组处理动作：订单号 + 该订单窗口内的全部通知 -> 对账结果
+     */
+    ReconNotifyCoalescer(long windowMs, int maxBatchSize, Function<String, Executor> executorFor,
+            BiFunction<String, List<ReconNotifyRequest>, ReconResult> flushAction) {
+        this.windowMs = Math.max(1L, windowMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.executorFor = executorFor;
+        this.flushAction = flushAction;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "easy-recon-notify-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "easy-recon-notify-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交一条已定位到主订单的通知
+     *
+     * @param orderNo 主订单号
+     * @param request 通知请求
+     * @return 所属合并组处理完成后完成的对账结果
+     */
+    CompletableFuture<ReconResult> submit(String orderNo, ReconNotifyRequest request) {
+        PendingNotify pending = new PendingNotify(request);
+        if (!running) {
+            // 正在关闭：在调用线程上直接处理
+            flush(orderNo, Collections.singletonList(pending));
+            return pending.future;
+        }
+        while (true) {
+            Window window = windows.computeIfAbsent(orderNo, k -> new Window());
+            int size = window.add(pending);
+            if (size < 0) {
+                // 窗口已被关闭但尚未移除，重新获取
+                windows.remove(orderNo, window);
+                continue;
+            }
+            if (size == 1) {
+                try {
+                    timer.schedule(() -> expire(orderNo, window), windowMs, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // 与 shutdown 并发：立即关闭窗口
+                    close(orderNo, window);
+                    return pending.future;
+                }
+            }
+            if (size >= maxBatchSize) {
+                close(orderNo, window);
+            }
+            return pending.future;
+        }
+    }
+
+    /**
+     * 当前处于合并窗口中的订单数
+     */
+    int openWindows() {
+        return windows.size();
+    }
+
+    /**
+     * 停止接收新窗口，等待已到期的窗口分发完成，并在调用线程上处理所有未到期窗口中的通知
+     */
+    void shutdown() {
+        running = false;
+        timer.shutdownNow();
+        try {
+            // 计时任务不会阻塞，先等其结束，确保到期窗口都已交给分发线程
+            timer.awaitTermination(DISPATCH_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            dispatcher.shutdown();
+            if (!dispatcher.awaitTermination(DISPATCH_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("合并通知分发线程关闭超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (String orderNo : new ArrayList<>(windows.keySet())) {
+            Window window = windows.get(orderNo);
+            if (window != null) {
+                List<PendingNotify> items = window.close();
+                windows.remove(orderNo, window);
+                if (items != null) {
+                    flush(orderNo, items);
+                }
+            }
+        }
+    }
+
+    /**
+     * 计时线程上关闭到期窗口，合并组交给分发线程提交，计时线程本身不做可能阻塞的提交
+     */
+    private void expire(String orderNo, Window window) {
+        List<PendingNotify> items = window.close();
+        windows.remove(orderNo, window);
+        if (items == null) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> handOff(orderNo, items));
+        } catch (RejectedExecutionException e) {
+            // 与 shutdown 并发：分发线程已关闭，就地处理
+            flush(orderNo, items);
+        }
+    }
+
+    private void close(String orderNo, Window window) {
+        List<PendingNotify> items = window.close();
+        windows.remove(orderNo, window);
+        if (items != null) {
+            handOff(orderNo, items);
+        }
+    }
+
+    private void handOff(String orderNo, List<PendingNotify> items) {
+        try {
+            executorFor.apply(orderNo).execute(() -> flush(orderNo, items));
+        } catch (RejectedExecutionException e) {
+            // 线程池饱和或已关闭：在当前线程处理，形成背压
+            flush(orderNo, items);
+        }
+    }
+
+    private void flush(String orderNo, List<PendingNotify> items) {
+        List<ReconNotifyRequest> requests = new ArrayList<>(items.size());
+        for (PendingNotify pending : items) {
+            requests.add(pending.request);
+        }
+        ReconResult result;
+        try {
+            result = flushAction.apply(orderNo, requests);
+        } catch (Exception e) {
+            log.error("合并通知处理异常 orderNo={}, size={}", orderNo, items.size(), e);
+            result = ReconResult.fail(orderNo, "通知处理异常: " + e.getMessage());
+        }
+        for (PendingNotify pending : items) {
+            pending.future.complete(result);
+        }
+    }
+
+    /**
+     * 单个订单的合并窗口
+     */
+    private static final class Window {
+        private final List<PendingNotify> items = new ArrayList<>();
+        private boolean closed;
+
+        /**
+         * @return 加入后的窗口大小；窗口已关闭时返回 -1
+         */
+        synchronized int add(PendingNotify pending) {
+            if (closed) {
+                return -1;
+            }
+            items.add(pending);
+            return items.size();
+        }
+
+        /**
+         * @return 窗口内的通知；已被关闭过时返回 null
+         */
+        synchronized List<PendingNotify> close() {
+            if (closed) {
+                return null;
+            }
+            closed = true;
+            return items;
+        }
+    }
+
+    private static final class PendingNotify {
+        private final ReconNotifyRequest request;
+        private final CompletableFuture<ReconResult> future = new CompletableFuture<>();
+
+        private PendingNotify(ReconNotifyRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package tech.coffers.recon.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单亲和执行器
+ * <p>
+ * 按订单号哈希到固定数量的单线程通道。同一订单的任务总是进入同一通道按提交顺序串行执行，
+ * 避免同一订单的主记录写入与通知状态更新在数据库上相互等锁；不同订单分散在各通道上并行执行。
+ * 通道队列满时提交线程阻塞等待，而不是像共享线程池那样在调用线程执行，以免破坏同一订单的串行顺序。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Slf4j
+class ReconOrderLaneExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * @param laneCount         通道数
+     * @param laneQueueCapacity 单个通道的队列容量
+     */
+    ReconOrderLaneExecutor(int laneCount, int laneQueueCapacity) {
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        int capacity = Math.max(1, laneQueueCapacity);
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "easy-recon-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(capacity), r -> new Thread(r, threadName),
+                    (r, executor) -> {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("订单通道已关闭");
+                        }
+                        try {
+                            executor.getQueue().put(r);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("等待订单通道队列时被中断", e);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * 获取订单所属通道
+     *
+     * @param orderNo 主订单号
+     * @return 该订单的串行执行通道
+     */
+    Executor forOrder(String orderNo) {
+        return lanes[laneIndex(orderNo)];
+    }
+
+    /**
+     * 通道数
+     */
+    int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 各通道当前排队中的任务数（不含正在执行的任务）
+     */
+    int[] queueDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    /**
+     * 指定通道当前排队中的任务数（不含正在执行的任务）
+     */
+    int queueDepth(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * 停止接收新任务，并等待已提交的任务执行完成
+     *
+     * @param timeoutMs 最长等待时间（毫秒）
+     */
+    void shutdown(long timeoutMs) {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !lane.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("订单通道关闭超时，剩余任务数: {}", lane.getQueue().size());
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int laneIndex(String orderNo) {
+        if (orderNo == null) {
+            return 0;
+        }
+        int h = orderNo.hashCode();
+        h ^= (h >>> 16);
+        return (h & Integer.MAX_VALUE) % lanes.length;
+    }
+}
@@ -0,0 +1,69 @@
+package tech.coffers.recon.core.service;
+
+import lombok.Getter;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.api.result.ReconResult;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.entity.ReconOrderMerchantSettlementDO;
+import tech.coffers.recon.entity.ReconOrderSplitDetailDO;
+import tech.coffers.recon.entity.ReconOrderSubDO;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单笔订单的对账执行计划
+ * <p>
+ * 由 {@link RealtimeReconService} 在内存中完成校验与推断后生成，包含待持久化的全部 DO 以及该笔订单的对账结果。
+ * 计划与持久化分离后，单笔、批量与异步写入路径可以共用同一套核账逻辑。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Getter
+class ReconOrderPlan {
+
+    private final String orderNo;
+    private final ReconOrderMainDO orderMainDO;
+    private final List<ReconOrderSubDO> orderSubDOs;
+    private final List<ReconOrderMerchantSettlementDO> settlementDOs;
+    private final List<ReconOrderSplitDetailDO> splitDetailDOs;
+    /**
+     * 核账判定的对账状态，无需落库的计划为 null
+     */
+    private final ReconStatusEnum reconStatus;
+    private ReconResult result;
+
+    ReconOrderPlan(String orderNo, ReconOrderMainDO orderMainDO, List<ReconOrderSubDO> orderSubDOs,
+            List<ReconOrderMerchantSettlementDO> settlementDOs, List<ReconOrderSplitDetailDO> splitDetailDOs,
+            ReconResult result) {
+        this.orderNo = orderNo;
+        this.orderMainDO = orderMainDO;
+        this.orderSubDOs = orderSubDOs != null ? orderSubDOs : Collections.emptyList();
+        this.settlementDOs = settlementDOs != null ? settlementDOs : Collections.emptyList();
+        this.splitDetailDOs = splitDetailDOs != null ? splitDetailDOs : Collections.emptyList();
+        this.reconStatus = orderMainDO != null ? ReconStatusEnum.fromCode(orderMainDO.getReconStatus()) : null;
+        this.result = result;
+    }
+
+    /**
+     * 处理过程中出现异常、无需落库的计划
+     */
+    static ReconOrderPlan rejected(String orderNo, ReconResult result) {
+        return new ReconOrderPlan(orderNo, null, null, null, null, result);
+    }
+
+    /**
+     * 是否存在需要持久化的数据
+     */
+    boolean isPersistable() {
+        return orderMainDO != null;
+    }
+
+    /**
+     * 持久化失败时覆盖对账结果
+     */
+    void fail(String message) {
+        this.result = ReconResult.fail(orderNo, message);
+    }
+}
@@ -0,0 +1,91 @@
+package tech.coffers.recon.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import tech.coffers.recon.api.result.ReconResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 对账数据写后缓冲区 (Group Commit)
+ * <p>
+ * 异步对账请求在内存中完成核账后进入攒批缓冲区合并为批量写入，每个请求的 Future 只有在所属批次提交后才会完成。
+ * 队列满时退化为在调用线程上直接写入，形成天然背压。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Slf4j
+class ReconWriteBehindBuffer {
+
+    private final Consumer<List<ReconOrderPlan>> flushAction;
+    private final ReconBatchingBuffer<PendingOrder> buffer;
+
+    /**
+     * @param capacity        队列容量
+     * @param flushSize       单批最大订单数
+     * @param flushIntervalMs 最长攒批等待时间（毫秒）
+     * @param flushAction     批量持久化动作，失败时需自行将计划标记为失败
+     */
+    ReconWriteBehindBuffer(int capacity, int flushSize, long flushIntervalMs,
+            Consumer<List<ReconOrderPlan>> flushAction) {
+        this.flushAction = flushAction;
+        this.buffer = new ReconBatchingBuffer<>("easy-recon-write-behind", capacity, flushSize, flushIntervalMs,
+                this::flush);
+    }
+
+    /**
+     * 提交待持久化的对账计划
+     *
+     * @param plan 对账执行计划
+     * @return 批次提交后完成的对账结果
+     */
+    CompletableFuture<ReconResult> submit(ReconOrderPlan plan) {
+        PendingOrder pending = new PendingOrder(plan);
+        buffer.submit(pending);
+        return pending.future;
+    }
+
+    /**
+     * 当前排队中的订单数
+     */
+    int size() {
+        return buffer.size();
+    }
+
+    /**
+     * 停止刷写线程，并将剩余订单全部写入
+     */
+    void shutdown() {
+        buffer.shutdown();
+    }
+
+    private void flush(List<PendingOrder> batch) {
+        List<ReconOrderPlan> plans = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            plans.add(pending.plan);
+        }
+        try {
+            flushAction.accept(plans);
+        } catch (Exception e) {
+            log.error("写后缓冲批量持久化异常, size={}", plans.size(), e);
+            for (ReconOrderPlan plan : plans) {
+                plan.fail("对账数据批量持久化异常: " + e.getMessage());
+            }
+        }
+        for (PendingOrder pending : batch) {
+            pending.future.complete(pending.plan.getResult());
+        }
+    }
+
+    private static final class PendingOrder {
+        private final ReconOrderPlan plan;
+        private final CompletableFuture<ReconResult> future = new CompletableFuture<>();
+
+        private PendingOrder(ReconOrderPlan plan) {
+            this.plan = plan;
+        }
+    }
+}
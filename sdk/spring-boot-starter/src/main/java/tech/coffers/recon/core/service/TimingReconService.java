@@ -1,6 +1,8 @@
 package tech.coffers.recon.core.service;
 
 import lombok.extern.slf4j.Slf4j;
+import tech.coffers.recon.entity.ReconJobRunDO;
+import tech.coffers.recon.entity.ReconJobWatermarkDO;
 import tech.coffers.recon.entity.ReconOrderMainDO;
 import tech.coffers.recon.api.enums.ReconStatusEnum;
 import tech.coffers.recon.api.enums.PayStatusEnum;
@@ -10,8 +12,25 @@ import tech.coffers.recon.api.enums.SettlementTypeEnum;
 import tech.coffers.recon.repository.ReconRepository;
 import tech.coffers.recon.autoconfigure.ReconSdkProperties;
 import tech.coffers.recon.entity.ReconOrderSplitDetailDO;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 /**
  * 定时对账核心服务
@@ -23,102 +42,381 @@ import java.util.List;
  */
 @Slf4j
 public class TimingReconService {
+
+    /**
+     * 定时对账任务名称，用于分片租约与运行记录
+     */
+    public static final String JOB_NAME = "timing_recon";
+
+    /**
+     * 持续增量核账任务名称，用于水位与分片租约
+     */
+    public static final String CONTINUOUS_JOB_NAME = "continuous_recon";
+
     private final ReconRepository reconRepository;
     private final AlarmService alarmService;
     private final ExceptionRecordService exceptionRecordService;
     private final ReconSdkProperties properties;
+    private final ExecutorService executorService;
+    private final String nodeId;
 
     public TimingReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
             AlarmService alarmService, ReconSdkProperties properties) {
+        this(reconRepository, exceptionRecordService, alarmService, properties, null);
+    }
+
+    public TimingReconService(ReconRepository reconRepository, ExceptionRecordService exceptionRecordService,
+            AlarmService alarmService, ReconSdkProperties properties, ExecutorService executorService) {
         this.reconRepository = reconRepository;
         this.exceptionRecordService = exceptionRecordService;
         this.alarmService = alarmService;
         this.properties = properties;
+        this.executorService = executorService;
+        String configuredNodeId = properties.getTiming().getSharding().getNodeId();
+        this.nodeId = configuredNodeId != null && !configuredNodeId.isEmpty() ? configuredNodeId
+                : ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
     /**
      * 手动触发指定日期的定时对账
      * <p>
-     * 逻辑说明：分批拉取数据库中 [未对账成功] 的订单，逐笔执行状态判定。
+     * 逻辑说明：按 (create_time, id) 游标分批拉取该业务日期内 [未对账成功] 的订单，逐页执行状态判定。
+     * 已处理订单离开待核账集合不会影响游标位置，因此不会跳过记录，每一页的查询代价也保持稳定。
+     * 配置 easy-recon.timing.parallelism 大于 1 时，待核账订单按 id 取模拆分为互不重叠的分区并发处理。
+     * 各分区的游标与计数逐页记录到运行记录表，进程中途退出后再次触发同一日期会从最后提交的游标续跑。
      *
      * @param dateStr 对账日期（yyyy-MM-dd）
      * @return 是否触发成功
      */
     public boolean doTimingRecon(String dateStr) {
         try {
-            int offset = 0;
-            int limit = properties.getBatchSize();
-            int totalProcessed = 0;
+            RunTotals totals = new RunTotals();
+            if (properties.getTiming().getSharding().isEnabled()) {
+                runShardedRecon(dateStr, totals);
+            } else {
+                int parallelism = executorService != null ? Math.max(1, properties.getTiming().getParallelism()) : 1;
+                runWorkers(parallelism, worker -> scanPartition(dateStr, worker, parallelism, totals, () -> true));
+            }
 
-            while (true) {
-                // 1. 分页查询 [待核账] 订单
-                List<ReconOrderMainDO> pendingOrders = reconRepository.getPendingReconOrders(dateStr, offset, limit);
+            alarmService.sendAlarm("定时对账核账完成 [" + dateStr + "]，共处理 " + totals.processed.sum() + " 笔记录"
+                    + "（成功 " + totals.succeeded.sum() + " 笔，失败 " + totals.failed.sum() + " 笔）");
+            return true;
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            alarmService.sendAlarm("定时对账运行异常 [" + dateStr + "]: " + cause.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 执行一轮持续增量核账
+     * <p>
+     * 从持久化水位开始按 (update_time, id) 拉取发生过变更的待核账订单，逐批判定并推进水位。
+     * 已判定的订单离开待核账集合；仍在处理中的订单被水位越过，待其下次变更（update_time 前移）后重新进入。
+     * 启用多节点分片时，同一时刻只有持有租约的节点执行轮询。
+     *
+     * @return 本轮处理的订单数
+     */
+    public long doContinuousRecon() {
+        ReconSdkProperties.Timing.Continuous continuous = properties.getTiming().getContinuous();
+        ReconSdkProperties.Timing.Sharding sharding = properties.getTiming().getSharding();
+        LocalDate leaseDate = LocalDate.now();
+        if (sharding.isEnabled() && !reconRepository.tryAcquireShardLease(CONTINUOUS_JOB_NAME, leaseDate, 0, 1,
+                nodeId, sharding.getLeaseSeconds())) {
+            return 0L;
+        }
+
+        RunTotals totals = new RunTotals();
+        try {
+            ReconJobWatermarkDO watermark = reconRepository.getJobWatermark(CONTINUOUS_JOB_NAME);
+            LocalDateTime lastUpdateTime = watermark != null ? watermark.getWatermarkTime() : null;
+            Long lastId = watermark != null ? watermark.getWatermarkId() : null;
+            LocalDateTime upperBound = LocalDateTime.now().minusSeconds(continuous.getLagSeconds());
+            int limit = Math.max(1, continuous.getBatchSize());
+
+            for (int batch = 0; batch < continuous.getMaxBatchesPerPoll(); batch++) {
+                List<ReconOrderMainDO> pendingOrders = reconRepository.getPendingReconOrdersUpdatedAfter(
+                        lastUpdateTime, lastId, upperBound, limit);
                 if (pendingOrders == null || pendingOrders.isEmpty()) {
                     break;
                 }
 
-                // 2. 依次处理每笔订单
-                for (ReconOrderMainDO order : pendingOrders) {
-                    processPendingOrder(order);
-                    totalProcessed++;
-                }
+                processPendingPage(pendingOrders, totals, null);
+                totals.processed.add(pendingOrders.size());
 
-                offset += limit;
+                ReconOrderMainDO last = pendingOrders.get(pendingOrders.size() - 1);
+                lastUpdateTime = last.getUpdateTime();
+                lastId = last.getId();
+                reconRepository.saveJobWatermark(CONTINUOUS_JOB_NAME, lastUpdateTime, lastId);
                 if (pendingOrders.size() < limit) {
                     break;
                 }
             }
 
-            alarmService.sendAlarm("定时对账核账完成 [" + dateStr + "]，共处理 " + totalProcessed + " 笔记录");
-            return true;
+            if (totals.processed.sum() > 0) {
+                log.info("持续增量核账完成一轮，处理 {} 笔（成功 {} 笔，失败 {} 笔），水位: ({}, {})",
+                        totals.processed.sum(), totals.succeeded.sum(), totals.failed.sum(), lastUpdateTime, lastId);
+            }
         } catch (Exception e) {
-            alarmService.sendAlarm("定时对账运行异常 [" + dateStr + "]: " + e.getMessage());
-            return false;
+            log.error("持续增量核账运行异常", e);
+        } finally {
+            if (sharding.isEnabled()) {
+                reconRepository.releaseShardLease(CONTINUOUS_JOB_NAME, leaseDate, 0, nodeId, false, 0L);
+            }
         }
+        return totals.processed.sum();
     }
 
     /**
-     * 对单笔待处理订单执行“核账判定”
+     * 多节点分片执行：各 worker 依次尝试抢占分片租约，只处理抢占成功的分片
      * <p>
-     * 判定逻辑与 RealtimeReconService 核心规则一致：
-     * 如果此时业务各侧（支付、分账、通知）都已成功，则更新状态为 SUCCESS。
+     * 每个节点从随机分片开始轮询，降低多节点同时启动时的抢占冲突。
+     */
+    private void runShardedRecon(String dateStr, RunTotals totals) {
+        ReconSdkProperties.Timing.Sharding sharding = properties.getTiming().getSharding();
+        int shardCount = Math.max(1, sharding.getShardCount());
+        int workers = executorService != null
+                ? Math.min(Math.max(1, properties.getTiming().getParallelism()), shardCount)
+                : 1;
+        LocalDate bizDate = LocalDate.parse(dateStr);
+        int startShard = ThreadLocalRandom.current().nextInt(shardCount);
+        AtomicInteger nextShard = new AtomicInteger();
+
+        runWorkers(workers, worker -> {
+            int n;
+            while ((n = nextShard.getAndIncrement()) < shardCount) {
+                int shardIndex = (startShard + n) % shardCount;
+                if (!reconRepository.tryAcquireShardLease(JOB_NAME, bizDate, shardIndex, shardCount, nodeId,
+                        sharding.getLeaseSeconds())) {
+                    continue;
+                }
+                ShardLease lease = new ShardLease(bizDate, shardIndex, sharding.getLeaseSeconds());
+                boolean completed = false;
+                try {
+                    completed = scanPartition(dateStr, shardIndex, shardCount, totals, lease::renewIfDue);
+                } finally {
+                    reconRepository.releaseShardLease(JOB_NAME, bizDate, shardIndex, nodeId, completed,
+                            sharding.getCompletedHoldSeconds());
+                }
+            }
+        });
+    }
+
+    /**
+     * 启动指定数量的 worker 并等待全部完成；单个 worker 时直接在当前线程执行
      */
-    private void processPendingOrder(ReconOrderMainDO order) {
+    private void runWorkers(int workers, IntConsumer worker) {
+        if (workers <= 1) {
+            worker.accept(0);
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            final int workerIndex = i;
+            futures.add(CompletableFuture.runAsync(() -> worker.accept(workerIndex), executorService));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * 顺序扫描单个分区内的待核账订单
+     * <p>
+     * 每处理完一页即向运行记录提交游标与计数；分区存在未完成的运行记录时从其游标继续扫描。
+     *
+     * @param dateStr        对账日期
+     * @param partitionIndex 分区序号
+     * @param partitionCount 分区总数
+     * @param totals         全局累计
+     * @param stillOwned     每页处理后检查是否仍持有该分区，返回 false 时停止扫描
+     * @return 分区是否扫描完成
+     */
+    private boolean scanPartition(String dateStr, int partitionIndex, int partitionCount, RunTotals totals,
+            BooleanSupplier stillOwned) {
+        int limit = properties.getBatchSize();
+        ReconJobRunDO jobRun = openJobRun(dateStr, partitionIndex, partitionCount);
+        long resumedFrom = jobRun.getProcessedCount();
+        boolean completed = false;
+
         try {
-            // 1. 获取事实明细
-            List<ReconOrderSplitDetailDO> splitDetailDOs = reconRepository
-                    .getOrderSplitDetailByOrderNo(order.getOrderNo());
+            while (true) {
+                // 1. 游标查询 [待核账] 订单
+                List<ReconOrderMainDO> pendingOrders = reconRepository.getPendingReconOrdersAfter(dateStr,
+                        jobRun.getCursorCreateTime(), jobRun.getCursorId(), partitionIndex, partitionCount, limit);
+                if (pendingOrders == null || pendingOrders.isEmpty()) {
+                    completed = true;
+                    break;
+                }
+
+                // 2. 整页预取明细并判定，状态批量回写
+                processPendingPage(pendingOrders, totals, jobRun);
+                totals.processed.add(pendingOrders.size());
+
+                // 3. 状态落库后提交游标
+                ReconOrderMainDO last = pendingOrders.get(pendingOrders.size() - 1);
+                jobRun.setProcessedCount(jobRun.getProcessedCount() + pendingOrders.size());
+                jobRun.setCursorCreateTime(last.getCreateTime());
+                jobRun.setCursorId(last.getId());
+                if (!reconRepository.updateJobRunCheckpoint(jobRun)) {
+                    log.warn("定时对账运行记录已被其他节点接管，停止扫描 [{}] 分区 {}/{}，运行 ID: {}", dateStr,
+                            partitionIndex + 1, partitionCount, jobRun.getRunId());
+                    return false;
+                }
+                if (pendingOrders.size() < limit) {
+                    completed = true;
+                    break;
+                }
+                if (!stillOwned.getAsBoolean()) {
+                    log.warn("定时对账分区租约已失效，停止扫描 [{}] 分区 {}/{}，已处理 {} 笔", dateStr, partitionIndex + 1,
+                            partitionCount, jobRun.getProcessedCount());
+                    return false;
+                }
+            }
+        } finally {
+            finishJobRun(jobRun, completed);
+        }
 
-            // 2. 检查业务状态：如果是处理中，则跳过本次定时处理
+        if (partitionCount > 1) {
+            log.info("定时对账分区完成 [{}] 分区 {}/{}，处理 {} 笔，累计 {} 笔", dateStr, partitionIndex + 1,
+                    partitionCount, jobRun.getProcessedCount() - resumedFrom, totals.processed.sum());
+        }
+        return true;
+    }
+
+    /**
+     * 打开分区的运行记录：优先接管未完成的记录并从其游标续跑，否则新建记录从头扫描
+     */
+    private ReconJobRunDO openJobRun(String dateStr, int partitionIndex, int partitionCount) {
+        LocalDate bizDate = LocalDate.parse(dateStr);
+        ReconJobRunDO previous = reconRepository.findResumableJobRun(JOB_NAME, bizDate, partitionIndex,
+                partitionCount);
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(properties.getTiming().getStaleRunSeconds());
+        if (previous != null
+                && reconRepository.claimJobRun(previous.getRunId(), previous.getOwner(), nodeId, staleBefore)) {
+            previous.setOwner(nodeId);
+            previous.setStatus(ReconJobRunDO.STATUS_RUNNING);
+            log.info("定时对账从检查点续跑 [{}] 分区 {}/{}，运行 ID: {}，已处理 {} 笔", dateStr, partitionIndex + 1,
+                    partitionCount, previous.getRunId(), previous.getProcessedCount());
+            return previous;
+        }
+
+        ReconJobRunDO jobRun = new ReconJobRunDO();
+        jobRun.setRunId(UUID.randomUUID().toString().replace("-", ""));
+        jobRun.setJobName(JOB_NAME);
+        jobRun.setBizDate(bizDate);
+        jobRun.setPartitionIndex(partitionIndex);
+        jobRun.setPartitionCount(partitionCount);
+        jobRun.setOwner(nodeId);
+        jobRun.setStatus(ReconJobRunDO.STATUS_RUNNING);
+        jobRun.setProcessedCount(0L);
+        jobRun.setSucceededCount(0L);
+        jobRun.setFailedCount(0L);
+        jobRun.setStartTime(LocalDateTime.now());
+        reconRepository.saveJobRun(jobRun);
+        return jobRun;
+    }
+
+    /**
+     * 结束分区的运行记录；未完成的记录标记为已中断，留待下次运行续跑
+     */
+    private void finishJobRun(ReconJobRunDO jobRun, boolean completed) {
+        LocalDateTime endTime = LocalDateTime.now();
+        jobRun.setStatus(completed ? ReconJobRunDO.STATUS_COMPLETED : ReconJobRunDO.STATUS_INTERRUPTED);
+        jobRun.setEndTime(endTime);
+        jobRun.setDurationMs(Duration.between(jobRun.getStartTime(), endTime).toMillis());
+        reconRepository.finishJobRun(jobRun);
+    }
+
+    /**
+     * 对一页待处理订单执行“核账判定”
+     * <p>
+     * 整页订单的分账事实明细通过一次批量查询预取并在内存中分组，判定结果按目标状态合并为按版本号比较的批量更新，
+     * 避免逐单查询明细、逐单回写状态带来的 N+1 往返。扫描读取后被其他流程修改过的订单不覆盖，留待下一轮处理，
+     * 计数只统计实际更新的订单。
+     *
+     * @param jobRun 分区运行记录，持续增量核账时为 null
+     */
+    private void processPendingPage(List<ReconOrderMainDO> pendingOrders, RunTotals totals, ReconJobRunDO jobRun) {
+        // 1. 业务状态仍在处理中的订单跳过本次定时处理，无需加载明细
+        List<ReconOrderMainDO> settledOrders = new ArrayList<>(pendingOrders.size());
+        for (ReconOrderMainDO order : pendingOrders) {
             if (PayStatusEnum.fromCode(order.getPayStatus()) == PayStatusEnum.PROCESSING ||
                     SplitStatusEnum.fromCode(order.getSplitStatus()) == SplitStatusEnum.PROCESSING ||
                     NotifyStatusEnum.fromCode(order.getNotifyStatus()) == NotifyStatusEnum.PROCESSING) {
-                return;
+                continue;
             }
+            settledOrders.add(order);
+        }
+        if (settledOrders.isEmpty()) {
+            return;
+        }
 
-            // 3. 计算分账总金额 (事实)
-            BigDecimal splitTotal = BigDecimal.ZERO;
-            if (splitDetailDOs != null) {
-                for (ReconOrderSplitDetailDO sub : splitDetailDOs) {
-                    splitTotal = splitTotal.add(sub.getSplitAmount());
-                }
+        // 2. 整页预取事实明细
+        List<String> orderNos = new ArrayList<>(settledOrders.size());
+        for (ReconOrderMainDO order : settledOrders) {
+            orderNos.add(order.getOrderNo());
+        }
+        Map<String, List<ReconOrderSplitDetailDO>> detailMap = reconRepository
+                .getOrderSplitDetailsByOrderNos(orderNos);
+        if (detailMap == null) {
+            detailMap = Collections.emptyMap();
+        }
+
+        // 3. 逐单判定
+        List<ReconOrderMainDO> successOrders = new ArrayList<>(settledOrders.size());
+        List<ReconOrderMainDO> failureOrders = new ArrayList<>();
+        for (ReconOrderMainDO order : settledOrders) {
+            ReconStatusEnum status = evaluatePendingOrder(order, detailMap.get(order.getOrderNo()));
+            if (status == ReconStatusEnum.SUCCESS) {
+                successOrders.add(order);
+            } else if (status == ReconStatusEnum.FAILURE) {
+                failureOrders.add(order);
             }
+        }
 
-            // 4. 校验金额 (重新推断到账方式)
-            SettlementTypeEnum settlementEnum = inferSettlementTypeFromFacts(order, splitDetailDOs);
-            if (!validateAmountBySettlementType(order, splitDetailDOs, settlementEnum)) {
+        // 4. 状态按版本号批量回写
+        if (!successOrders.isEmpty()) {
+            int updated = reconRepository.batchCompareAndUpdateReconStatus(successOrders, ReconStatusEnum.SUCCESS)
+                    .size();
+            totals.succeeded.add(updated);
+            if (jobRun != null) {
+                jobRun.setSucceededCount(jobRun.getSucceededCount() + updated);
+            }
+        }
+        if (!failureOrders.isEmpty()) {
+            List<String> updated = reconRepository.batchCompareAndUpdateReconStatus(failureOrders,
+                    ReconStatusEnum.FAILURE);
+            for (String orderNo : updated) {
                 // 金额校验失败，标记为 FAILURE 状态，等待人工介入
-                recordException(order.getOrderNo(), "SELF", "定时对账失败：金额校验不平", 4);
-                reconRepository.updateReconStatus(order.getOrderNo(), ReconStatusEnum.FAILURE);
-                return;
+                recordException(orderNo, "SELF", "定时对账失败：金额校验不平", 4);
             }
+            totals.failed.add(updated.size());
+            if (jobRun != null) {
+                jobRun.setFailedCount(jobRun.getFailedCount() + updated.size());
+            }
+        }
+    }
 
-            // 5. 更新对账状态为已对账 (SUCCESS)
-            reconRepository.updateReconStatus(order.getOrderNo(), ReconStatusEnum.SUCCESS);
-
+    /**
+     * 对单笔待处理订单执行“核账判定”
+     * <p>
+     * 判定逻辑与 RealtimeReconService 核心规则一致：
+     * 如果此时业务各侧（支付、分账、通知）都已成功且金额平衡，则判定为 SUCCESS。
+     *
+     * @return 目标对账状态；处理异常时返回 null，保持待核账
+     */
+    private ReconStatusEnum evaluatePendingOrder(ReconOrderMainDO order, List<ReconOrderSplitDetailDO> splitDetailDOs) {
+        try {
+            // 校验金额 (重新推断到账方式)
+            SettlementTypeEnum settlementEnum = inferSettlementTypeFromFacts(order, splitDetailDOs);
+            if (!validateAmountBySettlementType(order, splitDetailDOs, settlementEnum)) {
+                // 金额校验失败，状态回写成功后记录异常
+                return ReconStatusEnum.FAILURE;
+            }
+            return ReconStatusEnum.SUCCESS;
         } catch (Exception e) {
             log.error("定时核账单笔处理异常, orderNo: {}", order.getOrderNo(), e);
             recordException(order.getOrderNo(), "SELF", "定时对账异常: " + e.getMessage(), 5);
+            return null;
         }
     }
 
@@ -134,9 +432,25 @@ public class TimingReconService {
         return true;
     }
 
+    /**
+     * 按主订单表重建指定日期的对账日汇总
+     * <p>
+     * 覆盖写入当日统计，用于修复增量维护在并发覆盖写入或启用前历史数据上产生的偏差。
+     *
+     * @param dateStr 业务日期（yyyy-MM-dd）
+     * @return 是否重建成功
+     */
+    public boolean rebuildReconSummary(String dateStr) {
+        boolean rebuilt = reconRepository.rebuildReconSummary(dateStr);
+        if (!rebuilt) {
+            alarmService.sendAlarm("对账日汇总重建失败 [" + dateStr + "]");
+        }
+        return rebuilt;
+    }
+
     private void recordException(String orderNo, String merchantId, String msg, int step) {
         exceptionRecordService.recordReconException(orderNo, merchantId, msg, step);
-        alarmService.sendReconAlarm(orderNo, merchantId, msg);
+        alarmService.sendReconAlarm(orderNo, merchantId, step, msg);
     }
 
     private boolean validateAmountBySettlementType(ReconOrderMainDO order, List<ReconOrderSplitDetailDO> splitDetails,
@@ -206,4 +520,38 @@ public class TimingReconService {
 
         return SettlementTypeEnum.PLATFORM_COLLECTION;
     }
+
+    /**
+     * 当前节点持有的分片租约，按租约时长的三分之一间隔续期
+     */
+    private final class ShardLease {
+        private final LocalDate bizDate;
+        private final int shardIndex;
+        private final long leaseSeconds;
+        private long lastRenewNanos = System.nanoTime();
+
+        private ShardLease(LocalDate bizDate, int shardIndex, long leaseSeconds) {
+            this.bizDate = bizDate;
+            this.shardIndex = shardIndex;
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        private boolean renewIfDue() {
+            long now = System.nanoTime();
+            if (now - lastRenewNanos < TimeUnit.SECONDS.toNanos(leaseSeconds) / 3) {
+                return true;
+            }
+            lastRenewNanos = now;
+            return reconRepository.renewShardLease(JOB_NAME, bizDate, shardIndex, nodeId, leaseSeconds);
+        }
+    }
+
+    /**
+     * 单次定时核账的累计计数，供多个分区 worker 并发累加
+     */
+    private static final class RunTotals {
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
 }
@@ -18,8 +18,8 @@ public class MySqlReconDialect implements ReconDatabaseDialect {
     @Override
     public String getInsertOrderMainSql(String tableName) {
         return "INSERT INTO " + tableName
-                + " (order_no, pay_amount, pay_amount_fen, platform_income, platform_income_fen, pay_fee, pay_fee_fen, split_total_amount, split_total_amount_fen, pay_status, split_status, notify_status, notify_result, recon_status, create_time, update_time) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + " (order_no, pay_amount, pay_amount_fen, platform_income, platform_income_fen, pay_fee, pay_fee_fen, split_total_amount, split_total_amount_fen, pay_status, split_status, notify_status, notify_result, pending_notify_count, recon_status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
                 + "ON DUPLICATE KEY UPDATE "
                 + "pay_amount = VALUES(pay_amount), pay_amount_fen = VALUES(pay_amount_fen), "
                 + "platform_income = VALUES(platform_income), platform_income_fen = VALUES(platform_income_fen), "
@@ -27,7 +27,17 @@ public class MySqlReconDialect implements ReconDatabaseDialect {
                 + "split_total_amount = VALUES(split_total_amount), split_total_amount_fen = VALUES(split_total_amount_fen), "
                 + "pay_status = VALUES(pay_status), split_status = VALUES(split_status), "
                 + "notify_status = VALUES(notify_status), "
-                + "notify_result = VALUES(notify_result), recon_status = VALUES(recon_status), update_time = VALUES(update_time)";
+                + "notify_result = VALUES(notify_result), pending_notify_count = VALUES(pending_notify_count), recon_status = VALUES(recon_status), version = version + 1, update_time = VALUES(update_time)";
+    }
+
+    /**
+     * 生成主订单占位插入 SQL 语句 (MySQL)
+     * 使用 ON DUPLICATE KEY UPDATE 空更新，记录已存在时不修改但会加锁
+     */
+    @Override
+    public String getInsertOrderMainIfAbsentSql(String tableName) {
+        return "INSERT INTO " + tableName + " (order_no, pay_amount, version, create_time, update_time) "
+                + "VALUES (?, ?, -1, ?, ?) ON DUPLICATE KEY UPDATE order_no = order_no";
     }
 
     /**
@@ -83,9 +93,113 @@ public class MySqlReconDialect implements ReconDatabaseDialect {
      * 生成查询待核账订单的分页 SQL 语句 (MySQL)
      */
     @Override
-    public String getPendingReconOrdersSql(String tableName, int offset, int limit) {
-        return "SELECT * FROM " + tableName + " WHERE recon_status = 0 ORDER BY create_time ASC LIMIT " + limit
+    public String getPendingReconOrdersSql(String tableName, String columns, int offset, int limit) {
+        return "SELECT " + columns + " FROM " + tableName + " WHERE recon_status = 0 ORDER BY create_time ASC LIMIT " + limit
                 + " OFFSET " + offset;
     }
 
+    /**
+     * 生成按 (create_time, id) 游标查询待核账订单的 SQL 语句 (MySQL)
+     * <p>
+     * MySQL 对行构造器的范围比较无法稳定走索引，这里展开为等价的 OR 条件
+     */
+    @Override
+    public String getPendingReconOrdersByCursorSql(String tableName, String columns, boolean partitioned,
+            boolean hasCursor, int limit) {
+        String sql = "SELECT " + columns + " FROM " + tableName
+                + " WHERE recon_status = 0 AND create_time >= ? AND create_time < ?";
+        if (partitioned) {
+            sql += " AND MOD(id, ?) = ?";
+        }
+        if (hasCursor) {
+            sql += " AND create_time >= ? AND (create_time > ? OR id > ?)";
+        }
+        return sql + " ORDER BY create_time ASC, id ASC LIMIT " + limit;
+    }
+
+    /**
+     * 生成 (create_time, id) 倒序游标条件 (MySQL)
+     */
+    @Override
+    public String getCreateTimeKeysetBeforeCondition() {
+        return "create_time <= ? AND (create_time < ? OR id < ?)";
+    }
+
+    /**
+     * 生成按 (update_time, id) 水位查询待核账订单的 SQL 语句 (MySQL)
+     */
+    @Override
+    public String getPendingReconOrdersByUpdateTimeSql(String tableName, String columns, boolean hasCursor,
+            int limit) {
+        String sql = "SELECT " + columns + " FROM " + tableName + " WHERE recon_status = 0 AND update_time <= ?";
+        if (hasCursor) {
+            sql += " AND update_time >= ? AND (update_time > ? OR id > ?)";
+        }
+        return sql + " ORDER BY update_time ASC, id ASC LIMIT " + limit;
+    }
+
+    /**
+     * 生成任务水位写入 SQL 语句 (MySQL)
+     */
+    @Override
+    public String getUpsertJobWatermarkSql(String tableName) {
+        return "INSERT INTO " + tableName + " (job_name, watermark_time, watermark_id, update_time) "
+                + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                + "watermark_time = VALUES(watermark_time), watermark_id = VALUES(watermark_id), "
+                + "update_time = VALUES(update_time)";
+    }
+
+    /**
+     * 生成分片租约插入 SQL 语句 (MySQL)
+     * 使用 INSERT IGNORE，唯一键冲突时影响行数为 0
+     */
+    @Override
+    public String getInsertShardLeaseSql(String tableName) {
+        return "INSERT IGNORE INTO " + tableName
+                + " (job_name, biz_date, shard_index, shard_count, owner, lease_until, status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * 生成分账通知状态迁移 SQL 语句 (MySQL)
+     * 多表 UPDATE 同时锁定并更新主订单与分账明细，原状态条件在 WHERE 中判定；分账明细按 (order_no, merchant_id) 唯一，
+     * 每次最多迁移一行。主订单通知状态的赋值位于计数赋值之前，读取的是迁移前的计数；
+     * 剩余待通知数加一写入 LAST_INSERT_ID，随 OK 包以自增键返回，无需再读取计数
+     */
+    @Override
+    public String getApplySplitNotifySql(String mainTable, String detailTable) {
+        String allNotified = "m.pending_notify_count > 0 AND m.pending_notify_count + p.delta = 0";
+        return "UPDATE " + mainTable + " m JOIN " + detailTable + " s ON s.order_no = m.order_no "
+                + "JOIN (SELECT ? AS notify_status, ? AS notify_result, ? AS detail_update_time, ? AS delta, "
+                + "? AS main_update_time, ? AS all_notified_result) p "
+                + "SET s.notify_status = p.notify_status, s.notify_result = p.notify_result, "
+                + "s.update_time = p.detail_update_time, "
+                + "m.notify_status = CASE WHEN " + allNotified + " THEN 1 ELSE m.notify_status END, "
+                + "m.notify_result = CASE WHEN " + allNotified + " THEN p.all_notified_result ELSE m.notify_result END, "
+                + "m.pending_notify_count = LAST_INSERT_ID(m.pending_notify_count + p.delta + 1) - 1, "
+                + "m.version = m.version + 1, m.update_time = p.main_update_time "
+                + "WHERE m.order_no = ? AND s.merchant_id = ? "
+                + "AND (CASE WHEN s.notify_status = 1 THEN 1 ELSE 0 END) = ?";
+    }
+
+    /**
+     * 生成对账日汇总写入 SQL 语句 (MySQL)
+     * 使用 ON DUPLICATE KEY UPDATE，按 accumulate 决定累加增量还是覆盖
+     */
+    @Override
+    public String getMergeReconSummarySql(String tableName, boolean accumulate) {
+        String[] counters = { "total_orders", "success_count", "fail_count", "init_count", "total_amount_fen" };
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+                .append(" (summary_date, total_orders, success_count, fail_count, init_count, total_amount_fen, update_time) ")
+                .append("VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE ");
+        for (String counter : counters) {
+            sql.append(counter).append(" = ");
+            if (accumulate) {
+                sql.append(counter).append(" + ");
+            }
+            sql.append("VALUES(").append(counter).append("), ");
+        }
+        return sql.append("update_time = VALUES(update_time)").toString();
+    }
+
 }
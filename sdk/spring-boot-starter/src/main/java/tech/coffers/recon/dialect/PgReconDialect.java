@@ -18,8 +18,8 @@ public class PgReconDialect implements ReconDatabaseDialect {
     @Override
     public String getInsertOrderMainSql(String tableName) {
         return "INSERT INTO " + tableName
-                + " (order_no, pay_amount, pay_amount_fen, platform_income, platform_income_fen, pay_fee, pay_fee_fen, split_total_amount, split_total_amount_fen, pay_status, split_status, notify_status, notify_result, recon_status, create_time, update_time) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + " (order_no, pay_amount, pay_amount_fen, platform_income, platform_income_fen, pay_fee, pay_fee_fen, split_total_amount, split_total_amount_fen, pay_status, split_status, notify_status, notify_result, pending_notify_count, recon_status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
                 + "ON CONFLICT (order_no) DO UPDATE SET "
                 + "pay_amount = EXCLUDED.pay_amount, pay_amount_fen = EXCLUDED.pay_amount_fen, "
                 + "platform_income = EXCLUDED.platform_income, platform_income_fen = EXCLUDED.platform_income_fen, "
@@ -27,7 +27,17 @@ public class PgReconDialect implements ReconDatabaseDialect {
                 + "split_total_amount = EXCLUDED.split_total_amount, split_total_amount_fen = EXCLUDED.split_total_amount_fen, "
                 + "pay_status = EXCLUDED.pay_status, split_status = EXCLUDED.split_status, "
                 + "notify_status = EXCLUDED.notify_status, "
-                + "notify_result = EXCLUDED.notify_result, recon_status = EXCLUDED.recon_status, update_time = EXCLUDED.update_time";
+                + "notify_result = EXCLUDED.notify_result, pending_notify_count = EXCLUDED.pending_notify_count, recon_status = EXCLUDED.recon_status, version = " + tableName + ".version + 1, update_time = EXCLUDED.update_time";
+    }
+
+    /**
+     * 生成主订单占位插入 SQL 语句 (PostgreSQL)
+     * 使用 ON CONFLICT DO NOTHING，记录已存在时不插入且不中断当前事务
+     */
+    @Override
+    public String getInsertOrderMainIfAbsentSql(String tableName) {
+        return "INSERT INTO " + tableName + " (order_no, pay_amount, version, create_time, update_time) "
+                + "VALUES (?, ?, -1, ?, ?) ON CONFLICT (order_no) DO NOTHING";
     }
 
     /**
@@ -82,9 +92,123 @@ public class PgReconDialect implements ReconDatabaseDialect {
      * 生成查询待核账订单的分页 SQL 语句 (PostgreSQL)
      */
     @Override
-    public String getPendingReconOrdersSql(String tableName, int offset, int limit) {
-        return "SELECT * FROM " + tableName + " WHERE recon_status = 0 ORDER BY create_time ASC LIMIT " + limit
+    public String getPendingReconOrdersSql(String tableName, String columns, int offset, int limit) {
+        return "SELECT " + columns + " FROM " + tableName + " WHERE recon_status = 0 ORDER BY create_time ASC LIMIT " + limit
                 + " OFFSET " + offset;
     }
 
+    /**
+     * 生成按 (create_time, id) 游标查询待核账订单的 SQL 语句 (PostgreSQL)
+     * <p>
+     * 使用行值比较，可直接命中 (recon_status, create_time, id) 索引范围扫描
+     */
+    @Override
+    public String getPendingReconOrdersByCursorSql(String tableName, String columns, boolean partitioned,
+            boolean hasCursor, int limit) {
+        String sql = "SELECT " + columns + " FROM " + tableName
+                + " WHERE recon_status = 0 AND create_time >= ? AND create_time < ?";
+        if (partitioned) {
+            sql += " AND MOD(id, ?) = ?";
+        }
+        if (hasCursor) {
+            sql += " AND create_time >= ? AND (create_time, id) > (?, ?)";
+        }
+        return sql + " ORDER BY create_time ASC, id ASC LIMIT " + limit;
+    }
+
+    /**
+     * 生成 (create_time, id) 倒序游标条件 (PostgreSQL)
+     */
+    @Override
+    public String getCreateTimeKeysetBeforeCondition() {
+        return "create_time <= ? AND (create_time, id) < (?, ?)";
+    }
+
+    /**
+     * 生成按 (update_time, id) 水位查询待核账订单的 SQL 语句 (PostgreSQL)
+     */
+    @Override
+    public String getPendingReconOrdersByUpdateTimeSql(String tableName, String columns, boolean hasCursor,
+            int limit) {
+        String sql = "SELECT " + columns + " FROM " + tableName + " WHERE recon_status = 0 AND update_time <= ?";
+        if (hasCursor) {
+            sql += " AND update_time >= ? AND (update_time, id) > (?, ?)";
+        }
+        return sql + " ORDER BY update_time ASC, id ASC LIMIT " + limit;
+    }
+
+    /**
+     * 生成任务水位写入 SQL 语句 (PostgreSQL)
+     */
+    @Override
+    public String getUpsertJobWatermarkSql(String tableName) {
+        return "INSERT INTO " + tableName + " (job_name, watermark_time, watermark_id, update_time) "
+                + "VALUES (?, ?, ?, ?) ON CONFLICT (job_name) DO UPDATE SET "
+                + "watermark_time = EXCLUDED.watermark_time, watermark_id = EXCLUDED.watermark_id, "
+                + "update_time = EXCLUDED.update_time";
+    }
+
+    /**
+     * 生成分片租约插入 SQL 语句 (PostgreSQL)
+     * 使用 ON CONFLICT DO NOTHING，唯一键冲突时影响行数为 0 且不中断当前事务
+     */
+    @Override
+    public String getInsertShardLeaseSql(String tableName) {
+        return "INSERT INTO " + tableName
+                + " (job_name, biz_date, shard_index, shard_count, owner, lease_until, status, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON CONFLICT (job_name, biz_date, shard_index) DO NOTHING";
+    }
+
+    /**
+     * 生成分账通知状态迁移 SQL 语句 (PostgreSQL)
+     * 可写 CTE 先迁移分账明细，再按迁移的明细行数调整主订单计数并 RETURNING 剩余待通知数；
+     * SET 中的表达式均读取更新前的计数
+     */
+    @Override
+    public String getApplySplitNotifySql(String mainTable, String detailTable) {
+        String remaining = "m.pending_notify_count + p.delta * c.moved";
+        String allNotified = "m.pending_notify_count > 0 AND " + remaining + " = 0";
+        return "WITH p AS (SELECT CAST(? AS SMALLINT) AS notify_status, CAST(? AS TEXT) AS notify_result, "
+                + "CAST(? AS TIMESTAMP) AS detail_update_time, CAST(? AS INTEGER) AS delta, "
+                + "CAST(? AS TIMESTAMP) AS main_update_time, CAST(? AS TEXT) AS all_notified_result, "
+                + "CAST(? AS VARCHAR) AS order_no, CAST(? AS VARCHAR) AS merchant_id, CAST(? AS INTEGER) AS was_success), "
+                + "s AS (UPDATE " + detailTable + " d SET notify_status = p.notify_status, "
+                + "notify_result = p.notify_result, update_time = p.detail_update_time FROM p "
+                + "WHERE d.order_no = p.order_no AND d.merchant_id = p.merchant_id "
+                + "AND (CASE WHEN d.notify_status = 1 THEN 1 ELSE 0 END) = p.was_success RETURNING d.order_no), "
+                + "c AS (SELECT COUNT(*) AS moved FROM s) "
+                + "UPDATE " + mainTable + " m SET "
+                + "notify_status = CASE WHEN " + allNotified + " THEN 1 ELSE m.notify_status END, "
+                + "notify_result = CASE WHEN " + allNotified + " THEN p.all_notified_result ELSE m.notify_result END, "
+                + "pending_notify_count = " + remaining + ", "
+                + "version = m.version + 1, update_time = p.main_update_time FROM p, c "
+                + "WHERE m.order_no IN (SELECT order_no FROM s) RETURNING m.pending_notify_count";
+    }
+
+    @Override
+    public boolean supportsUpdateReturning() {
+        return true;
+    }
+
+    /**
+     * 生成对账日汇总写入 SQL 语句 (PostgreSQL)
+     * 使用 ON CONFLICT DO UPDATE，按 accumulate 决定累加增量还是覆盖
+     */
+    @Override
+    public String getMergeReconSummarySql(String tableName, boolean accumulate) {
+        String[] counters = { "total_orders", "success_count", "fail_count", "init_count", "total_amount_fen" };
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+                .append(" (summary_date, total_orders, success_count, fail_count, init_count, total_amount_fen, update_time) ")
+                .append("VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (summary_date) DO UPDATE SET ");
+        for (String counter : counters) {
+            sql.append(counter).append(" = ");
+            if (accumulate) {
+                sql.append(tableName).append('.').append(counter).append(" + ");
+            }
+            sql.append("EXCLUDED.").append(counter).append(", ");
+        }
+        return sql.append("update_time = EXCLUDED.update_time").toString();
+    }
+
 }
@@ -1,5 +1,7 @@
 package tech.coffers.recon.dialect;
 
+import java.util.regex.Matcher;
+
 /**
  * 数据库方言接口
  * <p>
@@ -16,6 +18,21 @@ public interface ReconDatabaseDialect {
      */
     String getInsertOrderMainSql(String tableName);
 
+    /**
+     * 获取订单主记录不存在时插入占位记录的 SQL，记录已存在时不插入也不报错
+     * <p>
+     * 占位记录的版本号为 -1，随后的 {@link #getInsertOrderMainSql(String)} 覆盖写入将其递增为 0；
+     * 参数依次为：order_no, pay_amount, create_time, update_time
+     *
+     * @since 1.2.0
+     */
+    default String getInsertOrderMainIfAbsentSql(String tableName) {
+        return "INSERT INTO " + tableName + " (order_no, pay_amount, version, create_time, update_time) "
+                + "SELECT p.order_no, p.pay_amount, -1, p.create_time, p.update_time FROM "
+                + "(SELECT ? AS order_no, ? AS pay_amount, ? AS create_time, ? AS update_time) p "
+                + "WHERE NOT EXISTS (SELECT 1 FROM " + tableName + " o WHERE o.order_no = p.order_no)";
+    }
+
     /**
      * 获取插入分账子记录的 SQL
      */
@@ -38,21 +55,127 @@ public interface ReconDatabaseDialect {
 
     /**
      * 获取查询待核账订单的 SQL
+     * <p>
+     * 默认由旧版 {@link #getPendingReconOrdersSql(String, int, int)} 的 {@code SELECT *} 语句替换列清单得到，
+     * 实现类至少需覆盖两者之一
+     *
+     * @param tableName 表名
+     * @param columns   查询列清单，与调用方的 RowMapper 读取下标一致
+     * @param offset    起始位置
+     * @param limit     拉取数量
      */
-    String getPendingReconOrdersSql(String tableName, int offset, int limit);
+    default String getPendingReconOrdersSql(String tableName, String columns, int offset, int limit) {
+        return getPendingReconOrdersSql(tableName, offset, limit).replaceFirst("(?i)^SELECT \\*",
+                Matcher.quoteReplacement("SELECT " + columns));
+    }
+
+    /**
+     * 获取查询待核账订单的 SQL（查询全部列）
+     *
+     * @deprecated 使用 {@link #getPendingReconOrdersSql(String, String, int, int)} 指定查询列
+     */
+    @Deprecated
+    default String getPendingReconOrdersSql(String tableName, int offset, int limit) {
+        return getPendingReconOrdersSql(tableName, "*", offset, limit);
+    }
+
+    /**
+     * 获取按 (create_time, id) 游标查询指定时间区间内待核账订单的 SQL
+     * <p>
+     * 参数依次为：区间起点（含）、区间终点（不含）；分区查询时追加分区总数、分区序号；
+     * 带游标时追加游标 create_time、游标 create_time、游标 id
+     *
+     * @param tableName   表名
+     * @param columns     查询列清单，与调用方的 RowMapper 读取下标一致
+     * @param partitioned 是否按 MOD(id, 分区总数) 限定分区
+     * @param hasCursor   是否携带上一页游标
+     * @param limit       拉取数量
+     */
+    String getPendingReconOrdersByCursorSql(String tableName, String columns, boolean partitioned, boolean hasCursor,
+            int limit);
+
+    /**
+     * 获取按 (create_time, id) 倒序翻页时位于游标之前的条件片段
+     * <p>
+     * 参数依次为：游标 create_time、游标 create_time、游标 id；配合 ORDER BY create_time DESC, id DESC 使用
+     */
+    String getCreateTimeKeysetBeforeCondition();
+
+    /**
+     * 获取按 (update_time, id) 水位查询待核账订单的 SQL
+     * <p>
+     * 参数依次为：update_time 上界（含）；带水位时追加水位 update_time、水位 update_time、水位 id
+     *
+     * @param tableName 表名
+     * @param columns   查询列清单，与调用方的 RowMapper 读取下标一致
+     * @param hasCursor 是否携带水位
+     * @param limit     拉取数量
+     */
+    String getPendingReconOrdersByUpdateTimeSql(String tableName, String columns, boolean hasCursor, int limit);
+
+    /**
+     * 获取写入任务水位的 SQL，任务已存在时覆盖水位
+     * <p>
+     * 参数依次为：job_name, watermark_time, watermark_id, update_time
+     */
+    String getUpsertJobWatermarkSql(String tableName);
+
+    /**
+     * 获取插入分片租约的 SQL，租约已存在时不插入也不报错
+     * <p>
+     * 参数依次为：job_name, biz_date, shard_index, shard_count, owner, lease_until, status, create_time, update_time
+     */
+    String getInsertShardLeaseSql(String tableName);
+
+    /**
+     * 获取分账通知状态迁移的 SQL：在同一条语句中更新商户分账明细的通知状态，并按迁移的明细行数调整主订单待通知计数
+     * <p>
+     * 仅当分账明细原通知状态是否为成功 (1/0) 与期望一致时才迁移，主订单计数按每行增量乘以迁移行数增减；
+     * 计数由正数变为 0 时同一语句内将主订单通知状态置为成功并写入全部通知成功的结果。
+     * 参数依次为：notify_status, notify_result, 明细 update_time, 每行计数增量, 主订单 update_time,
+     * 全部通知成功时的主订单通知结果, order_no, merchant_id, 原状态是否为成功
+     * </p>
+     * {@link #supportsUpdateReturning()} 为 true 时作为查询执行，迁移成功返回一行剩余待通知数，否则无结果；
+     * 为 false 时作为更新执行，迁移成功时以自增键返回剩余待通知数加一 (MySQL 通过 LAST_INSERT_ID(expr) 写入)，
+     * 未迁移时影响行数为 0
+     *
+     * @param mainTable   主订单表名
+     * @param detailTable 分账明细表名
+     */
+    String getApplySplitNotifySql(String mainTable, String detailTable);
+
+    /**
+     * 获取写入对账日汇总的 SQL，当日汇总不存在时插入
+     * <p>
+     * 参数依次为：summary_date, total_orders, success_count, fail_count, init_count, total_amount_fen, update_time
+     *
+     * @param tableName  表名
+     * @param accumulate 为 true 时各计数按增量累加到已有汇总上，为 false 时覆盖已有汇总
+     */
+    String getMergeReconSummarySql(String tableName, boolean accumulate);
+
+    /**
+     * 是否支持在数据修改语句中通过 RETURNING 返回更新后的列值
+     */
+    default boolean supportsUpdateReturning() {
+        return false;
+    }
 
     /**
      * 获取更新对账状态的 SQL
      */
     default String getUpdateReconStatusSql(String tableName) {
-        return "UPDATE " + tableName + " SET recon_status = ?, update_time = ? WHERE order_no = ?";
+        return "UPDATE " + tableName
+                + " SET recon_status = ?, version = version + 1, update_time = ? WHERE order_no = ?";
     }
 
     /**
      * 获取根据日期统计订单数量的 SQL
+     * <p>
+     * 参数顺序：当日 0 点、次日 0 点、[对账状态]
      */
     default String getCountOrderMainByDateSql(String tableName, boolean hasStatus) {
-        String sql = "SELECT COUNT(*) FROM " + tableName + " WHERE DATE(create_time) = ?";
+        String sql = "SELECT COUNT(*) FROM " + tableName + " WHERE create_time >= ? AND create_time < ?";
         if (hasStatus) {
             sql += " AND recon_status = ?";
         }
@@ -61,13 +184,25 @@ public interface ReconDatabaseDialect {
 
     /**
      * 获取根据日期查询订单列表的 SQL
+     * <p>
+     * 参数顺序：当日 0 点、次日 0 点、[对账状态]、limit、offset
      */
-    default String getSelectOrderMainByDateSql(String tableName, boolean hasStatus) {
-        String sql = "SELECT * FROM " + tableName + " WHERE DATE(create_time) = ?";
+    default String getSelectOrderMainByDateSql(String tableName, String columns, boolean hasStatus) {
+        String sql = "SELECT " + columns + " FROM " + tableName + " WHERE create_time >= ? AND create_time < ?";
         if (hasStatus) {
             sql += " AND recon_status = ?";
         }
         sql += " ORDER BY create_time DESC LIMIT ? OFFSET ?";
         return sql;
     }
+
+    /**
+     * 获取根据日期查询订单列表的 SQL（查询全部列）
+     *
+     * @deprecated 使用 {@link #getSelectOrderMainByDateSql(String, String, boolean)} 指定查询列
+     */
+    @Deprecated
+    default String getSelectOrderMainByDateSql(String tableName, boolean hasStatus) {
+        return getSelectOrderMainByDateSql(tableName, "*", hasStatus);
+    }
 }
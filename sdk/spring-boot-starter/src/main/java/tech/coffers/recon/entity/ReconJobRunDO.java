@@ -0,0 +1,126 @@
+package tech.coffers.recon.entity;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 定时任务运行记录
+ * <p>
+ * 每次定时对账的每个分区对应一条记录，按页提交扫描游标与处理计数。
+ * 进程中途退出后，下次运行从最后提交的游标继续，同时保留运行耗时与吞吐历史。
+ * </p>
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Data
+public class ReconJobRunDO {
+
+    /**
+     * 运行中
+     */
+    public static final int STATUS_RUNNING = 0;
+
+    /**
+     * 已完成
+     */
+    public static final int STATUS_COMPLETED = 1;
+
+    /**
+     * 已中断（租约失效或运行异常），可被后续运行续跑
+     */
+    public static final int STATUS_INTERRUPTED = 2;
+
+    /**
+     * 自增主键
+     */
+    private Long id;
+
+    /**
+     * 运行 ID
+     */
+    private String runId;
+
+    /**
+     * 任务名称
+     */
+    private String jobName;
+
+    /**
+     * 业务日期
+     */
+    private LocalDate bizDate;
+
+    /**
+     * 分区序号
+     */
+    private Integer partitionIndex;
+
+    /**
+     * 分区总数
+     */
+    private Integer partitionCount;
+
+    /**
+     * 执行节点
+     */
+    private String owner;
+
+    /**
+     * 状态 (0:运行中, 1:已完成, 2:已中断)
+     */
+    private Integer status;
+
+    /**
+     * 最后提交的游标创建时间
+     */
+    private LocalDateTime cursorCreateTime;
+
+    /**
+     * 最后提交的游标 ID
+     */
+    private Long cursorId;
+
+    /**
+     * 已处理笔数
+     */
+    private Long processedCount;
+
+    /**
+     * 核账成功笔数
+     */
+    private Long succeededCount;
+
+    /**
+     * 核账失败笔数
+     */
+    private Long failedCount;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long durationMs;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 最后更新时间
+     */
+    private LocalDateTime updateTime;
+
+}
@@ -0,0 +1,39 @@
+package tech.coffers.recon.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 增量任务水位
+ * <p>
+ * 记录增量核账已处理到的 (update_time, id) 位置，下次轮询只拉取水位之后发生变更的订单。
+ * </p>
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Data
+public class ReconJobWatermarkDO {
+
+    /**
+     * 任务名称
+     */
+    private String jobName;
+
+    /**
+     * 水位 update_time
+     */
+    private LocalDateTime watermarkTime;
+
+    /**
+     * 水位 id
+     */
+    private Long watermarkId;
+
+    /**
+     * 最后更新时间
+     */
+    private LocalDateTime updateTime;
+
+}
@@ -0,0 +1,46 @@
+package tech.coffers.recon.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 订单对账详情聚合实体
+ * <p>
+ * 一次性承载主订单及其全部子表记录，供详情页在一次数据库连接内加载
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Data
+public class ReconOrderDetailDO {
+    /**
+     * 对账主订单
+     */
+    private ReconOrderMainDO orderMain;
+
+    /**
+     * 业务子订单
+     */
+    private List<ReconOrderSubDO> orderSubs;
+
+    /**
+     * 商户分账事实明细
+     */
+    private List<ReconOrderSplitDetailDO> splitDetails;
+
+    /**
+     * 退款分账明细
+     */
+    private List<ReconOrderRefundDetailDO> refundDetails;
+
+    /**
+     * 通知日志（按创建时间倒序）
+     */
+    private List<ReconNotifyLogDO> notifyLogs;
+
+    /**
+     * 对账异常记录（按创建时间倒序）
+     */
+    private List<ReconExceptionDO> exceptions;
+}
@@ -2,6 +2,7 @@ package tech.coffers.recon.entity;
 
 import lombok.Data;
 import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -95,6 +96,16 @@ public class ReconOrderMainDO {
      */
     private String notifyResult;
 
+    /**
+     * 尚未通知成功的分账明细数，由通知回调在更新分账明细时同步递减
+     */
+    private Integer pendingNotifyCount;
+
+    /**
+     * 乐观锁版本号，每次更新主记录时递增，用于状态迁移的比较并更新
+     */
+    private Long version;
+
     /**
      * 辅助方法：快速获取对账状态枚举对象
      *
@@ -138,83 +149,59 @@ public class ReconOrderMainDO {
 
     public void setPayAmount(BigDecimal payAmount) {
         this.payAmount = payAmount;
-        if (payAmount != null) {
-            this.payAmountFen = payAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.payAmountFen = null;
-        }
+        this.payAmountFen = MoneyCodec.toFen(payAmount);
     }
 
     public void setPayAmountFen(Long payAmountFen) {
         this.payAmountFen = payAmountFen;
-        if (payAmountFen != null) {
-            this.payAmount = BigDecimal.valueOf(payAmountFen).movePointLeft(2);
-        } else {
-            this.payAmount = null;
-        }
+        this.payAmount = MoneyCodec.toYuan(payAmountFen);
     }
 
     public void setPlatformIncome(BigDecimal platformIncome) {
         this.platformIncome = platformIncome;
-        if (platformIncome != null) {
-            this.platformIncomeFen = platformIncome.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.platformIncomeFen = null;
-        }
+        this.platformIncomeFen = MoneyCodec.toFen(platformIncome);
     }
 
     public void setPlatformIncomeFen(Long platformIncomeFen) {
         this.platformIncomeFen = platformIncomeFen;
-        if (platformIncomeFen != null) {
-            this.platformIncome = BigDecimal.valueOf(platformIncomeFen).movePointLeft(2);
-        } else {
-            this.platformIncome = null;
-        }
+        this.platformIncome = MoneyCodec.toYuan(platformIncomeFen);
     }
 
     public void setPayFee(BigDecimal payFee) {
         this.payFee = payFee;
-        if (payFee != null) {
-            this.payFeeFen = payFee.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.payFeeFen = null;
-        }
+        this.payFeeFen = MoneyCodec.toFen(payFee);
     }
 
     public void setPayFeeFen(Long payFeeFen) {
         this.payFeeFen = payFeeFen;
-        if (payFeeFen != null) {
-            this.payFee = BigDecimal.valueOf(payFeeFen).movePointLeft(2);
-        } else {
-            this.payFee = null;
-        }
+        this.payFee = MoneyCodec.toYuan(payFeeFen);
     }
 
     public void setSplitTotalAmount(BigDecimal splitTotalAmount) {
         this.splitTotalAmount = splitTotalAmount;
         if (splitTotalAmount != null) {
-            this.splitTotalAmountFen = splitTotalAmount.multiply(new BigDecimal("100")).longValue();
+            this.splitTotalAmountFen = MoneyCodec.toFen(splitTotalAmount);
         }
     }
 
     public void setSplitTotalAmountFen(Long splitTotalAmountFen) {
         this.splitTotalAmountFen = splitTotalAmountFen;
         if (splitTotalAmountFen != null) {
-            this.splitTotalAmount = BigDecimal.valueOf(splitTotalAmountFen).movePointLeft(2);
+            this.splitTotalAmount = MoneyCodec.toYuan(splitTotalAmountFen);
         }
     }
 
     public void setRefundAmount(BigDecimal refundAmount) {
         this.refundAmount = refundAmount;
         if (refundAmount != null) {
-            this.refundAmountFen = refundAmount.multiply(new BigDecimal("100")).longValue();
+            this.refundAmountFen = MoneyCodec.toFen(refundAmount);
         }
     }
 
     public void setRefundAmountFen(Long refundAmountFen) {
         this.refundAmountFen = refundAmountFen;
         if (refundAmountFen != null) {
-            this.refundAmount = BigDecimal.valueOf(refundAmountFen).movePointLeft(2);
+            this.refundAmount = MoneyCodec.toYuan(refundAmountFen);
         }
     }
 
@@ -1,6 +1,7 @@
 package tech.coffers.recon.entity;
 
 import lombok.Data;
+import tech.coffers.recon.util.MoneyCodec;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -53,19 +54,11 @@ public class ReconOrderRefundDetailDO {
 
     public void setRefundSplitAmount(BigDecimal refundSplitAmount) {
         this.refundSplitAmount = refundSplitAmount;
-        if (refundSplitAmount != null) {
-            this.refundSplitAmountFen = refundSplitAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.refundSplitAmountFen = null;
-        }
+        this.refundSplitAmountFen = MoneyCodec.toFen(refundSplitAmount);
     }
 
     public void setRefundSplitAmountFen(Long refundSplitAmountFen) {
         this.refundSplitAmountFen = refundSplitAmountFen;
-        if (refundSplitAmountFen != null) {
-            this.refundSplitAmount = BigDecimal.valueOf(refundSplitAmountFen).movePointLeft(2);
-        } else {
-            this.refundSplitAmount = null;
-        }
+        this.refundSplitAmount = MoneyCodec.toYuan(refundSplitAmountFen);
     }
 }
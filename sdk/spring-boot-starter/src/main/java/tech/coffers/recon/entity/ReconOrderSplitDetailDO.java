@@ -1,6 +1,7 @@
 package tech.coffers.recon.entity;
 
 import lombok.Data;
+import tech.coffers.recon.util.MoneyCodec;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -88,55 +89,31 @@ public class ReconOrderSplitDetailDO {
 
     public void setSplitAmount(BigDecimal splitAmount) {
         this.splitAmount = splitAmount;
-        if (splitAmount != null) {
-            this.splitAmountFen = splitAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.splitAmountFen = null;
-        }
+        this.splitAmountFen = MoneyCodec.toFen(splitAmount);
     }
 
     public void setSplitAmountFen(Long splitAmountFen) {
         this.splitAmountFen = splitAmountFen;
-        if (splitAmountFen != null) {
-            this.splitAmount = BigDecimal.valueOf(splitAmountFen).movePointLeft(2);
-        } else {
-            this.splitAmount = null;
-        }
+        this.splitAmount = MoneyCodec.toYuan(splitAmountFen);
     }
 
     public void setArrivalAmount(BigDecimal arrivalAmount) {
         this.arrivalAmount = arrivalAmount;
-        if (arrivalAmount != null) {
-            this.arrivalAmountFen = arrivalAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.arrivalAmountFen = null;
-        }
+        this.arrivalAmountFen = MoneyCodec.toFen(arrivalAmount);
     }
 
     public void setArrivalAmountFen(Long arrivalAmountFen) {
         this.arrivalAmountFen = arrivalAmountFen;
-        if (arrivalAmountFen != null) {
-            this.arrivalAmount = BigDecimal.valueOf(arrivalAmountFen).movePointLeft(2);
-        } else {
-            this.arrivalAmount = null;
-        }
+        this.arrivalAmount = MoneyCodec.toYuan(arrivalAmountFen);
     }
 
     public void setSplitFee(BigDecimal splitFee) {
         this.splitFee = splitFee;
-        if (splitFee != null) {
-            this.splitFeeFen = splitFee.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.splitFeeFen = null;
-        }
+        this.splitFeeFen = MoneyCodec.toFen(splitFee);
     }
 
     public void setSplitFeeFen(Long splitFeeFen) {
         this.splitFeeFen = splitFeeFen;
-        if (splitFeeFen != null) {
-            this.splitFee = BigDecimal.valueOf(splitFeeFen).movePointLeft(2);
-        } else {
-            this.splitFee = null;
-        }
+        this.splitFee = MoneyCodec.toYuan(splitFeeFen);
     }
 }
@@ -1,6 +1,7 @@
 package tech.coffers.recon.entity;
 
 import lombok.Data;
+import tech.coffers.recon.util.MoneyCodec;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -88,55 +89,31 @@ public class ReconOrderSubDO {
 
     public void setOrderAmount(BigDecimal orderAmount) {
         this.orderAmount = orderAmount;
-        if (orderAmount != null) {
-            this.orderAmountFen = orderAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.orderAmountFen = null;
-        }
+        this.orderAmountFen = MoneyCodec.toFen(orderAmount);
     }
 
     public void setOrderAmountFen(Long orderAmountFen) {
         this.orderAmountFen = orderAmountFen;
-        if (orderAmountFen != null) {
-            this.orderAmount = BigDecimal.valueOf(orderAmountFen).movePointLeft(2);
-        } else {
-            this.orderAmount = null;
-        }
+        this.orderAmount = MoneyCodec.toYuan(orderAmountFen);
     }
 
     public void setSplitAmount(BigDecimal splitAmount) {
         this.splitAmount = splitAmount;
-        if (splitAmount != null) {
-            this.splitAmountFen = splitAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.splitAmountFen = null;
-        }
+        this.splitAmountFen = MoneyCodec.toFen(splitAmount);
     }
 
     public void setSplitAmountFen(Long splitAmountFen) {
         this.splitAmountFen = splitAmountFen;
-        if (splitAmountFen != null) {
-            this.splitAmount = BigDecimal.valueOf(splitAmountFen).movePointLeft(2);
-        } else {
-            this.splitAmount = null;
-        }
+        this.splitAmount = MoneyCodec.toYuan(splitAmountFen);
     }
 
     public void setFee(BigDecimal fee) {
         this.fee = fee;
-        if (fee != null) {
-            this.feeFen = fee.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.feeFen = null;
-        }
+        this.feeFen = MoneyCodec.toFen(fee);
     }
 
     public void setFeeFen(Long feeFen) {
         this.feeFen = feeFen;
-        if (feeFen != null) {
-            this.fee = BigDecimal.valueOf(feeFen).movePointLeft(2);
-        } else {
-            this.fee = null;
-        }
+        this.fee = MoneyCodec.toYuan(feeFen);
     }
 }
@@ -1,6 +1,7 @@
 package tech.coffers.recon.entity;
 
 import lombok.Data;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -50,19 +51,11 @@ public class ReconSummaryDO {
 
     public void setTotalAmount(BigDecimal totalAmount) {
         this.totalAmount = totalAmount;
-        if (totalAmount != null) {
-            this.totalAmountFen = totalAmount.multiply(new BigDecimal("100")).longValue();
-        } else {
-            this.totalAmountFen = null;
-        }
+        this.totalAmountFen = MoneyCodec.toFen(totalAmount);
     }
 
     public void setTotalAmountFen(Long totalAmountFen) {
         this.totalAmountFen = totalAmountFen;
-        if (totalAmountFen != null) {
-            this.totalAmount = BigDecimal.valueOf(totalAmountFen).movePointLeft(2);
-        } else {
-            this.totalAmount = null;
-        }
+        this.totalAmount = MoneyCodec.toYuan(totalAmountFen);
     }
 }
@@ -0,0 +1,75 @@
+package tech.coffers.recon.metrics;
+
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 为对账存储库的每个方法记录耗时与失败次数
+ * <p>
+ * JDBC 实现在内部捕获异常并以 false 作为失败标识返回，因此除抛出异常 (error) 外，
+ * {@link #FAILURE_ON_FALSE} 中的写入方法返回 {@code Boolean.FALSE} 时也按失败 (failure) 计入。
+ * 版本冲突、租约竞争、状态校验等方法的 false 是正常业务结果，不计为失败。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public final class MeteredReconRepository implements InvocationHandler {
+
+    /**
+     * 返回 false 仅表示语句执行失败的写入方法
+     */
+    static final Set<String> FAILURE_ON_FALSE = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "saveOrderMain", "batchSaveOrderMain", "batchSaveOrderSub", "saveOrderSplitDetail",
+            "batchSaveOrderSplitDetail", "saveException", "batchSaveException", "saveNotifyLog",
+            "batchSaveNotifyLog", "batchSaveOrderRefundDetail", "batchSaveOrderMerchantSettlement",
+            "saveReconRule", "rebuildReconSummary", "saveJobWatermark", "saveJobRun")));
+
+    private final ReconRepository delegate;
+    private final ReconMetrics metrics;
+
+    private MeteredReconRepository(ReconRepository delegate, ReconMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 包装存储库
+     *
+     * @param delegate 被包装的存储库
+     * @param metrics  指标采集
+     * @return 记录指标的存储库代理
+     */
+    public static ReconRepository wrap(ReconRepository delegate, ReconMetrics metrics) {
+        return (ReconRepository) Proxy.newProxyInstance(ReconRepository.class.getClassLoader(),
+                new Class<?>[] { ReconRepository.class }, new MeteredReconRepository(delegate, metrics));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(delegate, args);
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = method.invoke(delegate, args);
+            metrics.recordRepositoryCall(method.getName(), System.nanoTime() - start,
+                    isFailure(method, result) ? "failure" : "success");
+            return result;
+        } catch (InvocationTargetException e) {
+            metrics.recordRepositoryCall(method.getName(), System.nanoTime() - start, "error");
+            throw e.getTargetException();
+        }
+    }
+
+    private static boolean isFailure(Method method, Object result) {
+        return Boolean.FALSE.equals(result) && FAILURE_ON_FALSE.contains(method.getName());
+    }
+}
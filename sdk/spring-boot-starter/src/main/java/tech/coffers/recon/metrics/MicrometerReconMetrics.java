@@ -0,0 +1,164 @@
+package tech.coffers.recon.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.core.service.AlarmService;
+import tech.coffers.recon.core.service.RealtimeReconService;
+import tech.coffers.recon.repository.cache.ReconCacheStats;
+import tech.coffers.recon.repository.cache.ReconRepositoryCache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 基于 Micrometer 的对账指标实现
+ * <p>
+ * 指标一览：
+ * <ul>
+ * <li>{@code easy.recon.stage}：实时对账各阶段耗时，标签 stage</li>
+ * <li>{@code easy.recon.repository}：存储库方法耗时，标签 method、outcome</li>
+ * <li>{@code easy.recon.repository.errors}：存储库方法失败次数，标签 method</li>
+ * <li>{@code easy.recon.result}：对账结果计数，标签 status</li>
+ * <li>{@code easy.recon.exception}：对账异常计数，标签 step</li>
+ * <li>{@code easy.recon.executor.active} / {@code easy.recon.executor.queue}：线程池活跃线程数与队列深度，标签 name</li>
+ * <li>{@code easy.recon.lane.queue}：订单通道队列深度，标签 lane</li>
+ * <li>{@code easy.recon.alarm.queue} / {@code easy.recon.alarm.dropped}：告警分发队列深度与丢弃告警数</li>
+ * <li>{@code easy.recon.cache.gets}：存储库读缓存访问次数，标签 cache、result</li>
+ * <li>{@code easy.recon.cache.evictions} / {@code easy.recon.cache.size}：读缓存淘汰条目数与当前条目数，标签 cache</li>
+ * </ul>
+ * 高频路径上的 Meter 按标签缓存，避免每次调用都经过注册表查找。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class MicrometerReconMetrics implements ReconMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> repositoryTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> repositoryErrors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ReconStatusEnum, Counter> resultCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    public MicrometerReconMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordStage(String stage, long elapsedNanos) {
+        stageTimers.computeIfAbsent(stage, k -> Timer.builder("easy.recon.stage")
+                .description("实时对账各阶段耗时")
+                .tag("stage", k)
+                .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRepositoryCall(String method, long elapsedNanos, String outcome) {
+        repositoryTimers.computeIfAbsent(method + '|' + outcome, k -> Timer.builder("easy.recon.repository")
+                .description("对账存储库方法耗时")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (!"success".equals(outcome)) {
+            repositoryErrors.computeIfAbsent(method, k -> Counter.builder("easy.recon.repository.errors")
+                    .description("对账存储库方法失败次数")
+                    .tag("method", k)
+                    .register(registry))
+                    .increment();
+        }
+    }
+
+    @Override
+    public void recordReconResult(ReconStatusEnum reconStatus) {
+        if (reconStatus == null) {
+            return;
+        }
+        resultCounters.computeIfAbsent(reconStatus, k -> Counter.builder("easy.recon.result")
+                .description("对账结果计数")
+                .tag("status", k.name())
+                .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void recordException(int exceptionStep) {
+        exceptionCounters.computeIfAbsent(exceptionStep, k -> Counter.builder("easy.recon.exception")
+                .description("对账异常计数")
+                .tag("step", String.valueOf(k))
+                .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void bindExecutor(String name, ExecutorService executorService) {
+        if (!(executorService instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) executorService;
+        Gauge.builder("easy.recon.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("对账线程池活跃线程数")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("easy.recon.executor.queue", executor, e -> e.getQueue().size())
+                .description("对账线程池队列深度")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    @Override
+    public void bindOrderLanes(RealtimeReconService realtimeReconService) {
+        for (int i = 0; i < realtimeReconService.getOrderLaneCount(); i++) {
+            int lane = i;
+            Gauge.builder("easy.recon.lane.queue", realtimeReconService, s -> s.getOrderLaneQueueDepth(lane))
+                    .description("订单通道队列深度")
+                    .tag("lane", String.valueOf(lane))
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void bindAlarmService(AlarmService alarmService) {
+        Gauge.builder("easy.recon.alarm.queue", alarmService, AlarmService::getQueueDepth)
+                .description("告警分发队列深度")
+                .register(registry);
+        FunctionCounter.builder("easy.recon.alarm.dropped", alarmService, AlarmService::getDroppedCount)
+                .description("因队列已满而丢弃的告警数")
+                .register(registry);
+    }
+
+    @Override
+    public void bindCache(ReconRepositoryCache cache) {
+        bindCache("order_no", cache, ReconRepositoryCache::getOrderNoStats);
+        bindCache("order_main", cache, ReconRepositoryCache::getOrderMainStats);
+    }
+
+    private void bindCache(String name, ReconRepositoryCache cache,
+            Function<ReconRepositoryCache, ReconCacheStats> stats) {
+        FunctionCounter.builder("easy.recon.cache.gets", cache, c -> stats.apply(c).getHitCount())
+                .description("存储库读缓存访问次数")
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("easy.recon.cache.gets", cache, c -> stats.apply(c).getMissCount())
+                .description("存储库读缓存访问次数")
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("easy.recon.cache.evictions", cache, c -> stats.apply(c).getEvictionCount())
+                .description("存储库读缓存淘汰条目数")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("easy.recon.cache.size", cache, c -> stats.apply(c).getSize())
+                .description("存储库读缓存当前条目数")
+                .tag("cache", name)
+                .register(registry);
+    }
+}
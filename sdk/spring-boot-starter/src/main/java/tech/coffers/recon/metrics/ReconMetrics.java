@@ -0,0 +1,118 @@
+package tech.coffers.recon.metrics;
+
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.core.service.AlarmService;
+import tech.coffers.recon.core.service.RealtimeReconService;
+import tech.coffers.recon.repository.cache.ReconRepositoryCache;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 对账指标采集接口
+ * <p>
+ * SDK 内部只依赖该接口，Micrometer 不在类路径上时使用 {@link #NOOP}，不产生任何开销之外的调用。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public interface ReconMetrics {
+
+    /**
+     * 实时对账阶段：金额归一化
+     */
+    String STAGE_NORMALIZE = "normalize";
+
+    /**
+     * 实时对账阶段：台账构建与场景推断
+     */
+    String STAGE_INFER = "infer";
+
+    /**
+     * 实时对账阶段：DTO 到 DO 的转换与商户结算聚合
+     */
+    String STAGE_CONVERT = "convert";
+
+    /**
+     * 实时对账阶段：金额多维核账
+     */
+    String STAGE_VALIDATE = "validate";
+
+    /**
+     * 实时对账阶段：对账数据持久化
+     */
+    String STAGE_PERSIST = "persist";
+
+    /**
+     * 不采集任何指标的实现
+     */
+    ReconMetrics NOOP = new ReconMetrics() {
+    };
+
+    /**
+     * 记录实时对账某一阶段的耗时
+     *
+     * @param stage        阶段名称
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    default void recordStage(String stage, long elapsedNanos) {
+    }
+
+    /**
+     * 记录一次存储库方法调用
+     *
+     * @param method       方法名
+     * @param elapsedNanos 耗时（纳秒）
+     * @param outcome      调用结果：success / failure（返回失败标识）/ error（抛出异常）
+     */
+    default void recordRepositoryCall(String method, long elapsedNanos, String outcome) {
+    }
+
+    /**
+     * 记录一笔订单的对账结果
+     *
+     * @param reconStatus 对账状态
+     */
+    default void recordReconResult(ReconStatusEnum reconStatus) {
+    }
+
+    /**
+     * 记录一条对账异常
+     *
+     * @param exceptionStep 异常步骤
+     */
+    default void recordException(int exceptionStep) {
+    }
+
+    /**
+     * 注册线程池的活跃线程数与队列深度指标
+     *
+     * @param name            线程池名称
+     * @param executorService 线程池
+     */
+    default void bindExecutor(String name, ExecutorService executorService) {
+    }
+
+    /**
+     * 注册存储库读缓存的命中、淘汰与容量指标
+     *
+     * @param cache 存储库读缓存
+     */
+    default void bindCache(ReconRepositoryCache cache) {
+    }
+
+    /**
+     * 注册实时对账各订单通道的队列深度指标，未启用订单亲和执行时不注册
+     *
+     * @param realtimeReconService 实时对账服务
+     */
+    default void bindOrderLanes(RealtimeReconService realtimeReconService) {
+    }
+
+    /**
+     * 注册告警异步分发的队列深度与丢弃数指标
+     *
+     * @param alarmService 告警服务
+     */
+    default void bindAlarmService(AlarmService alarmService) {
+    }
+}
@@ -4,8 +4,13 @@ import tech.coffers.recon.entity.*;
 import tech.coffers.recon.api.enums.ReconStatusEnum;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 对账仓储接口
@@ -16,6 +21,11 @@ import java.util.List;
  */
 public interface ReconRepository {
 
+        /**
+         * 全部分账商户通知成功时写入主订单的通知结果
+         */
+        String ALL_NOTIFIED_RESULT = "All merchants notified";
+
         /**
          * 保存或更新主订单对账记录
          *
@@ -24,6 +34,26 @@ public interface ReconRepository {
          */
         boolean saveOrderMain(ReconOrderMainDO orderMainDO);
 
+        /**
+         * 批量保存或更新主订单对账记录
+         * <p>
+         * 默认逐条调用 {@link #saveOrderMain(ReconOrderMainDO)}，JDBC 实现会合并为一次批量写入。
+         *
+         * @param orderMainDOs 对账主记录列表
+         * @return 是否全部成功
+         */
+        default boolean batchSaveOrderMain(List<ReconOrderMainDO> orderMainDOs) {
+                if (orderMainDOs == null) {
+                        return true;
+                }
+                for (ReconOrderMainDO orderMainDO : orderMainDOs) {
+                        if (!saveOrderMain(orderMainDO)) {
+                                return false;
+                        }
+                }
+                return true;
+        }
+
         /**
          * 批量保存业务子订单记录 (意图层)
          *
@@ -72,6 +102,14 @@ public interface ReconRepository {
          */
         boolean saveNotifyLog(ReconNotifyLogDO notifyLogDO);
 
+        /**
+         * 批量保存通知流水日志
+         *
+         * @param notifyLogDOs 通知日志 DO 列表
+         * @return 是否成功
+         */
+        boolean batchSaveNotifyLog(List<ReconNotifyLogDO> notifyLogDOs);
+
         /**
          * 根据主订单号查询订单主记录
          *
@@ -80,6 +118,42 @@ public interface ReconRepository {
          */
         ReconOrderMainDO getOrderMainByOrderNo(String orderNo);
 
+        /**
+         * 根据一批订单号查询主订单记录
+         * <p>
+         * 默认逐单调用 {@link #getOrderMainByOrderNo(String)}，JDBC 实现会合并为 IN 查询。
+         *
+         * @param orderNos 订单号集合
+         * @return 订单号 -> 主订单记录（不存在的订单不出现在结果中）
+         */
+        default Map<String, ReconOrderMainDO> getOrderMainsByOrderNos(Collection<String> orderNos) {
+                Map<String, ReconOrderMainDO> result = new HashMap<>();
+                if (orderNos == null) {
+                        return result;
+                }
+                for (String orderNo : orderNos) {
+                        ReconOrderMainDO orderMainDO = getOrderMainByOrderNo(orderNo);
+                        if (orderMainDO != null) {
+                                result.put(orderNo, orderMainDO);
+                        }
+                }
+                return result;
+        }
+
+        /**
+         * 以加锁读取重新读取订单主记录，用于版本冲突后的重试
+         * <p>
+         * 可重复读事务中的普通查询返回事务快照，冲突后重新读取仍是同一个过期版本；加锁读取返回最新提交的记录，
+         * 并锁定该行直到事务结束。默认调用 {@link #getOrderMainByOrderNo(String)}。
+         *
+         * @param orderNo 业务订单号
+         * @return 订单主记录，不存在时返回 null
+         * @since 1.2.0
+         */
+        default ReconOrderMainDO lockOrderMainByOrderNo(String orderNo) {
+                return getOrderMainByOrderNo(orderNo);
+        }
+
         /**
          * 根据主订单号查询所有级联的分账事实明细
          *
@@ -88,6 +162,38 @@ public interface ReconRepository {
          */
         List<ReconOrderSplitDetailDO> getOrderSplitDetailByOrderNo(String orderNo);
 
+        /**
+         * 根据一批主订单号查询分账事实明细，并按订单号分组
+         * <p>
+         * 默认逐单调用 {@link #getOrderSplitDetailByOrderNo(String)}，JDBC 实现会合并为 IN 查询，
+         * 且只加载金额校验所需的商户、金额与到账方式字段，不含通知状态、通知结果与时间字段。
+         *
+         * @param orderNos 订单号集合
+         * @return 订单号 -> 分账事实列表（无明细的订单不出现在结果中）
+         */
+        default Map<String, List<ReconOrderSplitDetailDO>> getOrderSplitDetailsByOrderNos(
+                        Collection<String> orderNos) {
+                Map<String, List<ReconOrderSplitDetailDO>> result = new HashMap<>();
+                if (orderNos == null) {
+                        return result;
+                }
+                for (String orderNo : orderNos) {
+                        List<ReconOrderSplitDetailDO> details = getOrderSplitDetailByOrderNo(orderNo);
+                        if (details != null && !details.isEmpty()) {
+                                result.put(orderNo, details);
+                        }
+                }
+                return result;
+        }
+
+        /**
+         * 在同一个数据库连接内加载订单详情：主订单、业务子单、分账明细、退款明细、通知日志与异常记录
+         *
+         * @param orderNo 订单号
+         * @return 订单详情，主订单不存在时返回 null
+         */
+        ReconOrderDetailDO getOrderDetail(String orderNo);
+
         /**
          * 根据主订单号查询所有业务子单记录
          *
@@ -103,9 +209,45 @@ public interface ReconRepository {
          * @param offset  起始位置
          * @param limit   拉取数量
          * @return 待核账订单列表
+         * @deprecated OFFSET 分页在处理过程中会跳过记录且越翻越慢，请使用
+         *             {@link #getPendingReconOrdersAfter(String, LocalDateTime, Long, int)}
          */
+        @Deprecated
         List<ReconOrderMainDO> getPendingReconOrders(String dateStr, int offset, int limit);
 
+        /**
+         * 按 (create_time, id) 游标查询特定业务日期内的待处理（未核账成功）订单
+         * <p>
+         * 结果按 create_time、id 升序排列，调用方以上一页最后一条记录作为下一页游标。
+         *
+         * @param dateStr        业务日期 yyyy-MM-dd
+         * @param lastCreateTime 上一页最后一条记录的创建时间，首页传 null
+         * @param lastId         上一页最后一条记录的主键，首页传 null
+         * @param limit          拉取数量
+         * @return 待核账订单列表
+         */
+        default List<ReconOrderMainDO> getPendingReconOrdersAfter(String dateStr, LocalDateTime lastCreateTime,
+                        Long lastId, int limit) {
+                return getPendingReconOrdersAfter(dateStr, lastCreateTime, lastId, 0, 1, limit);
+        }
+
+        /**
+         * 按 (create_time, id) 游标查询特定业务日期内、属于指定分区的待处理订单
+         * <p>
+         * 分区按 id % partitionCount 划分，不同分区之间互不重叠，可由多个 worker 并行扫描。
+         * JDBC 实现只加载核账所需的金额、业务状态与游标字段，不含 notify_result 与退款字段。
+         *
+         * @param dateStr        业务日期 yyyy-MM-dd
+         * @param lastCreateTime 上一页最后一条记录的创建时间，首页传 null
+         * @param lastId         上一页最后一条记录的主键，首页传 null
+         * @param partitionIndex 分区序号，从 0 开始
+         * @param partitionCount 分区总数，为 1 时不分区
+         * @param limit          拉取数量
+         * @return 待核账订单列表
+         */
+        List<ReconOrderMainDO> getPendingReconOrdersAfter(String dateStr, LocalDateTime lastCreateTime, Long lastId,
+                        int partitionIndex, int partitionCount, int limit);
+
         /**
          * 更新订单的全局核账状态（如 INIT to PENDING to SUCCESS）
          *
@@ -115,6 +257,25 @@ public interface ReconRepository {
          */
         boolean updateReconStatus(String orderNo, ReconStatusEnum reconStatus);
 
+        /**
+         * 批量将一批订单的全局核账状态更新为同一目标状态
+         * <p>
+         * 默认逐单调用 {@link #updateReconStatus(String, ReconStatusEnum)}，JDBC 实现会合并为 IN 更新。
+         *
+         * @param orderNos    订单号集合
+         * @param reconStatus 目标状态枚举
+         * @return 是否成功
+         */
+        default boolean batchUpdateReconStatus(Collection<String> orderNos, ReconStatusEnum reconStatus) {
+                boolean success = true;
+                if (orderNos != null) {
+                        for (String orderNo : orderNos) {
+                                success &= updateReconStatus(orderNo, reconStatus);
+                        }
+                }
+                return success;
+        }
+
         /**
          * 提供简化的反查功能：通过商户号和子订单号定位关联的主订单号
          *
@@ -141,6 +302,28 @@ public interface ReconRepository {
          */
         Integer getReconStatus(String orderNo);
 
+        /**
+         * 根据一批订单号查询核账状态码
+         * <p>
+         * 默认逐单调用 {@link #getReconStatus(String)}，JDBC 实现会合并为 IN 查询。
+         *
+         * @param orderNos 订单号集合
+         * @return 订单号 -> 状态码（不存在的订单不出现在结果中）
+         */
+        default Map<String, Integer> getReconStatusesByOrderNos(Collection<String> orderNos) {
+                Map<String, Integer> result = new HashMap<>();
+                if (orderNos == null) {
+                        return result;
+                }
+                for (String orderNo : orderNos) {
+                        Integer reconStatus = getReconStatus(orderNo);
+                        if (reconStatus != null) {
+                                result.put(orderNo, reconStatus);
+                        }
+                }
+                return result;
+        }
+
         /**
          * 更新订单的主通知状态 (用于标记主侧通知是否闭环)
          *
@@ -151,6 +334,52 @@ public interface ReconRepository {
          */
         boolean updateNotifyStatus(String orderNo, int notifyStatus, String notifyResult);
 
+        /**
+         * 按版本号比较并更新订单的全局核账状态，成功时版本号加一
+         *
+         * @param orderNo         订单号
+         * @param reconStatus     目标状态枚举
+         * @param expectedVersion 读取主记录时的版本号
+         * @return 版本号一致且更新成功时返回 true，版本冲突或失败时返回 false
+         */
+        boolean compareAndUpdateReconStatus(String orderNo, ReconStatusEnum reconStatus, long expectedVersion);
+
+        /**
+         * 按版本号批量比较并更新一批订单的全局核账状态，成功的订单版本号加一
+         * <p>
+         * 默认逐单调用 {@link #compareAndUpdateReconStatus(String, ReconStatusEnum, long)}，JDBC 实现合并为批量更新。
+         *
+         * @param orders      读取时的主记录，取其订单号与版本号
+         * @param reconStatus 目标状态枚举
+         * @return 版本号一致且实际更新的订单号，版本冲突或失败的订单不包含在内
+         * @since 1.2.0
+         */
+        default List<String> batchCompareAndUpdateReconStatus(Collection<ReconOrderMainDO> orders,
+                        ReconStatusEnum reconStatus) {
+                List<String> updated = new ArrayList<>();
+                if (orders != null) {
+                        for (ReconOrderMainDO order : orders) {
+                                long version = order.getVersion() != null ? order.getVersion() : 0L;
+                                if (compareAndUpdateReconStatus(order.getOrderNo(), reconStatus, version)) {
+                                        updated.add(order.getOrderNo());
+                                }
+                        }
+                }
+                return updated;
+        }
+
+        /**
+         * 按版本号比较并更新订单的主通知状态，成功时版本号加一
+         *
+         * @param orderNo         订单号
+         * @param notifyStatus    通知状态码
+         * @param notifyResult    通知返回结果
+         * @param expectedVersion 读取主记录时的版本号
+         * @return 版本号一致且更新成功时返回 true，版本冲突或失败时返回 false
+         */
+        boolean compareAndUpdateNotifyStatus(String orderNo, int notifyStatus, String notifyResult,
+                        long expectedVersion);
+
         /**
          * 更新特定子商户分账项的通知状态
          *
@@ -163,6 +392,30 @@ public interface ReconRepository {
         boolean updateSplitDetailNotifyStatus(String orderNo, String merchantId, int notifyStatus,
                         String notifyResult);
 
+        /**
+         * 应用商户分账通知：更新分账明细通知状态，并在同一语句中同步维护主订单的待通知计数
+         * <p>
+         * 明细由非成功变为成功时计数减一，由成功回退为非成功时计数加一；商户号为空或无对应明细时只读取计数。
+         * 计数归零时同时将主订单通知状态置为成功，通知结果为 {@link #ALL_NOTIFIED_RESULT}
+         * </p>
+         *
+         * @param orderNo      主订单号
+         * @param merchantId   子商户ID，可为空
+         * @param notifyStatus 状态码
+         * @param notifyResult 原始返回结果
+         * @return 主订单剩余待通知的分账明细数，为 0 表示全部通知成功；主订单不存在或执行失败时返回 -1
+         */
+        int applySplitNotify(String orderNo, String merchantId, int notifyStatus, String notifyResult);
+
+        /**
+         * 批量应用同一订单下多个商户的分账通知：一次批量更新分账明细，再一次性调整主订单待通知计数
+         *
+         * @param orderNo  主订单号
+         * @param notifies 分账通知 (取 merchantId、notifyStatus、notifyResult)，同一商户应只出现一次
+         * @return 主订单剩余待通知的分账明细数，为 0 表示全部通知成功；主订单不存在或执行失败时返回 -1
+         */
+        int batchApplySplitNotify(String orderNo, List<ReconNotifyLogDO> notifies);
+
         /**
          * 校验当前主订单下所有的分账通知状态是否均已标记为“成功”
          *
@@ -176,12 +429,42 @@ public interface ReconRepository {
          */
         List<ReconOrderMainDO> getOrderMainByDate(String dateStr, ReconStatusEnum reconStatus, int offset, int limit);
 
+        /**
+         * 按 (create_time, id) 游标倒序查询指定日期的主记录
+         * <p>
+         * 结果按 create_time、id 降序排列，调用方以上一页最后一条记录作为下一页游标，每页代价与翻页深度无关。
+         *
+         * @param dateStr        业务日期 yyyy-MM-dd
+         * @param reconStatus    对账状态，为空时不过滤
+         * @param lastCreateTime 上一页最后一条记录的创建时间，首页传 null
+         * @param lastId         上一页最后一条记录的主键，首页传 null
+         * @param limit          拉取数量
+         * @return 主记录列表
+         */
+        List<ReconOrderMainDO> getOrderMainByDateBefore(String dateStr, ReconStatusEnum reconStatus,
+                        LocalDateTime lastCreateTime, Long lastId, int limit);
+
         /**
          * 查询对账异常详情列表
          */
         List<ReconExceptionDO> getExceptionRecords(String merchantId, String startDate, String endDate,
                         Integer exceptionStep, int offset, int limit);
 
+        /**
+         * 按 (create_time, id) 游标倒序查询对账异常详情列表
+         *
+         * @param merchantId     商户号，为空时不过滤
+         * @param startDate      开始日期（含），为空时不过滤
+         * @param endDate        结束日期（含），为空时不过滤
+         * @param exceptionStep  异常步骤，为空时不过滤
+         * @param lastCreateTime 上一页最后一条记录的创建时间，首页传 null
+         * @param lastId         上一页最后一条记录的主键，首页传 null
+         * @param limit          拉取数量
+         * @return 异常记录列表
+         */
+        List<ReconExceptionDO> getExceptionRecordsBefore(String merchantId, String startDate, String endDate,
+                        Integer exceptionStep, LocalDateTime lastCreateTime, Long lastId, int limit);
+
         /**
          * 批量持久化退款事实明细数据
          */
@@ -214,6 +497,14 @@ public interface ReconRepository {
          */
         boolean updateReconRefundStatus(ReconOrderMainDO orderMainDO);
 
+        /**
+         * 按版本号比较并更新退款对账状态，期望版本取自 {@link ReconOrderMainDO#getVersion()}，成功时版本号加一
+         *
+         * @param orderMainDO 读取后修改了退款字段的主记录
+         * @return 版本号一致且更新成功时返回 true，版本冲突或失败时返回 false
+         */
+        boolean compareAndUpdateReconRefundStatus(ReconOrderMainDO orderMainDO);
+
         /**
          * 查询退款事实明细
          */
@@ -243,6 +534,14 @@ public interface ReconRepository {
 
         ReconSummaryDO getReconSummary(String dateStr);
 
+        /**
+         * 按主订单表重新统计指定日期的对账汇总并覆盖持久化日汇总，用于修复增量维护产生的偏差
+         *
+         * @param dateStr 日期 (yyyy-MM-dd)
+         * @return 重建结果
+         */
+        boolean rebuildReconSummary(String dateStr);
+
         long countOrderMainByDate(String dateStr, ReconStatusEnum reconStatus);
 
         long countExceptionRecords(String merchantId, String startDate, String endDate, Integer exceptionStep);
@@ -254,4 +553,147 @@ public interface ReconRepository {
          * @return 通知日志列表
          */
         List<ReconNotifyLogDO> getNotifyLogsByOrderNo(String orderNo);
+
+        // ==================== 分片租约 ====================
+
+        /**
+         * 尝试抢占定时任务的分片租约
+         * <p>
+         * 分片不存在租约记录，或已有租约已过期时抢占成功。租约过期时间以调用方节点时钟计算，集群节点需保持时钟同步。
+         *
+         * @param jobName      任务名称
+         * @param bizDate      业务日期
+         * @param shardIndex   分片序号
+         * @param shardCount   分片总数
+         * @param owner        抢占节点标识
+         * @param leaseSeconds 租约时长（秒）
+         * @return 是否抢占成功
+         */
+        boolean tryAcquireShardLease(String jobName, LocalDate bizDate, int shardIndex, int shardCount, String owner,
+                        long leaseSeconds);
+
+        /**
+         * 续期当前节点持有的分片租约
+         *
+         * @param jobName      任务名称
+         * @param bizDate      业务日期
+         * @param shardIndex   分片序号
+         * @param owner        持有节点标识
+         * @param leaseSeconds 续期后的租约时长（秒）
+         * @return 是否续期成功，返回 false 表示租约已被其他节点接管
+         */
+        boolean renewShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner, long leaseSeconds);
+
+        /**
+         * 释放当前节点持有的分片租约
+         *
+         * @param jobName     任务名称
+         * @param bizDate     业务日期
+         * @param shardIndex  分片序号
+         * @param owner       持有节点标识
+         * @param completed   分片是否已处理完成
+         * @param holdSeconds 已完成分片的保留时长（秒），期间其他节点不会再次抢占；未完成时立即可被抢占
+         * @return 是否释放成功
+         */
+        boolean releaseShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner, boolean completed,
+                        long holdSeconds);
+
+        // ==================== 增量水位 ====================
+
+        /**
+         * 按 (update_time, id) 水位查询待核账订单
+         * <p>
+         * 与 {@link #getPendingReconOrdersAfter(String, LocalDateTime, Long, int, int, int)} 相同，
+         * JDBC 实现不加载 notify_result 与退款字段。
+         *
+         * @param lastUpdateTime 水位 update_time，为 null 时从头开始
+         * @param lastId         水位 id
+         * @param upperBound     update_time 上界（含），用于留出未提交事务的安全延迟
+         * @param limit          拉取数量
+         * @return 按 (update_time, id) 升序排列的待核账订单
+         */
+        List<ReconOrderMainDO> getPendingReconOrdersUpdatedAfter(LocalDateTime lastUpdateTime, Long lastId,
+                        LocalDateTime upperBound, int limit);
+
+        /**
+         * 查询增量任务的水位
+         *
+         * @param jobName 任务名称
+         * @return 水位，不存在时返回 null
+         */
+        ReconJobWatermarkDO getJobWatermark(String jobName);
+
+        /**
+         * 保存增量任务的水位
+         *
+         * @param jobName       任务名称
+         * @param watermarkTime 水位 update_time
+         * @param watermarkId   水位 id
+         * @return 是否保存成功
+         */
+        boolean saveJobWatermark(String jobName, LocalDateTime watermarkTime, Long watermarkId);
+
+        // ==================== 任务运行记录 ====================
+
+        /**
+         * 查找可续跑的运行记录
+         * <p>
+         * 返回同一任务、日期、分区划分下最近一条未完成（运行中或已中断）的记录，不存在时返回 null。
+         *
+         * @param jobName        任务名称
+         * @param bizDate        业务日期
+         * @param partitionIndex 分区序号
+         * @param partitionCount 分区总数
+         * @return 可续跑的运行记录
+         */
+        ReconJobRunDO findResumableJobRun(String jobName, LocalDate bizDate, int partitionIndex, int partitionCount);
+
+        /**
+         * 新建运行记录
+         *
+         * @param jobRunDO 运行记录
+         * @return 是否保存成功
+         */
+        boolean saveJobRun(ReconJobRunDO jobRunDO);
+
+        /**
+         * 接管未完成的运行记录
+         * <p>
+         * 仅当记录仍由 expectedOwner 持有时才会转交给 owner 并恢复为运行中，避免两个节点同时续跑同一分区。
+         * 已中断的记录可直接接管；运行中的记录只有在 staleBefore 之前不再提交游标（持有节点已失联）时才可接管。
+         *
+         * @param runId         运行 ID
+         * @param expectedOwner 期望的当前持有节点
+         * @param owner         新的持有节点
+         * @param staleBefore   运行中记录的失联判定时间点，最后更新时间早于该时间才可接管
+         * @return 是否接管成功
+         */
+        boolean claimJobRun(String runId, String expectedOwner, String owner, LocalDateTime staleBefore);
+
+        /**
+         * 提交运行记录的游标与计数
+         *
+         * @param jobRunDO 运行记录（按 runId 与 owner 匹配）
+         * @return 是否提交成功，返回 false 表示记录已被其他节点接管
+         */
+        boolean updateJobRunCheckpoint(ReconJobRunDO jobRunDO);
+
+        /**
+         * 结束运行记录，写入最终状态、计数与耗时
+         *
+         * @param jobRunDO 运行记录（按 runId 与 owner 匹配）
+         * @return 是否更新成功
+         */
+        boolean finishJobRun(ReconJobRunDO jobRunDO);
+
+        /**
+         * 按开始时间倒序查询运行记录
+         *
+         * @param jobName   任务名称，为空时不过滤
+         * @param startDate 业务日期起（含），为空时不过滤
+         * @param endDate   业务日期止（含），为空时不过滤
+         * @param limit     最大返回条数
+         * @return 运行记录列表
+         */
+        List<ReconJobRunDO> listJobRuns(String jobName, String startDate, String endDate, int limit);
 }
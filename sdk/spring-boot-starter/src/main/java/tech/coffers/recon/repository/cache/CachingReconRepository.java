@@ -0,0 +1,168 @@
+package tech.coffers.recon.repository.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 为对账存储库增加进程内读缓存
+ * <p>
+ * 缓存 findOrderNoBySub / findOrderNoByMerchantOrder 的非空结果与 getOrderMainByOrderNo 的主订单快照，
+ * 其余查询直接透传。查询以外的方法视为写入：从订单号参数、主订单实体参数及其集合中提取订单号，
+ * 调用前后各失效一次对应的主订单快照；处于事务中时在事务结束后再失效一次，避免回滚或提交前被并发读取回填旧值。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public final class CachingReconRepository implements InvocationHandler {
+
+    private final ReconRepository delegate;
+    private final ReconRepositoryCache cache;
+
+    private CachingReconRepository(ReconRepository delegate, ReconRepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * 包装存储库
+     *
+     * @param delegate 被包装的存储库
+     * @param cache    读缓存
+     * @return 带读缓存的存储库代理
+     */
+    public static ReconRepository wrap(ReconRepository delegate, ReconRepositoryCache cache) {
+        return (ReconRepository) Proxy.newProxyInstance(ReconRepository.class.getClassLoader(),
+                new Class<?>[] { ReconRepository.class }, new CachingReconRepository(delegate, cache));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeDelegate(method, args);
+        }
+        switch (method.getName()) {
+            case "findOrderNoBySub":
+                return findOrderNo("sub", method, args);
+            case "findOrderNoByMerchantOrder":
+                return findOrderNo("merchant", method, args);
+            case "getOrderMainByOrderNo":
+                return getOrderMain(method, args);
+            default:
+                break;
+        }
+        if (isQuery(method.getName())) {
+            return invokeDelegate(method, args);
+        }
+
+        Set<String> orderNos = orderNosOf(args);
+        invalidate(orderNos);
+        try {
+            return invokeDelegate(method, args);
+        } finally {
+            invalidate(orderNos);
+            if (!orderNos.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        invalidate(orderNos);
+                    }
+                });
+            }
+        }
+    }
+
+    private Object findOrderNo(String kind, Method method, Object[] args) throws Throwable {
+        if (args[0] == null || args[1] == null) {
+            return invokeDelegate(method, args);
+        }
+        String key = kind + ':' + args[0] + ':' + args[1];
+        LruCache<String> orderNos = cache.orderNos();
+        String orderNo = orderNos.get(key);
+        if (orderNo != null) {
+            return orderNo;
+        }
+        long stamp = orderNos.stamp(key);
+        orderNo = (String) invokeDelegate(method, args);
+        if (orderNo != null) {
+            orderNos.putIfUnchanged(key, orderNo, stamp);
+        }
+        return orderNo;
+    }
+
+    private Object getOrderMain(Method method, Object[] args) throws Throwable {
+        String orderNo = (String) args[0];
+        if (orderNo == null) {
+            return invokeDelegate(method, args);
+        }
+        ReconOrderMainDO cached = cache.getOrderMain(orderNo);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.orderMainStamp(orderNo);
+        ReconOrderMainDO orderMainDO = (ReconOrderMainDO) invokeDelegate(method, args);
+        if (orderMainDO != null && orderNo.equals(orderMainDO.getOrderNo())) {
+            cache.putOrderMain(orderMainDO, stamp);
+        }
+        return orderMainDO;
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void invalidate(Set<String> orderNos) {
+        for (String orderNo : orderNos) {
+            cache.invalidateOrderMain(orderNo);
+        }
+    }
+
+    private static boolean isQuery(String methodName) {
+        return methodName.startsWith("get") || methodName.startsWith("find") || methodName.startsWith("list")
+                || methodName.startsWith("count") || methodName.startsWith("is");
+    }
+
+    /**
+     * 写入方法约定首个字符串参数为订单号；主订单实体及订单号集合同样计入
+     */
+    private static Set<String> orderNosOf(Object[] args) {
+        Set<String> orderNos = new LinkedHashSet<>();
+        if (args == null) {
+            return orderNos;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (i == 0 && arg instanceof String) {
+                orderNos.add((String) arg);
+            } else if (arg instanceof ReconOrderMainDO) {
+                addOrderNo(orderNos, arg);
+            } else if (arg instanceof Collection) {
+                for (Object element : (Collection<?>) arg) {
+                    addOrderNo(orderNos, element);
+                }
+            }
+        }
+        return orderNos;
+    }
+
+    private static void addOrderNo(Set<String> orderNos, Object value) {
+        if (value instanceof String) {
+            orderNos.add((String) value);
+        } else if (value instanceof ReconOrderMainDO && ((ReconOrderMainDO) value).getOrderNo() != null) {
+            orderNos.add(((ReconOrderMainDO) value).getOrderNo());
+        }
+    }
+}
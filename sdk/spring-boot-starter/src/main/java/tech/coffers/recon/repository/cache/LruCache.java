@@ -0,0 +1,173 @@
+package tech.coffers.recon.repository.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界 LRU 缓存
+ * <p>
+ * 按键的哈希分段，每段是一个独立加锁、基于访问顺序的 LinkedHashMap，超出段容量时淘汰段内最久未访问的条目；
+ * 容量较小时只有一段，即严格的 LRU。存活时间大于 0 时读取到过期条目按未命中处理。
+ * <p>
+ * 每段为键的哈希槽维护失效版本，失效时推进键所在槽的版本；读取数据库前取得的版本已被推进时放弃回填，
+ * 避免并发写入后回填旧值。其他订单的失效不会影响本订单的回填。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+final class LruCache<V> {
+
+    /**
+     * 最大分段数
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * 每段容量不低于该值时才继续拆分
+     */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    /**
+     * 每段的失效版本槽数，必须为 2 的幂
+     */
+    private static final int VERSION_SLOTS = 256;
+
+    private final long ttlNanos;
+    private final Segment<V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    LruCache(int maxSize, long ttlNanos) {
+        int capacity = Math.max(1, maxSize);
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && capacity / (segmentCount * 2) >= MIN_SEGMENT_SIZE) {
+            segmentCount <<= 1;
+        }
+        this.ttlNanos = ttlNanos;
+        this.segments = new Segment[segmentCount];
+        int segmentSize = (capacity + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+    }
+
+    /**
+     * 读取条目并计入命中 / 未命中
+     */
+    V get(String key) {
+        Segment<V> segment = segmentFor(key);
+        Node<V> entry;
+        synchronized (segment) {
+            entry = segment.entries.get(key);
+            if (entry != null && ttlNanos > 0 && System.nanoTime() - entry.createdNanos > ttlNanos) {
+                segment.entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * 键当前的失效版本，读取数据库前取得，回填时传入 {@link #putIfUnchanged(String, Object, long)}
+     */
+    long stamp(String key) {
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.versions[slot(key)];
+        }
+    }
+
+    /**
+     * 读取期间该键没有发生失效时回填
+     */
+    void putIfUnchanged(String key, V value, long stamp) {
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (segment.versions[slot(key)] == stamp) {
+                segment.entries.put(key, new Node<>(value, System.nanoTime()));
+            }
+        }
+    }
+
+    void invalidate(String key) {
+        Segment<V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.versions[slot(key)]++;
+            segment.entries.remove(key);
+        }
+    }
+
+    void clear() {
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                for (int i = 0; i < VERSION_SLOTS; i++) {
+                    segment.versions[i]++;
+                }
+                segment.entries.clear();
+            }
+        }
+    }
+
+    ReconCacheStats stats() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return new ReconCacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment<V> segmentFor(String key) {
+        return segments[(spread(key) >>> 16) & (segments.length - 1)];
+    }
+
+    private static int slot(String key) {
+        return spread(key) & (VERSION_SLOTS - 1);
+    }
+
+    private static int spread(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 缓存分段：条目与失效版本均由段自身的监视器保护
+     */
+    private static final class Segment<V> {
+        private final Map<String, Node<V>> entries;
+        private final long[] versions = new long[VERSION_SLOTS];
+
+        private Segment(int maxSize, LongAdder evictions) {
+            this.entries = new LinkedHashMap<String, Node<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Node<V>> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private final long createdNanos;
+
+        private Node(V value, long createdNanos) {
+            this.value = value;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tech.coffers.recon.repository.cache;
+
+import lombok.Getter;
+
+/**
+ * 存储库读缓存统计快照
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+@Getter
+public final class ReconCacheStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+
+    /**
+     * 因容量或过期被淘汰的条目数
+     */
+    private final long evictionCount;
+
+    /**
+     * 当前条目数
+     */
+    private final int size;
+
+    ReconCacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * 命中率，尚无访问时为 0
+     *
+     * @return 命中率
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0D : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconCacheStats{hit=" + hitCount + ", miss=" + missCount + ", eviction=" + evictionCount
+                + ", size=" + size + "}";
+    }
+}
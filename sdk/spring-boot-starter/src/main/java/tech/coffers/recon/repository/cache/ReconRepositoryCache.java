@@ -0,0 +1,85 @@
+package tech.coffers.recon.repository.cache;
+
+import org.springframework.beans.BeanUtils;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 存储库读缓存
+ * <p>
+ * 包含两个相互独立的 LRU 区域：
+ * <ul>
+ * <li>订单号映射：(商户号, 子订单号) 与 (商户号, 商户订单号) 到主订单号的映射，写入后不再变化，不设存活时间</li>
+ * <li>主订单快照：按订单号缓存，经由 {@link CachingReconRepository} 的写入会使对应订单失效，并按存活时间兜底</li>
+ * </ul>
+ * 主订单实体可变，存取时均复制一份，调用方修改返回值不会污染缓存。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class ReconRepositoryCache {
+
+    private final LruCache<String> orderNoCache;
+    private final LruCache<ReconOrderMainDO> orderMainCache;
+
+    public ReconRepositoryCache(ReconSdkProperties.Cache config) {
+        this.orderNoCache = new LruCache<>(config.getMaxSize(), 0L);
+        this.orderMainCache = new LruCache<>(config.getMaxSize(),
+                TimeUnit.SECONDS.toNanos(Math.max(0L, config.getOrderTtlSeconds())));
+    }
+
+    /**
+     * 订单号映射的命中统计
+     *
+     * @return 统计快照
+     */
+    public ReconCacheStats getOrderNoStats() {
+        return orderNoCache.stats();
+    }
+
+    /**
+     * 主订单快照的命中统计
+     *
+     * @return 统计快照
+     */
+    public ReconCacheStats getOrderMainStats() {
+        return orderMainCache.stats();
+    }
+
+    /**
+     * 清空全部缓存，如外部直接修改了数据库
+     */
+    public void clear() {
+        orderNoCache.clear();
+        orderMainCache.clear();
+    }
+
+    LruCache<String> orderNos() {
+        return orderNoCache;
+    }
+
+    ReconOrderMainDO getOrderMain(String orderNo) {
+        ReconOrderMainDO cached = orderMainCache.get(orderNo);
+        return cached != null ? copy(cached) : null;
+    }
+
+    long orderMainStamp(String orderNo) {
+        return orderMainCache.stamp(orderNo);
+    }
+
+    void putOrderMain(ReconOrderMainDO orderMainDO, long stamp) {
+        orderMainCache.putIfUnchanged(orderMainDO.getOrderNo(), copy(orderMainDO), stamp);
+    }
+
+    void invalidateOrderMain(String orderNo) {
+        orderMainCache.invalidate(orderNo);
+    }
+
+    private static ReconOrderMainDO copy(ReconOrderMainDO source) {
+        ReconOrderMainDO target = new ReconOrderMainDO();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+}
@@ -1,23 +1,45 @@
 package tech.coffers.recon.repository.jdbc;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.api.enums.NotifyStatusEnum;
 import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.dialect.ReconDatabaseDialect;
 import tech.coffers.recon.dialect.ReconDialectFactory;
 import tech.coffers.recon.entity.*;
 import tech.coffers.recon.repository.ReconRepository;
+import tech.coffers.recon.util.MoneyCodec;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * JDBC 对账存储库实现
@@ -31,18 +53,39 @@ import java.util.List;
 @Slf4j
 public class JdbcReconRepository implements ReconRepository {
 
+    /**
+     * 单条 IN 查询允许的最大参数个数
+     */
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
     private final JdbcTemplate jdbcTemplate;
     private final ReconDialectFactory dialectFactory;
     private final ReconSdkProperties properties;
+    private final TransactionOperations transactionOperations;
 
     /**
-     * 构造函数
+     * 构造函数，多语句写入使用基于 JdbcTemplate 数据源的事务
      */
     public JdbcReconRepository(JdbcTemplate jdbcTemplate, ReconDialectFactory dialectFactory,
             ReconSdkProperties properties) {
+        this(jdbcTemplate, dialectFactory, properties, jdbcTemplate.getDataSource() != null
+                ? new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()))
+                : TransactionOperations.withoutTransaction());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param transactionOperations 多语句写入使用的事务模板，需与 JdbcTemplate 使用同一数据源
+     * @since 1.2.0
+     */
+    public JdbcReconRepository(JdbcTemplate jdbcTemplate, ReconDialectFactory dialectFactory,
+            ReconSdkProperties properties, TransactionOperations transactionOperations) {
         this.jdbcTemplate = jdbcTemplate;
         this.dialectFactory = dialectFactory;
         this.properties = properties;
+        this.transactionOperations = transactionOperations != null ? transactionOperations
+                : TransactionOperations.withoutTransaction();
     }
 
     // ==================== 订单主记录操作 ====================
@@ -50,26 +93,13 @@ public class JdbcReconRepository implements ReconRepository {
     @Override
     public boolean saveOrderMain(ReconOrderMainDO orderMainDO) {
         try {
+            if (summaryEnabled()) {
+                saveOrderMainsWithSummary(Collections.singletonList(orderMainDO));
+                return true;
+            }
             String tableName = properties.getTablePrefix() + "order_main";
             String sql = dialectFactory.getDialect().getInsertOrderMainSql(tableName);
-            int rows = jdbcTemplate.update(sql, ps -> {
-                ps.setString(1, orderMainDO.getOrderNo());
-                ps.setBigDecimal(2, orderMainDO.getPayAmount());
-                ps.setObject(3, orderMainDO.getPayAmountFen());
-                ps.setBigDecimal(4, orderMainDO.getPlatformIncome());
-                ps.setObject(5, orderMainDO.getPlatformIncomeFen());
-                ps.setBigDecimal(6, orderMainDO.getPayFee());
-                ps.setObject(7, orderMainDO.getPayFeeFen());
-                ps.setBigDecimal(8, orderMainDO.getSplitTotalAmount());
-                ps.setObject(9, orderMainDO.getSplitTotalAmountFen());
-                ps.setInt(10, orderMainDO.getPayStatus() != null ? orderMainDO.getPayStatus() : 0);
-                ps.setInt(11, orderMainDO.getSplitStatus() != null ? orderMainDO.getSplitStatus() : 0);
-                ps.setInt(12, orderMainDO.getNotifyStatus() != null ? orderMainDO.getNotifyStatus() : 0);
-                ps.setString(13, orderMainDO.getNotifyResult());
-                ps.setInt(14, orderMainDO.getReconStatus());
-                ps.setObject(15, orderMainDO.getCreateTime());
-                ps.setObject(16, orderMainDO.getUpdateTime());
-            });
+            int rows = jdbcTemplate.update(sql, ps -> setOrderMainValues(ps, orderMainDO));
             return rows > 0;
         } catch (Exception e) {
             log.error("保存订单主记录失败", e);
@@ -77,11 +107,97 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public boolean batchSaveOrderMain(List<ReconOrderMainDO> orderMainDOs) {
+        if (orderMainDOs == null || orderMainDOs.isEmpty()) {
+            return true;
+        }
+        try {
+            if (summaryEnabled()) {
+                saveOrderMainsWithSummary(orderMainDOs);
+            } else {
+                upsertOrderMains(orderMainDOs);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量保存订单主记录失败", e);
+            return false;
+        }
+    }
+
+    private void upsertOrderMains(List<ReconOrderMainDO> orderMainDOs) {
+        String tableName = properties.getTablePrefix() + "order_main";
+        String sql = dialectFactory.getDialect().getInsertOrderMainSql(tableName);
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setOrderMainValues(ps, orderMainDOs.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orderMainDOs.size();
+            }
+        });
+    }
+
+    /**
+     * 在同一事务中写入主订单并维护日汇总
+     * <p>
+     * 先为不存在的订单插入占位记录，再锁定全部订单读取写入前的状态：并发写入同一新订单时后到者在唯一键上等待，
+     * 随后读到先到者已提交的记录，增量不会重复计入
+     */
+    private void saveOrderMainsWithSummary(List<ReconOrderMainDO> orderMainDOs) {
+        String tableName = properties.getTablePrefix() + "order_main";
+        String placeholderSql = dialectFactory.getDialect().getInsertOrderMainIfAbsentSql(tableName);
+        Map<String, ReconOrderMainDO> firstByOrderNo = new TreeMap<>();
+        for (ReconOrderMainDO orderMainDO : orderMainDOs) {
+            firstByOrderNo.putIfAbsent(orderMainDO.getOrderNo(), orderMainDO);
+        }
+        transactionOperations.executeWithoutResult(status -> {
+            List<Object[]> placeholderArgs = new ArrayList<>(firstByOrderNo.size());
+            for (ReconOrderMainDO orderMainDO : firstByOrderNo.values()) {
+                placeholderArgs.add(new Object[] { orderMainDO.getOrderNo(), orderMainDO.getPayAmount(),
+                        orderMainDO.getCreateTime(), orderMainDO.getUpdateTime() });
+            }
+            jdbcTemplate.batchUpdate(placeholderSql, placeholderArgs);
+            Map<String, SummarySnapshot> before = new HashMap<>();
+            for (SummarySnapshot snapshot : lockOrderMainSnapshots(firstByOrderNo.keySet()).values()) {
+                // 版本号为 -1 的是本事务插入的占位记录，写入前不存在
+                if (snapshot.version >= 0) {
+                    before.put(snapshot.orderNo, snapshot);
+                }
+            }
+            upsertOrderMains(orderMainDOs);
+            applySummaryUpserts(before, orderMainDOs);
+        });
+    }
+
+    private void setOrderMainValues(PreparedStatement ps, ReconOrderMainDO orderMainDO) throws SQLException {
+        ps.setString(1, orderMainDO.getOrderNo());
+        ps.setBigDecimal(2, orderMainDO.getPayAmount());
+        ps.setObject(3, orderMainDO.getPayAmountFen());
+        ps.setBigDecimal(4, orderMainDO.getPlatformIncome());
+        ps.setObject(5, orderMainDO.getPlatformIncomeFen());
+        ps.setBigDecimal(6, orderMainDO.getPayFee());
+        ps.setObject(7, orderMainDO.getPayFeeFen());
+        ps.setBigDecimal(8, orderMainDO.getSplitTotalAmount());
+        ps.setObject(9, orderMainDO.getSplitTotalAmountFen());
+        ps.setInt(10, orderMainDO.getPayStatus() != null ? orderMainDO.getPayStatus() : 0);
+        ps.setInt(11, orderMainDO.getSplitStatus() != null ? orderMainDO.getSplitStatus() : 0);
+        ps.setInt(12, orderMainDO.getNotifyStatus() != null ? orderMainDO.getNotifyStatus() : 0);
+        ps.setString(13, orderMainDO.getNotifyResult());
+        ps.setInt(14, orderMainDO.getPendingNotifyCount() != null ? orderMainDO.getPendingNotifyCount() : 0);
+        ps.setInt(15, orderMainDO.getReconStatus());
+        ps.setObject(16, orderMainDO.getCreateTime());
+        ps.setObject(17, orderMainDO.getUpdateTime());
+    }
+
     @Override
     public ReconOrderMainDO getOrderMainByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ?";
+            String sql = "SELECT " + OrderMainRowMapper.COLUMNS + " FROM " + tableName + " WHERE order_no = ?";
             return jdbcTemplate.queryForObject(sql, new OrderMainRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("查询订单主记录失败，订单号: {}", orderNo, e);
@@ -89,6 +205,20 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public ReconOrderMainDO lockOrderMainByOrderNo(String orderNo) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            String sql = "SELECT " + OrderMainRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ? FOR UPDATE";
+            List<ReconOrderMainDO> rows = jdbcTemplate.query(sql, new OrderMainRowMapper(), orderNo);
+            return rows.isEmpty() ? null : rows.get(0);
+        } catch (Exception e) {
+            log.error("加锁读取订单主记录失败，订单号: {}", orderNo, e);
+            return null;
+        }
+    }
+
     @Override
     public boolean batchSaveOrderSub(List<ReconOrderSubDO> orderSubDOs) {
         if (orderSubDOs == null || orderSubDOs.isEmpty()) {
@@ -170,7 +300,8 @@ public class JdbcReconRepository implements ReconRepository {
     public List<ReconOrderMerchantSettlementDO> getOrderMerchantSettlementByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "order_merchant_settlement";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ?";
+            String sql = "SELECT " + MerchantSettlementRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ?";
             return jdbcTemplate.query(sql, new MerchantSettlementRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("查询商户维度结算统计失败，订单号: {}", orderNo, e);
@@ -256,7 +387,8 @@ public class JdbcReconRepository implements ReconRepository {
     public List<ReconOrderSplitDetailDO> getOrderSplitDetailByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "order_split_detail";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ?";
+            String sql = "SELECT " + OrderSplitDetailRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ?";
             return jdbcTemplate.query(sql, new OrderSplitDetailRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("查询分账事实明细失败，订单号: {}", orderNo, e);
@@ -264,11 +396,57 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public Map<String, ReconOrderMainDO> getOrderMainsByOrderNos(Collection<String> orderNos) {
+        Map<String, ReconOrderMainDO> result = new HashMap<>();
+        if (orderNos == null || orderNos.isEmpty()) {
+            return result;
+        }
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            for (List<String> chunk : partition(new ArrayList<>(new LinkedHashSet<>(orderNos)))) {
+                String sql = "SELECT " + OrderMainRowMapper.COLUMNS + " FROM " + tableName + " WHERE order_no IN ("
+                        + placeholders(chunk.size()) + ")";
+                for (ReconOrderMainDO orderMainDO : jdbcTemplate.query(sql, new OrderMainRowMapper(),
+                        chunk.toArray())) {
+                    result.put(orderMainDO.getOrderNo(), orderMainDO);
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("批量查询订单记录失败，订单数: {}", orderNos.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public Map<String, List<ReconOrderSplitDetailDO>> getOrderSplitDetailsByOrderNos(Collection<String> orderNos) {
+        Map<String, List<ReconOrderSplitDetailDO>> result = new HashMap<>();
+        if (orderNos == null || orderNos.isEmpty()) {
+            return result;
+        }
+        try {
+            String tableName = properties.getTablePrefix() + "order_split_detail";
+            for (List<String> chunk : partition(new ArrayList<>(new LinkedHashSet<>(orderNos)))) {
+                String sql = "SELECT " + OrderSplitAmountRowMapper.COLUMNS + " FROM " + tableName
+                        + " WHERE order_no IN (" + placeholders(chunk.size()) + ")";
+                for (ReconOrderSplitDetailDO detail : jdbcTemplate.query(sql, new OrderSplitAmountRowMapper(),
+                        chunk.toArray())) {
+                    result.computeIfAbsent(detail.getOrderNo(), k -> new ArrayList<>()).add(detail);
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("批量查询分账事实明细失败，订单数: {}", orderNos.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public List<ReconOrderSubDO> getOrderSubByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "order_sub";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ?";
+            String sql = "SELECT " + OrderSubRowMapper.COLUMNS + " FROM " + tableName + " WHERE order_no = ?";
             return jdbcTemplate.query(sql, new OrderSubRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("查询业务子订单失败，订单号: {}", orderNo, e);
@@ -356,23 +534,90 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public boolean batchSaveNotifyLog(List<ReconNotifyLogDO> notifyLogDOs) {
+        if (notifyLogDOs == null || notifyLogDOs.isEmpty()) {
+            return true;
+        }
+        try {
+            String tableName = properties.getTablePrefix() + "notify_log";
+            String sql = dialectFactory.getDialect().getInsertNotifyLogSql(tableName);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ReconNotifyLogDO notifyLogDO = notifyLogDOs.get(i);
+                    ps.setString(1, notifyLogDO.getOrderNo());
+                    ps.setString(2, notifyLogDO.getSubOrderNo());
+                    ps.setString(3, notifyLogDO.getMerchantId());
+                    ps.setString(4, notifyLogDO.getNotifyUrl());
+                    ps.setInt(5, notifyLogDO.getNotifyStatus());
+                    ps.setString(6, notifyLogDO.getNotifyResult());
+                    ps.setObject(7, notifyLogDO.getCreateTime());
+                    ps.setObject(8, notifyLogDO.getUpdateTime());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return notifyLogDOs.size();
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            log.error("批量保存通知日志失败", e);
+            return false;
+        }
+    }
+
     // ==================== 其他操作 ====================
 
     @Override
     public List<ReconOrderMainDO> getPendingReconOrders(String dateStr, int offset, int limit) {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
-            String sql = dialectFactory.getDialect().getPendingReconOrdersSql(tableName, offset, limit);
-            return jdbcTemplate.query(sql, new OrderMainRowMapper());
+            String sql = dialectFactory.getDialect().getPendingReconOrdersSql(tableName,
+                    OrderMainSweepRowMapper.COLUMNS, offset, limit);
+            return jdbcTemplate.query(sql, new OrderMainSweepRowMapper());
         } catch (Exception e) {
             log.error("查询待核账订单失败，日期: {}", dateStr, e);
             return Collections.emptyList();
         }
     }
 
+    @Override
+    public List<ReconOrderMainDO> getPendingReconOrdersAfter(String dateStr, LocalDateTime lastCreateTime, Long lastId,
+            int partitionIndex, int partitionCount, int limit) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            LocalDateTime start = LocalDate.parse(dateStr).atStartOfDay();
+            boolean partitioned = partitionCount > 1;
+            boolean hasCursor = lastCreateTime != null && lastId != null;
+            String sql = dialectFactory.getDialect().getPendingReconOrdersByCursorSql(tableName,
+                    OrderMainSweepRowMapper.COLUMNS, partitioned, hasCursor, limit);
+            List<Object> args = new ArrayList<>(7);
+            args.add(start);
+            args.add(start.plusDays(1));
+            if (partitioned) {
+                args.add(partitionCount);
+                args.add(partitionIndex);
+            }
+            if (hasCursor) {
+                args.add(lastCreateTime);
+                args.add(lastCreateTime);
+                args.add(lastId);
+            }
+            return jdbcTemplate.query(sql, new OrderMainSweepRowMapper(), args.toArray());
+        } catch (Exception e) {
+            log.error("游标查询待核账订单失败，日期: {}, 分区: {}/{}", dateStr, partitionIndex, partitionCount, e);
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public boolean updateReconStatus(String orderNo, ReconStatusEnum reconStatus) {
         try {
+            if (summaryEnabled()) {
+                return !transitionReconStatus(Collections.singletonList(orderNo), null, reconStatus).isEmpty();
+            }
             String tableName = properties.getTablePrefix() + "order_main";
             String sql = dialectFactory.getDialect().getUpdateReconStatusSql(tableName);
             int rows = jdbcTemplate.update(sql, reconStatus.getCode(), LocalDateTime.now(), orderNo);
@@ -383,6 +628,35 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public boolean batchUpdateReconStatus(Collection<String> orderNos, ReconStatusEnum reconStatus) {
+        if (orderNos == null || orderNos.isEmpty()) {
+            return true;
+        }
+        try {
+            if (summaryEnabled()) {
+                transitionReconStatus(orderNos, null, reconStatus);
+                return true;
+            }
+            String tableName = properties.getTablePrefix() + "order_main";
+            LocalDateTime now = LocalDateTime.now();
+            for (List<String> chunk : partition(new ArrayList<>(orderNos))) {
+                String sql = "UPDATE " + tableName
+                        + " SET recon_status = ?, version = version + 1, update_time = ? WHERE order_no IN ("
+                        + placeholders(chunk.size()) + ")";
+                List<Object> args = new ArrayList<>(chunk.size() + 2);
+                args.add(reconStatus.getCode());
+                args.add(now);
+                args.addAll(chunk);
+                jdbcTemplate.update(sql, args.toArray());
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("批量更新对账状态失败，订单数: {}", orderNos.size(), e);
+            return false;
+        }
+    }
+
     /**
      * 更新订单的主对账通知状态
      *
@@ -396,7 +670,7 @@ public class JdbcReconRepository implements ReconRepository {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
             String sql = "UPDATE " + tableName
-                    + " SET notify_status = ?, notify_result = ?, update_time = ? WHERE order_no = ?";
+                    + " SET notify_status = ?, notify_result = ?, version = version + 1, update_time = ? WHERE order_no = ?";
             int rows = jdbcTemplate.update(sql, notifyStatus, notifyResult, LocalDateTime.now(), orderNo);
             return rows > 0;
         } catch (Exception e) {
@@ -405,6 +679,71 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public boolean compareAndUpdateReconStatus(String orderNo, ReconStatusEnum reconStatus, long expectedVersion) {
+        try {
+            if (summaryEnabled()) {
+                return !transitionReconStatus(Collections.singletonList(orderNo),
+                        Collections.singletonMap(orderNo, expectedVersion), reconStatus).isEmpty();
+            }
+            String tableName = properties.getTablePrefix() + "order_main";
+            String sql = "UPDATE " + tableName
+                    + " SET recon_status = ?, version = version + 1, update_time = ? WHERE order_no = ? AND version = ?";
+            int rows = jdbcTemplate.update(sql, reconStatus.getCode(), LocalDateTime.now(), orderNo, expectedVersion);
+            return rows > 0;
+        } catch (Exception e) {
+            log.error("比较并更新对账状态失败，订单号: {}", orderNo, e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<String> batchCompareAndUpdateReconStatus(Collection<ReconOrderMainDO> orders,
+            ReconStatusEnum reconStatus) {
+        if (orders == null || orders.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            Map<String, Long> expectedVersions = new TreeMap<>();
+            for (ReconOrderMainDO order : orders) {
+                expectedVersions.put(order.getOrderNo(), order.getVersion() != null ? order.getVersion() : 0L);
+            }
+            if (summaryEnabled()) {
+                return transitionReconStatus(expectedVersions.keySet(), expectedVersions, reconStatus);
+            }
+            // 未启用日汇总时无需读取迁移前状态，不加锁，直接按版本号批量比较更新
+            String tableName = properties.getTablePrefix() + "order_main";
+            List<String> changed = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (List<String> chunk : partition(new ArrayList<>(expectedVersions.keySet()))) {
+                Map<String, Long> versions = new TreeMap<>();
+                chunk.forEach(orderNo -> versions.put(orderNo, expectedVersions.get(orderNo)));
+                changed.addAll(compareAndUpdateReconStatusBatch(tableName, versions, reconStatus, now));
+            }
+            return changed;
+        } catch (Exception e) {
+            log.error("批量比较并更新对账状态失败，订单数: {}", orders.size(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public boolean compareAndUpdateNotifyStatus(String orderNo, int notifyStatus, String notifyResult,
+            long expectedVersion) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            String sql = "UPDATE " + tableName
+                    + " SET notify_status = ?, notify_result = ?, version = version + 1, update_time = ?"
+                    + " WHERE order_no = ? AND version = ?";
+            int rows = jdbcTemplate.update(sql, notifyStatus, notifyResult, LocalDateTime.now(), orderNo,
+                    expectedVersion);
+            return rows > 0;
+        } catch (Exception e) {
+            log.error("比较并更新通知状态失败，订单号: {}", orderNo, e);
+            return false;
+        }
+    }
+
     @Override
     public boolean updateSplitDetailNotifyStatus(String orderNo, String merchantId, int notifyStatus,
             String notifyResult) {
@@ -420,6 +759,152 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public int applySplitNotify(String orderNo, String merchantId, int notifyStatus, String notifyResult) {
+        try {
+            String mainTable = properties.getTablePrefix() + "order_main";
+            ReconDatabaseDialect dialect = dialectFactory.getDialect();
+            Integer remaining = null;
+            if (merchantId != null) {
+                String sql = dialect.getApplySplitNotifySql(mainTable,
+                        properties.getTablePrefix() + "order_split_detail");
+                boolean success = notifyStatus == NotifyStatusEnum.SUCCESS.getCode();
+                LocalDateTime now = LocalDateTime.now();
+                // 成功通知：仅迁移原状态非成功的明细，每行计数减一
+                // 非成功通知：原状态为成功的明细每行计数加一，否则仅刷新明细
+                remaining = transitionSplitNotify(dialect, sql, orderNo, merchantId, notifyStatus, notifyResult, now,
+                        success ? -1 : 1, !success);
+                if (remaining == null && !success) {
+                    remaining = transitionSplitNotify(dialect, sql, orderNo, merchantId, notifyStatus, notifyResult,
+                            now, 0, false);
+                }
+            }
+            if (remaining == null) {
+                String sql = "SELECT pending_notify_count FROM " + mainTable + " WHERE order_no = ?";
+                remaining = jdbcTemplate.queryForObject(sql, Integer.class, orderNo);
+            }
+            return remaining != null ? remaining : -1;
+        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
+            return -1;
+        } catch (Exception e) {
+            log.error("应用分账通知失败，订单号: {}，商户号: {}", orderNo, merchantId, e);
+            return -1;
+        }
+    }
+
+    @Override
+    public int batchApplySplitNotify(String orderNo, List<ReconNotifyLogDO> notifies) {
+        try {
+            return applySplitNotifies(orderNo, notifies);
+        } catch (Exception e) {
+            log.error("批量应用分账通知失败，订单号: {}", orderNo, e);
+            return -1;
+        }
+    }
+
+    /**
+     * 在同一事务中迁移分账明细通知状态，并按实际迁移的明细行数调整主订单待通知计数，计数归零时同时标记全部通知成功
+     *
+     * @return 剩余待通知数，主订单不存在时返回 -1
+     */
+    private int applySplitNotifies(String orderNo, List<ReconNotifyLogDO> notifies) {
+        String mainTable = properties.getTablePrefix() + "order_main";
+        String detailTable = properties.getTablePrefix() + "order_split_detail";
+        Integer remaining = transactionOperations.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int delta = 0;
+            boolean exact = true;
+            if (notifies != null && !notifies.isEmpty()) {
+                String sql = "UPDATE " + detailTable
+                        + " SET notify_status = ?, notify_result = ?, update_time = ? WHERE order_no = ? AND merchant_id = ?"
+                        + " AND (CASE WHEN notify_status = 1 THEN 1 ELSE 0 END) = ?";
+                List<Object[]> batchArgs = new ArrayList<>(notifies.size());
+                List<Integer> deltas = new ArrayList<>(notifies.size());
+                for (ReconNotifyLogDO notify : notifies) {
+                    int notifyStatus = notify.getNotifyStatus();
+                    boolean success = notifyStatus == NotifyStatusEnum.SUCCESS.getCode();
+                    // 成功通知：仅迁移原状态非成功的明细，每行计数减一
+                    // 非成功通知：原状态为成功的明细每行计数加一，随后刷新仍非成功的明细
+                    batchArgs.add(new Object[] { notifyStatus, notify.getNotifyResult(), now, orderNo,
+                            notify.getMerchantId(), success ? 0 : 1 });
+                    deltas.add(success ? -1 : 1);
+                    if (!success) {
+                        batchArgs.add(new Object[] { notifyStatus, notify.getNotifyResult(), now, orderNo,
+                                notify.getMerchantId(), 0 });
+                        deltas.add(0);
+                    }
+                }
+                int[] counts = jdbcTemplate.batchUpdate(sql, batchArgs);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                        exact = false;
+                    } else if (counts[i] > 0) {
+                        delta += deltas.get(i) * counts[i];
+                    }
+                }
+            }
+            if (!exact) {
+                // 驱动未返回逐条影响行数时按明细重算计数
+                String sql = "UPDATE " + mainTable + " SET pending_notify_count = (SELECT COUNT(*) FROM " + detailTable
+                        + " d WHERE d.order_no = ? AND d.notify_status <> 1), version = version + 1, update_time = ?"
+                        + " WHERE order_no = ?";
+                jdbcTemplate.update(sql, orderNo, now, orderNo);
+            } else if (delta != 0) {
+                // 通知状态的赋值读取的是调整前的计数，计数由正数归零时同时标记全部通知成功
+                String allNotified = "pending_notify_count > 0 AND pending_notify_count + ? = 0";
+                String sql = "UPDATE " + mainTable
+                        + " SET notify_status = CASE WHEN " + allNotified + " THEN 1 ELSE notify_status END,"
+                        + " notify_result = CASE WHEN " + allNotified + " THEN ? ELSE notify_result END,"
+                        + " pending_notify_count = pending_notify_count + ?, version = version + 1, update_time = ?"
+                        + " WHERE order_no = ?";
+                jdbcTemplate.update(sql, delta, delta, ALL_NOTIFIED_RESULT, delta, now, orderNo);
+            }
+            // 主订单不存在不视为错误，避免加入调用方事务时将其标记为仅回滚
+            String sql = "SELECT pending_notify_count FROM " + mainTable + " WHERE order_no = ?";
+            List<Integer> rows = jdbcTemplate.queryForList(sql, Integer.class, orderNo);
+            return rows.isEmpty() ? null : rows.get(0);
+        });
+        return remaining != null ? remaining : -1;
+    }
+
+    /**
+     * 以单条语句执行一次分账通知状态迁移
+     * <p>
+     * 支持 RETURNING 时作为查询读取剩余待通知数；否则作为更新执行，从自增键读取剩余待通知数加一，
+     * 驱动未返回自增键时再读取一次计数
+     *
+     * @return 迁移成功时返回剩余待通知数；未迁移返回 null
+     */
+    private Integer transitionSplitNotify(ReconDatabaseDialect dialect, String sql, String orderNo,
+            String merchantId, int notifyStatus, String notifyResult, LocalDateTime now, int delta,
+            boolean wasSuccess) {
+        Object[] args = { notifyStatus, notifyResult, now, delta, now, ALL_NOTIFIED_RESULT, orderNo, merchantId,
+                wasSuccess ? 1 : 0 };
+        if (dialect.supportsUpdateReturning()) {
+            List<Integer> rows = jdbcTemplate.queryForList(sql, Integer.class, args);
+            return rows.isEmpty() ? null : rows.get(0);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int rows = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, keyHolder);
+        if (rows == 0) {
+            return null;
+        }
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (!keys.isEmpty() && !keys.get(0).isEmpty()) {
+            Object key = keys.get(0).values().iterator().next();
+            if (key instanceof Number && ((Number) key).longValue() > 0) {
+                return ((Number) key).intValue() - 1;
+            }
+        }
+        String countSql = "SELECT pending_notify_count FROM " + properties.getTablePrefix() + "order_main"
+                + " WHERE order_no = ?";
+        return jdbcTemplate.queryForObject(countSql, Integer.class, orderNo);
+    }
+
     @Override
     public boolean isAllSplitSubNotified(String orderNo) {
         try {
@@ -479,6 +964,28 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public Map<String, Integer> getReconStatusesByOrderNos(Collection<String> orderNos) {
+        Map<String, Integer> result = new HashMap<>();
+        if (orderNos == null || orderNos.isEmpty()) {
+            return result;
+        }
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            for (List<String> chunk : partition(new ArrayList<>(new LinkedHashSet<>(orderNos)))) {
+                String sql = "SELECT order_no, recon_status FROM " + tableName + " WHERE order_no IN ("
+                        + placeholders(chunk.size()) + ")";
+                jdbcTemplate.query(sql, rs -> {
+                    result.put(rs.getString(1), rs.getInt(2));
+                }, chunk.toArray());
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("批量查询对账状态失败，订单数: {}", orderNos.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
     // ==================== 新增查询方法 ====================
 
     @Override
@@ -486,25 +993,20 @@ public class JdbcReconRepository implements ReconRepository {
             int limit) {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
-            StringBuilder sql = new StringBuilder(
-                    "SELECT * FROM " + tableName + " WHERE DATE(create_time) = CAST(? AS DATE)");
+            String sql = dialectFactory.getDialect().getSelectOrderMainByDateSql(tableName,
+                    OrderMainRowMapper.COLUMNS, reconStatus != null);
 
             // 构建参数
             List<Object> params = new ArrayList<>();
-            params.add(dateStr);
-
-            // 添加对账状态条件
+            params.add(dayStart(dateStr));
+            params.add(nextDayStart(dateStr));
             if (reconStatus != null) {
-                sql.append(" AND recon_status = ?");
                 params.add(reconStatus.getCode());
             }
-
-            // 添加排序和分页
-            sql.append(" ORDER BY create_time DESC LIMIT ? OFFSET ?");
             params.add(limit);
             params.add(offset);
 
-            return jdbcTemplate.query(sql.toString(), new OrderMainRowMapper(), params.toArray());
+            return jdbcTemplate.query(sql, new OrderMainRowMapper(), params.toArray());
         } catch (Exception e) {
             log.error("根据日期查询对账订单失败，日期: {}", dateStr, e);
             return Collections.emptyList();
@@ -516,7 +1018,7 @@ public class JdbcReconRepository implements ReconRepository {
             Integer exceptionStep, int offset, int limit) {
         try {
             String tableName = properties.getTablePrefix() + "exception";
-            StringBuilder sql = new StringBuilder("SELECT * FROM " + tableName);
+            StringBuilder sql = new StringBuilder("SELECT " + ExceptionRowMapper.COLUMNS + " FROM " + tableName);
 
             // 添加条件
             java.util.List<Object> params = new java.util.ArrayList<>();
@@ -535,8 +1037,8 @@ public class JdbcReconRepository implements ReconRepository {
                     sql.append(" WHERE");
                     hasWhere = true;
                 }
-                sql.append(" DATE(create_time) >= CAST(? AS DATE)");
-                params.add(startDate);
+                sql.append(" create_time >= ?");
+                params.add(dayStart(startDate));
             }
 
             if (endDate != null && !endDate.isEmpty()) {
@@ -546,8 +1048,8 @@ public class JdbcReconRepository implements ReconRepository {
                     sql.append(" WHERE");
                     hasWhere = true;
                 }
-                sql.append(" DATE(create_time) <= CAST(? AS DATE)");
-                params.add(endDate);
+                sql.append(" create_time < ?");
+                params.add(nextDayStart(endDate));
             }
 
             if (exceptionStep != null) {
@@ -574,11 +1076,85 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public List<ReconOrderMainDO> getOrderMainByDateBefore(String dateStr, ReconStatusEnum reconStatus,
+            LocalDateTime lastCreateTime, Long lastId, int limit) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            StringBuilder sql = new StringBuilder(
+                    "SELECT " + OrderMainRowMapper.COLUMNS + " FROM " + tableName
+                            + " WHERE create_time >= ? AND create_time < ?");
+            List<Object> params = new ArrayList<>(7);
+            params.add(dayStart(dateStr));
+            params.add(nextDayStart(dateStr));
+            if (reconStatus != null) {
+                sql.append(" AND recon_status = ?");
+                params.add(reconStatus.getCode());
+            }
+            appendKeysetBefore(sql, params, lastCreateTime, lastId);
+            sql.append(" ORDER BY create_time DESC, id DESC LIMIT ?");
+            params.add(limit);
+            return jdbcTemplate.query(sql.toString(), new OrderMainRowMapper(), params.toArray());
+        } catch (Exception e) {
+            log.error("按游标查询对账订单失败，日期: {}", dateStr, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<ReconExceptionDO> getExceptionRecordsBefore(String merchantId, String startDate, String endDate,
+            Integer exceptionStep, LocalDateTime lastCreateTime, Long lastId, int limit) {
+        try {
+            String tableName = properties.getTablePrefix() + "exception";
+            StringBuilder sql = new StringBuilder(
+                    "SELECT " + ExceptionRowMapper.COLUMNS + " FROM " + tableName + " WHERE 1 = 1");
+            List<Object> params = new ArrayList<>(8);
+            if (merchantId != null && !merchantId.isEmpty()) {
+                sql.append(" AND merchant_id = ?");
+                params.add(merchantId);
+            }
+            if (startDate != null && !startDate.isEmpty()) {
+                sql.append(" AND create_time >= ?");
+                params.add(dayStart(startDate));
+            }
+            if (endDate != null && !endDate.isEmpty()) {
+                sql.append(" AND create_time < ?");
+                params.add(nextDayStart(endDate));
+            }
+            if (exceptionStep != null) {
+                sql.append(" AND exception_step = ?");
+                params.add(exceptionStep);
+            }
+            appendKeysetBefore(sql, params, lastCreateTime, lastId);
+            sql.append(" ORDER BY create_time DESC, id DESC LIMIT ?");
+            params.add(limit);
+            return jdbcTemplate.query(sql.toString(), new ExceptionRowMapper(), params.toArray());
+        } catch (Exception e) {
+            log.error("按游标查询对账异常记录失败", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 追加 (create_time, id) 倒序游标条件，首页不追加
+     */
+    private void appendKeysetBefore(StringBuilder sql, List<Object> params, LocalDateTime lastCreateTime,
+            Long lastId) {
+        if (lastCreateTime == null || lastId == null) {
+            return;
+        }
+        sql.append(" AND ").append(dialectFactory.getDialect().getCreateTimeKeysetBeforeCondition());
+        params.add(lastCreateTime);
+        params.add(lastCreateTime);
+        params.add(lastId);
+    }
+
     @Override
     public List<ReconExceptionDO> getExceptionsByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "exception";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ? ORDER BY create_time DESC";
+            String sql = "SELECT " + ExceptionRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ? ORDER BY create_time DESC";
             return jdbcTemplate.query(sql, new ExceptionRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("根据订单号查询对账异常记录列表失败，订单号: {}", orderNo, e);
@@ -591,50 +1167,341 @@ public class JdbcReconRepository implements ReconRepository {
     @Override
     public ReconSummaryDO getReconSummary(String dateStr) {
         try {
-            String tableName = properties.getTablePrefix() + "order_main";
-            // 聚合查询
-            String sql = "SELECT " +
-                    "COUNT(*) as total_orders, " +
-                    "SUM(CASE WHEN recon_status = 1 THEN 1 ELSE 0 END) as success_count, " +
-                    "SUM(CASE WHEN recon_status = 2 THEN 1 ELSE 0 END) as fail_count, " +
-                    "SUM(CASE WHEN recon_status = 0 THEN 1 ELSE 0 END) as init_count, " +
-                    "SUM(pay_amount) as total_amount " +
-                    "FROM " + tableName + " " +
-                    "WHERE DATE(create_time) = CAST(? AS DATE)";
-
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                ReconSummaryDO summary = new ReconSummaryDO();
-                summary.setSummaryDate(java.time.LocalDate.parse(dateStr));
-                summary.setTotalOrders(rs.getInt("total_orders"));
-                summary.setSuccessCount(rs.getInt("success_count"));
-                summary.setFailCount(rs.getInt("fail_count"));
-                summary.setInitCount(rs.getInt("init_count"));
-                summary.setTotalAmount(rs.getBigDecimal("total_amount"));
-                if (summary.getTotalAmount() == null) {
-                    summary.setTotalAmount(BigDecimal.ZERO);
-                }
-                return summary;
-            }, dateStr);
+            if (!summaryEnabled()) {
+                return aggregateReconSummary(LocalDate.parse(dateStr));
+            }
+            String tableName = properties.getTablePrefix() + "summary";
+            String sql = "SELECT " + SummaryRowMapper.COLUMNS + " FROM " + tableName + " WHERE summary_date = ?";
+            List<ReconSummaryDO> rows = jdbcTemplate.query(sql, new SummaryRowMapper(), LocalDate.parse(dateStr));
+            if (!rows.isEmpty()) {
+                return rows.get(0);
+            }
+            // 尚无汇总的日期（如启用日汇总之前的历史日期）按主订单表实时统计，查询不写汇总表，由重建任务回填
+            return aggregateReconSummary(LocalDate.parse(dateStr));
         } catch (Exception e) {
             log.error("查询对账统计数据失败，日期: {}", dateStr, e);
             return null;
         }
     }
 
-    // ==================== 退款操作 ====================
-
     @Override
-    public boolean batchSaveOrderRefundDetail(List<ReconOrderRefundDetailDO> refundDetailDOs) {
-        if (refundDetailDOs == null || refundDetailDOs.isEmpty()) {
+    public boolean rebuildReconSummary(String dateStr) {
+        try {
+            rebuildSummary(LocalDate.parse(dateStr));
             return true;
+        } catch (Exception e) {
+            log.error("重建对账日汇总失败，日期: {}", dateStr, e);
+            return false;
         }
+    }
 
-        try {
-            String tableName = properties.getTablePrefix() + "order_refund_detail";
-            String sql = "INSERT INTO " + tableName
-                    + " (order_no, merchant_id, refund_split_amount, refund_split_amount_fen, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?)";
+    // ==================== 对账日汇总维护 ====================
 
-            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+    /**
+     * 按主订单表统计指定日期的汇总并覆盖持久化日汇总
+     * <p>
+     * 先以零增量锁定当日汇总行再聚合：并发写入的增量在覆盖提交后才能累加，聚合之后提交的增量不会被覆盖丢失
+     */
+    private void rebuildSummary(LocalDate summaryDate) {
+        String tableName = properties.getTablePrefix() + "summary";
+        ReconDatabaseDialect dialect = dialectFactory.getDialect();
+        transactionOperations.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(dialect.getMergeReconSummarySql(tableName, true), summaryDate, 0, 0, 0, 0, 0L, now);
+            ReconSummaryDO summary = aggregateReconSummary(summaryDate);
+            jdbcTemplate.update(dialect.getMergeReconSummarySql(tableName, false), summaryDate,
+                    summary.getTotalOrders(), summary.getSuccessCount(), summary.getFailCount(),
+                    summary.getInitCount(), summary.getTotalAmountFen(), now);
+        });
+    }
+
+    /**
+     * 按创建时间半开区间 [当日 0 点, 次日 0 点) 聚合主订单表，可使用 create_time 索引
+     */
+    private ReconSummaryDO aggregateReconSummary(LocalDate summaryDate) {
+        String tableName = properties.getTablePrefix() + "order_main";
+        String sql = "SELECT " +
+                "COUNT(*) as total_orders, " +
+                "SUM(CASE WHEN recon_status = 1 THEN 1 ELSE 0 END) as success_count, " +
+                "SUM(CASE WHEN recon_status = 2 THEN 1 ELSE 0 END) as fail_count, " +
+                "SUM(CASE WHEN recon_status = 0 THEN 1 ELSE 0 END) as init_count, " +
+                "SUM(pay_amount) as total_amount " +
+                "FROM " + tableName + " " +
+                "WHERE create_time >= ? AND create_time < ?";
+
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            ReconSummaryDO summary = new ReconSummaryDO();
+            summary.setSummaryDate(summaryDate);
+            summary.setTotalOrders(rs.getInt("total_orders"));
+            summary.setSuccessCount(rs.getInt("success_count"));
+            summary.setFailCount(rs.getInt("fail_count"));
+            summary.setInitCount(rs.getInt("init_count"));
+            summary.setTotalAmount(rs.getBigDecimal("total_amount"));
+            if (summary.getTotalAmount() == null) {
+                summary.setTotalAmount(BigDecimal.ZERO);
+            }
+            return summary;
+        }, summaryDate.atStartOfDay(), summaryDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * 迁移一批主订单的对账状态，并在同一事务中按锁定的迁移前状态维护日汇总
+     * <p>
+     * 先锁定订单再比较版本号；比较版本号时以批量更新的影响行数确定实际迁移的订单，只为这些订单调整汇总
+     *
+     * @param orderNos         订单号
+     * @param expectedVersions 各订单期望的版本号，为 null 时不比较版本
+     * @param reconStatus      目标对账状态
+     * @return 实际迁移的订单号
+     */
+    private List<String> transitionReconStatus(Collection<String> orderNos, Map<String, Long> expectedVersions,
+            ReconStatusEnum reconStatus) {
+        String tableName = properties.getTablePrefix() + "order_main";
+        List<String> changed = transactionOperations.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> transitioned = new ArrayList<>();
+            for (List<String> chunk : partition(new ArrayList<>(new TreeSet<>(orderNos)))) {
+                List<SummarySnapshot> matched = lockOrderMainSnapshots(chunk).values().stream()
+                        .filter(snapshot -> expectedVersions == null
+                                || Long.valueOf(snapshot.version).equals(expectedVersions.get(snapshot.orderNo)))
+                        .collect(Collectors.toList());
+                if (matched.isEmpty()) {
+                    continue;
+                }
+                if (expectedVersions != null) {
+                    // 未开启事务时锁在读取后即释放，以实际更新的行为准
+                    Map<String, Long> versions = new TreeMap<>();
+                    matched.forEach(snapshot -> versions.put(snapshot.orderNo, snapshot.version));
+                    Set<String> updated = compareAndUpdateReconStatusBatch(tableName, versions, reconStatus, now);
+                    matched = matched.stream().filter(snapshot -> updated.contains(snapshot.orderNo))
+                            .collect(Collectors.toList());
+                } else {
+                    String sql = "UPDATE " + tableName
+                            + " SET recon_status = ?, version = version + 1, update_time = ? WHERE order_no IN ("
+                            + placeholders(matched.size()) + ")";
+                    List<Object> args = new ArrayList<>(matched.size() + 2);
+                    args.add(reconStatus.getCode());
+                    args.add(now);
+                    matched.forEach(snapshot -> args.add(snapshot.orderNo));
+                    jdbcTemplate.update(sql, args.toArray());
+                }
+                applySummaryTransitions(matched, reconStatus);
+                matched.forEach(snapshot -> transitioned.add(snapshot.orderNo));
+            }
+            return transitioned;
+        });
+        return changed != null ? changed : Collections.emptyList();
+    }
+
+    /**
+     * 按订单号与期望版本号批量比较更新对账状态
+     * <p>
+     * 以逐条影响行数确定实际更新的订单；驱动返回 SUCCESS_NO_INFO 时重新查询，
+     * 状态已为目标状态且版本号恰好加一的订单视为本次更新
+     *
+     * @param tableName        主订单表名
+     * @param expectedVersions 订单号 -> 期望版本号
+     * @param reconStatus      目标对账状态
+     * @param now              更新时间
+     * @return 实际更新的订单号
+     */
+    private Set<String> compareAndUpdateReconStatusBatch(String tableName, Map<String, Long> expectedVersions,
+            ReconStatusEnum reconStatus, LocalDateTime now) {
+        String sql = "UPDATE " + tableName
+                + " SET recon_status = ?, version = version + 1, update_time = ? WHERE order_no = ? AND version = ?";
+        List<String> orderNos = new ArrayList<>(expectedVersions.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(orderNos.size());
+        for (String orderNo : orderNos) {
+            batchArgs.add(new Object[] { reconStatus.getCode(), now, orderNo, expectedVersions.get(orderNo) });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(sql, batchArgs);
+        Set<String> updated = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (int i = 0; i < orderNos.size(); i++) {
+            if (i >= counts.length || counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(orderNos.get(i));
+            } else if (counts[i] > 0) {
+                updated.add(orderNos.get(i));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            String query = "SELECT order_no, recon_status, version FROM " + tableName + " WHERE order_no IN ("
+                    + placeholders(unknown.size()) + ")";
+            jdbcTemplate.query(query, rs -> {
+                String orderNo = rs.getString(1);
+                if (rs.getInt(2) == reconStatus.getCode() && rs.getLong(3) == expectedVersions.get(orderNo) + 1) {
+                    updated.add(orderNo);
+                }
+            }, unknown.toArray());
+        }
+        return updated;
+    }
+
+    /**
+     * 锁定一批主订单并读取参与日汇总的字段，需在事务中调用；按订单号顺序加锁，避免并发事务之间死锁
+     */
+    private Map<String, SummarySnapshot> lockOrderMainSnapshots(Collection<String> orderNos) {
+        if (orderNos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String tableName = properties.getTablePrefix() + "order_main";
+        Map<String, SummarySnapshot> snapshots = new HashMap<>();
+        for (List<String> chunk : partition(new ArrayList<>(new TreeSet<>(orderNos)))) {
+            String sql = "SELECT order_no, recon_status, pay_amount, create_time, version FROM " + tableName
+                    + " WHERE order_no IN (" + placeholders(chunk.size()) + ") ORDER BY order_no FOR UPDATE";
+            for (SummarySnapshot snapshot : jdbcTemplate.query(sql, (rs, rowNum) -> new SummarySnapshot(
+                    rs.getString(1),
+                    summaryDate(rs.getObject(4, LocalDateTime.class)),
+                    rs.getInt(2),
+                    MoneyCodec.toFenOrZero(rs.getBigDecimal(3)),
+                    rs.getLong(5)), chunk.toArray())) {
+                snapshots.put(snapshot.orderNo, snapshot);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * 主订单写入（新增或覆盖）后维护日汇总：先扣除写入前的状态与金额，再计入写入后的状态与金额
+     */
+    private void applySummaryUpserts(Map<String, SummarySnapshot> before, List<ReconOrderMainDO> orderMainDOs) {
+        if (!summaryEnabled()) {
+            return;
+        }
+        Map<String, SummarySnapshot> current = new HashMap<>(before);
+        Map<LocalDate, SummaryDelta> deltas = new TreeMap<>();
+        for (ReconOrderMainDO orderMainDO : orderMainDOs) {
+            SummarySnapshot prior = current.get(orderMainDO.getOrderNo());
+            // 覆盖写入不修改 create_time，汇总日期沿用已有记录
+            LocalDate summaryDate = prior != null ? prior.summaryDate : summaryDate(orderMainDO.getCreateTime());
+            SummarySnapshot after = new SummarySnapshot(orderMainDO.getOrderNo(), summaryDate,
+                    orderMainDO.getReconStatus() != null ? orderMainDO.getReconStatus() : 0,
+                    MoneyCodec.toFenOrZero(orderMainDO.getPayAmount()), 0L);
+            if (prior != null) {
+                delta(deltas, prior).add(prior, -1);
+            }
+            delta(deltas, after).add(after, 1);
+            current.put(after.orderNo, after);
+        }
+        applySummaryDeltas(deltas);
+    }
+
+    /**
+     * 对账状态迁移后维护日汇总：原状态计数减一，目标状态计数加一
+     */
+    private void applySummaryTransitions(Collection<SummarySnapshot> before, ReconStatusEnum reconStatus) {
+        if (!summaryEnabled()) {
+            return;
+        }
+        Map<LocalDate, SummaryDelta> deltas = new TreeMap<>();
+        for (SummarySnapshot prior : before) {
+            if (prior.reconStatus == reconStatus.getCode()) {
+                continue;
+            }
+            SummaryDelta delta = delta(deltas, prior);
+            delta.add(prior, -1);
+            delta.add(new SummarySnapshot(prior.orderNo, prior.summaryDate, reconStatus.getCode(),
+                    prior.payAmountFen, prior.version), 1);
+        }
+        applySummaryDeltas(deltas);
+    }
+
+    /**
+     * 按日期升序累加汇总增量，固定加锁顺序避免并发事务之间死锁
+     * <p>
+     * 与主订单写入在同一事务中执行，汇总维护失败时异常向上抛出，主订单写入随之回滚
+     */
+    private void applySummaryDeltas(Map<LocalDate, SummaryDelta> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<LocalDate, SummaryDelta> entry : deltas.entrySet()) {
+            SummaryDelta delta = entry.getValue();
+            if (delta.isEmpty()) {
+                continue;
+            }
+            args.add(new Object[] { entry.getKey(), delta.totalOrders, delta.successCount, delta.failCount,
+                    delta.initCount, delta.totalAmountFen, now });
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+        String tableName = properties.getTablePrefix() + "summary";
+        jdbcTemplate.batchUpdate(dialectFactory.getDialect().getMergeReconSummarySql(tableName, true), args);
+    }
+
+    private boolean summaryEnabled() {
+        return properties.getSummary() != null && properties.getSummary().isEnabled();
+    }
+
+    private static SummaryDelta delta(Map<LocalDate, SummaryDelta> deltas, SummarySnapshot snapshot) {
+        return deltas.computeIfAbsent(snapshot.summaryDate, k -> new SummaryDelta());
+    }
+
+    private static LocalDate summaryDate(LocalDateTime createTime) {
+        return createTime != null ? createTime.toLocalDate() : LocalDate.now();
+    }
+
+    /**
+     * 主订单中参与日汇总的字段
+     */
+    private static final class SummarySnapshot {
+        private final String orderNo;
+        private final LocalDate summaryDate;
+        private final int reconStatus;
+        private final long payAmountFen;
+        private final long version;
+
+        private SummarySnapshot(String orderNo, LocalDate summaryDate, int reconStatus, long payAmountFen,
+                long version) {
+            this.orderNo = orderNo;
+            this.summaryDate = summaryDate;
+            this.reconStatus = reconStatus;
+            this.payAmountFen = payAmountFen;
+            this.version = version;
+        }
+    }
+
+    /**
+     * 单日汇总增量
+     */
+    private static final class SummaryDelta {
+        private long totalOrders;
+        private long successCount;
+        private long failCount;
+        private long initCount;
+        private long totalAmountFen;
+
+        private void add(SummarySnapshot snapshot, int sign) {
+            totalOrders += sign;
+            totalAmountFen += sign * snapshot.payAmountFen;
+            if (snapshot.reconStatus == ReconStatusEnum.SUCCESS.getCode()) {
+                successCount += sign;
+            } else if (snapshot.reconStatus == ReconStatusEnum.FAILURE.getCode()) {
+                failCount += sign;
+            } else if (snapshot.reconStatus == ReconStatusEnum.PENDING.getCode()) {
+                initCount += sign;
+            }
+        }
+
+        private boolean isEmpty() {
+            return totalOrders == 0 && successCount == 0 && failCount == 0 && initCount == 0 && totalAmountFen == 0;
+        }
+    }
+
+    // ==================== 退款操作 ====================
+
+    @Override
+    public boolean batchSaveOrderRefundDetail(List<ReconOrderRefundDetailDO> refundDetailDOs) {
+        if (refundDetailDOs == null || refundDetailDOs.isEmpty()) {
+            return true;
+        }
+
+        try {
+            String tableName = properties.getTablePrefix() + "order_refund_detail";
+            String sql = "INSERT INTO " + tableName
+                    + " (order_no, merchant_id, refund_split_amount, refund_split_amount_fen, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?)";
+
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
                 @Override
                 public void setValues(PreparedStatement ps, int i) throws SQLException {
                     ReconOrderRefundDetailDO subDO = refundDetailDOs.get(i);
@@ -674,7 +1541,7 @@ public class JdbcReconRepository implements ReconRepository {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
             String sql = "UPDATE " + tableName
-                    + " SET refund_status = ?, refund_amount = ?, refund_amount_fen = ?, refund_time = ?, update_time = ? WHERE order_no = ?";
+                    + " SET refund_status = ?, refund_amount = ?, refund_amount_fen = ?, refund_time = ?, version = version + 1, update_time = ? WHERE order_no = ?";
 
             int rows = jdbcTemplate.update(sql,
                     orderMainDO.getRefundStatus(),
@@ -690,11 +1557,87 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    @Override
+    public boolean compareAndUpdateReconRefundStatus(ReconOrderMainDO orderMainDO) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            String sql = "UPDATE " + tableName
+                    + " SET refund_status = ?, refund_amount = ?, refund_amount_fen = ?, refund_time = ?, version = version + 1, update_time = ?"
+                    + " WHERE order_no = ? AND version = ?";
+            int rows = jdbcTemplate.update(sql,
+                    orderMainDO.getRefundStatus(),
+                    orderMainDO.getRefundAmount(),
+                    orderMainDO.getRefundAmountFen(),
+                    orderMainDO.getRefundTime(),
+                    LocalDateTime.now(),
+                    orderMainDO.getOrderNo(),
+                    orderMainDO.getVersion() != null ? orderMainDO.getVersion() : 0L);
+            return rows > 0;
+        } catch (Exception e) {
+            log.error("比较并更新退款对账状态失败，订单号: {}", orderMainDO.getOrderNo(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public ReconOrderDetailDO getOrderDetail(String orderNo) {
+        try {
+            String prefix = properties.getTablePrefix();
+            return jdbcTemplate.execute((ConnectionCallback<ReconOrderDetailDO>) connection -> {
+                List<ReconOrderMainDO> mains = queryByOrderNo(connection,
+                        "SELECT " + OrderMainRowMapper.COLUMNS + " FROM " + prefix + "order_main WHERE order_no = ?",
+                        new OrderMainRowMapper(), orderNo);
+                if (mains.isEmpty()) {
+                    return null;
+                }
+                ReconOrderDetailDO detail = new ReconOrderDetailDO();
+                detail.setOrderMain(mains.get(0));
+                detail.setOrderSubs(queryByOrderNo(connection,
+                        "SELECT " + OrderSubRowMapper.COLUMNS + " FROM " + prefix + "order_sub WHERE order_no = ?",
+                        new OrderSubRowMapper(), orderNo));
+                detail.setSplitDetails(queryByOrderNo(connection,
+                        "SELECT " + OrderSplitDetailRowMapper.COLUMNS + " FROM " + prefix
+                                + "order_split_detail WHERE order_no = ?",
+                        new OrderSplitDetailRowMapper(), orderNo));
+                detail.setRefundDetails(queryByOrderNo(connection,
+                        "SELECT " + OrderRefundDetailRowMapper.COLUMNS + " FROM " + prefix
+                                + "order_refund_detail WHERE order_no = ?",
+                        new OrderRefundDetailRowMapper(), orderNo));
+                detail.setNotifyLogs(queryByOrderNo(connection,
+                        "SELECT " + NotifyLogRowMapper.COLUMNS + " FROM " + prefix
+                                + "notify_log WHERE order_no = ? ORDER BY create_time DESC",
+                        new NotifyLogRowMapper(), orderNo));
+                detail.setExceptions(queryByOrderNo(connection,
+                        "SELECT " + ExceptionRowMapper.COLUMNS + " FROM " + prefix
+                                + "exception WHERE order_no = ? ORDER BY create_time DESC",
+                        new ExceptionRowMapper(), orderNo));
+                return detail;
+            });
+        } catch (Exception e) {
+            log.error("查询订单详情失败，订单号: {}", orderNo, e);
+            return null;
+        }
+    }
+
+    /**
+     * 在给定连接上执行按订单号过滤的查询
+     */
+    private static <T> List<T> queryByOrderNo(Connection connection, String sql, RowMapper<T> rowMapper,
+            String orderNo) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, orderNo);
+            try (ResultSet rs = ps.executeQuery()) {
+                return new RowMapperResultSetExtractor<>(rowMapper).extractData(rs);
+            }
+        }
+    }
+
     @Override
     public List<ReconOrderRefundDetailDO> getOrderRefundDetailByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "order_refund_detail";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ?";
+            String sql = "SELECT " + OrderRefundDetailRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ?";
             return jdbcTemplate.query(sql, new OrderRefundDetailRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("查询退款事实明细失败，订单号: {}", orderNo, e);
@@ -730,7 +1673,7 @@ public class JdbcReconRepository implements ReconRepository {
     public ReconRuleDO getReconRuleById(Long id) {
         try {
             String tableName = properties.getTablePrefix() + "rule";
-            String sql = "SELECT * FROM " + tableName + " WHERE id = ?";
+            String sql = "SELECT " + ReconRuleRowMapper.COLUMNS + " FROM " + tableName + " WHERE id = ?";
             return jdbcTemplate.queryForObject(sql, new ReconRuleRowMapper(), id);
         } catch (Exception e) {
             log.error("根据 ID 查询对账规则失败，ID: {}", id, e);
@@ -742,7 +1685,7 @@ public class JdbcReconRepository implements ReconRepository {
     public ReconRuleDO getReconRuleByName(String ruleName) {
         try {
             String tableName = properties.getTablePrefix() + "rule";
-            String sql = "SELECT * FROM " + tableName + " WHERE rule_name = ?";
+            String sql = "SELECT " + ReconRuleRowMapper.COLUMNS + " FROM " + tableName + " WHERE rule_name = ?";
             return jdbcTemplate.queryForObject(sql, new ReconRuleRowMapper(), ruleName);
         } catch (Exception e) {
             log.error("根据规则名称查询对账规则失败，规则名称: {}", ruleName, e);
@@ -754,7 +1697,7 @@ public class JdbcReconRepository implements ReconRepository {
     public List<ReconRuleDO> getEnabledReconRules() {
         try {
             String tableName = properties.getTablePrefix() + "rule";
-            String sql = "SELECT * FROM " + tableName + " WHERE status = 1";
+            String sql = "SELECT " + ReconRuleRowMapper.COLUMNS + " FROM " + tableName + " WHERE status = 1";
             return jdbcTemplate.query(sql, new ReconRuleRowMapper());
         } catch (Exception e) {
             log.error("查询启用的对账规则失败", e);
@@ -766,7 +1709,8 @@ public class JdbcReconRepository implements ReconRepository {
     public List<ReconRuleDO> getReconRules(int offset, int limit) {
         try {
             String tableName = properties.getTablePrefix() + "rule";
-            String sql = "SELECT * FROM " + tableName + " ORDER BY create_time DESC LIMIT ? OFFSET ?";
+            String sql = "SELECT " + ReconRuleRowMapper.COLUMNS + " FROM " + tableName
+                    + " ORDER BY create_time DESC LIMIT ? OFFSET ?";
             return jdbcTemplate.query(sql, new ReconRuleRowMapper(), limit, offset);
         } catch (Exception e) {
             log.error("查询对账规则列表失败", e);
@@ -815,20 +1759,17 @@ public class JdbcReconRepository implements ReconRepository {
     public long countOrderMainByDate(String dateStr, ReconStatusEnum reconStatus) {
         try {
             String tableName = properties.getTablePrefix() + "order_main";
-            StringBuilder sql = new StringBuilder(
-                    "SELECT COUNT(*) FROM " + tableName + " WHERE DATE(create_time) = CAST(? AS DATE)");
+            String sql = dialectFactory.getDialect().getCountOrderMainByDateSql(tableName, reconStatus != null);
 
             // 构建参数
             List<Object> params = new ArrayList<>();
-            params.add(dateStr);
-
-            // 添加对账状态条件
+            params.add(dayStart(dateStr));
+            params.add(nextDayStart(dateStr));
             if (reconStatus != null) {
-                sql.append(" AND recon_status = ?");
                 params.add(reconStatus.getCode());
             }
 
-            Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
+            Long count = jdbcTemplate.queryForObject(sql, Long.class, params.toArray());
             return count != null ? count : 0;
         } catch (Exception e) {
             log.error("统计日期对账订单数量失败", e);
@@ -856,7 +1797,7 @@ public class JdbcReconRepository implements ReconRepository {
                     sql.append(" WHERE");
                     hasWhere = true;
                 }
-                sql.append(" DATE(create_time) >= CAST(? AS DATE)");
+                sql.append(" create_time >= ?");
             }
 
             if (endDate != null && !endDate.isEmpty()) {
@@ -866,7 +1807,7 @@ public class JdbcReconRepository implements ReconRepository {
                     sql.append(" WHERE");
                     hasWhere = true;
                 }
-                sql.append(" DATE(create_time) <= CAST(? AS DATE)");
+                sql.append(" create_time < ?");
             }
 
             if (exceptionStep != null) {
@@ -884,10 +1825,10 @@ public class JdbcReconRepository implements ReconRepository {
                 params.add(merchantId);
             }
             if (startDate != null && !startDate.isEmpty()) {
-                params.add(startDate);
+                params.add(dayStart(startDate));
             }
             if (endDate != null && !endDate.isEmpty()) {
-                params.add(endDate);
+                params.add(nextDayStart(endDate));
             }
             if (exceptionStep != null) {
                 params.add(exceptionStep);
@@ -905,7 +1846,8 @@ public class JdbcReconRepository implements ReconRepository {
     public List<ReconNotifyLogDO> getNotifyLogsByOrderNo(String orderNo) {
         try {
             String tableName = properties.getTablePrefix() + "notify_log";
-            String sql = "SELECT * FROM " + tableName + " WHERE order_no = ? ORDER BY create_time DESC";
+            String sql = "SELECT " + NotifyLogRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE order_no = ? ORDER BY create_time DESC";
             return jdbcTemplate.query(sql, new NotifyLogRowMapper(), orderNo);
         } catch (Exception e) {
             log.error("根据订单号查询通知日志失败，订单号: {}", orderNo, e);
@@ -913,158 +1855,555 @@ public class JdbcReconRepository implements ReconRepository {
         }
     }
 
+    // ==================== 分片租约 ====================
+
+    @Override
+    public boolean tryAcquireShardLease(String jobName, LocalDate bizDate, int shardIndex, int shardCount,
+            String owner, long leaseSeconds) {
+        try {
+            String tableName = properties.getTablePrefix() + "shard_lease";
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+            // 1. 首个节点直接插入租约
+            String insertSql = dialectFactory.getDialect().getInsertShardLeaseSql(tableName);
+            int inserted = jdbcTemplate.update(insertSql, jobName, bizDate, shardIndex, shardCount, owner, leaseUntil,
+                    ShardLeaseStatus.RUNNING, now, now);
+            if (inserted > 0) {
+                return true;
+            }
+            // 2. 租约已存在时，仅在到期后接管；未完成释放的租约按状态判定，不受时间列精度舍入影响，可立即接管
+            String updateSql = "UPDATE " + tableName
+                    + " SET owner = ?, shard_count = ?, lease_until = ?, status = ?, update_time = ?"
+                    + " WHERE job_name = ? AND biz_date = ? AND shard_index = ?"
+                    + " AND (lease_until <= ? OR status = ?)";
+            return jdbcTemplate.update(updateSql, owner, shardCount, leaseUntil, ShardLeaseStatus.RUNNING, now,
+                    jobName, bizDate, shardIndex, now, ShardLeaseStatus.RELEASED) > 0;
+        } catch (Exception e) {
+            log.error("抢占分片租约失败，任务: {}, 日期: {}, 分片: {}", jobName, bizDate, shardIndex, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean renewShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner,
+            long leaseSeconds) {
+        try {
+            String tableName = properties.getTablePrefix() + "shard_lease";
+            LocalDateTime now = LocalDateTime.now();
+            String sql = "UPDATE " + tableName + " SET lease_until = ?, update_time = ?"
+                    + " WHERE job_name = ? AND biz_date = ? AND shard_index = ? AND owner = ? AND status = ?";
+            return jdbcTemplate.update(sql, now.plusSeconds(leaseSeconds), now, jobName, bizDate, shardIndex, owner,
+                    ShardLeaseStatus.RUNNING) > 0;
+        } catch (Exception e) {
+            log.error("续期分片租约失败，任务: {}, 日期: {}, 分片: {}", jobName, bizDate, shardIndex, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean releaseShardLease(String jobName, LocalDate bizDate, int shardIndex, String owner,
+            boolean completed, long holdSeconds) {
+        try {
+            String tableName = properties.getTablePrefix() + "shard_lease";
+            LocalDateTime now = LocalDateTime.now();
+            String sql = "UPDATE " + tableName + " SET lease_until = ?, status = ?, update_time = ?"
+                    + " WHERE job_name = ? AND biz_date = ? AND shard_index = ? AND owner = ?";
+            return jdbcTemplate.update(sql, completed ? now.plusSeconds(holdSeconds) : now,
+                    completed ? ShardLeaseStatus.COMPLETED : ShardLeaseStatus.RELEASED, now, jobName, bizDate,
+                    shardIndex, owner) > 0;
+        } catch (Exception e) {
+            log.error("释放分片租约失败，任务: {}, 日期: {}, 分片: {}", jobName, bizDate, shardIndex, e);
+            return false;
+        }
+    }
+
+    /**
+     * 分片租约状态码
+     */
+    private static final class ShardLeaseStatus {
+        private static final int RUNNING = 0;
+        private static final int COMPLETED = 1;
+        private static final int RELEASED = 2;
+    }
+
+    // ==================== 增量水位 ====================
+
+    @Override
+    public List<ReconOrderMainDO> getPendingReconOrdersUpdatedAfter(LocalDateTime lastUpdateTime, Long lastId,
+            LocalDateTime upperBound, int limit) {
+        try {
+            String tableName = properties.getTablePrefix() + "order_main";
+            boolean hasCursor = lastUpdateTime != null && lastId != null;
+            String sql = dialectFactory.getDialect().getPendingReconOrdersByUpdateTimeSql(tableName,
+                    OrderMainSweepRowMapper.COLUMNS, hasCursor, limit);
+            List<Object> args = new ArrayList<>(4);
+            args.add(upperBound);
+            if (hasCursor) {
+                args.add(lastUpdateTime);
+                args.add(lastUpdateTime);
+                args.add(lastId);
+            }
+            return jdbcTemplate.query(sql, new OrderMainSweepRowMapper(), args.toArray());
+        } catch (Exception e) {
+            log.error("按水位查询待核账订单失败，水位: ({}, {})", lastUpdateTime, lastId, e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public ReconJobWatermarkDO getJobWatermark(String jobName) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_watermark";
+            String sql = "SELECT " + JobWatermarkRowMapper.COLUMNS + " FROM " + tableName + " WHERE job_name = ?";
+            List<ReconJobWatermarkDO> list = jdbcTemplate.query(sql, new JobWatermarkRowMapper(), jobName);
+            return list.isEmpty() ? null : list.get(0);
+        } catch (Exception e) {
+            log.error("查询任务水位失败，任务: {}", jobName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean saveJobWatermark(String jobName, LocalDateTime watermarkTime, Long watermarkId) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_watermark";
+            String sql = dialectFactory.getDialect().getUpsertJobWatermarkSql(tableName);
+            return jdbcTemplate.update(sql, jobName, watermarkTime, watermarkId, LocalDateTime.now()) > 0;
+        } catch (Exception e) {
+            log.error("保存任务水位失败，任务: {}", jobName, e);
+            return false;
+        }
+    }
+
+    // ==================== 任务运行记录 ====================
+
+    @Override
+    public ReconJobRunDO findResumableJobRun(String jobName, LocalDate bizDate, int partitionIndex,
+            int partitionCount) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            String sql = "SELECT " + JobRunRowMapper.COLUMNS + " FROM " + tableName
+                    + " WHERE job_name = ? AND biz_date = ? AND partition_count = ? AND partition_index = ?"
+                    + " AND status IN (?, ?) ORDER BY id DESC LIMIT 1";
+            List<ReconJobRunDO> list = jdbcTemplate.query(sql, new JobRunRowMapper(), jobName, bizDate,
+                    partitionCount, partitionIndex, ReconJobRunDO.STATUS_RUNNING, ReconJobRunDO.STATUS_INTERRUPTED);
+            return list.isEmpty() ? null : list.get(0);
+        } catch (Exception e) {
+            log.error("查询可续跑的运行记录失败，任务: {}, 日期: {}, 分区: {}/{}", jobName, bizDate, partitionIndex,
+                    partitionCount, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean saveJobRun(ReconJobRunDO jobRunDO) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            LocalDateTime now = LocalDateTime.now();
+            String sql = "INSERT INTO " + tableName + " (run_id, job_name, biz_date, partition_index, partition_count,"
+                    + " owner, status, cursor_create_time, cursor_id, processed_count, succeeded_count, failed_count,"
+                    + " start_time, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            return jdbcTemplate.update(sql, jobRunDO.getRunId(), jobRunDO.getJobName(), jobRunDO.getBizDate(),
+                    jobRunDO.getPartitionIndex(), jobRunDO.getPartitionCount(), jobRunDO.getOwner(),
+                    jobRunDO.getStatus(), jobRunDO.getCursorCreateTime(), jobRunDO.getCursorId(),
+                    jobRunDO.getProcessedCount(), jobRunDO.getSucceededCount(), jobRunDO.getFailedCount(),
+                    jobRunDO.getStartTime(), now, now) > 0;
+        } catch (Exception e) {
+            log.error("保存运行记录失败，运行 ID: {}", jobRunDO.getRunId(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean claimJobRun(String runId, String expectedOwner, String owner, LocalDateTime staleBefore) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            // 运行中的记录仍在按页提交游标时属于存活节点，不可接管
+            String sql = "UPDATE " + tableName + " SET owner = ?, status = ?, update_time = ?"
+                    + " WHERE run_id = ? AND owner = ?"
+                    + " AND (status = ? OR (status = ? AND update_time < ?))";
+            return jdbcTemplate.update(sql, owner, ReconJobRunDO.STATUS_RUNNING, LocalDateTime.now(), runId,
+                    expectedOwner, ReconJobRunDO.STATUS_INTERRUPTED, ReconJobRunDO.STATUS_RUNNING,
+                    staleBefore) > 0;
+        } catch (Exception e) {
+            log.error("接管运行记录失败，运行 ID: {}", runId, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean updateJobRunCheckpoint(ReconJobRunDO jobRunDO) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            String sql = "UPDATE " + tableName + " SET cursor_create_time = ?, cursor_id = ?, processed_count = ?,"
+                    + " succeeded_count = ?, failed_count = ?, update_time = ? WHERE run_id = ? AND owner = ?";
+            return jdbcTemplate.update(sql, jobRunDO.getCursorCreateTime(), jobRunDO.getCursorId(),
+                    jobRunDO.getProcessedCount(), jobRunDO.getSucceededCount(), jobRunDO.getFailedCount(),
+                    LocalDateTime.now(), jobRunDO.getRunId(), jobRunDO.getOwner()) > 0;
+        } catch (Exception e) {
+            log.error("提交运行记录游标失败，运行 ID: {}", jobRunDO.getRunId(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean finishJobRun(ReconJobRunDO jobRunDO) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            String sql = "UPDATE " + tableName + " SET status = ?, cursor_create_time = ?, cursor_id = ?,"
+                    + " processed_count = ?, succeeded_count = ?, failed_count = ?, end_time = ?, duration_ms = ?,"
+                    + " update_time = ? WHERE run_id = ? AND owner = ?";
+            return jdbcTemplate.update(sql, jobRunDO.getStatus(), jobRunDO.getCursorCreateTime(),
+                    jobRunDO.getCursorId(), jobRunDO.getProcessedCount(), jobRunDO.getSucceededCount(),
+                    jobRunDO.getFailedCount(), jobRunDO.getEndTime(), jobRunDO.getDurationMs(), LocalDateTime.now(),
+                    jobRunDO.getRunId(), jobRunDO.getOwner()) > 0;
+        } catch (Exception e) {
+            log.error("结束运行记录失败，运行 ID: {}", jobRunDO.getRunId(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<ReconJobRunDO> listJobRuns(String jobName, String startDate, String endDate, int limit) {
+        try {
+            String tableName = properties.getTablePrefix() + "job_run";
+            StringBuilder sql = new StringBuilder(
+                    "SELECT " + JobRunRowMapper.COLUMNS + " FROM " + tableName + " WHERE 1 = 1");
+            List<Object> params = new ArrayList<>();
+            if (jobName != null && !jobName.isEmpty()) {
+                sql.append(" AND job_name = ?");
+                params.add(jobName);
+            }
+            if (startDate != null && !startDate.isEmpty()) {
+                sql.append(" AND biz_date >= ?");
+                params.add(LocalDate.parse(startDate));
+            }
+            if (endDate != null && !endDate.isEmpty()) {
+                sql.append(" AND biz_date <= ?");
+                params.add(LocalDate.parse(endDate));
+            }
+            sql.append(" ORDER BY start_time DESC, id DESC LIMIT ?");
+            params.add(limit);
+            return jdbcTemplate.query(sql.toString(), new JobRunRowMapper(), params.toArray());
+        } catch (Exception e) {
+            log.error("查询运行记录失败，任务: {}", jobName, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 按 IN 列表上限切分订单号
+     */
+    private static List<List<String>> partition(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>((values.size() + IN_CLAUSE_LIMIT - 1) / IN_CLAUSE_LIMIT);
+        for (int i = 0; i < values.size(); i += IN_CLAUSE_LIMIT) {
+            chunks.add(values.subList(i, Math.min(i + IN_CLAUSE_LIMIT, values.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 业务日期起点，与 {@link #nextDayStart(String)} 组成半开区间 [当日 0 点, 次日 0 点)
+     * <p>
+     * 按日期过滤时直接比较 create_time 而不是 DATE(create_time)，以便命中 create_time 前缀的索引
+     */
+    private static LocalDateTime dayStart(String dateStr) {
+        return LocalDate.parse(dateStr).atStartOfDay();
+    }
+
+    /**
+     * 业务日期次日起点（不含）
+     */
+    private static LocalDateTime nextDayStart(String dateStr) {
+        return LocalDate.parse(dateStr).plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * 生成 IN 列表占位符，如 "?, ?, ?"
+     */
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
     // ==================== RowMapper ====================
 
-    private static class OrderMainRowMapper implements RowMapper<ReconOrderMainDO> {
+    /**
+     * 定时核账扫描用的主订单投影：金额、业务状态与游标字段，不读取 notify_result 与退款字段
+     * <p>
+     * 所有 RowMapper 按下标读取，列顺序与 COLUMNS 一致，查询时必须使用对应的 COLUMNS 作为列清单
+     */
+    private static class OrderMainSweepRowMapper implements RowMapper<ReconOrderMainDO> {
+        static final String COLUMNS = "id, order_no, pay_amount, pay_amount_fen, platform_income, "
+                + "platform_income_fen, pay_fee, pay_fee_fen, split_total_amount, split_total_amount_fen, "
+                + "pay_status, split_status, notify_status, pending_notify_count, version, recon_status, "
+                + "create_time, update_time";
+
         @Override
         public ReconOrderMainDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconOrderMainDO order = new ReconOrderMainDO();
-            order.setOrderNo(rs.getString("order_no"));
-            order.setPayAmount(rs.getBigDecimal("pay_amount"));
-            order.setPayAmountFen(rs.getObject("pay_amount_fen", Long.class));
-            order.setPlatformIncome(rs.getBigDecimal("platform_income"));
-            order.setPlatformIncomeFen(rs.getObject("platform_income_fen", Long.class));
-            order.setPayFee(rs.getBigDecimal("pay_fee"));
-            order.setPayFeeFen(rs.getObject("pay_fee_fen", Long.class));
-            order.setSplitTotalAmount(rs.getBigDecimal("split_total_amount"));
-            order.setSplitTotalAmountFen(rs.getObject("split_total_amount_fen", Long.class));
-            order.setPayStatus(rs.getInt("pay_status"));
-            order.setSplitStatus(rs.getInt("split_status"));
-            order.setNotifyStatus(rs.getInt("notify_status"));
-            order.setNotifyResult(rs.getString("notify_result"));
-            order.setReconStatus(rs.getInt("recon_status"));
-            order.setRefundStatus(rs.getObject("refund_status", Integer.class));
-            order.setRefundAmount(rs.getBigDecimal("refund_amount"));
-            order.setRefundAmountFen(rs.getObject("refund_amount_fen", Long.class));
-            order.setRefundTime(rs.getObject("refund_time", LocalDateTime.class));
-            order.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            order.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            order.setId(rs.getLong(1));
+            order.setOrderNo(rs.getString(2));
+            order.setPayAmount(rs.getBigDecimal(3));
+            order.setPayAmountFen(rs.getObject(4, Long.class));
+            order.setPlatformIncome(rs.getBigDecimal(5));
+            order.setPlatformIncomeFen(rs.getObject(6, Long.class));
+            order.setPayFee(rs.getBigDecimal(7));
+            order.setPayFeeFen(rs.getObject(8, Long.class));
+            order.setSplitTotalAmount(rs.getBigDecimal(9));
+            order.setSplitTotalAmountFen(rs.getObject(10, Long.class));
+            order.setPayStatus(rs.getInt(11));
+            order.setSplitStatus(rs.getInt(12));
+            order.setNotifyStatus(rs.getInt(13));
+            order.setPendingNotifyCount(rs.getInt(14));
+            order.setVersion(rs.getLong(15));
+            order.setReconStatus(rs.getInt(16));
+            order.setCreateTime(rs.getObject(17, LocalDateTime.class));
+            order.setUpdateTime(rs.getObject(18, LocalDateTime.class));
+            return order;
+        }
+    }
+
+    private static class OrderMainRowMapper extends OrderMainSweepRowMapper {
+        static final String COLUMNS = OrderMainSweepRowMapper.COLUMNS
+                + ", notify_result, refund_status, refund_amount, refund_amount_fen, refund_time";
+
+        @Override
+        public ReconOrderMainDO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            ReconOrderMainDO order = super.mapRow(rs, rowNum);
+            order.setNotifyResult(rs.getString(19));
+            order.setRefundStatus(rs.getObject(20, Integer.class));
+            order.setRefundAmount(rs.getBigDecimal(21));
+            order.setRefundAmountFen(rs.getObject(22, Long.class));
+            order.setRefundTime(rs.getObject(23, LocalDateTime.class));
             return order;
         }
     }
 
     private static class OrderSubRowMapper implements RowMapper<ReconOrderSubDO> {
+        static final String COLUMNS = "id, order_no, sub_order_no, merchant_order_no, merchant_id, order_amount, "
+                + "order_amount_fen, split_amount, split_amount_fen, fee, fee_fen, split_ratio, create_time, "
+                + "update_time";
+
         @Override
         public ReconOrderSubDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconOrderSubDO sub = new ReconOrderSubDO();
-            sub.setId(rs.getLong("id"));
-            sub.setOrderNo(rs.getString("order_no"));
-            sub.setSubOrderNo(rs.getString("sub_order_no"));
-            sub.setMerchantOrderNo(rs.getString("merchant_order_no"));
-            sub.setMerchantId(rs.getString("merchant_id"));
-            sub.setOrderAmount(rs.getBigDecimal("order_amount"));
-            sub.setOrderAmountFen(rs.getObject("order_amount_fen", Long.class));
-            sub.setSplitAmount(rs.getBigDecimal("split_amount"));
-            sub.setSplitAmountFen(rs.getObject("split_amount_fen", Long.class));
-            sub.setFee(rs.getBigDecimal("fee"));
-            sub.setFeeFen(rs.getObject("fee_fen", Long.class));
-            sub.setSplitRatio(rs.getObject("split_ratio", Integer.class));
-            sub.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            sub.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            sub.setId(rs.getLong(1));
+            sub.setOrderNo(rs.getString(2));
+            sub.setSubOrderNo(rs.getString(3));
+            sub.setMerchantOrderNo(rs.getString(4));
+            sub.setMerchantId(rs.getString(5));
+            sub.setOrderAmount(rs.getBigDecimal(6));
+            sub.setOrderAmountFen(rs.getObject(7, Long.class));
+            sub.setSplitAmount(rs.getBigDecimal(8));
+            sub.setSplitAmountFen(rs.getObject(9, Long.class));
+            sub.setFee(rs.getBigDecimal(10));
+            sub.setFeeFen(rs.getObject(11, Long.class));
+            sub.setSplitRatio(rs.getObject(12, Integer.class));
+            sub.setCreateTime(rs.getObject(13, LocalDateTime.class));
+            sub.setUpdateTime(rs.getObject(14, LocalDateTime.class));
             return sub;
         }
     }
 
-    private static class OrderSplitDetailRowMapper implements RowMapper<ReconOrderSplitDetailDO> {
+    /**
+     * 金额校验用的分账明细投影：商户、金额与到账方式，不读取通知状态与 notify_result
+     */
+    private static class OrderSplitAmountRowMapper implements RowMapper<ReconOrderSplitDetailDO> {
+        static final String COLUMNS = "id, order_no, merchant_id, split_amount, split_amount_fen, arrival_amount, "
+                + "arrival_amount_fen, split_fee, split_fee_fen, settlement_type";
+
         @Override
         public ReconOrderSplitDetailDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconOrderSplitDetailDO sub = new ReconOrderSplitDetailDO();
-            sub.setId(rs.getLong("id"));
-            sub.setOrderNo(rs.getString("order_no"));
-            sub.setMerchantId(rs.getString("merchant_id"));
-            sub.setSplitAmount(rs.getBigDecimal("split_amount"));
-            sub.setSplitAmountFen(rs.getObject("split_amount_fen", Long.class));
-            sub.setArrivalAmount(rs.getBigDecimal("arrival_amount"));
-            sub.setArrivalAmountFen(rs.getObject("arrival_amount_fen", Long.class));
-            sub.setSplitFee(rs.getBigDecimal("split_fee"));
-            sub.setSplitFeeFen(rs.getObject("split_fee_fen", Long.class));
-            sub.setNotifyStatus(rs.getInt("notify_status"));
-            sub.setNotifyResult(rs.getString("notify_result"));
-            sub.setSettlementType(rs.getInt("settlement_type"));
-            sub.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            sub.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            sub.setId(rs.getLong(1));
+            sub.setOrderNo(rs.getString(2));
+            sub.setMerchantId(rs.getString(3));
+            sub.setSplitAmount(rs.getBigDecimal(4));
+            sub.setSplitAmountFen(rs.getObject(5, Long.class));
+            sub.setArrivalAmount(rs.getBigDecimal(6));
+            sub.setArrivalAmountFen(rs.getObject(7, Long.class));
+            sub.setSplitFee(rs.getBigDecimal(8));
+            sub.setSplitFeeFen(rs.getObject(9, Long.class));
+            sub.setSettlementType(rs.getInt(10));
+            return sub;
+        }
+    }
+
+    private static class OrderSplitDetailRowMapper extends OrderSplitAmountRowMapper {
+        static final String COLUMNS = OrderSplitAmountRowMapper.COLUMNS
+                + ", notify_status, notify_result, create_time, update_time";
+
+        @Override
+        public ReconOrderSplitDetailDO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            ReconOrderSplitDetailDO sub = super.mapRow(rs, rowNum);
+            sub.setNotifyStatus(rs.getInt(11));
+            sub.setNotifyResult(rs.getString(12));
+            sub.setCreateTime(rs.getObject(13, LocalDateTime.class));
+            sub.setUpdateTime(rs.getObject(14, LocalDateTime.class));
             return sub;
         }
     }
 
     private static class OrderRefundDetailRowMapper implements RowMapper<ReconOrderRefundDetailDO> {
+        static final String COLUMNS = "id, order_no, merchant_id, refund_split_amount, refund_split_amount_fen, "
+                + "create_time, update_time";
+
         @Override
         public ReconOrderRefundDetailDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconOrderRefundDetailDO sub = new ReconOrderRefundDetailDO();
-            sub.setId(rs.getLong("id"));
-            sub.setOrderNo(rs.getString("order_no"));
-            sub.setMerchantId(rs.getString("merchant_id"));
-            sub.setRefundSplitAmount(rs.getBigDecimal("refund_split_amount"));
-            sub.setRefundSplitAmountFen(rs.getObject("refund_split_amount_fen", Long.class));
-            sub.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            sub.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            sub.setId(rs.getLong(1));
+            sub.setOrderNo(rs.getString(2));
+            sub.setMerchantId(rs.getString(3));
+            sub.setRefundSplitAmount(rs.getBigDecimal(4));
+            sub.setRefundSplitAmountFen(rs.getObject(5, Long.class));
+            sub.setCreateTime(rs.getObject(6, LocalDateTime.class));
+            sub.setUpdateTime(rs.getObject(7, LocalDateTime.class));
             return sub;
         }
     }
 
     private static class ExceptionRowMapper implements RowMapper<ReconExceptionDO> {
+        static final String COLUMNS = "id, order_no, merchant_id, exception_msg, exception_step, create_time, "
+                + "update_time";
+
         @Override
         public ReconExceptionDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconExceptionDO exception = new ReconExceptionDO();
-            exception.setId(rs.getLong("id"));
-            exception.setOrderNo(rs.getString("order_no"));
-            exception.setMerchantId(rs.getString("merchant_id"));
-            exception.setExceptionMsg(rs.getString("exception_msg"));
-            exception.setExceptionStep(rs.getInt("exception_step"));
-            exception.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            exception.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            exception.setId(rs.getLong(1));
+            exception.setOrderNo(rs.getString(2));
+            exception.setMerchantId(rs.getString(3));
+            exception.setExceptionMsg(rs.getString(4));
+            exception.setExceptionStep(rs.getInt(5));
+            exception.setCreateTime(rs.getObject(6, LocalDateTime.class));
+            exception.setUpdateTime(rs.getObject(7, LocalDateTime.class));
             return exception;
         }
     }
 
     private static class ReconRuleRowMapper implements RowMapper<ReconRuleDO> {
+        static final String COLUMNS = "id, rule_name, rule_type, rule_expression, rule_desc, status, create_time, "
+                + "update_time";
+
         @Override
         public ReconRuleDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconRuleDO rule = new ReconRuleDO();
-            rule.setId(rs.getLong("id"));
-            rule.setRuleName(rs.getString("rule_name"));
-            rule.setRuleType(rs.getInt("rule_type"));
-            rule.setRuleExpression(rs.getString("rule_expression"));
-            rule.setRuleDesc(rs.getString("rule_desc"));
-            rule.setStatus(rs.getInt("status"));
-            rule.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            rule.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            rule.setId(rs.getLong(1));
+            rule.setRuleName(rs.getString(2));
+            rule.setRuleType(rs.getInt(3));
+            rule.setRuleExpression(rs.getString(4));
+            rule.setRuleDesc(rs.getString(5));
+            rule.setStatus(rs.getInt(6));
+            rule.setCreateTime(rs.getObject(7, LocalDateTime.class));
+            rule.setUpdateTime(rs.getObject(8, LocalDateTime.class));
             return rule;
         }
     }
 
     private static class NotifyLogRowMapper implements RowMapper<ReconNotifyLogDO> {
+        static final String COLUMNS = "id, order_no, sub_order_no, merchant_id, notify_url, notify_status, "
+                + "notify_result, create_time, update_time";
+
         @Override
         public ReconNotifyLogDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconNotifyLogDO log = new ReconNotifyLogDO();
-            log.setId(rs.getLong("id"));
-            log.setOrderNo(rs.getString("order_no"));
-            log.setSubOrderNo(rs.getString("sub_order_no"));
-            log.setMerchantId(rs.getString("merchant_id"));
-            log.setNotifyUrl(rs.getString("notify_url"));
-            log.setNotifyStatus(rs.getInt("notify_status"));
-            log.setNotifyResult(rs.getString("notify_result"));
-            log.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            log.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            log.setId(rs.getLong(1));
+            log.setOrderNo(rs.getString(2));
+            log.setSubOrderNo(rs.getString(3));
+            log.setMerchantId(rs.getString(4));
+            log.setNotifyUrl(rs.getString(5));
+            log.setNotifyStatus(rs.getInt(6));
+            log.setNotifyResult(rs.getString(7));
+            log.setCreateTime(rs.getObject(8, LocalDateTime.class));
+            log.setUpdateTime(rs.getObject(9, LocalDateTime.class));
             return log;
         }
     }
 
+    private static class JobRunRowMapper implements RowMapper<ReconJobRunDO> {
+        static final String COLUMNS = "id, run_id, job_name, biz_date, partition_index, partition_count, owner, "
+                + "status, cursor_create_time, cursor_id, processed_count, succeeded_count, failed_count, "
+                + "start_time, end_time, duration_ms, create_time, update_time";
+
+        @Override
+        public ReconJobRunDO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            ReconJobRunDO run = new ReconJobRunDO();
+            run.setId(rs.getLong(1));
+            run.setRunId(rs.getString(2));
+            run.setJobName(rs.getString(3));
+            run.setBizDate(rs.getObject(4, LocalDate.class));
+            run.setPartitionIndex(rs.getInt(5));
+            run.setPartitionCount(rs.getInt(6));
+            run.setOwner(rs.getString(7));
+            run.setStatus(rs.getInt(8));
+            run.setCursorCreateTime(rs.getObject(9, LocalDateTime.class));
+            run.setCursorId(rs.getObject(10, Long.class));
+            run.setProcessedCount(rs.getLong(11));
+            run.setSucceededCount(rs.getLong(12));
+            run.setFailedCount(rs.getLong(13));
+            run.setStartTime(rs.getObject(14, LocalDateTime.class));
+            run.setEndTime(rs.getObject(15, LocalDateTime.class));
+            run.setDurationMs(rs.getObject(16, Long.class));
+            run.setCreateTime(rs.getObject(17, LocalDateTime.class));
+            run.setUpdateTime(rs.getObject(18, LocalDateTime.class));
+            return run;
+        }
+    }
+
+    private static class JobWatermarkRowMapper implements RowMapper<ReconJobWatermarkDO> {
+        static final String COLUMNS = "job_name, watermark_time, watermark_id, update_time";
+
+        @Override
+        public ReconJobWatermarkDO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            ReconJobWatermarkDO watermark = new ReconJobWatermarkDO();
+            watermark.setJobName(rs.getString(1));
+            watermark.setWatermarkTime(rs.getObject(2, LocalDateTime.class));
+            watermark.setWatermarkId(rs.getLong(3));
+            watermark.setUpdateTime(rs.getObject(4, LocalDateTime.class));
+            return watermark;
+        }
+    }
+
+    private static class SummaryRowMapper implements RowMapper<ReconSummaryDO> {
+        static final String COLUMNS = "summary_date, total_orders, success_count, fail_count, init_count, "
+                + "total_amount_fen";
+
+        @Override
+        public ReconSummaryDO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            ReconSummaryDO summary = new ReconSummaryDO();
+            summary.setSummaryDate(rs.getObject(1, LocalDate.class));
+            summary.setTotalOrders(rs.getInt(2));
+            summary.setSuccessCount(rs.getInt(3));
+            summary.setFailCount(rs.getInt(4));
+            summary.setInitCount(rs.getInt(5));
+            summary.setTotalAmountFen(rs.getLong(6));
+            return summary;
+        }
+    }
+
     private static class MerchantSettlementRowMapper implements RowMapper<ReconOrderMerchantSettlementDO> {
+        static final String COLUMNS = "id, order_no, merchant_id, settlement_type, order_amount_fen, "
+                + "split_amount_fen, split_fee_fen, arrival_amount_fen, create_time, update_time";
+
         @Override
         public ReconOrderMerchantSettlementDO mapRow(ResultSet rs, int rowNum) throws SQLException {
             ReconOrderMerchantSettlementDO settle = new ReconOrderMerchantSettlementDO();
-            settle.setId(rs.getLong("id"));
-            settle.setOrderNo(rs.getString("order_no"));
-            settle.setMerchantId(rs.getString("merchant_id"));
-            settle.setSettlementType(
-                    tech.coffers.recon.api.enums.SettlementTypeEnum.fromCode(rs.getInt("settlement_type")));
-            settle.setOrderAmountFen(rs.getLong("order_amount_fen"));
-            settle.setSplitAmountFen(rs.getLong("split_amount_fen"));
-            settle.setSplitFeeFen(rs.getLong("split_fee_fen"));
-            settle.setArrivalAmountFen(rs.getLong("arrival_amount_fen"));
-            settle.setCreateTime(rs.getObject("create_time", LocalDateTime.class));
-            settle.setUpdateTime(rs.getObject("update_time", LocalDateTime.class));
+            settle.setId(rs.getLong(1));
+            settle.setOrderNo(rs.getString(2));
+            settle.setMerchantId(rs.getString(3));
+            settle.setSettlementType(tech.coffers.recon.api.enums.SettlementTypeEnum.fromCode(rs.getInt(4)));
+            settle.setOrderAmountFen(rs.getLong(5));
+            settle.setSplitAmountFen(rs.getLong(6));
+            settle.setSplitFeeFen(rs.getLong(7));
+            settle.setArrivalAmountFen(rs.getLong(8));
+            settle.setCreateTime(rs.getObject(9, LocalDateTime.class));
+            settle.setUpdateTime(rs.getObject(10, LocalDateTime.class));
             return settle;
         }
     }
@@ -0,0 +1,108 @@
+package tech.coffers.recon.util;
+
+import java.math.BigDecimal;
+
+/**
+ * 金额编解码工具 (元 &lt;-&gt; 分)
+ * <p>
+ * 元转分直接基于 BigDecimal 的非标度值与标度换算：仅平移小数点后按 long 放大，不做 BigDecimal 乘法，
+ * 也不构造 {@code new BigDecimal("100")} 这类中间对象；小数位超过两位的金额不再被静默截断，而是抛出
+ * {@link IllegalArgumentException}。分转元对常用区间内的金额复用缓存实例。
+ * </p>
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public final class MoneyCodec {
+
+    /**
+     * 元与分之间的小数位差
+     */
+    private static final int FEN_SCALE = 2;
+
+    /**
+     * 分转元缓存上限 (不含)，覆盖 0.00 ~ 99.99 元
+     */
+    private static final int YUAN_CACHE_SIZE = 10000;
+
+    private static final long[] POW10 = { 1L, 10L, 100L };
+
+    private static final BigDecimal[] YUAN_CACHE = new BigDecimal[YUAN_CACHE_SIZE];
+
+    private MoneyCodec() {
+    }
+
+    /**
+     * 元转分，空值返回 null
+     *
+     * @param yuan 金额 (元)
+     * @return 金额 (分)
+     * @throws IllegalArgumentException 小数位超过两位或超出 long 范围
+     */
+    public static Long toFen(BigDecimal yuan) {
+        return yuan == null ? null : toFenExact(yuan);
+    }
+
+    /**
+     * 元转分，空值按 0 处理
+     *
+     * @param yuan 金额 (元)
+     * @return 金额 (分)
+     * @throws IllegalArgumentException 小数位超过两位或超出 long 范围
+     */
+    public static long toFenOrZero(BigDecimal yuan) {
+        return yuan == null ? 0L : toFenExact(yuan);
+    }
+
+    /**
+     * 分转元，空值返回 null
+     *
+     * @param fen 金额 (分)
+     * @return 金额 (元，标度为 2)
+     */
+    public static BigDecimal toYuan(Long fen) {
+        return fen == null ? null : toYuan(fen.longValue());
+    }
+
+    /**
+     * 分转元
+     *
+     * @param fen 金额 (分)
+     * @return 金额 (元，标度为 2)
+     */
+    public static BigDecimal toYuan(long fen) {
+        if (fen < 0 || fen >= YUAN_CACHE_SIZE) {
+            return BigDecimal.valueOf(fen, FEN_SCALE);
+        }
+        int i = (int) fen;
+        BigDecimal cached = YUAN_CACHE[i];
+        if (cached == null) {
+            // BigDecimal 不可变，并发下重复创建并覆盖无副作用
+            cached = BigDecimal.valueOf(fen, FEN_SCALE);
+            YUAN_CACHE[i] = cached;
+        }
+        return cached;
+    }
+
+    private static long toFenExact(BigDecimal yuan) {
+        int scale = yuan.scale();
+        try {
+            if (scale >= 0 && scale <= FEN_SCALE) {
+                // 常见路径：平移标度得到以 1 元/角/分为单位的整数 (紧凑表示下不做数值运算)，再按 long 放大
+                long units = scale == 0 ? yuan.longValueExact() : yuan.scaleByPowerOfTen(scale).longValueExact();
+                return Math.multiplyExact(units, POW10[FEN_SCALE - scale]);
+            }
+            BigDecimal fen = yuan.scaleByPowerOfTen(FEN_SCALE);
+            if (fen.scale() > 0) {
+                fen = fen.stripTrailingZeros();
+                if (fen.scale() > 0) {
+                    throw new IllegalArgumentException("金额精度超过两位小数: " + yuan.toPlainString());
+                }
+            }
+            return fen.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("金额超出范围: " + yuan.toPlainString(), e);
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+-- Keyset index for the timing pending-order scan: recon_status = 0 AND create_time range ORDER BY create_time, id
+ALTER TABLE `easy_recon_order_main` ADD KEY `idx_main_pending_scan` (`recon_status`, `create_time`, `id`);
+-- idx_main_recon_status is a prefix of idx_main_pending_scan
+ALTER TABLE `easy_recon_order_main` DROP KEY `idx_main_recon_status`;
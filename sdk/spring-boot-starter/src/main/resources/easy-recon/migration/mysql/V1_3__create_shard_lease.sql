@@ -0,0 +1,15 @@
+-- Shard leases used to split one timing recon run across cluster nodes
+CREATE TABLE IF NOT EXISTS `easy_recon_shard_lease` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键 ID',
+  `job_name` VARCHAR(64) NOT NULL COMMENT '任务名称',
+  `biz_date` DATE NOT NULL COMMENT '业务日期',
+  `shard_index` INT NOT NULL COMMENT '分片序号',
+  `shard_count` INT NOT NULL COMMENT '分片总数',
+  `owner` VARCHAR(128) NOT NULL COMMENT '当前持有节点',
+  `lease_until` DATETIME(3) NOT NULL COMMENT '租约到期时间',
+  `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0=处理中，1=已完成，2=已释放',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_shard_lease` (`job_name`, `biz_date`, `shard_index`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='定时任务分片租约';
@@ -0,0 +1,25 @@
+-- Checkpointed history of timing recon runs, one row per partition per run
+CREATE TABLE IF NOT EXISTS `easy_recon_job_run` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键 ID',
+  `run_id` VARCHAR(64) NOT NULL COMMENT '运行 ID',
+  `job_name` VARCHAR(64) NOT NULL COMMENT '任务名称',
+  `biz_date` DATE NOT NULL COMMENT '业务日期',
+  `partition_index` INT NOT NULL COMMENT '分区序号',
+  `partition_count` INT NOT NULL COMMENT '分区总数',
+  `owner` VARCHAR(128) NOT NULL COMMENT '执行节点',
+  `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态：0=运行中，1=已完成，2=已中断',
+  `cursor_create_time` DATETIME(3) NULL COMMENT '最后提交的游标创建时间',
+  `cursor_id` BIGINT NULL COMMENT '最后提交的游标 ID',
+  `processed_count` BIGINT NOT NULL DEFAULT 0 COMMENT '已处理笔数',
+  `succeeded_count` BIGINT NOT NULL DEFAULT 0 COMMENT '核账成功笔数',
+  `failed_count` BIGINT NOT NULL DEFAULT 0 COMMENT '核账失败笔数',
+  `start_time` DATETIME(3) NOT NULL COMMENT '开始时间',
+  `end_time` DATETIME(3) NULL COMMENT '结束时间',
+  `duration_ms` BIGINT NULL COMMENT '耗时（毫秒）',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_job_run_id` (`run_id`),
+  KEY `idx_job_run_resume` (`job_name`, `biz_date`, `partition_count`, `partition_index`, `status`),
+  KEY `idx_job_run_start_time` (`start_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='定时任务运行记录';
@@ -0,0 +1,11 @@
+-- Watermark index for the continuous sweep: recon_status = 0 AND update_time range ORDER BY update_time, id
+ALTER TABLE `easy_recon_order_main` ADD KEY `idx_main_pending_update` (`recon_status`, `update_time`, `id`);
+
+-- Persisted (update_time, id) watermark per incremental job
+CREATE TABLE IF NOT EXISTS `easy_recon_job_watermark` (
+  `job_name` VARCHAR(64) NOT NULL COMMENT '任务名称',
+  `watermark_time` DATETIME(3) NOT NULL COMMENT '水位 update_time',
+  `watermark_id` BIGINT NOT NULL COMMENT '水位 id',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`job_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='增量任务水位';
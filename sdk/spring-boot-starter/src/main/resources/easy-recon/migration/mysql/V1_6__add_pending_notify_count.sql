@@ -0,0 +1,9 @@
+-- Outstanding split-detail notify counter maintained on the main order by the notify path
+ALTER TABLE `easy_recon_order_main` ADD COLUMN `pending_notify_count` INT NOT NULL DEFAULT 0 COMMENT '未通知成功的分账明细数' AFTER `notify_result`;
+
+-- Backfill from existing split details (notify_status 1 = 成功)
+UPDATE `easy_recon_order_main` m
+SET m.`pending_notify_count` = (
+  SELECT COUNT(*) FROM `easy_recon_order_split_detail` d
+  WHERE d.`order_no` = m.`order_no` AND d.`notify_status` <> 1
+);
@@ -0,0 +1,2 @@
+-- Optimistic version for compare-and-set status transitions on the main order
+ALTER TABLE `easy_recon_order_main` ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号，每次更新递增' AFTER `pending_notify_count`;
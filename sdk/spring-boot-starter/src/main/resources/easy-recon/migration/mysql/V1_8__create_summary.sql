@@ -0,0 +1,11 @@
+-- Daily recon summary keyed by order creation date, maintained incrementally on every recon_status transition
+CREATE TABLE IF NOT EXISTS `easy_recon_summary` (
+  `summary_date` DATE NOT NULL COMMENT '统计日期（订单创建日期）',
+  `total_orders` BIGINT NOT NULL DEFAULT 0 COMMENT '订单总数',
+  `success_count` BIGINT NOT NULL DEFAULT 0 COMMENT '对账成功订单数',
+  `fail_count` BIGINT NOT NULL DEFAULT 0 COMMENT '对账失败订单数',
+  `init_count` BIGINT NOT NULL DEFAULT 0 COMMENT '待对账订单数',
+  `total_amount_fen` BIGINT NOT NULL DEFAULT 0 COMMENT '实付金额合计（分）',
+  `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`summary_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='对账日汇总';
@@ -0,0 +1,10 @@
+-- Date queries filter on create_time >= ? AND create_time < ?; recon_status rides along for the per-day status counts,
+-- and id lets cursor pagination ORDER BY create_time DESC, id DESC without a filesort
+ALTER TABLE `easy_recon_order_main` ADD KEY `idx_main_create_keyset` (`create_time`, `id`, `recon_status`);
+-- idx_main_create_time is a prefix of idx_main_create_keyset
+ALTER TABLE `easy_recon_order_main` DROP KEY `idx_main_create_time`;
+
+-- Exception listing by merchant within a create_time range
+ALTER TABLE `easy_recon_exception` ADD KEY `idx_exc_merchant_create` (`merchant_id`, `create_time`);
+-- idx_exc_merchant_id is a prefix of idx_exc_merchant_create
+ALTER TABLE `easy_recon_exception` DROP KEY `idx_exc_merchant_id`;
@@ -0,0 +1,4 @@
+-- Keyset index for the timing pending-order scan: recon_status = 0 AND create_time range ORDER BY create_time, id
+CREATE INDEX IF NOT EXISTS "idx_main_pending_scan" ON "easy_recon_order_main" ("recon_status", "create_time", "id");
+-- idx_main_recon_status is a prefix of idx_main_pending_scan
+DROP INDEX IF EXISTS "idx_main_recon_status";
@@ -0,0 +1,31 @@
+-- Shard leases used to split one timing recon run across cluster nodes
+CREATE TABLE IF NOT EXISTS "easy_recon_shard_lease" (
+  "id" BIGSERIAL PRIMARY KEY,
+  "job_name" VARCHAR(64) NOT NULL,
+  "biz_date" DATE NOT NULL,
+  "shard_index" INTEGER NOT NULL,
+  "shard_count" INTEGER NOT NULL,
+  "owner" VARCHAR(128) NOT NULL,
+  "lease_until" TIMESTAMP(3) NOT NULL,
+  "status" SMALLINT NOT NULL DEFAULT 0,
+  "create_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  "update_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE "easy_recon_shard_lease" IS '定时任务分片租约';
+COMMENT ON COLUMN "easy_recon_shard_lease"."id" IS '主键 ID';
+COMMENT ON COLUMN "easy_recon_shard_lease"."job_name" IS '任务名称';
+COMMENT ON COLUMN "easy_recon_shard_lease"."biz_date" IS '业务日期';
+COMMENT ON COLUMN "easy_recon_shard_lease"."shard_index" IS '分片序号';
+COMMENT ON COLUMN "easy_recon_shard_lease"."shard_count" IS '分片总数';
+COMMENT ON COLUMN "easy_recon_shard_lease"."owner" IS '当前持有节点';
+COMMENT ON COLUMN "easy_recon_shard_lease"."lease_until" IS '租约到期时间';
+COMMENT ON COLUMN "easy_recon_shard_lease"."status" IS '状态：0=处理中，1=已完成，2=已释放';
+COMMENT ON COLUMN "easy_recon_shard_lease"."create_time" IS '创建时间';
+COMMENT ON COLUMN "easy_recon_shard_lease"."update_time" IS '更新时间';
+
+CREATE UNIQUE INDEX IF NOT EXISTS "uk_shard_lease" ON "easy_recon_shard_lease" ("job_name", "biz_date", "shard_index");
+
+CREATE TRIGGER update_easy_recon_shard_lease_modtime
+    BEFORE UPDATE ON "easy_recon_shard_lease"
+    FOR EACH ROW EXECUTE FUNCTION update_modified_column();
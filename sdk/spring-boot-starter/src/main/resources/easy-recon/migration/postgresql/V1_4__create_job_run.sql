@@ -0,0 +1,49 @@
+-- Checkpointed history of timing recon runs, one row per partition per run
+CREATE TABLE IF NOT EXISTS "easy_recon_job_run" (
+  "id" BIGSERIAL PRIMARY KEY,
+  "run_id" VARCHAR(64) NOT NULL,
+  "job_name" VARCHAR(64) NOT NULL,
+  "biz_date" DATE NOT NULL,
+  "partition_index" INTEGER NOT NULL,
+  "partition_count" INTEGER NOT NULL,
+  "owner" VARCHAR(128) NOT NULL,
+  "status" SMALLINT NOT NULL DEFAULT 0,
+  "cursor_create_time" TIMESTAMP(3) NULL,
+  "cursor_id" BIGINT NULL,
+  "processed_count" BIGINT NOT NULL DEFAULT 0,
+  "succeeded_count" BIGINT NOT NULL DEFAULT 0,
+  "failed_count" BIGINT NOT NULL DEFAULT 0,
+  "start_time" TIMESTAMP(3) NOT NULL,
+  "end_time" TIMESTAMP(3) NULL,
+  "duration_ms" BIGINT NULL,
+  "create_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  "update_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE "easy_recon_job_run" IS '定时任务运行记录';
+COMMENT ON COLUMN "easy_recon_job_run"."id" IS '主键 ID';
+COMMENT ON COLUMN "easy_recon_job_run"."run_id" IS '运行 ID';
+COMMENT ON COLUMN "easy_recon_job_run"."job_name" IS '任务名称';
+COMMENT ON COLUMN "easy_recon_job_run"."biz_date" IS '业务日期';
+COMMENT ON COLUMN "easy_recon_job_run"."partition_index" IS '分区序号';
+COMMENT ON COLUMN "easy_recon_job_run"."partition_count" IS '分区总数';
+COMMENT ON COLUMN "easy_recon_job_run"."owner" IS '执行节点';
+COMMENT ON COLUMN "easy_recon_job_run"."status" IS '状态：0=运行中，1=已完成，2=已中断';
+COMMENT ON COLUMN "easy_recon_job_run"."cursor_create_time" IS '最后提交的游标创建时间';
+COMMENT ON COLUMN "easy_recon_job_run"."cursor_id" IS '最后提交的游标 ID';
+COMMENT ON COLUMN "easy_recon_job_run"."processed_count" IS '已处理笔数';
+COMMENT ON COLUMN "easy_recon_job_run"."succeeded_count" IS '核账成功笔数';
+COMMENT ON COLUMN "easy_recon_job_run"."failed_count" IS '核账失败笔数';
+COMMENT ON COLUMN "easy_recon_job_run"."start_time" IS '开始时间';
+COMMENT ON COLUMN "easy_recon_job_run"."end_time" IS '结束时间';
+COMMENT ON COLUMN "easy_recon_job_run"."duration_ms" IS '耗时（毫秒）';
+COMMENT ON COLUMN "easy_recon_job_run"."create_time" IS '创建时间';
+COMMENT ON COLUMN "easy_recon_job_run"."update_time" IS '更新时间';
+
+CREATE UNIQUE INDEX IF NOT EXISTS "uk_job_run_id" ON "easy_recon_job_run" ("run_id");
+CREATE INDEX IF NOT EXISTS "idx_job_run_resume" ON "easy_recon_job_run" ("job_name", "biz_date", "partition_count", "partition_index", "status");
+CREATE INDEX IF NOT EXISTS "idx_job_run_start_time" ON "easy_recon_job_run" ("start_time");
+
+CREATE TRIGGER update_easy_recon_job_run_modtime
+    BEFORE UPDATE ON "easy_recon_job_run"
+    FOR EACH ROW EXECUTE FUNCTION update_modified_column();
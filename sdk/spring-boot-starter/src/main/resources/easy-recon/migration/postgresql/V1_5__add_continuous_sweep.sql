@@ -0,0 +1,16 @@
+-- Watermark index for the continuous sweep: recon_status = 0 AND update_time range ORDER BY update_time, id
+CREATE INDEX IF NOT EXISTS "idx_main_pending_update" ON "easy_recon_order_main" ("recon_status", "update_time", "id");
+
+-- Persisted (update_time, id) watermark per incremental job
+CREATE TABLE IF NOT EXISTS "easy_recon_job_watermark" (
+  "job_name" VARCHAR(64) PRIMARY KEY,
+  "watermark_time" TIMESTAMP(3) NOT NULL,
+  "watermark_id" BIGINT NOT NULL,
+  "update_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE "easy_recon_job_watermark" IS '增量任务水位';
+COMMENT ON COLUMN "easy_recon_job_watermark"."job_name" IS '任务名称';
+COMMENT ON COLUMN "easy_recon_job_watermark"."watermark_time" IS '水位 update_time';
+COMMENT ON COLUMN "easy_recon_job_watermark"."watermark_id" IS '水位 id';
+COMMENT ON COLUMN "easy_recon_job_watermark"."update_time" IS '更新时间';
@@ -0,0 +1,10 @@
+-- Outstanding split-detail notify counter maintained on the main order by the notify path
+ALTER TABLE "easy_recon_order_main" ADD COLUMN IF NOT EXISTS "pending_notify_count" INTEGER NOT NULL DEFAULT 0;
+COMMENT ON COLUMN "easy_recon_order_main"."pending_notify_count" IS '未通知成功的分账明细数';
+
+-- Backfill from existing split details (notify_status 1 = 成功)
+UPDATE "easy_recon_order_main" m
+SET "pending_notify_count" = (
+  SELECT COUNT(*) FROM "easy_recon_order_split_detail" d
+  WHERE d."order_no" = m."order_no" AND d."notify_status" <> 1
+);
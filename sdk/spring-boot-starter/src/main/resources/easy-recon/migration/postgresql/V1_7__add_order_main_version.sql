@@ -0,0 +1,3 @@
+-- Optimistic version for compare-and-set status transitions on the main order
+ALTER TABLE "easy_recon_order_main" ADD COLUMN IF NOT EXISTS "version" BIGINT NOT NULL DEFAULT 0;
+COMMENT ON COLUMN "easy_recon_order_main"."version" IS '乐观锁版本号，每次更新递增';
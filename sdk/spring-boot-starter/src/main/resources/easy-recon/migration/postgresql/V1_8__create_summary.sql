@@ -0,0 +1,19 @@
+-- Daily recon summary keyed by order creation date, maintained incrementally on every recon_status transition
+CREATE TABLE IF NOT EXISTS "easy_recon_summary" (
+  "summary_date" DATE PRIMARY KEY,
+  "total_orders" BIGINT NOT NULL DEFAULT 0,
+  "success_count" BIGINT NOT NULL DEFAULT 0,
+  "fail_count" BIGINT NOT NULL DEFAULT 0,
+  "init_count" BIGINT NOT NULL DEFAULT 0,
+  "total_amount_fen" BIGINT NOT NULL DEFAULT 0,
+  "update_time" TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE "easy_recon_summary" IS '对账日汇总';
+COMMENT ON COLUMN "easy_recon_summary"."summary_date" IS '统计日期（订单创建日期）';
+COMMENT ON COLUMN "easy_recon_summary"."total_orders" IS '订单总数';
+COMMENT ON COLUMN "easy_recon_summary"."success_count" IS '对账成功订单数';
+COMMENT ON COLUMN "easy_recon_summary"."fail_count" IS '对账失败订单数';
+COMMENT ON COLUMN "easy_recon_summary"."init_count" IS '待对账订单数';
+COMMENT ON COLUMN "easy_recon_summary"."total_amount_fen" IS '实付金额合计（分）';
+COMMENT ON COLUMN "easy_recon_summary"."update_time" IS '更新时间';
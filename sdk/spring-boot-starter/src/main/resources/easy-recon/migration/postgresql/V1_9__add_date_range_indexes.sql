@@ -0,0 +1,9 @@
+-- Date queries filter on create_time >= ? AND create_time < ?; recon_status rides along for the per-day status counts,
+-- and id lets cursor pagination ORDER BY create_time DESC, id DESC without a sort
+CREATE INDEX IF NOT EXISTS "idx_main_create_keyset" ON "easy_recon_order_main" ("create_time", "id", "recon_status");
+-- idx_main_create_time is a prefix of idx_main_create_keyset
+DROP INDEX IF EXISTS "idx_main_create_time";
+
+-- Exception listing by merchant within a create_time range, and by create_time range alone
+CREATE INDEX IF NOT EXISTS "idx_exc_merchant_create" ON "easy_recon_exception" ("merchant_id", "create_time");
+CREATE INDEX IF NOT EXISTS "idx_exc_create_time" ON "easy_recon_exception" ("create_time");
@@ -0,0 +1,97 @@
+package tech.coffers.recon.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.api.result.PageResult;
+import tech.coffers.recon.api.result.ReconOrderMainResult;
+import tech.coffers.recon.core.service.RealtimeReconService;
+import tech.coffers.recon.core.service.TimingReconService;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 对外 API 游标翻页单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class EasyReconApiTest {
+
+        @Mock
+        private RealtimeReconService realtimeReconService;
+
+        @Mock
+        private TimingReconService timingReconService;
+
+        @Mock
+        private ReconRepository reconRepository;
+
+        private EasyReconApi easyReconApi;
+
+        @BeforeEach
+        void setUp() {
+                MockitoAnnotations.openMocks(this);
+                easyReconApi = new EasyReconApi(realtimeReconService, timingReconService, reconRepository);
+        }
+
+        @Test
+        void testScrollOrdersByDate_CursorRoundTrip() {
+                LocalDateTime createTime = LocalDateTime.of(2026, 3, 1, 10, 0, 0, 123456000);
+                when(reconRepository.getOrderMainByDateBefore(eq("2026-03-01"), isNull(), isNull(), isNull(),
+                                eq(3)))
+                                .thenReturn(Arrays.asList(order(3L, createTime), order(2L, createTime),
+                                                order(1L, createTime.minusHours(1))));
+                when(reconRepository.countOrderMainByDate("2026-03-01", null)).thenReturn(3L);
+
+                // 多取一条用于判断是否还有下一页，游标指向本页最后一条
+                PageResult<ReconOrderMainResult> first = easyReconApi.scrollOrdersByDate("2026-03-01", null, null, 2);
+                assertEquals(2, first.getList().size());
+                assertEquals(3L, first.getTotal());
+                assertNotNull(first.getNextCursor());
+
+                when(reconRepository.getOrderMainByDateBefore("2026-03-01", ReconStatusEnum.SUCCESS, createTime, 2L,
+                                3)).thenReturn(Collections.singletonList(order(1L, createTime.minusHours(1))));
+                PageResult<ReconOrderMainResult> second = easyReconApi.scrollOrdersByDate("2026-03-01",
+                                ReconStatusEnum.SUCCESS, first.getNextCursor(), 2);
+                assertEquals(1, second.getList().size());
+                assertNull(second.getNextCursor());
+                // 后续页不再统计总数
+                assertEquals(-1L, second.getTotal());
+                verify(reconRepository, times(1)).countOrderMainByDate(any(), any());
+        }
+
+        @Test
+        void testScrollOrdersByDate_RejectsMalformedCursor() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> easyReconApi.scrollOrdersByDate("2026-03-01", null, "not-a-cursor", 20));
+                verifyNoInteractions(reconRepository);
+        }
+
+        @Test
+        void testScroll_RejectsNonPositiveSize() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> easyReconApi.scrollOrdersByDate("2026-03-01", null, null, 0));
+                assertThrows(IllegalArgumentException.class,
+                                () -> easyReconApi.scrollExceptions(null, null, null, null, null, -1));
+                verifyNoInteractions(reconRepository);
+        }
+
+        private static ReconOrderMainDO order(long id, LocalDateTime createTime) {
+                ReconOrderMainDO order = new ReconOrderMainDO();
+                order.setId(id);
+                order.setOrderNo("ORD_" + id);
+                order.setCreateTime(createTime);
+                return order;
+        }
+}
@@ -0,0 +1,77 @@
+package tech.coffers.recon.core.service;
+
+import org.junit.jupiter.api.Test;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 告警服务单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class AlarmServiceTest {
+
+        @Test
+        void testSendReconAlarm_SyncByDefault() {
+                List<String> sent = new CopyOnWriteArrayList<>();
+                AlarmService alarmService = new AlarmService(Collections.singletonList(sent::add));
+
+                alarmService.sendReconAlarm("ORD_ALARM_001", "MCH_A", 4, "金额校验不平");
+                alarmService.sendReconAlarm("ORD_ALARM_002", "MCH_A", 4, "金额校验不平");
+
+                assertEquals(2, sent.size());
+                assertEquals(0, alarmService.getSuppressedCount());
+        }
+
+        @Test
+        void testSendReconAlarm_DuplicatesCollapsedIntoDigest() {
+                List<String> sent = new CopyOnWriteArrayList<>();
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getAlarm().getDispatch().setEnabled(true);
+                properties.getAlarm().getDispatch().setDedupWindowSeconds(60L);
+                properties.getAlarm().getDispatch().setRateLimitPerMinute(0);
+                AlarmService alarmService = new AlarmService(Collections.singletonList(sent::add), properties);
+
+                for (int i = 0; i < 5; i++) {
+                        alarmService.sendReconAlarm("ORD_ALARM_" + i, "MCH_A", 4, "金额校验不平");
+                }
+                alarmService.sendReconAlarm("ORD_ALARM_X", "MCH_B", 4, "金额校验不平");
+                alarmService.shutdown();
+
+                // MCH_A 首条立即发送，其余 4 条在关闭时合并为汇总告警；MCH_B 单独发送
+                assertEquals(3, sent.size());
+                assertTrue(sent.get(0).contains("ORD_ALARM_0"));
+                assertTrue(sent.get(1).contains("MCH_B"));
+                assertTrue(sent.get(2).startsWith("【对账告警汇总】"));
+                assertTrue(sent.get(2).contains("4 条"));
+                assertTrue(sent.get(2).contains("ORD_ALARM_4"));
+                assertEquals(4, alarmService.getSuppressedCount());
+                assertEquals(0, alarmService.getQueueDepth());
+        }
+
+        @Test
+        void testSendAlarm_RateLimitedPerStrategy() {
+                List<String> limited = new CopyOnWriteArrayList<>();
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getAlarm().getDispatch().setEnabled(true);
+                properties.getAlarm().getDispatch().setDedupWindowSeconds(0L);
+                properties.getAlarm().getDispatch().setRateLimitPerMinute(1);
+                properties.getAlarm().getDispatch().setRateLimitBurst(2);
+                AlarmService alarmService = new AlarmService(Collections.singletonList(limited::add), properties);
+
+                for (int i = 0; i < 5; i++) {
+                        alarmService.sendAlarm("告警 " + i);
+                }
+                alarmService.shutdown();
+
+                assertEquals(2, limited.size());
+                assertEquals(3, alarmService.getRateLimitedCount());
+                assertEquals(0, alarmService.getDroppedCount());
+        }
+}
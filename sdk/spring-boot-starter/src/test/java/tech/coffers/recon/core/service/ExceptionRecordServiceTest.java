@@ -0,0 +1,140 @@
+package tech.coffers.recon.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.entity.ReconExceptionDO;
+import tech.coffers.recon.metrics.ReconMetrics;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 异常记录服务单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class ExceptionRecordServiceTest {
+
+        @Mock
+        private ReconRepository reconRepository;
+
+        @BeforeEach
+        void setUp() {
+                MockitoAnnotations.openMocks(this);
+        }
+
+        @Test
+        void testRecordReconException_SyncByDefault() {
+                ExceptionRecordService service = new ExceptionRecordService(reconRepository);
+
+                service.recordReconException("ORD_EX_001", "SELF", "金额校验不平", 4);
+
+                verify(reconRepository).saveException(any(ReconExceptionDO.class));
+                verify(reconRepository, never()).batchSaveException(anyList());
+        }
+
+        @Test
+        void testRecordReconException_AsyncBatchedAndDrainedOnShutdown() {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getExceptionWriter().setAsync(true);
+                properties.getExceptionWriter().setFlushSize(50);
+                properties.getExceptionWriter().setFlushIntervalMs(60_000L);
+                when(reconRepository.batchSaveException(anyList())).thenReturn(true);
+                ExceptionRecordService service = new ExceptionRecordService(reconRepository, properties);
+
+                for (int i = 0; i < 3; i++) {
+                        service.recordReconException("ORD_EX_" + i, "SELF", "金额校验不平", 4);
+                }
+                // 未攒够批次且未到等待时间，调用线程不做任何写入
+                verify(reconRepository, never()).saveException(any(ReconExceptionDO.class));
+
+                service.shutdown();
+
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<ReconExceptionDO>> captor = ArgumentCaptor.forClass(List.class);
+                verify(reconRepository, atLeastOnce()).batchSaveException(captor.capture());
+                assertEquals(3, captor.getAllValues().stream().mapToInt(List::size).sum());
+                verify(reconRepository, never()).saveException(any(ReconExceptionDO.class));
+        }
+
+        @Test
+        void testRecordReconException_BatchFailureFallsBackToSingleWrites() {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getExceptionWriter().setAsync(true);
+                properties.getExceptionWriter().setFlushIntervalMs(60_000L);
+                when(reconRepository.batchSaveException(anyList())).thenReturn(false);
+                TransactionOperations transactions = mock(TransactionOperations.class);
+                List<Boolean> rolledBack = new ArrayList<>();
+                when(transactions.execute(any())).thenAnswer(invocation -> {
+                        TransactionCallback<?> callback = invocation.getArgument(0);
+                        SimpleTransactionStatus status = new SimpleTransactionStatus();
+                        Object result = callback.doInTransaction(status);
+                        rolledBack.add(status.isRollbackOnly());
+                        return result;
+                });
+                ExceptionRecordService service = new ExceptionRecordService(reconRepository, properties,
+                                ReconMetrics.NOOP, transactions);
+
+                service.recordReconException("ORD_EX_A", "SELF", "金额校验不平", 4);
+                service.recordReconException("ORD_EX_B", "SELF", "金额校验不平", 4);
+                service.shutdown();
+
+                // 整批事务回滚后才逐条重试，已写入的部分不会重复
+                assertFalse(rolledBack.isEmpty());
+                assertTrue(rolledBack.stream().allMatch(Boolean::booleanValue));
+                verify(reconRepository, times(2)).saveException(any(ReconExceptionDO.class));
+        }
+
+        @Test
+        void testRecordReconException_ConcurrentWithShutdownNeverLosesRecords() throws Exception {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getExceptionWriter().setAsync(true);
+                properties.getExceptionWriter().setFlushIntervalMs(1L);
+                AtomicInteger saved = new AtomicInteger();
+                when(reconRepository.batchSaveException(anyList())).thenAnswer(invocation -> {
+                        saved.addAndGet(invocation.<List<ReconExceptionDO>>getArgument(0).size());
+                        return true;
+                });
+                ExceptionRecordService service = new ExceptionRecordService(reconRepository, properties);
+                AtomicInteger recorded = new AtomicInteger();
+                AtomicBoolean stop = new AtomicBoolean();
+                CountDownLatch started = new CountDownLatch(4);
+                Thread[] recorders = new Thread[4];
+                for (int t = 0; t < recorders.length; t++) {
+                        recorders[t] = new Thread(() -> {
+                                started.countDown();
+                                while (!stop.get()) {
+                                        service.recordReconException("ORD_EX_" + recorded.incrementAndGet(), "SELF",
+                                                        "金额校验不平", 4);
+                                }
+                        });
+                        recorders[t].start();
+                }
+                started.await();
+
+                // 关闭与写入并发进行，关闭前后记录的异常都必须落库
+                service.shutdown();
+                stop.set(true);
+                for (Thread recorder : recorders) {
+                        recorder.join();
+                }
+
+                assertEquals(recorded.get(), saved.get());
+        }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import tech.coffers.recon.api.result.ReconResult;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.entity.ReconNotifyLogDO;
 import tech.coffers.recon.entity.ReconOrderMainDO;
 import tech.coffers.recon.entity.ReconOrderMerchantSettlementDO;
 import tech.coffers.recon.entity.ReconOrderSplitDetailDO;
@@ -21,7 +23,11 @@ import tech.coffers.recon.api.model.ReconOrderRequest;
 import tech.coffers.recon.api.model.ReconRefundRequest;
 import tech.coffers.recon.api.model.ReconOrderSplitRequest;
 import tech.coffers.recon.api.model.ReconSubOrderRequest;
+import tech.coffers.recon.metrics.ReconMetrics;
 import tech.coffers.recon.repository.ReconRepository;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -58,6 +64,12 @@ class RealtimeReconServiceTest {
                 MockitoAnnotations.openMocks(this);
                 realtimeReconService = new RealtimeReconService(reconRepository, exceptionRecordService, alarmService,
                                 executorService);
+                // 默认写入成功，持久化失败的场景在用例中单独覆盖
+                when(reconRepository.saveOrderMain(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderSub(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderMerchantSettlement(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderSplitDetail(any())).thenReturn(true);
+                when(reconRepository.batchSaveNotifyLog(any())).thenReturn(true);
         }
 
         @Test
@@ -255,7 +267,7 @@ class RealtimeReconServiceTest {
                 orderMainDO.setOrderNo(orderNo);
                 orderMainDO.setPayAmount(new BigDecimal("100.00"));
                 when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(orderMainDO);
-                when(reconRepository.updateReconRefundStatus(any(ReconOrderMainDO.class))).thenReturn(true);
+                when(reconRepository.compareAndUpdateReconRefundStatus(any(ReconOrderMainDO.class))).thenReturn(true);
 
                 ReconRefundRequest request = ReconRefundRequest.builder()
                                 .orderNo(orderNo)
@@ -267,7 +279,7 @@ class RealtimeReconServiceTest {
                 ReconResult result = realtimeReconService.reconRefund(request);
 
                 assertTrue(result.isSuccess());
-                verify(reconRepository).updateReconRefundStatus(any(ReconOrderMainDO.class));
+                verify(reconRepository).compareAndUpdateReconRefundStatus(any(ReconOrderMainDO.class));
         }
 
         @Test
@@ -276,7 +288,8 @@ class RealtimeReconServiceTest {
                 String merchantId = "MCH_888";
 
                 when(reconRepository.findOrderNoBySub(eq(merchantId), anyString())).thenReturn(orderNo);
-                when(reconRepository.isAllSplitSubNotified(orderNo)).thenReturn(true);
+                when(reconRepository.applySplitNotify(orderNo, merchantId, NotifyStatusEnum.SUCCESS.getCode(), "OK"))
+                                .thenReturn(0);
 
                 // Mock retryRecon internal calls
                 ReconOrderMainDO mainDO = new ReconOrderMainDO();
@@ -293,7 +306,7 @@ class RealtimeReconServiceTest {
                 sub.setSplitAmount(new BigDecimal("100.00"));
                 subs.add(sub);
                 when(reconRepository.getOrderSplitDetailByOrderNo(orderNo)).thenReturn(subs);
-                when(reconRepository.updateReconStatus(anyString(), any())).thenReturn(true);
+                when(reconRepository.compareAndUpdateReconStatus(anyString(), any(), anyLong())).thenReturn(true);
 
                 ReconNotifyRequest request = ReconNotifyRequest.builder()
                                 .merchantId(merchantId)
@@ -306,6 +319,113 @@ class RealtimeReconServiceTest {
 
                 assertTrue(result.isSuccess());
                 verify(reconRepository).saveNotifyLog(any());
+                verify(reconRepository).compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, 0L);
+        }
+
+        @Test
+        void testRetryRecon_RetriesOnVersionConflict() {
+                String orderNo = "TEST_ORDER_CAS";
+                ReconOrderMainDO stale = new ReconOrderMainDO();
+                stale.setOrderNo(orderNo);
+                stale.setPayAmount(new BigDecimal("100.00"));
+                stale.setReconStatus(ReconStatusEnum.PENDING.getCode());
+                stale.setPayStatus(PayStatusEnum.SUCCESS.getCode());
+                stale.setSplitStatus(SplitStatusEnum.SUCCESS.getCode());
+                stale.setNotifyStatus(NotifyStatusEnum.SUCCESS.getCode());
+                stale.setVersion(5L);
+                ReconOrderMainDO fresh = new ReconOrderMainDO();
+                fresh.setOrderNo(orderNo);
+                fresh.setPayAmount(new BigDecimal("100.00"));
+                fresh.setReconStatus(ReconStatusEnum.PENDING.getCode());
+                fresh.setPayStatus(PayStatusEnum.SUCCESS.getCode());
+                fresh.setSplitStatus(SplitStatusEnum.SUCCESS.getCode());
+                fresh.setNotifyStatus(NotifyStatusEnum.SUCCESS.getCode());
+                fresh.setVersion(6L);
+                when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(stale);
+                when(reconRepository.lockOrderMainByOrderNo(orderNo)).thenReturn(fresh);
+
+                List<ReconOrderSplitDetailDO> subs = new ArrayList<>();
+                ReconOrderSplitDetailDO sub = new ReconOrderSplitDetailDO();
+                sub.setSplitAmount(new BigDecimal("100.00"));
+                subs.add(sub);
+                when(reconRepository.getOrderSplitDetailByOrderNo(orderNo)).thenReturn(subs);
+                when(reconRepository.compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, 5L))
+                                .thenReturn(false);
+                when(reconRepository.compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, 6L))
+                                .thenReturn(true);
+
+                assertTrue(realtimeReconService.retryRecon(orderNo));
+                // 冲突后以加锁读取取得最新版本，不再读取事务快照
+                verify(reconRepository, times(1)).getOrderMainByOrderNo(orderNo);
+                verify(reconRepository, times(1)).lockOrderMainByOrderNo(orderNo);
+                verify(reconRepository, never()).updateReconStatus(anyString(), any());
+        }
+
+        @Test
+        void testReconRefund_VersionConflictExhausted() {
+                String orderNo = "TEST_REFUND_CAS";
+                ReconOrderMainDO orderMainDO = new ReconOrderMainDO();
+                orderMainDO.setOrderNo(orderNo);
+                orderMainDO.setPayAmount(new BigDecimal("100.00"));
+                when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(orderMainDO);
+                when(reconRepository.lockOrderMainByOrderNo(orderNo)).thenReturn(orderMainDO);
+                when(reconRepository.compareAndUpdateReconRefundStatus(any(ReconOrderMainDO.class))).thenReturn(false);
+
+                ReconResult result = realtimeReconService.reconRefund(ReconRefundRequest.builder()
+                                .orderNo(orderNo)
+                                .refundAmount(new BigDecimal("50.00"))
+                                .refundStatus(RefundStatusEnum.SUCCESS)
+                                .refundTime(LocalDateTime.now())
+                                .build());
+
+                assertFalse(result.isSuccess());
+                verify(reconRepository, times(3)).compareAndUpdateReconRefundStatus(any(ReconOrderMainDO.class));
+                verify(reconRepository, never()).updateReconRefundStatus(any(ReconOrderMainDO.class));
+        }
+
+        @Test
+        void testDoRealtimeRecon_ComparesSavedVersion() {
+                String orderNo = "ORD-RT-CAS";
+                ReconOrderMainDO orderMainDO = new ReconOrderMainDO();
+                orderMainDO.setOrderNo(orderNo);
+                ReconOrderMainDO saved = new ReconOrderMainDO();
+                saved.setOrderNo(orderNo);
+                saved.setVersion(3L);
+                when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(saved);
+                when(reconRepository.compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, 3L))
+                                .thenReturn(false);
+
+                // 保存后订单已被其他流程修改，版本不一致时不覆盖其状态
+                assertFalse(realtimeReconService.doRealtimeRecon(orderMainDO, null, null));
+
+                verify(reconRepository).compareAndUpdateReconStatus(orderNo, ReconStatusEnum.SUCCESS, 3L);
+                verify(reconRepository, never()).updateReconStatus(anyString(), any());
+        }
+
+        @Test
+        void testReconNotify_PendingMerchantsSkipRetry() {
+                String orderNo = "TEST_ORDER_007_PENDING";
+                String merchantId = "MCH_888";
+
+                when(reconRepository.applySplitNotify(orderNo, merchantId, NotifyStatusEnum.SUCCESS.getCode(), "OK"))
+                                .thenReturn(2);
+
+                ReconNotifyRequest request = ReconNotifyRequest.builder()
+                                .orderNo(orderNo)
+                                .merchantId(merchantId)
+                                .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                .notifyResult("OK")
+                                .build();
+
+                ReconResult result = realtimeReconService.reconNotify(request);
+
+                assertTrue(result.isSuccess());
+                assertEquals("通知状态已更新，等待所有业务闭环", result.getMessage());
+                verify(reconRepository).saveNotifyLog(any());
+                verify(reconRepository, never()).compareAndUpdateNotifyStatus(anyString(), anyInt(), anyString(),
+                                anyLong());
+                verify(reconRepository, never()).getOrderMainByOrderNo(anyString());
+                verify(reconRepository, never()).getOrderSplitDetailByOrderNo(anyString());
         }
 
         @Test
@@ -319,7 +439,7 @@ class RealtimeReconServiceTest {
                 orderMainDO.setOrderNo(orderNo);
                 orderMainDO.setPayAmount(new BigDecimal("100.00"));
                 when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(orderMainDO);
-                when(reconRepository.updateReconRefundStatus(any(ReconOrderMainDO.class))).thenReturn(true);
+                when(reconRepository.compareAndUpdateReconRefundStatus(any(ReconOrderMainDO.class))).thenReturn(true);
 
                 ReconRefundRequest request = ReconRefundRequest.builder()
                                 .merchantId(merchantId)
@@ -335,6 +455,81 @@ class RealtimeReconServiceTest {
                 verify(reconRepository).findOrderNoByMerchantOrder(merchantId, merchantOrderNo);
         }
 
+        @Test
+        void testReconOrder_ManyMerchantsAggregatedPerMerchant() {
+                String orderNo = "TEST_ORDER_LEDGER";
+                List<ReconSubOrderRequest> subOrders = new ArrayList<>();
+                // 全额到账商户：两笔子单合计 30.00，与事实收款一致
+                subOrders.add(ReconSubOrderRequest.builder().merchantId("MCH_DIRECT").orderAmountFen(1000L)
+                                .splitAmountFen(1000L).build());
+                subOrders.add(ReconSubOrderRequest.builder().merchantId("MCH_DIRECT").orderAmountFen(2000L)
+                                .splitAmountFen(2000L).build());
+                // 实时分账商户：50 笔子单，订单 50.00，预计分账 40.00
+                for (int i = 0; i < 50; i++) {
+                        subOrders.add(ReconSubOrderRequest.builder().merchantId("MCH_SPLIT").orderAmountFen(100L)
+                                        .splitAmountFen(80L).build());
+                }
+                // 只有意图没有事实的商户 (超过台账初始容量)
+                for (int i = 0; i < 10; i++) {
+                        subOrders.add(ReconSubOrderRequest.builder().merchantId("MCH_INTENT_" + i).orderAmountFen(100L)
+                                        .build());
+                }
+
+                List<ReconOrderSplitRequest> splitDetails = new ArrayList<>();
+                splitDetails.add(ReconOrderSplitRequest.builder().merchantId("MCH_DIRECT").splitAmountFen(3000L)
+                                .splitFeeFen(30L).build());
+                splitDetails.add(ReconOrderSplitRequest.builder().merchantId("MCH_SPLIT").splitAmountFen(1500L)
+                                .build());
+                splitDetails.add(ReconOrderSplitRequest.builder().merchantId("MCH_SPLIT").splitAmountFen(2500L)
+                                .build());
+
+                ReconOrderFenRequest request = ReconOrderFenRequest.builder()
+                                .orderNo(orderNo)
+                                .payAmountFen(10000L)
+                                .platformIncomeFen(2970L)
+                                .payFeeFen(30L)
+                                .subOrders(subOrders)
+                                .splitDetails(splitDetails)
+                                .payStatus(PayStatusEnum.SUCCESS)
+                                .splitStatus(SplitStatusEnum.SUCCESS)
+                                .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                .build();
+
+                when(reconRepository.saveOrderMain(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderSub(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderSplitDetail(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderMerchantSettlement(any())).thenReturn(true);
+
+                ReconResult result = realtimeReconService.reconOrder(request);
+
+                assertTrue(result.isSuccess(), result.getMessage());
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<ReconOrderMerchantSettlementDO>> settlementCaptor = ArgumentCaptor
+                                .forClass(List.class);
+                verify(reconRepository).batchSaveOrderMerchantSettlement(settlementCaptor.capture());
+                List<ReconOrderMerchantSettlementDO> settlements = settlementCaptor.getValue();
+                assertEquals(12, settlements.size());
+                for (ReconOrderMerchantSettlementDO settlement : settlements) {
+                        if ("MCH_DIRECT".equals(settlement.getMerchantId())) {
+                                assertEquals(SettlementTypeEnum.DIRECT_TO_MERCHANT, settlement.getSettlementType());
+                                assertEquals(3000L, settlement.getOrderAmountFen());
+                                assertEquals(2970L, settlement.getArrivalAmountFen());
+                        } else if ("MCH_SPLIT".equals(settlement.getMerchantId())) {
+                                assertEquals(SettlementTypeEnum.REALTIME_SPLIT, settlement.getSettlementType());
+                                assertEquals(5000L, settlement.getOrderAmountFen());
+                                assertEquals(4000L, settlement.getSplitAmountFen());
+                        } else {
+                                assertEquals(SettlementTypeEnum.PLATFORM_COLLECTION, settlement.getSettlementType());
+                                assertEquals(0L, settlement.getSplitAmountFen());
+                        }
+                }
+
+                // 主记录汇总取自同一台账
+                ArgumentCaptor<ReconOrderMainDO> mainCaptor = ArgumentCaptor.forClass(ReconOrderMainDO.class);
+                verify(reconRepository).saveOrderMain(mainCaptor.capture());
+                assertEquals(7000L, mainCaptor.getValue().getSplitTotalAmountFen());
+        }
+
         @Test
         void testReconOrder_MerchantSettlementScenarios() {
                 String orderNo = "ORDER_MCH_SCENARIOS_001";
@@ -456,4 +651,337 @@ class RealtimeReconServiceTest {
                 assertTrue(result.isSuccess(),
                                 "Rule 2 (Direct to Merchant) with residual profit should pass macro check");
         }
+
+        @Test
+        void testReconOrderBatch_ChunkedWriteWithPerOrderResult() {
+                List<ReconOrderFenRequest> requests = new ArrayList<>();
+                for (int i = 1; i <= 3; i++) {
+                        List<ReconOrderSplitRequest> splitDetails = new ArrayList<>();
+                        splitDetails.add(ReconOrderSplitRequest.builder()
+                                        .merchantId("MCH-BATCH")
+                                        .splitAmountFen(9400L)
+                                        .build());
+                        requests.add(ReconOrderFenRequest.builder()
+                                        .orderNo("ORD-BATCH-00" + i)
+                                        .payAmountFen(10000L)
+                                        .platformIncomeFen(500L)
+                                        .payFeeFen(100L)
+                                        .splitDetails(splitDetails)
+                                        // 第二笔支付失败，不应影响其他订单
+                                        .payStatus(i == 2 ? PayStatusEnum.FAILURE : PayStatusEnum.SUCCESS)
+                                        .splitStatus(SplitStatusEnum.SUCCESS)
+                                        .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                        .build());
+                }
+
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getRealtime().setBatchChunkSize(2);
+                RealtimeReconService batchService = new RealtimeReconService(reconRepository, exceptionRecordService,
+                                alarmService, executorService, properties);
+
+                when(reconRepository.batchSaveOrderMain(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderSplitDetail(any())).thenReturn(true);
+                when(reconRepository.batchSaveOrderMerchantSettlement(any())).thenReturn(true);
+
+                List<ReconResult> results = batchService.reconOrderBatch(requests);
+
+                assertEquals(3, results.size());
+                assertTrue(results.get(0).isSuccess());
+                assertFalse(results.get(1).isSuccess());
+                assertEquals("ORD-BATCH-002", results.get(1).getOrderNo());
+                assertTrue(results.get(2).isSuccess());
+
+                // 3 笔订单按 chunk=2 分两次批量写入，失败订单同样落库
+                @SuppressWarnings("unchecked")
+                ArgumentCaptor<List<ReconOrderMainDO>> mainCaptor = ArgumentCaptor.forClass(List.class);
+                verify(reconRepository, times(2)).batchSaveOrderMain(mainCaptor.capture());
+                assertEquals(2, mainCaptor.getAllValues().get(0).size());
+                assertEquals(1, mainCaptor.getAllValues().get(1).size());
+                assertEquals(ReconStatusEnum.FAILURE.getCode(),
+                                mainCaptor.getAllValues().get(0).get(1).getReconStatus());
+                verify(reconRepository, never()).saveOrderMain(any());
+        }
+
+        @Test
+        void testReconOrderBatch_PersistFailureMarksChunk() {
+                List<ReconOrderFenRequest> requests = new ArrayList<>();
+                requests.add(ReconOrderFenRequest.builder()
+                                .orderNo("ORD-BATCH-FAIL")
+                                .payAmountFen(10000L)
+                                .platformIncomeFen(10000L)
+                                .payStatus(PayStatusEnum.SUCCESS)
+                                .splitStatus(SplitStatusEnum.SUCCESS)
+                                .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                .build());
+
+                when(reconRepository.batchSaveOrderMain(any())).thenReturn(false);
+
+                List<ReconResult> results = realtimeReconService.reconOrderBatch(requests);
+
+                assertEquals(1, results.size());
+                assertFalse(results.get(0).isSuccess());
+                verify(exceptionRecordService).recordReconException(eq("ORD-BATCH-FAIL"), eq("SELF"), anyString(),
+                                eq(5));
+        }
+
+        @Test
+        void testReconOrderBatch_PersistFailureIsolatedToBadOrder() {
+                List<ReconOrderFenRequest> requests = new ArrayList<>();
+                for (int i = 1; i <= 5; i++) {
+                        requests.add(ReconOrderFenRequest.builder()
+                                        .orderNo("ORD-BISECT-00" + i)
+                                        .payAmountFen(10000L)
+                                        .platformIncomeFen(10000L)
+                                        .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                        .build());
+                }
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getRealtime().setBatchChunkSize(5);
+                TransactionOperations transactions = mock(TransactionOperations.class);
+                List<Boolean> rolledBack = new ArrayList<>();
+                when(transactions.execute(any())).thenAnswer(invocation -> {
+                        TransactionCallback<?> callback = invocation.getArgument(0);
+                        SimpleTransactionStatus status = new SimpleTransactionStatus();
+                        Object result = callback.doInTransaction(status);
+                        rolledBack.add(status.isRollbackOnly());
+                        return result;
+                });
+                RealtimeReconService batchService = new RealtimeReconService(reconRepository, exceptionRecordService,
+                                alarmService, executorService, properties, ReconMetrics.NOOP, transactions);
+                // 包含第 4 笔订单的批次写入失败
+                when(reconRepository.batchSaveOrderMain(any())).thenAnswer(invocation -> {
+                        List<ReconOrderMainDO> mains = invocation.getArgument(0);
+                        return mains.stream().noneMatch(m -> "ORD-BISECT-004".equals(m.getOrderNo()));
+                });
+
+                List<ReconResult> results = batchService.reconOrderBatch(requests);
+
+                for (int i = 0; i < 5; i++) {
+                        assertEquals(i != 3, results.get(i).isSuccess(), results.get(i).getOrderNo());
+                }
+                verify(exceptionRecordService, times(1)).recordReconException(anyString(), eq("SELF"), anyString(),
+                                eq(5));
+                verify(exceptionRecordService).recordReconException(eq("ORD-BISECT-004"), eq("SELF"), anyString(),
+                                eq(5));
+                // 整批与包含坏订单的各级子批次均回滚：[1..5] -> [3..5] -> [4..5] -> [4]
+                assertEquals(4, rolledBack.stream().filter(Boolean::booleanValue).count());
+        }
+
+        @Test
+        void testReconOrderBatch_ResultMetricRecordedAfterPersist() {
+                ReconMetrics metrics = mock(ReconMetrics.class);
+                RealtimeReconService meteredService = new RealtimeReconService(reconRepository,
+                                exceptionRecordService, alarmService, executorService, new ReconSdkProperties(),
+                                metrics);
+                when(reconRepository.batchSaveOrderMain(any())).thenReturn(false);
+
+                meteredService.reconOrderBatch(java.util.Collections.singletonList(ReconOrderFenRequest.builder()
+                                .orderNo("ORD-BATCH-METRIC")
+                                .payAmountFen(10000L)
+                                .platformIncomeFen(10000L)
+                                .notifyStatus(NotifyStatusEnum.SUCCESS)
+                                .build()));
+
+                // 核账判定成功但写入失败，按失败计入
+                verify(metrics).recordReconResult(ReconStatusEnum.FAILURE);
+                verify(metrics, never()).recordReconResult(ReconStatusEnum.SUCCESS);
+        }
+
+        @Test
+        void testReconOrderAsync_WriteBehindGroupCommit() throws Exception {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getRealtime().getWriteBehind().setEnabled(true);
+                properties.getRealtime().getWriteBehind().setFlushSize(2);
+                properties.getRealtime().getWriteBehind().setFlushIntervalMs(5000L);
+                java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(2);
+                RealtimeReconService writeBehindService = new RealtimeReconService(reconRepository,
+                                exceptionRecordService, alarmService, pool, properties);
+
+                when(reconRepository.batchSaveOrderMain(any())).thenReturn(true);
+
+                try {
+                        java.util.concurrent.CompletableFuture<ReconResult> f1 = writeBehindService
+                                        .reconOrderAsync(ReconOrderFenRequest.builder()
+                                                        .orderNo("ORD-WB-001").payAmountFen(10000L)
+                                                        .platformIncomeFen(10000L)
+                                                        .notifyStatus(NotifyStatusEnum.SUCCESS).build());
+                        java.util.concurrent.CompletableFuture<ReconResult> f2 = writeBehindService
+                                        .reconOrderAsync(ReconOrderFenRequest.builder()
+                                                        .orderNo("ORD-WB-002").payAmountFen(10000L)
+                                                        .platformIncomeFen(10000L)
+                                                        .notifyStatus(NotifyStatusEnum.SUCCESS).build());
+
+                        // 攒够 flushSize 后立即刷写，无需等待 flushInterval
+                        assertTrue(f1.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+                        assertTrue(f2.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+
+                        @SuppressWarnings("unchecked")
+                        ArgumentCaptor<List<ReconOrderMainDO>> mainCaptor = ArgumentCaptor.forClass(List.class);
+                        verify(reconRepository, times(1)).batchSaveOrderMain(mainCaptor.capture());
+                        assertEquals(2, mainCaptor.getValue().size());
+                        verify(reconRepository, never()).saveOrderMain(any());
+                } finally {
+                        writeBehindService.shutdown();
+                        pool.shutdown();
+                }
+        }
+
+        @Test
+        void testReconNotifyAsync_CoalescedPerOrder() throws Exception {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getRealtime().getNotifyCoalesce().setEnabled(true);
+                properties.getRealtime().getNotifyCoalesce().setWindowMs(5000L);
+                properties.getRealtime().getNotifyCoalesce().setMaxBatchSize(3);
+                java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(2);
+                RealtimeReconService coalescingService = new RealtimeReconService(reconRepository,
+                                exceptionRecordService, alarmService, pool, properties);
+
+                String orderNo = "ORD-NOTIFY-BURST";
+                when(reconRepository.findOrderNoBySub("MCH_C", "SUB_C")).thenReturn(orderNo);
+                when(reconRepository.batchApplySplitNotify(eq(orderNo), any())).thenReturn(0);
+                ReconOrderMainDO mainDO = new ReconOrderMainDO();
+                mainDO.setOrderNo(orderNo);
+                mainDO.setReconStatus(ReconStatusEnum.SUCCESS.getCode());
+                when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(mainDO);
+                when(reconRepository.compareAndUpdateNotifyStatus(orderNo, NotifyStatusEnum.SUCCESS.getCode(),
+                                "All merchants notified", 0L)).thenReturn(true);
+
+                try {
+                        java.util.concurrent.CompletableFuture<ReconResult> f1 = coalescingService
+                                        .reconNotifyAsync(ReconNotifyRequest.builder().orderNo(orderNo)
+                                                        .merchantId("MCH_A").notifyStatus(NotifyStatusEnum.FAILURE)
+                                                        .build());
+                        java.util.concurrent.CompletableFuture<ReconResult> f2 = coalescingService
+                                        .reconNotifyAsync(ReconNotifyRequest.builder().orderNo(orderNo)
+                                                        .merchantId("MCH_A").notifyStatus(NotifyStatusEnum.SUCCESS)
+                                                        .build());
+                        java.util.concurrent.CompletableFuture<ReconResult> f3 = coalescingService
+                                        .reconNotifyBySubAsync("MCH_C", "SUB_C", null, NotifyStatusEnum.SUCCESS,
+                                                        "OK");
+
+                        // 达到单窗口上限后立即处理，无需等待合并窗口到期
+                        assertTrue(f1.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+                        assertTrue(f2.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+                        assertTrue(f3.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+
+                        @SuppressWarnings("unchecked")
+                        ArgumentCaptor<List<ReconNotifyLogDO>> applyCaptor = ArgumentCaptor.forClass(List.class);
+                        verify(reconRepository, times(1)).batchApplySplitNotify(eq(orderNo), applyCaptor.capture());
+                        List<ReconNotifyLogDO> applied = applyCaptor.getValue();
+                        assertEquals(2, applied.size());
+                        assertEquals("MCH_A", applied.get(0).getMerchantId());
+                        assertEquals(NotifyStatusEnum.SUCCESS.getCode(), applied.get(0).getNotifyStatus());
+                        assertEquals("MCH_C", applied.get(1).getMerchantId());
+
+                        @SuppressWarnings("unchecked")
+                        ArgumentCaptor<List<ReconNotifyLogDO>> logCaptor = ArgumentCaptor.forClass(List.class);
+                        verify(reconRepository, times(1)).batchSaveNotifyLog(logCaptor.capture());
+                        assertEquals(3, logCaptor.getValue().size());
+                        verify(reconRepository, times(1)).compareAndUpdateNotifyStatus(orderNo,
+                                        NotifyStatusEnum.SUCCESS.getCode(), "All merchants notified", 0L);
+                        verify(reconRepository, times(1)).getOrderMainByOrderNo(orderNo);
+                        verify(reconRepository, never()).applySplitNotify(anyString(), any(), anyInt(), any());
+                } finally {
+                        coalescingService.shutdown();
+                        pool.shutdown();
+                }
+        }
+
+        @Test
+        void testReconNotifyCoalesced_WritesInOneTransactionAndMarksAllFailures() {
+                TransactionOperations transactions = mock(TransactionOperations.class);
+                List<Boolean> rolledBack = new ArrayList<>();
+                when(transactions.execute(any())).thenAnswer(invocation -> {
+                        TransactionCallback<?> callback = invocation.getArgument(0);
+                        SimpleTransactionStatus status = new SimpleTransactionStatus();
+                        Object result = callback.doInTransaction(status);
+                        rolledBack.add(status.isRollbackOnly());
+                        return result;
+                });
+                RealtimeReconService txService = new RealtimeReconService(reconRepository, exceptionRecordService,
+                                alarmService, executorService, new ReconSdkProperties(), ReconMetrics.NOOP,
+                                transactions);
+                String orderNo = "ORD-NOTIFY-FAILS";
+                when(reconRepository.batchApplySplitNotify(eq(orderNo), any())).thenReturn(2);
+                ReconOrderMainDO mainDO = new ReconOrderMainDO();
+                mainDO.setOrderNo(orderNo);
+                mainDO.setPendingNotifyCount(2);
+                mainDO.setVersion(3L);
+                when(reconRepository.getOrderMainByOrderNo(orderNo)).thenReturn(mainDO);
+                when(reconRepository.compareAndUpdateNotifyStatus(eq(orderNo), anyInt(), anyString(), anyLong()))
+                                .thenReturn(true);
+
+                ReconResult result = txService.reconNotifyCoalesced(orderNo, java.util.Arrays.asList(
+                                ReconNotifyRequest.builder().merchantId("MCH_A")
+                                                .notifyStatus(NotifyStatusEnum.FAILURE).build(),
+                                ReconNotifyRequest.builder().merchantId("MCH_B")
+                                                .notifyStatus(NotifyStatusEnum.FAILURE).build(),
+                                ReconNotifyRequest.builder().merchantId("MCH_C")
+                                                .notifyStatus(NotifyStatusEnum.FAILURE).build(),
+                                ReconNotifyRequest.builder().merchantId("MCH_C")
+                                                .notifyStatus(NotifyStatusEnum.SUCCESS).build()));
+
+                assertTrue(result.isSuccess());
+                // 明细迁移与通知日志在同一事务中提交，所有仍失败的商户都被记录
+                assertEquals(java.util.Collections.singletonList(false), rolledBack);
+                verify(reconRepository).compareAndUpdateNotifyStatus(orderNo, NotifyStatusEnum.FAILURE.getCode(),
+                                "Merchant MCH_A, MCH_B notify failed", 3L);
+
+                // 通知日志写入失败时回滚明细迁移
+                when(reconRepository.batchSaveNotifyLog(any())).thenReturn(false);
+                assertFalse(txService.reconNotifyCoalesced(orderNo, java.util.Collections.singletonList(
+                                ReconNotifyRequest.builder().merchantId("MCH_A")
+                                                .notifyStatus(NotifyStatusEnum.SUCCESS).build()))
+                                .isSuccess());
+                assertEquals(java.util.Arrays.asList(false, true), rolledBack);
+        }
+
+        @Test
+        void testReconNotifyAsync_OrderAffinitySerializesPerOrder() throws Exception {
+                ReconSdkProperties properties = new ReconSdkProperties();
+                properties.getThreadPool().getOrderAffinity().setEnabled(true);
+                properties.getThreadPool().getOrderAffinity().setLanes(4);
+                RealtimeReconService laneService = new RealtimeReconService(reconRepository,
+                                exceptionRecordService, alarmService, executorService, properties);
+
+                String orderNo = "ORD-LANE-001";
+                java.util.concurrent.CountDownLatch started = new java.util.concurrent.CountDownLatch(1);
+                java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+                java.util.concurrent.atomic.AtomicInteger running = new java.util.concurrent.atomic.AtomicInteger();
+                java.util.concurrent.atomic.AtomicInteger maxRunning = new java.util.concurrent.atomic.AtomicInteger();
+                when(reconRepository.applySplitNotify(eq(orderNo), anyString(), anyInt(), any())).thenAnswer(inv -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        started.countDown();
+                        release.await(3, java.util.concurrent.TimeUnit.SECONDS);
+                        running.decrementAndGet();
+                        return 1;
+                });
+
+                try {
+                        java.util.concurrent.CompletableFuture<ReconResult> f1 = laneService
+                                        .reconNotifyAsync(ReconNotifyRequest.builder().orderNo(orderNo)
+                                                        .merchantId("MCH_A").notifyStatus(NotifyStatusEnum.SUCCESS)
+                                                        .build());
+                        assertTrue(started.await(3, java.util.concurrent.TimeUnit.SECONDS));
+                        java.util.concurrent.CompletableFuture<ReconResult> f2 = laneService
+                                        .reconNotifyAsync(ReconNotifyRequest.builder().orderNo(orderNo)
+                                                        .merchantId("MCH_B").notifyStatus(NotifyStatusEnum.SUCCESS)
+                                                        .build());
+
+                        // 同一订单的第二条通知在通道中排队，而不是并发执行
+                        int[] depths = laneService.getOrderLaneQueueDepths();
+                        assertEquals(4, depths.length);
+                        assertEquals(1, java.util.Arrays.stream(depths).sum());
+
+                        release.countDown();
+                        assertTrue(f1.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+                        assertTrue(f2.get(3, java.util.concurrent.TimeUnit.SECONDS).isSuccess());
+                        assertEquals(1, maxRunning.get());
+                        verify(reconRepository, times(2)).applySplitNotify(eq(orderNo), anyString(), anyInt(), any());
+                        verify(executorService, never()).execute(any());
+                } finally {
+                        release.countDown();
+                        laneService.shutdown();
+                }
+        }
 }
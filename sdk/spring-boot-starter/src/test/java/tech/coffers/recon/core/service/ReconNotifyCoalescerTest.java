@@ -0,0 +1,80 @@
+package tech.coffers.recon.core.service;
+
+import org.junit.jupiter.api.Test;
+import tech.coffers.recon.api.model.ReconNotifyRequest;
+import tech.coffers.recon.api.result.ReconResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分账通知合并器单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class ReconNotifyCoalescerTest {
+
+        private static final String TIMER_THREAD = "easy-recon-notify-coalescer";
+
+        @Test
+        void testExpiredWindow_BlockedLaneDoesNotStallTimer() throws Exception {
+                CountDownLatch laneFull = new CountDownLatch(1);
+                Executor blockingLane = task -> {
+                        // 模拟订单通道队列已满，提交阻塞到有空位为止
+                        try {
+                                laneFull.await();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        task.run();
+                };
+                ReconNotifyCoalescer coalescer = new ReconNotifyCoalescer(20L, 10,
+                                orderNo -> "ORD_A".equals(orderNo) ? blockingLane : Runnable::run,
+                                (orderNo, requests) -> ReconResult.success(orderNo));
+
+                CompletableFuture<ReconResult> first = coalescer.submit("ORD_A", request("ORD_A"));
+                CompletableFuture<ReconResult> second = coalescer.submit("ORD_B", request("ORD_B"));
+
+                // ORD_A 的提交阻塞期间，计时线程仍按时关闭其他订单的窗口
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (coalescer.openWindows() > 0 && System.nanoTime() < deadline) {
+                        Thread.sleep(5L);
+                }
+                assertEquals(0, coalescer.openWindows());
+                assertFalse(first.isDone());
+
+                laneFull.countDown();
+                assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+                assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+                coalescer.shutdown();
+        }
+
+        @Test
+        void testExpiredWindow_RejectedHandOffNeverFlushesOnTimer() throws Exception {
+                AtomicReference<String> flushThread = new AtomicReference<>();
+                ReconNotifyCoalescer coalescer = new ReconNotifyCoalescer(10L, 10,
+                                orderNo -> task -> {
+                                        throw new RejectedExecutionException("saturated");
+                                },
+                                (orderNo, requests) -> {
+                                        flushThread.set(Thread.currentThread().getName());
+                                        return ReconResult.success(orderNo);
+                                });
+
+                assertTrue(coalescer.submit("ORD_C", request("ORD_C")).get(5, TimeUnit.SECONDS).isSuccess());
+                assertNotNull(flushThread.get());
+                assertNotEquals(TIMER_THREAD, flushThread.get());
+                coalescer.shutdown();
+        }
+
+        private static ReconNotifyRequest request(String orderNo) {
+                return ReconNotifyRequest.builder().orderNo(orderNo).merchantId("MCH_001").build();
+        }
+}
@@ -0,0 +1,79 @@
+package tech.coffers.recon.core.service;
+
+import org.junit.jupiter.api.Test;
+import tech.coffers.recon.api.result.ReconResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 写后缓冲区单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class ReconWriteBehindBufferTest {
+
+        @Test
+        void testSubmit_AfterShutdownFlushesOnCallerThread() throws Exception {
+                AtomicInteger flushed = new AtomicInteger();
+                ReconWriteBehindBuffer buffer = new ReconWriteBehindBuffer(16, 8, 60_000L,
+                                plans -> flushed.addAndGet(plans.size()));
+                buffer.shutdown();
+
+                CompletableFuture<ReconResult> future = buffer.submit(plan("ORD_WB_LATE"));
+
+                assertTrue(future.isDone());
+                assertTrue(future.get().isSuccess());
+                assertEquals(1, flushed.get());
+                assertEquals(0, buffer.size());
+        }
+
+        @Test
+        void testSubmit_ConcurrentWithShutdownNeverStrandsOrders() throws Exception {
+                for (int round = 0; round < 20; round++) {
+                        AtomicInteger flushed = new AtomicInteger();
+                        ReconWriteBehindBuffer buffer = new ReconWriteBehindBuffer(1024, 8, 1L,
+                                        plans -> flushed.addAndGet(plans.size()));
+                        ConcurrentLinkedQueue<CompletableFuture<ReconResult>> futures = new ConcurrentLinkedQueue<>();
+                        AtomicBoolean stop = new AtomicBoolean();
+                        CountDownLatch started = new CountDownLatch(4);
+                        Thread[] submitters = new Thread[4];
+                        for (int t = 0; t < submitters.length; t++) {
+                                int index = t;
+                                submitters[t] = new Thread(() -> {
+                                        started.countDown();
+                                        for (int i = 0; !stop.get(); i++) {
+                                                futures.add(buffer.submit(plan("ORD_WB_" + index + "_" + i)));
+                                        }
+                                });
+                                submitters[t].start();
+                        }
+                        started.await();
+
+                        // 关闭与入队并发进行，关闭前后提交的订单都必须被写入
+                        buffer.shutdown();
+                        stop.set(true);
+                        for (Thread submitter : submitters) {
+                                submitter.join();
+                        }
+
+                        List<CompletableFuture<ReconResult>> all = new ArrayList<>(futures);
+                        CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+                        assertEquals(all.size(), flushed.get());
+                        assertEquals(0, buffer.size());
+                }
+        }
+
+        private static ReconOrderPlan plan(String orderNo) {
+                return ReconOrderPlan.rejected(orderNo, ReconResult.success(orderNo));
+        }
+}
@@ -0,0 +1,361 @@
+package tech.coffers.recon.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import tech.coffers.recon.api.enums.NotifyStatusEnum;
+import tech.coffers.recon.api.enums.PayStatusEnum;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.api.enums.SplitStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.entity.ReconJobRunDO;
+import tech.coffers.recon.entity.ReconJobWatermarkDO;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 定时对账服务单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class TimingReconServiceTest {
+
+        @Mock
+        private ReconRepository reconRepository;
+
+        @Mock
+        private ExceptionRecordService exceptionRecordService;
+
+        @Mock
+        private AlarmService alarmService;
+
+        private ReconSdkProperties properties;
+
+        private TimingReconService timingReconService;
+
+        @BeforeEach
+        void setUp() {
+                MockitoAnnotations.openMocks(this);
+                properties = new ReconSdkProperties();
+                properties.setBatchSize(2);
+                timingReconService = new TimingReconService(reconRepository, exceptionRecordService, alarmService,
+                                properties);
+                // 默认所有订单版本号一致，全部更新成功
+                when(reconRepository.batchCompareAndUpdateReconStatus(anyCollection(), any()))
+                                .thenAnswer(invocation -> orderNosOf(invocation.getArgument(0)));
+                when(reconRepository.updateJobRunCheckpoint(any())).thenReturn(true);
+        }
+
+        @Test
+        void testDoTimingRecon_AdvancesKeysetCursor() {
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                List<ReconOrderMainDO> page1 = new ArrayList<>();
+                page1.add(pendingOrder(1L, "ORD-T-001", base));
+                page1.add(pendingOrder(2L, "ORD-T-002", base));
+                List<ReconOrderMainDO> page2 = Collections.singletonList(pendingOrder(3L, "ORD-T-003", base));
+
+                when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(0), eq(1), eq(2)))
+                                .thenReturn(page1);
+                when(reconRepository.getPendingReconOrdersAfter("2024-01-01", base, 2L, 0, 1, 2)).thenReturn(page2);
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                // 第二页以第一页最后一条 (create_time, id) 作为游标，且不再使用 OFFSET 分页
+                verify(reconRepository).getPendingReconOrdersAfter("2024-01-01", base, 2L, 0, 1, 2);
+                verify(reconRepository, never()).getPendingReconOrders(anyString(), anyInt(), anyInt());
+                verify(alarmService).sendAlarm(contains("共处理 3 笔记录"));
+        }
+
+        @Test
+        void testDoTimingRecon_PrefetchesDetailsPerPageAndBatchesStatus() {
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                ReconOrderMainDO balanced = pendingOrder(1L, "ORD-T-OK", base);
+                ReconOrderMainDO unbalanced = pendingOrder(2L, "ORD-T-BAD", base);
+                unbalanced.setPlatformIncome(new BigDecimal("90.00"));
+                ReconOrderMainDO processing = pendingOrder(3L, "ORD-T-WAIT", base);
+                processing.setNotifyStatus(NotifyStatusEnum.PROCESSING.getCode());
+                List<ReconOrderMainDO> page = new ArrayList<>();
+                page.add(balanced);
+                page.add(unbalanced);
+                page.add(processing);
+                properties.setBatchSize(10);
+
+                when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(0), eq(1), eq(10)))
+                                .thenReturn(page);
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                // 处理中的订单不加载明细，其余订单一次批量预取
+                verify(reconRepository, times(1))
+                                .getOrderSplitDetailsByOrderNos(java.util.Arrays.asList("ORD-T-OK", "ORD-T-BAD"));
+                verify(reconRepository, never()).getOrderSplitDetailByOrderNo(anyString());
+                verify(reconRepository).batchCompareAndUpdateReconStatus(Collections.singletonList(balanced),
+                                ReconStatusEnum.SUCCESS);
+                verify(reconRepository).batchCompareAndUpdateReconStatus(Collections.singletonList(unbalanced),
+                                ReconStatusEnum.FAILURE);
+                verify(reconRepository, never()).updateReconStatus(anyString(), any());
+                verify(reconRepository, never()).batchUpdateReconStatus(anyCollection(), any());
+                verify(exceptionRecordService).recordReconException(eq("ORD-T-BAD"), eq("SELF"), anyString(), eq(4));
+        }
+
+        @Test
+        void testDoTimingRecon_VersionConflictLeftForNextPass() {
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                ReconOrderMainDO balanced = pendingOrder(1L, "ORD-T-OK", base);
+                ReconOrderMainDO stale = pendingOrder(2L, "ORD-T-STALE", base);
+                ReconOrderMainDO unbalanced = pendingOrder(3L, "ORD-T-BAD", base);
+                unbalanced.setPlatformIncome(new BigDecimal("90.00"));
+                List<ReconOrderMainDO> page = new ArrayList<>();
+                page.add(balanced);
+                page.add(stale);
+                page.add(unbalanced);
+                properties.setBatchSize(10);
+
+                when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(0), eq(1), eq(10)))
+                                .thenReturn(page);
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+                // 扫描读取后 ORD-T-STALE 与 ORD-T-BAD 已被其他流程修改
+                when(reconRepository.batchCompareAndUpdateReconStatus(anyCollection(), eq(ReconStatusEnum.SUCCESS)))
+                                .thenReturn(Collections.singletonList("ORD-T-OK"));
+                when(reconRepository.batchCompareAndUpdateReconStatus(anyCollection(), eq(ReconStatusEnum.FAILURE)))
+                                .thenReturn(Collections.emptyList());
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                // 只统计实际更新的订单，未更新的失败订单不记录异常
+                verify(reconRepository).batchCompareAndUpdateReconStatus(java.util.Arrays.asList(balanced, stale),
+                                ReconStatusEnum.SUCCESS);
+                verify(exceptionRecordService, never()).recordReconException(anyString(), anyString(), anyString(),
+                                anyInt());
+                verify(alarmService).sendAlarm(contains("共处理 3 笔记录（成功 1 笔，失败 0 笔）"));
+        }
+
+        @Test
+        void testDoTimingRecon_ParallelPartitionsAggregateTotals() {
+                properties.getTiming().setParallelism(3);
+                java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(3);
+                TimingReconService parallelService = new TimingReconService(reconRepository, exceptionRecordService,
+                                alarmService, properties, pool);
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                for (int i = 0; i < 3; i++) {
+                        when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(i),
+                                        eq(3), eq(2)))
+                                        .thenReturn(Collections.singletonList(pendingOrder((long) i, "ORD-P-" + i, base)));
+                }
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+
+                try {
+                        assertTrue(parallelService.doTimingRecon("2024-01-01"));
+                } finally {
+                        pool.shutdown();
+                }
+
+                // 每个分区各自扫描一次，汇总结果进入最终告警
+                for (int i = 0; i < 3; i++) {
+                        verify(reconRepository).getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(i),
+                                        eq(3), eq(2));
+                }
+                verify(alarmService).sendAlarm(contains("共处理 3 笔记录（成功 3 笔，失败 0 笔）"));
+        }
+
+        @Test
+        void testDoTimingRecon_ShardedSkipsLeasesHeldByOtherNodes() {
+                properties.getTiming().getSharding().setEnabled(true);
+                properties.getTiming().getSharding().setShardCount(4);
+                properties.getTiming().getSharding().setNodeId("node-a");
+                timingReconService = new TimingReconService(reconRepository, exceptionRecordService, alarmService,
+                                properties);
+                LocalDate bizDate = LocalDate.of(2024, 1, 1);
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                // 分片 1、3 已被其他节点持有
+                when(reconRepository.tryAcquireShardLease(eq(TimingReconService.JOB_NAME), eq(bizDate),
+                                anyInt(), eq(4), eq("node-a"), eq(300L)))
+                                .thenAnswer(invocation -> (int) invocation.getArgument(2) % 2 == 0);
+                when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), anyInt(), eq(4),
+                                eq(2)))
+                                .thenAnswer(invocation -> Collections.singletonList(pendingOrder(
+                                                ((Integer) invocation.getArgument(3)).longValue(), "ORD-S-"
+                                                                + invocation.getArgument(3),
+                                                base)));
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                // 仅扫描抢占成功的分片，并以完成状态释放租约
+                for (int shard = 0; shard < 4; shard++) {
+                        verify(reconRepository).tryAcquireShardLease(TimingReconService.JOB_NAME, bizDate,
+                                        shard, 4, "node-a", 300L);
+                }
+                verify(reconRepository).getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(0), eq(4),
+                                eq(2));
+                verify(reconRepository).getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(2), eq(4),
+                                eq(2));
+                verify(reconRepository, never()).getPendingReconOrdersAfter(anyString(), any(), any(), eq(1), anyInt(),
+                                anyInt());
+                verify(reconRepository).releaseShardLease(TimingReconService.JOB_NAME, bizDate, 0, "node-a",
+                                true, 3600L);
+                verify(reconRepository).releaseShardLease(TimingReconService.JOB_NAME, bizDate, 2, "node-a",
+                                true, 3600L);
+                verify(reconRepository, never()).releaseShardLease(anyString(), any(), eq(1), anyString(),
+                                anyBoolean(), anyLong());
+                verify(alarmService).sendAlarm(contains("共处理 2 笔记录"));
+        }
+
+        @Test
+        void testDoTimingRecon_ResumesFromCheckpointAndRecordsRun() {
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                ReconJobRunDO interrupted = new ReconJobRunDO();
+                interrupted.setRunId("RUN-001");
+                interrupted.setOwner("node-old");
+                interrupted.setStatus(ReconJobRunDO.STATUS_RUNNING);
+                interrupted.setCursorCreateTime(base);
+                interrupted.setCursorId(2L);
+                interrupted.setProcessedCount(2L);
+                interrupted.setSucceededCount(2L);
+                interrupted.setFailedCount(0L);
+                interrupted.setStartTime(base);
+                when(reconRepository.findResumableJobRun(TimingReconService.JOB_NAME, LocalDate.of(2024, 1, 1), 0, 1))
+                                .thenReturn(interrupted);
+                when(reconRepository.claimJobRun(eq("RUN-001"), eq("node-old"), anyString(), any(LocalDateTime.class)))
+                                .thenReturn(true);
+                when(reconRepository.getPendingReconOrdersAfter("2024-01-01", base, 2L, 0, 1, 2))
+                                .thenReturn(Collections.singletonList(pendingOrder(3L, "ORD-T-003", base)));
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                // 从检查点游标续跑，不再从头扫描，也不新建运行记录
+                verify(reconRepository, never()).getPendingReconOrdersAfter(anyString(), isNull(), isNull(), anyInt(),
+                                anyInt(), anyInt());
+                verify(reconRepository, never()).saveJobRun(any());
+                verify(reconRepository).updateJobRunCheckpoint(same(interrupted));
+                verify(reconRepository).finishJobRun(same(interrupted));
+                assertEquals(ReconJobRunDO.STATUS_COMPLETED, interrupted.getStatus());
+                assertEquals(3L, interrupted.getProcessedCount());
+                assertEquals(3L, interrupted.getSucceededCount());
+                assertEquals(Long.valueOf(3L), interrupted.getCursorId());
+                assertNotNull(interrupted.getDurationMs());
+                verify(alarmService).sendAlarm(contains("共处理 1 笔记录"));
+        }
+
+        @Test
+        void testDoTimingRecon_StopsWhenRunTakenOver() {
+                LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+                List<ReconOrderMainDO> page1 = new ArrayList<>();
+                page1.add(pendingOrder(1L, "ORD-T-001", base));
+                page1.add(pendingOrder(2L, "ORD-T-002", base));
+                when(reconRepository.getPendingReconOrdersAfter(eq("2024-01-01"), isNull(), isNull(), eq(0), eq(1), eq(2)))
+                                .thenReturn(page1);
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+                // 提交游标失败说明运行记录已被其他节点接管
+                when(reconRepository.updateJobRunCheckpoint(any())).thenReturn(false);
+
+                assertTrue(timingReconService.doTimingRecon("2024-01-01"));
+
+                verify(reconRepository, times(1)).getPendingReconOrdersAfter(anyString(), any(), any(), anyInt(),
+                                anyInt(), anyInt());
+                verify(alarmService).sendAlarm(contains("共处理 2 笔记录"));
+        }
+
+        @Test
+        void testDoTimingRecon_InterruptedScanLeavesRunResumable() {
+                when(reconRepository.getPendingReconOrdersAfter(anyString(), any(), any(), anyInt(), anyInt(),
+                                anyInt()))
+                                .thenThrow(new IllegalStateException("db down"));
+                ArgumentCaptor<ReconJobRunDO> runCaptor = ArgumentCaptor.forClass(ReconJobRunDO.class);
+
+                assertFalse(timingReconService.doTimingRecon("2024-01-01"));
+
+                verify(reconRepository).saveJobRun(runCaptor.capture());
+                verify(reconRepository).finishJobRun(runCaptor.getValue());
+                assertEquals(ReconJobRunDO.STATUS_INTERRUPTED, runCaptor.getValue().getStatus());
+                assertEquals(TimingReconService.JOB_NAME, runCaptor.getValue().getJobName());
+                assertNull(runCaptor.getValue().getCursorId());
+        }
+
+        @Test
+        void testDoContinuousRecon_AdvancesWatermarkInBatches() {
+                properties.getTiming().getContinuous().setBatchSize(2);
+                LocalDateTime mark = LocalDateTime.of(2024, 1, 1, 9, 0);
+                ReconJobWatermarkDO watermark = new ReconJobWatermarkDO();
+                watermark.setWatermarkTime(mark);
+                watermark.setWatermarkId(7L);
+                when(reconRepository.getJobWatermark(TimingReconService.CONTINUOUS_JOB_NAME)).thenReturn(watermark);
+                ReconOrderMainDO first = pendingOrder(8L, "ORD-C-008", mark);
+                first.setUpdateTime(mark.plusSeconds(1));
+                ReconOrderMainDO second = pendingOrder(3L, "ORD-C-003", mark);
+                second.setUpdateTime(mark.plusSeconds(2));
+                ReconOrderMainDO third = pendingOrder(9L, "ORD-C-009", mark);
+                third.setUpdateTime(mark.plusSeconds(3));
+                when(reconRepository.getPendingReconOrdersUpdatedAfter(eq(mark), eq(7L), any(LocalDateTime.class), eq(2)))
+                                .thenReturn(java.util.Arrays.asList(first, second));
+                when(reconRepository.getPendingReconOrdersUpdatedAfter(eq(mark.plusSeconds(2)), eq(3L),
+                                any(LocalDateTime.class), eq(2)))
+                                .thenReturn(Collections.singletonList(third));
+                when(reconRepository.getOrderSplitDetailsByOrderNos(anyCollection()))
+                                .thenReturn(Collections.emptyMap());
+
+                assertEquals(3L, timingReconService.doContinuousRecon());
+
+                // 每批处理后按 (update_time, id) 推进并持久化水位
+                verify(reconRepository).saveJobWatermark(TimingReconService.CONTINUOUS_JOB_NAME, mark.plusSeconds(2),
+                                3L);
+                verify(reconRepository).saveJobWatermark(TimingReconService.CONTINUOUS_JOB_NAME, mark.plusSeconds(3),
+                                9L);
+                verify(reconRepository, times(2)).batchCompareAndUpdateReconStatus(anyCollection(),
+                                eq(ReconStatusEnum.SUCCESS));
+                // 安全延迟：查询上界早于当前时间
+                ArgumentCaptor<LocalDateTime> upperBound = ArgumentCaptor.forClass(LocalDateTime.class);
+                verify(reconRepository).getPendingReconOrdersUpdatedAfter(eq(mark), eq(7L), upperBound.capture(),
+                                eq(2));
+                assertTrue(upperBound.getValue().isBefore(LocalDateTime.now().minusSeconds(4)));
+                verify(reconRepository, never()).tryAcquireShardLease(anyString(), any(), anyInt(), anyInt(),
+                                anyString(), anyLong());
+                verifyNoInteractions(alarmService);
+        }
+
+        private static List<String> orderNosOf(Collection<ReconOrderMainDO> orders) {
+                List<String> orderNos = new ArrayList<>();
+                for (ReconOrderMainDO order : orders) {
+                        orderNos.add(order.getOrderNo());
+                }
+                return orderNos;
+        }
+
+        private ReconOrderMainDO pendingOrder(Long id, String orderNo, LocalDateTime createTime) {
+                ReconOrderMainDO order = new ReconOrderMainDO();
+                order.setId(id);
+                order.setOrderNo(orderNo);
+                order.setPayAmount(new BigDecimal("100.00"));
+                order.setPlatformIncome(new BigDecimal("100.00"));
+                order.setPayFee(BigDecimal.ZERO);
+                order.setPayStatus(PayStatusEnum.SUCCESS.getCode());
+                order.setSplitStatus(SplitStatusEnum.SUCCESS.getCode());
+                order.setNotifyStatus(NotifyStatusEnum.SUCCESS.getCode());
+                order.setReconStatus(0);
+                order.setCreateTime(createTime);
+                return order;
+        }
+}
@@ -0,0 +1,105 @@
+package tech.coffers.recon.dialect;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 方言接口新旧签名兼容测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class ReconDatabaseDialectTest {
+
+    @Test
+    public void testLegacyDialect_ColumnsSubstitutedIntoSelectStar() {
+        ReconDatabaseDialect dialect = new LegacyDialect();
+
+        assertEquals("SELECT id, order_no FROM t WHERE recon_status = 0 LIMIT 10 OFFSET 20",
+                dialect.getPendingReconOrdersSql("t", "id, order_no", 20, 10));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testLegacySignatures_DelegateToColumnAwareMethods() {
+        ReconDatabaseDialect dialect = new MySqlReconDialect();
+
+        assertTrue(dialect.getPendingReconOrdersSql("t", 0, 10).startsWith("SELECT * FROM t "));
+        assertTrue(dialect.getSelectOrderMainByDateSql("t", false).startsWith("SELECT * FROM t "));
+    }
+
+    /**
+     * 待核账分页查询只实现了旧版不带列清单签名的自定义方言
+     */
+    @SuppressWarnings("deprecation")
+    private static class LegacyDialect implements ReconDatabaseDialect {
+
+        @Override
+        public String getPendingReconOrdersSql(String tableName, int offset, int limit) {
+            return "SELECT * FROM " + tableName + " WHERE recon_status = 0 LIMIT " + limit + " OFFSET " + offset;
+        }
+
+        @Override
+        public String getPendingReconOrdersByCursorSql(String tableName, String columns, boolean partitioned,
+                boolean hasCursor, int limit) {
+            return null;
+        }
+
+        @Override
+        public String getPendingReconOrdersByUpdateTimeSql(String tableName, String columns, boolean hasCursor,
+                int limit) {
+            return null;
+        }
+
+        @Override
+        public String getInsertOrderMainSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getInsertOrderSplitSubSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getInsertExceptionSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getInsertNotifyLogSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getInsertOrderRefundSplitSubSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getCreateTimeKeysetBeforeCondition() {
+            return null;
+        }
+
+        @Override
+        public String getUpsertJobWatermarkSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getInsertShardLeaseSql(String tableName) {
+            return null;
+        }
+
+        @Override
+        public String getApplySplitNotifySql(String mainTable, String detailTable) {
+            return null;
+        }
+
+        @Override
+        public String getMergeReconSummarySql(String tableName, boolean accumulate) {
+            return null;
+        }
+    }
+}
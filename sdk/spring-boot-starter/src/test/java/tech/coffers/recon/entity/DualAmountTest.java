@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class DualAmountTest {
 
@@ -26,6 +27,9 @@ public class DualAmountTest {
 
         mainDO.setSplitTotalAmountFen(null);
         assertNull(mainDO.getSplitTotalAmount());
+
+        // Sub-fen precision is rejected instead of truncated
+        assertThrows(IllegalArgumentException.class, () -> mainDO.setPayAmount(new BigDecimal("100.005")));
     }
 
     @Test
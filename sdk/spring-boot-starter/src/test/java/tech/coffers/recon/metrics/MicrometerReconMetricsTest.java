@@ -0,0 +1,153 @@
+package tech.coffers.recon.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.core.service.AlarmService;
+import tech.coffers.recon.core.service.RealtimeReconService;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Micrometer 对账指标单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class MicrometerReconMetricsTest {
+
+    @Test
+    void testMeteredRepository_RecordsOutcomes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReconRepository delegate = mock(ReconRepository.class);
+        when(delegate.saveOrderMain(any())).thenReturn(true);
+        when(delegate.saveException(any())).thenReturn(false);
+        when(delegate.updateReconStatus(anyString(), any())).thenThrow(new IllegalStateException("db down"));
+
+        ReconRepository repository = MeteredReconRepository.wrap(delegate, new MicrometerReconMetrics(registry));
+
+        assertTrue(repository.saveOrderMain(null));
+        assertFalse(repository.saveException(null));
+        assertThrows(IllegalStateException.class,
+                () -> repository.updateReconStatus("ORD_METRIC_001", ReconStatusEnum.SUCCESS));
+
+        assertEquals(1, registry.get("easy.recon.repository")
+                .tags("method", "saveOrderMain", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("easy.recon.repository")
+                .tags("method", "saveException", "outcome", "failure").timer().count());
+        assertEquals(1, registry.get("easy.recon.repository")
+                .tags("method", "updateReconStatus", "outcome", "error").timer().count());
+        assertEquals(1.0, registry.get("easy.recon.repository.errors")
+                .tag("method", "updateReconStatus").counter().count());
+        assertNull(registry.find("easy.recon.repository.errors").tag("method", "saveOrderMain").counter());
+    }
+
+    @Test
+    void testMeteredRepository_BusinessFalseIsNotFailure() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReconRepository delegate = mock(ReconRepository.class);
+        when(delegate.compareAndUpdateReconStatus(anyString(), any(), anyLong())).thenReturn(false);
+        when(delegate.isAllSplitSubNotified(anyString())).thenReturn(false);
+        when(delegate.tryAcquireShardLease(anyString(), any(), anyInt(), anyInt(), anyString(), anyLong()))
+                .thenReturn(false);
+
+        ReconRepository repository = MeteredReconRepository.wrap(delegate, new MicrometerReconMetrics(registry));
+
+        // 版本冲突、通知未完成、租约竞争都是正常结果
+        assertFalse(repository.compareAndUpdateReconStatus("ORD_METRIC_002", ReconStatusEnum.SUCCESS, 1L));
+        assertFalse(repository.isAllSplitSubNotified("ORD_METRIC_002"));
+        assertFalse(repository.tryAcquireShardLease("job", LocalDate.of(2026, 3, 1), 0, 4, "node-1", 60L));
+
+        assertEquals(1, registry.get("easy.recon.repository")
+                .tags("method", "compareAndUpdateReconStatus", "outcome", "success").timer().count());
+        assertNull(registry.find("easy.recon.repository.errors").counter());
+    }
+
+    @Test
+    void testStageResultAndExceptionCounters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReconMetrics metrics = new MicrometerReconMetrics(registry);
+
+        metrics.recordStage(ReconMetrics.STAGE_VALIDATE, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordStage(ReconMetrics.STAGE_VALIDATE, TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.recordReconResult(ReconStatusEnum.SUCCESS);
+        metrics.recordReconResult(ReconStatusEnum.FAILURE);
+        metrics.recordReconResult(ReconStatusEnum.SUCCESS);
+        metrics.recordException(4);
+
+        assertEquals(2, registry.get("easy.recon.stage").tag("stage", "validate").timer().count());
+        assertEquals(12.0, registry.get("easy.recon.stage").tag("stage", "validate").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2.0, registry.get("easy.recon.result").tag("status", "SUCCESS").counter().count());
+        assertEquals(1.0, registry.get("easy.recon.result").tag("status", "FAILURE").counter().count());
+        assertEquals(1.0, registry.get("easy.recon.exception").tag("step", "4").counter().count());
+    }
+
+    @Test
+    void testBindExecutor_ExposesQueueDepth() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        try {
+            new MicrometerReconMetrics(registry).bindExecutor("test", executor);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> {
+            });
+
+            assertEquals(1.0, registry.get("easy.recon.executor.active").tag("name", "test").gauge().value());
+            assertEquals(1.0, registry.get("easy.recon.executor.queue").tag("name", "test").gauge().value());
+            release.countDown();
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    void testBindOrderLanesAndAlarmService_ExposeQueueDepths() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReconMetrics metrics = new MicrometerReconMetrics(registry);
+        RealtimeReconService realtimeReconService = mock(RealtimeReconService.class);
+        when(realtimeReconService.getOrderLaneCount()).thenReturn(2);
+        when(realtimeReconService.getOrderLaneQueueDepth(1)).thenReturn(3);
+        AlarmService alarmService = mock(AlarmService.class);
+        when(alarmService.getQueueDepth()).thenReturn(4);
+        when(alarmService.getDroppedCount()).thenReturn(7L);
+
+        metrics.bindOrderLanes(realtimeReconService);
+        metrics.bindAlarmService(alarmService);
+
+        assertEquals(0.0, registry.get("easy.recon.lane.queue").tag("lane", "0").gauge().value());
+        assertEquals(3.0, registry.get("easy.recon.lane.queue").tag("lane", "1").gauge().value());
+        assertEquals(4.0, registry.get("easy.recon.alarm.queue").gauge().value());
+        assertEquals(7.0, registry.get("easy.recon.alarm.dropped").functionCounter().count());
+    }
+
+    private static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,155 @@
+package tech.coffers.recon.repository.cache;
+
+import org.junit.jupiter.api.Test;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 存储库读缓存单元测试
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+class CachingReconRepositoryTest {
+
+    @Test
+    void testOrderNoMapping_CachesNonNullResults() {
+        ReconRepository delegate = mock(ReconRepository.class);
+        when(delegate.findOrderNoBySub("MCH_A", "SUB_001")).thenReturn("ORD_001");
+        when(delegate.findOrderNoByMerchantOrder("MCH_A", "SUB_001")).thenReturn("ORD_002");
+        ReconRepositoryCache cache = new ReconRepositoryCache(config(100, 30));
+        ReconRepository repository = CachingReconRepository.wrap(delegate, cache);
+
+        assertEquals("ORD_001", repository.findOrderNoBySub("MCH_A", "SUB_001"));
+        assertEquals("ORD_001", repository.findOrderNoBySub("MCH_A", "SUB_001"));
+        // 子订单号与商户订单号相同时互不干扰
+        assertEquals("ORD_002", repository.findOrderNoByMerchantOrder("MCH_A", "SUB_001"));
+        // 未找到的映射不缓存，订单后续落库后可以查到
+        assertNull(repository.findOrderNoBySub("MCH_A", "SUB_404"));
+        assertNull(repository.findOrderNoBySub("MCH_A", "SUB_404"));
+
+        verify(delegate, times(1)).findOrderNoBySub("MCH_A", "SUB_001");
+        verify(delegate, times(2)).findOrderNoBySub("MCH_A", "SUB_404");
+        ReconCacheStats stats = cache.getOrderNoStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(4, stats.getMissCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    void testOrderMain_InvalidatedByWrites() {
+        ReconRepository delegate = mock(ReconRepository.class);
+        when(delegate.getOrderMainByOrderNo("ORD_001")).thenReturn(order("ORD_001", 1L));
+        when(delegate.updateReconStatus(any(), any())).thenReturn(true);
+        when(delegate.batchUpdateReconStatus(any(), any())).thenReturn(true);
+        when(delegate.compareAndUpdateReconRefundStatus(any())).thenReturn(false);
+        ReconRepositoryCache cache = new ReconRepositoryCache(config(100, 30));
+        ReconRepository repository = CachingReconRepository.wrap(delegate, cache);
+
+        // 返回的是副本，调用方修改不会污染缓存
+        repository.getOrderMainByOrderNo("ORD_001").setRefundStatus(1);
+        assertNull(repository.getOrderMainByOrderNo("ORD_001").getRefundStatus());
+        assertEquals(new BigDecimal("100.00"), repository.getOrderMainByOrderNo("ORD_001").getPayAmount());
+        verify(delegate, times(1)).getOrderMainByOrderNo("ORD_001");
+
+        repository.updateReconStatus("ORD_001", ReconStatusEnum.SUCCESS);
+        repository.getOrderMainByOrderNo("ORD_001");
+        repository.batchUpdateReconStatus(Arrays.asList("ORD_002", "ORD_001"), ReconStatusEnum.FAILURE);
+        repository.getOrderMainByOrderNo("ORD_001");
+        // 比较更新失败同样失效，版本冲突重试时读取最新版本
+        repository.compareAndUpdateReconRefundStatus(order("ORD_001", 1L));
+        repository.getOrderMainByOrderNo("ORD_001");
+        verify(delegate, times(4)).getOrderMainByOrderNo("ORD_001");
+
+        // 与主订单无关的写入不影响缓存
+        repository.saveException(null);
+        repository.getOrderMainByOrderNo("ORD_001");
+        verify(delegate, times(4)).getOrderMainByOrderNo("ORD_001");
+        assertEquals(3, cache.getOrderMainStats().getHitCount());
+    }
+
+    @Test
+    void testOrderMain_EvictsLeastRecentlyUsedAndExpired() throws Exception {
+        ReconRepository delegate = mock(ReconRepository.class);
+        for (String orderNo : Arrays.asList("ORD_001", "ORD_002", "ORD_003")) {
+            when(delegate.getOrderMainByOrderNo(orderNo)).thenReturn(order(orderNo, 0L));
+        }
+        ReconRepositoryCache cache = new ReconRepositoryCache(config(2, 0));
+        ReconRepository repository = CachingReconRepository.wrap(delegate, cache);
+
+        repository.getOrderMainByOrderNo("ORD_001");
+        repository.getOrderMainByOrderNo("ORD_002");
+        repository.getOrderMainByOrderNo("ORD_001");
+        repository.getOrderMainByOrderNo("ORD_003");
+        // ORD_002 最久未访问，被淘汰
+        repository.getOrderMainByOrderNo("ORD_001");
+        repository.getOrderMainByOrderNo("ORD_002");
+        verify(delegate, times(1)).getOrderMainByOrderNo("ORD_001");
+        verify(delegate, times(2)).getOrderMainByOrderNo("ORD_002");
+        assertEquals(2, cache.getOrderMainStats().getEvictionCount());
+        assertEquals(2, cache.getOrderMainStats().getSize());
+
+        LruCache<String> expiring = new LruCache<>(10, 1L);
+        expiring.putIfUnchanged("k", "v", expiring.stamp("k"));
+        Thread.sleep(2);
+        assertNull(expiring.get("k"));
+        assertEquals(1, expiring.stats().getEvictionCount());
+    }
+
+    @Test
+    void testPutIfUnchanged_SkipsStaleFill() {
+        LruCache<String> cache = new LruCache<>(10, 0L);
+        long stamp = cache.stamp("ORD_001");
+        // 读取数据库期间发生写入失效，读到的旧值不回填
+        cache.invalidate("ORD_001");
+        cache.putIfUnchanged("ORD_001", "stale", stamp);
+        assertNull(cache.get("ORD_001"));
+
+        cache.putIfUnchanged("ORD_001", "fresh", cache.stamp("ORD_001"));
+        assertEquals("fresh", cache.get("ORD_001"));
+    }
+
+    @Test
+    void testPutIfUnchanged_OtherKeyInvalidationKeepsFill() {
+        LruCache<String> cache = new LruCache<>(10000, 0L);
+        long stamp = cache.stamp("ORD_001");
+        // 其他订单的写入失效不影响本订单回填
+        for (int i = 2; i <= 100; i++) {
+            cache.invalidate("ORD_" + i);
+        }
+        cache.putIfUnchanged("ORD_001", "fresh", stamp);
+        assertEquals("fresh", cache.get("ORD_001"));
+
+        // 清空缓存使所有在途回填失效
+        long clearedStamp = cache.stamp("ORD_002");
+        cache.clear();
+        cache.putIfUnchanged("ORD_002", "stale", clearedStamp);
+        assertNull(cache.get("ORD_002"));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    private static ReconSdkProperties.Cache config(int maxSize, long ttlSeconds) {
+        ReconSdkProperties.Cache config = new ReconSdkProperties.Cache();
+        config.setEnabled(true);
+        config.setMaxSize(maxSize);
+        config.setOrderTtlSeconds(ttlSeconds);
+        return config;
+    }
+
+    private static ReconOrderMainDO order(String orderNo, long version) {
+        ReconOrderMainDO order = new ReconOrderMainDO();
+        order.setOrderNo(orderNo);
+        order.setPayAmount(new BigDecimal("100.00"));
+        order.setVersion(version);
+        return order;
+    }
+}
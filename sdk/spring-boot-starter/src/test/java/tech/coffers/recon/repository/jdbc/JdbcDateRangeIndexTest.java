@@ -0,0 +1,226 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconExceptionDO;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 按日期过滤查询的半开区间谓词、索引命中与扫描投影测试（H2 MySQL 兼容模式）
+ * <p>
+ * 记录存储库实际执行的 SQL 与参数，再以 EXPLAIN 检查执行计划是否使用 create_time 前缀的索引。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcDateRangeIndexTest {
+
+    private RecordingJdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testOrderMainByDate_UsesCreateTimeIndex() {
+        JdbcReconRepository repository = setUp();
+
+        assertEquals(2, repository.countOrderMainByDate("2026-03-01", null));
+        assertPlanUses("IDX_MAIN_CREATE_KEYSET");
+        assertEquals(1, repository.countOrderMainByDate("2026-03-01", ReconStatusEnum.SUCCESS));
+        assertPlanUses("IDX_MAIN_");
+
+        assertEquals(2, repository.getOrderMainByDate("2026-03-01", null, 0, 10).size());
+        assertPlanUses("IDX_MAIN_CREATE_KEYSET");
+        // 次日 0 点的订单不属于当日
+        assertEquals(1, repository.getOrderMainByDate("2026-03-02", null, 0, 10).size());
+    }
+
+    @Test
+    public void testExceptionRecords_UseMerchantCreateTimeIndex() {
+        JdbcReconRepository repository = setUp();
+
+        assertEquals(2, repository.countExceptionRecords("MCH_A", "2026-03-01", "2026-03-01", null));
+        assertPlanUses("IDX_EXC_MERCHANT_CREATE");
+        assertEquals(2, repository.getExceptionRecords("MCH_A", "2026-03-01", "2026-03-01", null, 0, 10).size());
+        assertPlanUses("IDX_EXC_MERCHANT_CREATE");
+
+        assertEquals(3, repository.countExceptionRecords(null, "2026-03-01", "2026-03-02", null));
+        assertPlanUses("IDX_EXC_CREATE_TIME");
+    }
+
+    @Test
+    public void testKeysetPaging_WalksTiesWithoutGapsOrDuplicates() {
+        JdbcReconRepository repository = setUp();
+        // 与 ORD-RANGE-001 创建时间相同，只能靠 id 区分先后
+        LocalDateTime day = LocalDateTime.of(2026, 3, 1, 0, 0);
+        insertOrder("ORD-RANGE-004", ReconStatusEnum.SUCCESS, day);
+
+        List<String> walked = new ArrayList<>();
+        LocalDateTime lastCreateTime = null;
+        Long lastId = null;
+        while (true) {
+            List<ReconOrderMainDO> page = repository.getOrderMainByDateBefore("2026-03-01", null, lastCreateTime,
+                    lastId, 1);
+            if (lastId != null) {
+                assertPlanUses("IDX_MAIN_CREATE_KEYSET");
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.add(page.get(0).getOrderNo());
+            lastCreateTime = page.get(0).getCreateTime();
+            lastId = page.get(0).getId();
+        }
+        assertEquals(Arrays.asList("ORD-RANGE-002", "ORD-RANGE-004", "ORD-RANGE-001"), walked);
+
+        List<ReconOrderMainDO> success = repository.getOrderMainByDateBefore("2026-03-01", ReconStatusEnum.SUCCESS,
+                day, Long.MAX_VALUE, 10);
+        assertEquals(2, success.size());
+
+        List<ReconExceptionDO> exceptions = repository.getExceptionRecordsBefore("MCH_A", "2026-03-01",
+                "2026-03-02", null, null, null, 1);
+        assertEquals("ORD-RANGE-002", exceptions.get(0).getOrderNo());
+        exceptions = repository.getExceptionRecordsBefore("MCH_A", "2026-03-01", "2026-03-02", null,
+                exceptions.get(0).getCreateTime(), exceptions.get(0).getId(), 10);
+        assertPlanUses("IDX_EXC_MERCHANT_CREATE");
+        assertEquals(1, exceptions.size());
+        assertEquals("ORD-RANGE-001", exceptions.get(0).getOrderNo());
+    }
+
+    @Test
+    public void testPendingSweep_ReadsProjectionOnly() {
+        JdbcReconRepository repository = setUp();
+        jdbcTemplate.update("UPDATE easy_recon_order_main SET pay_amount = 100.00, pay_amount_fen = 10000, "
+                + "notify_result = ?, refund_status = 1 WHERE order_no = ?", "SUCCESS", "ORD-RANGE-002");
+
+        List<ReconOrderMainDO> pending = repository.getPendingReconOrdersAfter("2026-03-01", null, null, 10);
+        assertFalse(jdbcTemplate.lastSql.contains("*"), jdbcTemplate.lastSql);
+        assertFalse(jdbcTemplate.lastSql.contains("notify_result"), jdbcTemplate.lastSql);
+        assertEquals(1, pending.size());
+        ReconOrderMainDO order = pending.get(0);
+        assertEquals("ORD-RANGE-002", order.getOrderNo());
+        assertEquals(0, order.getPayAmount().compareTo(new BigDecimal("100.00")));
+        assertNotNull(order.getId());
+        assertNotNull(order.getCreateTime());
+        // 扫描投影不读取通知结果与退款字段，按订单号查询仍返回完整记录
+        assertNull(order.getNotifyResult());
+        assertNull(order.getRefundStatus());
+        ReconOrderMainDO full = repository.getOrderMainByOrderNo("ORD-RANGE-002");
+        assertEquals("SUCCESS", full.getNotifyResult());
+        assertEquals(Integer.valueOf(1), full.getRefundStatus());
+    }
+
+    private void assertPlanUses(String indexName) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + jdbcTemplate.lastSql, String.class,
+                jdbcTemplate.lastArgs);
+        assertTrue(plan.toUpperCase().contains(indexName), plan);
+        assertFalse(plan.toUpperCase().contains("TABLESCAN"), plan);
+    }
+
+    private JdbcReconRepository setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:date_range;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new RecordingJdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_main ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "pay_amount DECIMAL(18,2), pay_amount_fen BIGINT, "
+                + "platform_income DECIMAL(18,2), platform_income_fen BIGINT, "
+                + "pay_fee DECIMAL(18,2), pay_fee_fen BIGINT, "
+                + "split_total_amount DECIMAL(18,2), split_total_amount_fen BIGINT, "
+                + "pay_status SMALLINT NOT NULL DEFAULT 0, "
+                + "split_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "pending_notify_count INT NOT NULL DEFAULT 0, "
+                + "recon_status SMALLINT NOT NULL DEFAULT 0, "
+                + "refund_status SMALLINT, refund_amount DECIMAL(18,2), refund_amount_fen BIGINT, "
+                + "refund_time TIMESTAMP, "
+                + "version BIGINT NOT NULL DEFAULT 0, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_main_create_keyset ON easy_recon_order_main (create_time, id, recon_status)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_exception ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "exception_msg VARCHAR(255), "
+                + "exception_step SMALLINT NOT NULL DEFAULT 5, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_exc_merchant_create ON easy_recon_exception (merchant_id, create_time)");
+        jdbcTemplate.execute("CREATE INDEX idx_exc_create_time ON easy_recon_exception (create_time)");
+
+        LocalDateTime day = LocalDateTime.of(2026, 3, 1, 0, 0);
+        insertOrder("ORD-RANGE-001", ReconStatusEnum.SUCCESS, day);
+        insertOrder("ORD-RANGE-002", ReconStatusEnum.PENDING, day.plusHours(23).plusMinutes(59));
+        insertOrder("ORD-RANGE-003", ReconStatusEnum.PENDING, day.plusDays(1));
+        insertException("ORD-RANGE-001", "MCH_A", day.plusHours(1));
+        insertException("ORD-RANGE-002", "MCH_A", day.plusHours(23));
+        insertException("ORD-RANGE-003", "MCH_B", day.plusDays(1).plusHours(1));
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory, new ReconSdkProperties());
+    }
+
+    private void insertOrder(String orderNo, ReconStatusEnum reconStatus, LocalDateTime createTime) {
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, recon_status, create_time) VALUES (?, ?, ?)",
+                orderNo, reconStatus.getCode(), createTime);
+    }
+
+    private void insertException(String orderNo, String merchantId, LocalDateTime createTime) {
+        jdbcTemplate.update("INSERT INTO easy_recon_exception (order_no, merchant_id, create_time) VALUES (?, ?, ?)",
+                orderNo, merchantId, createTime);
+    }
+
+    /**
+     * 记录最近一次查询的 SQL 与参数
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private String lastSql;
+        private Object[] lastArgs;
+
+        RecordingJdbcTemplate(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            record(sql, args);
+            return super.query(sql, rowMapper, args);
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            if (!sql.startsWith("EXPLAIN ")) {
+                record(sql, args);
+            }
+            return super.queryForObject(sql, requiredType, args);
+        }
+
+        private void record(String sql, Object[] args) {
+            this.lastSql = sql;
+            this.lastArgs = args.clone();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconJobRunDO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 运行记录仓储测试（H2 MySQL 兼容模式模拟多节点接管）
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcJobRunTest {
+
+    private static final LocalDate BIZ_DATE = LocalDate.of(2024, 1, 1);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testClaimJobRun_RunningRunOnlyTakenOverWhenStale() {
+        JdbcReconRepository repository = setUp();
+        assertTrue(repository.saveJobRun(jobRun("RUN-001", "node-a")));
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(600);
+
+        // 仍在提交游标的运行中记录属于存活节点，不可接管
+        assertFalse(repository.claimJobRun("RUN-001", "node-a", "node-b", staleBefore));
+        assertEquals("node-a", owner("RUN-001"));
+
+        // 超过失联判定时长未更新后可接管，原持有者随后提交游标失败
+        jdbcTemplate.update("UPDATE easy_recon_job_run SET update_time = ? WHERE run_id = ?",
+                LocalDateTime.now().minusSeconds(601), "RUN-001");
+        assertTrue(repository.claimJobRun("RUN-001", "node-a", "node-b", staleBefore));
+        assertEquals("node-b", owner("RUN-001"));
+        assertFalse(repository.updateJobRunCheckpoint(jobRun("RUN-001", "node-a")));
+        assertTrue(repository.updateJobRunCheckpoint(jobRun("RUN-001", "node-b")));
+    }
+
+    @Test
+    public void testClaimJobRun_InterruptedRunTakenOverImmediately() {
+        JdbcReconRepository repository = setUp();
+        ReconJobRunDO run = jobRun("RUN-002", "node-a");
+        run.setStatus(ReconJobRunDO.STATUS_INTERRUPTED);
+        assertTrue(repository.saveJobRun(run));
+
+        assertTrue(repository.claimJobRun("RUN-002", "node-a", "node-b", LocalDateTime.now().minusSeconds(600)));
+        assertEquals("node-b", owner("RUN-002"));
+    }
+
+    private ReconJobRunDO jobRun(String runId, String owner) {
+        ReconJobRunDO run = new ReconJobRunDO();
+        run.setRunId(runId);
+        run.setJobName("timing_recon");
+        run.setBizDate(BIZ_DATE);
+        run.setPartitionIndex(0);
+        run.setPartitionCount(1);
+        run.setOwner(owner);
+        run.setStatus(ReconJobRunDO.STATUS_RUNNING);
+        run.setProcessedCount(0L);
+        run.setSucceededCount(0L);
+        run.setFailedCount(0L);
+        run.setStartTime(LocalDateTime.now());
+        return run;
+    }
+
+    private String owner(String runId) {
+        return jdbcTemplate.queryForObject("SELECT owner FROM easy_recon_job_run WHERE run_id = ?", String.class,
+                runId);
+    }
+
+    private JdbcReconRepository setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:job_run;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_job_run ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "run_id VARCHAR(64) NOT NULL UNIQUE, "
+                + "job_name VARCHAR(64) NOT NULL, "
+                + "biz_date DATE NOT NULL, "
+                + "partition_index INT NOT NULL, "
+                + "partition_count INT NOT NULL, "
+                + "owner VARCHAR(128) NOT NULL, "
+                + "status SMALLINT NOT NULL DEFAULT 0, "
+                + "cursor_create_time TIMESTAMP(3), "
+                + "cursor_id BIGINT, "
+                + "processed_count BIGINT NOT NULL DEFAULT 0, "
+                + "succeeded_count BIGINT NOT NULL DEFAULT 0, "
+                + "failed_count BIGINT NOT NULL DEFAULT 0, "
+                + "start_time TIMESTAMP(3) NOT NULL, "
+                + "end_time TIMESTAMP(3), "
+                + "duration_ms BIGINT, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP NOT NULL)");
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory, new ReconSdkProperties());
+    }
+}
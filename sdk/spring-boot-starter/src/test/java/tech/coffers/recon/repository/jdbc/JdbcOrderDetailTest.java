@@ -0,0 +1,210 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconOrderDetailDO;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 订单详情聚合查询与批量查询测试（H2 MySQL 兼容模式）
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcOrderDetailTest {
+
+    private CountingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testGetOrderDetail_LoadsAllPartsOnOneConnection() {
+        JdbcReconRepository repository = setUp();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 10, 0);
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, pay_amount, create_time) VALUES (?, ?, ?)",
+                "ORD-DETAIL-001", 100, now);
+        jdbcTemplate.update("INSERT INTO easy_recon_order_sub (order_no, sub_order_no, merchant_id, create_time) "
+                + "VALUES (?, ?, ?, ?), (?, ?, ?, ?)",
+                "ORD-DETAIL-001", "SUB-1", "MCH_A", now, "ORD-DETAIL-001", "SUB-2", "MCH_B", now);
+        jdbcTemplate.update("INSERT INTO easy_recon_order_split_detail (order_no, merchant_id, create_time) "
+                + "VALUES (?, ?, ?)", "ORD-DETAIL-001", "MCH_A", now);
+        jdbcTemplate.update("INSERT INTO easy_recon_order_refund_detail (order_no, merchant_id, create_time) "
+                + "VALUES (?, ?, ?)", "ORD-DETAIL-001", "MCH_A", now);
+        jdbcTemplate.update("INSERT INTO easy_recon_notify_log (order_no, merchant_id, create_time) "
+                + "VALUES (?, ?, ?), (?, ?, ?)",
+                "ORD-DETAIL-001", "MCH_A", now, "ORD-DETAIL-001", "MCH_A", now.plusMinutes(5));
+        jdbcTemplate.update("INSERT INTO easy_recon_exception (order_no, merchant_id, create_time) VALUES (?, ?, ?)",
+                "ORD-DETAIL-001", "MCH_A", now);
+        // 其他订单的数据不应混入
+        jdbcTemplate.update("INSERT INTO easy_recon_order_sub (order_no, sub_order_no, merchant_id, create_time) "
+                + "VALUES (?, ?, ?, ?)", "ORD-DETAIL-002", "SUB-3", "MCH_A", now);
+        dataSource.connections.set(0);
+
+        ReconOrderDetailDO detail = repository.getOrderDetail("ORD-DETAIL-001");
+
+        assertEquals(1, dataSource.connections.get());
+        assertEquals("ORD-DETAIL-001", detail.getOrderMain().getOrderNo());
+        assertEquals(2, detail.getOrderSubs().size());
+        assertEquals(1, detail.getSplitDetails().size());
+        assertEquals(1, detail.getRefundDetails().size());
+        assertEquals(2, detail.getNotifyLogs().size());
+        // 通知记录按时间倒序
+        assertEquals(now.plusMinutes(5), detail.getNotifyLogs().get(0).getCreateTime());
+        assertEquals(1, detail.getExceptions().size());
+    }
+
+    @Test
+    public void testGetOrderDetail_MissingOrderReturnsNull() {
+        JdbcReconRepository repository = setUp();
+
+        assertNull(repository.getOrderDetail("ORD-DETAIL-404"));
+    }
+
+    @Test
+    public void testMultiGet_ChunkedInQueries() {
+        JdbcReconRepository repository = setUp();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 10, 0);
+        List<String> orderNos = new ArrayList<>();
+        for (int i = 1; i <= 1500; i++) {
+            orderNos.add(String.format("ORD-MULTI-%04d", i));
+        }
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, recon_status, create_time) VALUES (?, ?, ?)",
+                "ORD-MULTI-0001", ReconStatusEnum.SUCCESS.getCode(), now);
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, recon_status, create_time) VALUES (?, ?, ?)",
+                "ORD-MULTI-1500", ReconStatusEnum.FAILURE.getCode(), now);
+        // 重复的订单号只查询一次
+        orderNos.add("ORD-MULTI-0001");
+        dataSource.connections.set(0);
+
+        Map<String, Integer> statuses = repository.getReconStatusesByOrderNos(orderNos);
+        // 1500 个订单号按 IN 列表上限分两批
+        assertEquals(2, dataSource.connections.get());
+        assertEquals(2, statuses.size());
+        assertEquals(ReconStatusEnum.SUCCESS.getCode(), statuses.get("ORD-MULTI-0001"));
+        assertEquals(ReconStatusEnum.FAILURE.getCode(), statuses.get("ORD-MULTI-1500"));
+
+        Map<String, ReconOrderMainDO> orderMains = repository.getOrderMainsByOrderNos(orderNos);
+        assertEquals(4, dataSource.connections.get());
+        assertEquals(2, orderMains.size());
+        assertEquals("ORD-MULTI-1500", orderMains.get("ORD-MULTI-1500").getOrderNo());
+
+        assertTrue(repository.getReconStatusesByOrderNos(Collections.emptyList()).isEmpty());
+        assertTrue(repository.getOrderMainsByOrderNos(null).isEmpty());
+        assertEquals(4, dataSource.connections.get());
+    }
+
+    private JdbcReconRepository setUp() {
+        dataSource = new CountingDataSource("jdbc:h2:mem:order_detail;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_main ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "pay_amount DECIMAL(18,2), pay_amount_fen BIGINT, "
+                + "platform_income DECIMAL(18,2), platform_income_fen BIGINT, "
+                + "pay_fee DECIMAL(18,2), pay_fee_fen BIGINT, "
+                + "split_total_amount DECIMAL(18,2), split_total_amount_fen BIGINT, "
+                + "pay_status SMALLINT NOT NULL DEFAULT 0, "
+                + "split_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "pending_notify_count INT NOT NULL DEFAULT 0, "
+                + "recon_status SMALLINT NOT NULL DEFAULT 0, "
+                + "refund_status SMALLINT, refund_amount DECIMAL(18,2), refund_amount_fen BIGINT, "
+                + "refund_time TIMESTAMP, "
+                + "version BIGINT NOT NULL DEFAULT 0, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_sub ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "sub_order_no VARCHAR(64), merchant_order_no VARCHAR(64), "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "order_amount DECIMAL(18,2), order_amount_fen BIGINT, "
+                + "split_amount DECIMAL(18,2), split_amount_fen BIGINT, "
+                + "fee DECIMAL(18,2), fee_fen BIGINT, "
+                + "split_ratio INT, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_split_detail ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "split_amount DECIMAL(18,2), split_amount_fen BIGINT, "
+                + "arrival_amount DECIMAL(18,2), arrival_amount_fen BIGINT, "
+                + "split_fee DECIMAL(18,2), split_fee_fen BIGINT, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "settlement_type SMALLINT, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_refund_detail ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "refund_split_amount DECIMAL(18,2), refund_split_amount_fen BIGINT, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_notify_log ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "sub_order_no VARCHAR(64), "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "notify_url VARCHAR(255), "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_exception ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "exception_msg VARCHAR(255), "
+                + "exception_step SMALLINT NOT NULL DEFAULT 5, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory, new ReconSdkProperties());
+    }
+
+    /**
+     * 统计获取连接的次数
+     */
+    private static class CountingDataSource extends DriverManagerDataSource {
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        CountingDataSource(String url) {
+            super(url, "sa", "");
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+}
@@ -5,16 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.support.KeyHolder;
+import tech.coffers.recon.api.enums.NotifyStatusEnum;
 import tech.coffers.recon.dialect.MySqlReconDialect;
 import tech.coffers.recon.dialect.ReconDialectFactory;
 import tech.coffers.recon.autoconfigure.ReconSdkProperties;
 import tech.coffers.recon.entity.ReconOrderMainDO;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -59,4 +65,17 @@ public class JdbcReconRepositoryTest {
 
         verify(preparedStatement).setObject(3, 10000L); // payAmountFen at index 3
     }
+
+    @Test
+    public void testApplySplitNotify_ReadsRemainingCountFromGeneratedKey() {
+        // MySQL 迁移语句把剩余待通知数加一写入 LAST_INSERT_ID，随影响行数一起返回
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            KeyHolder keyHolder = invocation.getArgument(1);
+            keyHolder.getKeyList().add(Collections.singletonMap("GENERATED_KEY", BigInteger.ONE));
+            return 2;
+        });
+
+        assertEquals(0, repository.applySplitNotify("ORD001", "MCH_A", NotifyStatusEnum.SUCCESS.getCode(), "OK"));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
 }
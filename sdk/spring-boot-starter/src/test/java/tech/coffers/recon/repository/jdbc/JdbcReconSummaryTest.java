@@ -0,0 +1,232 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+import tech.coffers.recon.entity.ReconSummaryDO;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 对账日汇总增量维护测试（H2 MySQL 兼容模式）
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcReconSummaryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testIncrementalSummary_MatchesRebuild() {
+        JdbcReconRepository repository = setUp(true);
+
+        assertTrue(repository.saveOrderMain(order("ORD-SUM-001", "100.00", ReconStatusEnum.PENDING)));
+        assertTrue(repository.batchSaveOrderMain(Arrays.asList(
+                order("ORD-SUM-002", "20.50", ReconStatusEnum.SUCCESS),
+                order("ORD-SUM-003", "30.00", ReconStatusEnum.FAILURE),
+                // 同一批次内重复订单按先后顺序覆盖
+                order("ORD-SUM-002", "25.50", ReconStatusEnum.PENDING))));
+        assertSummary(3, 0, 1, 2, 15550L);
+        // 新订单的占位记录经覆盖写入后版本号为 0
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-001'", Long.class));
+
+        // 覆盖写入修改金额与状态
+        assertTrue(repository.saveOrderMain(order("ORD-SUM-001", "90.00", ReconStatusEnum.SUCCESS)));
+        assertSummary(3, 1, 1, 1, 14550L);
+
+        assertTrue(repository.updateReconStatus("ORD-SUM-002", ReconStatusEnum.SUCCESS));
+        // 状态未变化不调整计数
+        assertTrue(repository.updateReconStatus("ORD-SUM-002", ReconStatusEnum.SUCCESS));
+        assertTrue(repository.batchUpdateReconStatus(Arrays.asList("ORD-SUM-001", "ORD-SUM-003"),
+                ReconStatusEnum.PENDING));
+        assertSummary(3, 1, 0, 2, 14550L);
+
+        long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-003'", Long.class);
+        assertFalse(repository.compareAndUpdateReconStatus("ORD-SUM-003", ReconStatusEnum.SUCCESS, version - 1));
+        assertTrue(repository.compareAndUpdateReconStatus("ORD-SUM-003", ReconStatusEnum.SUCCESS, version));
+        assertSummary(3, 2, 0, 1, 14550L);
+
+        // 批量比较更新只迁移版本号一致的订单，冲突订单保持原状态
+        ReconOrderMainDO fresh = order("ORD-SUM-001", "90.00", ReconStatusEnum.PENDING);
+        fresh.setVersion(jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-001'", Long.class));
+        ReconOrderMainDO stale = order("ORD-SUM-002", "25.50", ReconStatusEnum.SUCCESS);
+        stale.setVersion(jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-002'", Long.class) - 1);
+        assertEquals(Arrays.asList("ORD-SUM-001"),
+                repository.batchCompareAndUpdateReconStatus(Arrays.asList(fresh, stale), ReconStatusEnum.FAILURE));
+        assertEquals(ReconStatusEnum.SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                "SELECT recon_status FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-002'", Integer.class));
+        assertSummary(3, 2, 1, 0, 14550L);
+
+        Map<String, Object> incremental = summaryRow();
+        assertTrue(repository.rebuildReconSummary(DAY.toString()));
+        assertEquals(incremental.get("TOTAL_ORDERS"), summaryRow().get("TOTAL_ORDERS"));
+        assertEquals(incremental.get("SUCCESS_COUNT"), summaryRow().get("SUCCESS_COUNT"));
+        assertEquals(incremental.get("INIT_COUNT"), summaryRow().get("INIT_COUNT"));
+        assertEquals(incremental.get("TOTAL_AMOUNT_FEN"), summaryRow().get("TOTAL_AMOUNT_FEN"));
+    }
+
+    @Test
+    public void testBatchCompareAndUpdate_WithoutSummaryUsesUpdateCounts() {
+        setUp(false);
+        JdbcTemplate template = spy(jdbcTemplate);
+        JdbcReconRepository repository = new JdbcReconRepository(template, dialectFactory(),
+                new ReconSdkProperties());
+        assertTrue(repository.batchSaveOrderMain(Arrays.asList(
+                order("ORD-SUM-301", "10.00", ReconStatusEnum.PENDING),
+                order("ORD-SUM-302", "20.00", ReconStatusEnum.PENDING),
+                order("ORD-SUM-303", "30.00", ReconStatusEnum.PENDING))));
+
+        ReconOrderMainDO fresh = order("ORD-SUM-301", "10.00", ReconStatusEnum.PENDING);
+        fresh.setVersion(0L);
+        ReconOrderMainDO stale = order("ORD-SUM-302", "20.00", ReconStatusEnum.PENDING);
+        stale.setVersion(-1L);
+        assertEquals(Arrays.asList("ORD-SUM-301"),
+                repository.batchCompareAndUpdateReconStatus(Arrays.asList(fresh, stale), ReconStatusEnum.SUCCESS));
+        // 未启用日汇总时不加锁读取
+        verify(template, never()).query(contains("FOR UPDATE"), any(RowMapper.class), any(Object[].class));
+
+        // 驱动不返回逐条影响行数时重新查询判定
+        doAnswer(invocation -> {
+            int[] counts = (int[]) invocation.callRealMethod();
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }).when(template).batchUpdate(anyString(), anyList());
+        ReconOrderMainDO moved = order("ORD-SUM-303", "30.00", ReconStatusEnum.PENDING);
+        moved.setVersion(0L);
+        assertEquals(Arrays.asList("ORD-SUM-303"),
+                repository.batchCompareAndUpdateReconStatus(Arrays.asList(fresh, moved), ReconStatusEnum.FAILURE));
+        assertEquals(ReconStatusEnum.SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                "SELECT recon_status FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-301'", Integer.class));
+    }
+
+    @Test
+    public void testSummaryFailure_RollsBackOrderWrite() {
+        JdbcReconRepository repository = setUp(true);
+        assertTrue(repository.saveOrderMain(order("ORD-SUM-201", "10.00", ReconStatusEnum.PENDING)));
+        jdbcTemplate.execute("DROP TABLE easy_recon_summary");
+
+        // 汇总与主订单在同一事务中写入，汇总失败时主订单写入一并回滚
+        assertFalse(repository.saveOrderMain(order("ORD-SUM-202", "20.00", ReconStatusEnum.PENDING)));
+        assertFalse(repository.updateReconStatus("ORD-SUM-201", ReconStatusEnum.SUCCESS));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM easy_recon_order_main", Integer.class));
+        assertEquals(ReconStatusEnum.PENDING.getCode(), jdbcTemplate.queryForObject(
+                "SELECT recon_status FROM easy_recon_order_main WHERE order_no = 'ORD-SUM-201'", Integer.class));
+    }
+
+    @Test
+    public void testGetReconSummary_MissingDayReadsLiveAggregate() {
+        JdbcReconRepository repository = setUp(false);
+        assertTrue(repository.saveOrderMain(order("ORD-SUM-101", "12.34", ReconStatusEnum.SUCCESS)));
+        assertTrue(repository.saveOrderMain(order("ORD-SUM-102", "1.00", ReconStatusEnum.FAILURE)));
+
+        // 未启用日汇总时直接聚合主订单表，不写汇总表
+        ReconSummaryDO summary = repository.getReconSummary(DAY.toString());
+        assertEquals(2, summary.getTotalOrders());
+        assertEquals(1334L, summary.getTotalAmountFen());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM easy_recon_summary", Integer.class));
+
+        // 启用后尚无汇总的日期按主订单表实时统计，查询不写汇总表，由重建任务回填
+        ReconSdkProperties properties = new ReconSdkProperties();
+        properties.getSummary().setEnabled(true);
+        repository = new JdbcReconRepository(jdbcTemplate, dialectFactory(), properties);
+        summary = repository.getReconSummary(DAY.toString());
+        assertEquals(2, summary.getTotalOrders());
+        assertEquals(1, summary.getSuccessCount());
+        assertEquals(1, summary.getFailCount());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM easy_recon_summary", Integer.class));
+        assertTrue(repository.rebuildReconSummary(DAY.toString()));
+        assertSummary(2, 1, 1, 0, 1334L);
+        assertEquals(0, repository.getReconSummary(DAY.plusDays(1).toString()).getTotalOrders());
+    }
+
+    private void assertSummary(long total, long success, long fail, long init, long amountFen) {
+        Map<String, Object> row = summaryRow();
+        assertEquals(total, ((Number) row.get("TOTAL_ORDERS")).longValue());
+        assertEquals(success, ((Number) row.get("SUCCESS_COUNT")).longValue());
+        assertEquals(fail, ((Number) row.get("FAIL_COUNT")).longValue());
+        assertEquals(init, ((Number) row.get("INIT_COUNT")).longValue());
+        assertEquals(amountFen, ((Number) row.get("TOTAL_AMOUNT_FEN")).longValue());
+    }
+
+    private Map<String, Object> summaryRow() {
+        return jdbcTemplate.queryForMap("SELECT * FROM easy_recon_summary WHERE summary_date = ?", DAY);
+    }
+
+    private ReconOrderMainDO order(String orderNo, String payAmount, ReconStatusEnum reconStatus) {
+        ReconOrderMainDO order = new ReconOrderMainDO();
+        order.setOrderNo(orderNo);
+        order.setPayAmount(new BigDecimal(payAmount));
+        order.setReconStatus(reconStatus.getCode());
+        order.setCreateTime(DAY.atTime(10, 0));
+        order.setUpdateTime(LocalDateTime.now());
+        return order;
+    }
+
+    private ReconDialectFactory dialectFactory() {
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        return dialectFactory;
+    }
+
+    private JdbcReconRepository setUp(boolean summaryEnabled) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:recon_summary;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_main ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "pay_amount DECIMAL(18,2), pay_amount_fen BIGINT, "
+                + "platform_income DECIMAL(18,2), platform_income_fen BIGINT, "
+                + "pay_fee DECIMAL(18,2), pay_fee_fen BIGINT, "
+                + "split_total_amount DECIMAL(18,2), split_total_amount_fen BIGINT, "
+                + "pay_status SMALLINT NOT NULL DEFAULT 0, "
+                + "split_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "pending_notify_count INT NOT NULL DEFAULT 0, "
+                + "recon_status SMALLINT NOT NULL DEFAULT 0, "
+                + "version BIGINT NOT NULL DEFAULT 0, "
+                + "create_time TIMESTAMP, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_summary ("
+                + "summary_date DATE PRIMARY KEY, "
+                + "total_orders BIGINT NOT NULL DEFAULT 0, "
+                + "success_count BIGINT NOT NULL DEFAULT 0, "
+                + "fail_count BIGINT NOT NULL DEFAULT 0, "
+                + "init_count BIGINT NOT NULL DEFAULT 0, "
+                + "total_amount_fen BIGINT NOT NULL DEFAULT 0, "
+                + "update_time TIMESTAMP)");
+
+        ReconSdkProperties properties = new ReconSdkProperties();
+        properties.getSummary().setEnabled(summaryEnabled);
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory(), properties);
+    }
+}
@@ -0,0 +1,102 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分片租约仓储测试（H2 MySQL 兼容模式模拟多节点抢占）
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcShardLeaseTest {
+
+    private static final String JOB = "timing_recon";
+    private static final LocalDate BIZ_DATE = LocalDate.of(2024, 1, 1);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testLease_AcquireRenewAndRelease() {
+        JdbcReconRepository repository = setUp();
+        assertLeaseLifecycle(repository);
+    }
+
+    @Test
+    public void testExpiredLease_TakenOverByAnotherNode() {
+        JdbcReconRepository repository = setUp();
+        assertTrue(repository.tryAcquireShardLease(JOB, BIZ_DATE, 3, 16, "node-a", 300));
+
+        // 模拟 node-a 宕机后租约到期
+        jdbcTemplate.update("UPDATE easy_recon_shard_lease SET lease_until = ? WHERE shard_index = 3",
+                LocalDateTime.now().minusSeconds(1));
+
+        assertTrue(repository.tryAcquireShardLease(JOB, BIZ_DATE, 3, 16, "node-b", 300));
+        assertEquals("node-b", owner(3));
+        // 原持有者无法再续期或释放
+        assertFalse(repository.renewShardLease(JOB, BIZ_DATE, 3, "node-a", 300));
+        assertFalse(repository.releaseShardLease(JOB, BIZ_DATE, 3, "node-a", true, 3600));
+    }
+
+    private void assertLeaseLifecycle(JdbcReconRepository repository) {
+        assertTrue(repository.tryAcquireShardLease(JOB, BIZ_DATE, 0, 16, "node-a", 300));
+        // 租约有效期内其他节点无法抢占
+        assertFalse(repository.tryAcquireShardLease(JOB, BIZ_DATE, 0, 16, "node-b", 300));
+        assertTrue(repository.renewShardLease(JOB, BIZ_DATE, 0, "node-a", 300));
+        assertFalse(repository.renewShardLease(JOB, BIZ_DATE, 0, "node-b", 300));
+
+        // 完成后在保留期内不会被重复处理
+        assertTrue(repository.releaseShardLease(JOB, BIZ_DATE, 0, "node-a", true, 3600));
+        assertFalse(repository.tryAcquireShardLease(JOB, BIZ_DATE, 0, 16, "node-b", 300));
+
+        // 未完成释放的分片可被立即接管
+        assertTrue(repository.tryAcquireShardLease(JOB, BIZ_DATE, 1, 16, "node-a", 300));
+        assertTrue(repository.releaseShardLease(JOB, BIZ_DATE, 1, "node-a", false, 3600));
+        assertTrue(repository.tryAcquireShardLease(JOB, BIZ_DATE, 1, 16, "node-b", 300));
+        assertEquals("node-b", owner(1));
+    }
+
+    private String owner(int shardIndex) {
+        return jdbcTemplate.queryForObject("SELECT owner FROM easy_recon_shard_lease WHERE shard_index = ?",
+                String.class, shardIndex);
+    }
+
+    private JdbcReconRepository setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shard_lease;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_shard_lease ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "job_name VARCHAR(64) NOT NULL, "
+                + "biz_date DATE NOT NULL, "
+                + "shard_index INT NOT NULL, "
+                + "shard_count INT NOT NULL, "
+                + "owner VARCHAR(128) NOT NULL, "
+                + "lease_until TIMESTAMP(3) NOT NULL, "
+                + "status SMALLINT NOT NULL DEFAULT 0, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP NOT NULL, "
+                + "CONSTRAINT uk_shard_lease UNIQUE (job_name, biz_date, shard_index))");
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        ReconSdkProperties properties = new ReconSdkProperties();
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory, properties);
+    }
+}
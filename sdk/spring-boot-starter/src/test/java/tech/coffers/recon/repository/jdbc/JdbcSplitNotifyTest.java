@@ -0,0 +1,148 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tech.coffers.recon.api.enums.NotifyStatusEnum;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconNotifyLogDO;
+import tech.coffers.recon.repository.ReconRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分账通知批量迁移与待通知计数维护测试（H2 MySQL 兼容模式）
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcSplitNotifyTest {
+
+    private static final String ORDER_NO = "ORD-NOTIFY-001";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testBatchApplySplitNotify_MaintainsPendingCounter() {
+        JdbcReconRepository repository = setUp();
+
+        // 两个商户通知成功，重复通知不会重复递减
+        assertEquals(1, repository.batchApplySplitNotify(ORDER_NO,
+                Arrays.asList(notify("MCH_A", NotifyStatusEnum.SUCCESS), notify("MCH_B", NotifyStatusEnum.SUCCESS))));
+        assertEquals(1, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+
+        // 已成功的商户回退为失败时计数回增，非成功之间的变化只刷新明细
+        assertEquals(2, repository.batchApplySplitNotify(ORDER_NO,
+                Arrays.asList(notify("MCH_B", NotifyStatusEnum.FAILURE), notify("MCH_C", NotifyStatusEnum.FAILURE))));
+        assertEquals(NotifyStatusEnum.FAILURE.getCode(), jdbcTemplate.queryForObject(
+                "SELECT notify_status FROM easy_recon_order_split_detail WHERE merchant_id = 'MCH_C'", Integer.class));
+
+        assertEquals(NotifyStatusEnum.PROCESSING.getCode(), jdbcTemplate.queryForObject(
+                "SELECT notify_status FROM easy_recon_order_main WHERE order_no = ?", Integer.class, ORDER_NO));
+
+        // 计数归零时同一语句内标记主订单全部通知成功
+        assertEquals(0, repository.batchApplySplitNotify(ORDER_NO,
+                Arrays.asList(notify("MCH_B", NotifyStatusEnum.SUCCESS), notify("MCH_C", NotifyStatusEnum.SUCCESS))));
+        assertEquals(NotifyStatusEnum.SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                "SELECT notify_status FROM easy_recon_order_main WHERE order_no = ?", Integer.class, ORDER_NO));
+        assertEquals(ReconRepository.ALL_NOTIFIED_RESULT, jdbcTemplate.queryForObject(
+                "SELECT notify_result FROM easy_recon_order_main WHERE order_no = ?", String.class, ORDER_NO));
+        assertEquals(-1, repository.batchApplySplitNotify("ORD-MISSING",
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+    }
+
+    @Test
+    public void testBatchApplySplitNotify_CountsEveryTransitionedRow() {
+        JdbcReconRepository repository = setUp();
+        // 同一商户存在两条分账明细时，计数按迁移的明细行数调整
+        jdbcTemplate.execute("ALTER TABLE easy_recon_order_split_detail DROP CONSTRAINT uk_order_mch_split");
+        jdbcTemplate.update("INSERT INTO easy_recon_order_split_detail (order_no, merchant_id) VALUES (?, ?)",
+                ORDER_NO, "MCH_A");
+        jdbcTemplate.update("UPDATE easy_recon_order_main SET pending_notify_count = 4 WHERE order_no = ?", ORDER_NO);
+
+        assertEquals(2, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+        assertEquals(2, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+        assertEquals(4, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.FAILURE))));
+        assertEquals(2, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+        assertEquals(0, repository.batchApplySplitNotify(ORDER_NO,
+                Arrays.asList(notify("MCH_B", NotifyStatusEnum.SUCCESS), notify("MCH_C", NotifyStatusEnum.SUCCESS))));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM easy_recon_order_split_detail "
+                + "WHERE notify_status <> 1", Integer.class));
+    }
+
+    @Test
+    public void testCompareAndUpdateNotifyStatus_RejectsStaleVersion() {
+        JdbcReconRepository repository = setUp();
+
+        // 计数调整会递增版本号，按调整前读取的版本号比较更新应失败
+        assertEquals(2, repository.batchApplySplitNotify(ORDER_NO,
+                Collections.singletonList(notify("MCH_A", NotifyStatusEnum.SUCCESS))));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = ?", Long.class, ORDER_NO));
+        assertFalse(repository.compareAndUpdateNotifyStatus(ORDER_NO, NotifyStatusEnum.FAILURE.getCode(),
+                "stale", 0L));
+        assertTrue(repository.compareAndUpdateNotifyStatus(ORDER_NO, NotifyStatusEnum.FAILURE.getCode(),
+                "Merchant MCH_B notify failed", 1L));
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = ?", Long.class, ORDER_NO));
+    }
+
+    private ReconNotifyLogDO notify(String merchantId, NotifyStatusEnum status) {
+        ReconNotifyLogDO notify = new ReconNotifyLogDO();
+        notify.setOrderNo(ORDER_NO);
+        notify.setMerchantId(merchantId);
+        notify.setNotifyStatus(status.getCode());
+        notify.setNotifyResult(status.name());
+        return notify;
+    }
+
+    private JdbcReconRepository setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:split_notify;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_main ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "pending_notify_count INT NOT NULL DEFAULT 0, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "version BIGINT NOT NULL DEFAULT 0, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_split_detail ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 2, "
+                + "notify_result VARCHAR(255), "
+                + "update_time TIMESTAMP, "
+                + "CONSTRAINT uk_order_mch_split UNIQUE (order_no, merchant_id))");
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, pending_notify_count) VALUES (?, 3)",
+                ORDER_NO);
+        for (String merchantId : Arrays.asList("MCH_A", "MCH_B", "MCH_C")) {
+            jdbcTemplate.update("INSERT INTO easy_recon_order_split_detail (order_no, merchant_id) VALUES (?, ?)",
+                    ORDER_NO, merchantId);
+        }
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        ReconSdkProperties properties = new ReconSdkProperties();
+        return new JdbcReconRepository(jdbcTemplate, dialectFactory, properties);
+    }
+}
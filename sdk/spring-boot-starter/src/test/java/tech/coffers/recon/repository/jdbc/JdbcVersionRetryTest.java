@@ -0,0 +1,167 @@
+package tech.coffers.recon.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.coffers.recon.api.enums.ReconStatusEnum;
+import tech.coffers.recon.api.enums.RefundStatusEnum;
+import tech.coffers.recon.api.model.ReconRefundRequest;
+import tech.coffers.recon.api.result.ReconResult;
+import tech.coffers.recon.autoconfigure.ReconSdkProperties;
+import tech.coffers.recon.core.service.AlarmService;
+import tech.coffers.recon.core.service.ExceptionRecordService;
+import tech.coffers.recon.core.service.RealtimeReconService;
+import tech.coffers.recon.dialect.MySqlReconDialect;
+import tech.coffers.recon.dialect.ReconDialectFactory;
+import tech.coffers.recon.entity.ReconOrderMainDO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 事务内版本冲突重试测试（H2 MySQL 兼容模式）
+ * <p>
+ * 普通查询按可重复读事务的语义固定返回首次读取的快照，读取后由另一个连接提交一次并发修改，
+ * 校验重试通过加锁读取取得最新版本后更新成功。
+ *
+ * @author Ryan
+ * @since 1.2.0
+ */
+public class JdbcVersionRetryTest {
+
+    private static final String URL = "jdbc:h2:mem:recon_version_retry;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String ORDER_NO = "ORD-RETRY-001";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testReconRefund_ConflictOnceThenSucceeds() {
+        RealtimeReconService service = setUp();
+
+        ReconResult result = transactionTemplate.execute(status -> service.reconRefund(ReconRefundRequest.builder()
+                .orderNo(ORDER_NO)
+                .refundAmount(new BigDecimal("30.00"))
+                .refundStatus(RefundStatusEnum.SUCCESS)
+                .refundTime(LocalDateTime.now())
+                .build()));
+
+        assertTrue(result.isSuccess());
+        assertEquals(RefundStatusEnum.SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                "SELECT refund_status FROM easy_recon_order_main WHERE order_no = ?", Integer.class, ORDER_NO));
+        // 并发修改一次，重试更新一次
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = ?", Long.class, ORDER_NO));
+    }
+
+    @Test
+    public void testRetryRecon_ConflictOnceThenSucceeds() {
+        RealtimeReconService service = setUp();
+
+        assertEquals(Boolean.TRUE, transactionTemplate.execute(status -> service.retryRecon(ORDER_NO)));
+        assertEquals(ReconStatusEnum.SUCCESS.getCode(), jdbcTemplate.queryForObject(
+                "SELECT recon_status FROM easy_recon_order_main WHERE order_no = ?", Integer.class, ORDER_NO));
+        assertEquals(2L, jdbcTemplate.queryForObject(
+                "SELECT version FROM easy_recon_order_main WHERE order_no = ?", Long.class, ORDER_NO));
+    }
+
+    private RealtimeReconService setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        createTables();
+
+        ReconDialectFactory dialectFactory = mock(ReconDialectFactory.class);
+        when(dialectFactory.getDialect()).thenReturn(new MySqlReconDialect());
+        JdbcReconRepository repository = spy(new JdbcReconRepository(jdbcTemplate, dialectFactory,
+                new ReconSdkProperties()));
+
+        // 首次读取后由另一个连接提交并发修改，之后的普通查询仍返回事务快照
+        JdbcTemplate concurrent = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        AtomicReference<ReconOrderMainDO> snapshot = new AtomicReference<>();
+        doAnswer(invocation -> {
+            if (snapshot.get() == null) {
+                snapshot.set((ReconOrderMainDO) invocation.callRealMethod());
+                concurrent.update("UPDATE easy_recon_order_main SET version = version + 1 WHERE order_no = ?",
+                        ORDER_NO);
+            }
+            return copyOf(snapshot.get());
+        }).when(repository).getOrderMainByOrderNo(ORDER_NO);
+
+        return new RealtimeReconService(repository, mock(ExceptionRecordService.class), mock(AlarmService.class),
+                mock(ExecutorService.class));
+    }
+
+    private static ReconOrderMainDO copyOf(ReconOrderMainDO source) {
+        ReconOrderMainDO copy = new ReconOrderMainDO();
+        copy.setOrderNo(source.getOrderNo());
+        copy.setPayAmountFen(source.getPayAmountFen());
+        copy.setPlatformIncomeFen(source.getPlatformIncomeFen());
+        copy.setPayFeeFen(source.getPayFeeFen());
+        copy.setPayStatus(source.getPayStatus());
+        copy.setSplitStatus(source.getSplitStatus());
+        copy.setNotifyStatus(source.getNotifyStatus());
+        copy.setPendingNotifyCount(source.getPendingNotifyCount());
+        copy.setReconStatus(source.getReconStatus());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    private void createTables() {
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_main ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL UNIQUE, "
+                + "pay_amount DECIMAL(18,2), pay_amount_fen BIGINT, "
+                + "platform_income DECIMAL(18,2), platform_income_fen BIGINT, "
+                + "pay_fee DECIMAL(18,2), pay_fee_fen BIGINT, "
+                + "split_total_amount DECIMAL(18,2), split_total_amount_fen BIGINT, "
+                + "pay_status SMALLINT NOT NULL DEFAULT 0, "
+                + "split_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "pending_notify_count INT NOT NULL DEFAULT 0, "
+                + "recon_status SMALLINT NOT NULL DEFAULT 0, "
+                + "refund_status SMALLINT, "
+                + "refund_amount DECIMAL(18,2), refund_amount_fen BIGINT, "
+                + "refund_time TIMESTAMP, "
+                + "version BIGINT NOT NULL DEFAULT 0, "
+                + "create_time TIMESTAMP, "
+                + "update_time TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE easy_recon_order_split_detail ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_no VARCHAR(64) NOT NULL, "
+                + "merchant_id VARCHAR(64) NOT NULL, "
+                + "split_amount DECIMAL(18,2), split_amount_fen BIGINT, "
+                + "arrival_amount DECIMAL(18,2), arrival_amount_fen BIGINT, "
+                + "split_fee DECIMAL(18,2), split_fee_fen BIGINT, "
+                + "notify_status SMALLINT NOT NULL DEFAULT 0, "
+                + "notify_result VARCHAR(255), "
+                + "settlement_type SMALLINT, "
+                + "create_time TIMESTAMP NOT NULL, "
+                + "update_time TIMESTAMP)");
+        // 支付、分账、通知均已成功的待核账订单，分账明细与支付金额平衡
+        jdbcTemplate.update("INSERT INTO easy_recon_order_main (order_no, pay_amount, pay_amount_fen, "
+                + "platform_income, platform_income_fen, pay_fee, pay_fee_fen, pay_status, split_status, "
+                + "notify_status, recon_status, create_time, update_time) "
+                + "VALUES (?, 100.00, 10000, 0, 0, 0, 0, 1, 1, 1, 0, ?, ?)",
+                ORDER_NO, LocalDateTime.now(), LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO easy_recon_order_split_detail (order_no, merchant_id, split_amount, "
+                + "split_amount_fen, notify_status, create_time) VALUES (?, 'MCH_A', 100.00, 10000, 1, ?)",
+                ORDER_NO, LocalDateTime.now());
+    }
+}
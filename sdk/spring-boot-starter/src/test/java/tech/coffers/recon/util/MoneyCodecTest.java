@@ -0,0 +1,44 @@
+package tech.coffers.recon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyCodecTest {
+
+    @Test
+    public void testToFen() {
+        assertEquals(1234L, MoneyCodec.toFen(new BigDecimal("12.34")));
+        assertEquals(1230L, MoneyCodec.toFen(new BigDecimal("12.3")));
+        assertEquals(1200L, MoneyCodec.toFen(new BigDecimal("12")));
+        assertEquals(-5L, MoneyCodec.toFen(new BigDecimal("-0.05")));
+        // 多余的零不视为精度丢失
+        assertEquals(1200L, MoneyCodec.toFen(new BigDecimal("12.0000")));
+        assertEquals(120000L, MoneyCodec.toFen(new BigDecimal("1.2E+3")));
+        assertNull(MoneyCodec.toFen(null));
+        assertEquals(0L, MoneyCodec.toFenOrZero(null));
+    }
+
+    @Test
+    public void testToFenRejectsSubFenPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> MoneyCodec.toFen(new BigDecimal("12.345")));
+        assertThrows(IllegalArgumentException.class, () -> MoneyCodec.toFen(new BigDecimal("0.001")));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoneyCodec.toFen(new BigDecimal("999999999999999999999")));
+    }
+
+    @Test
+    public void testToYuan() {
+        assertEquals(new BigDecimal("56.78"), MoneyCodec.toYuan(5678L));
+        assertEquals(new BigDecimal("1234567.89"), MoneyCodec.toYuan(123456789L));
+        assertEquals(new BigDecimal("-1.00"), MoneyCodec.toYuan(-100L));
+        assertNull(MoneyCodec.toYuan((Long) null));
+        // 常用区间复用缓存实例
+        assertSame(MoneyCodec.toYuan(100L), MoneyCodec.toYuan(100L));
+    }
+}